@@ -0,0 +1,178 @@
+package com.selimhorri.app.config.filter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+@Component
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+@Slf4j
+@RequiredArgsConstructor
+public class AdaptiveLoadSheddingFilter implements GlobalFilter, Ordered {
+	
+	// after the route filters (rate limiting, caching) and well before the request is proxied
+	public static final int LOAD_SHEDDING_FILTER_ORDER = 100;
+	
+	private final LoadSheddingProperties loadSheddingProperties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, ConcurrencyLimit> limits = new ConcurrentHashMap<>();
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!this.loadSheddingProperties.isEnabled() || route == null) {
+			return chain.filter(exchange);
+		}
+		
+		final ConcurrencyLimit limit = this.limits.computeIfAbsent(route.getId(), this::register);
+		if (!limit.tryAcquire()) {
+			log.debug("*** AdaptiveLoadSheddingFilter; shedding request on route {} at limit {} *", route.getId(), limit.getLimit());
+			this.meterRegistry.counter("gateway.requests.rejected", "route", route.getId(), "reason", "load_shed")
+					.increment();
+			exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+			exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+			return exchange.getResponse().setComplete();
+		}
+		
+		// the latency fed to the limit ends when the response is committed (status and headers out, first byte
+		// on its way), so NDJSON streams and large downloads are judged on how fast the service answered and
+		// not on how long the client took to read them
+		final long start = System.nanoTime();
+		final AtomicLong committedAfter = new AtomicLong(-1);
+		exchange.getResponse().beforeCommit(() -> {
+			committedAfter.compareAndSet(-1, System.nanoTime() - start);
+			return Mono.empty();
+		});
+		return chain.filter(exchange)
+				.doOnEach(signal -> {
+					if (signal.isOnComplete() || signal.isOnError()) {
+						final long latency = committedAfter.get();
+						limit.onResponse(latency < 0 ? System.nanoTime() - start : latency, 
+								signal.isOnError() || isOverloadStatus(exchange.getResponse().getStatusCode()));
+					}
+				})
+				.doFinally(signalType -> {
+					limit.release();
+					if (signalType == SignalType.CANCEL) {
+						log.debug("*** AdaptiveLoadSheddingFilter; request cancelled on route {} *", route.getId());
+					}
+				});
+	}
+	
+	@Override
+	public int getOrder() {
+		return LOAD_SHEDDING_FILTER_ORDER;
+	}
+	
+	public int getLimit(final String routeId) {
+		final ConcurrencyLimit limit = this.limits.get(routeId);
+		return limit == null ? this.loadSheddingProperties.getInitialLimit() : limit.getLimit();
+	}
+	
+	private ConcurrencyLimit register(final String routeId) {
+		final ConcurrencyLimit limit = new ConcurrencyLimit(this.loadSheddingProperties, 
+				this.loadSheddingProperties.getTargetLatency(routeId).toNanos());
+		Gauge.builder("gateway.loadshedding.limit", limit, ConcurrencyLimit::getLimit)
+				.tag("route", routeId)
+				.register(this.meterRegistry);
+		Gauge.builder("gateway.loadshedding.inflight", limit, ConcurrencyLimit::getInFlight)
+				.tag("route", routeId)
+				.register(this.meterRegistry);
+		return limit;
+	}
+	
+	// 429 and 503 from downstream are explicit back-pressure, 502 and 504 mean it could not answer in time
+	private static boolean isOverloadStatus(final HttpStatus status) {
+		return status != null && (status == HttpStatus.TOO_MANY_REQUESTS || status.is5xxServerError());
+	}
+	
+	// AIMD concurrency limit: grows by one per window of healthy responses, shrinks on slow or failed ones
+	private static final class ConcurrencyLimit {
+		
+		private final LoadSheddingProperties loadSheddingProperties;
+		private final long targetLatencyNanos;
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private double limit;
+		private long lastDecreaseNanos;
+		
+		private ConcurrencyLimit(final LoadSheddingProperties loadSheddingProperties, final long targetLatencyNanos) {
+			this.loadSheddingProperties = loadSheddingProperties;
+			this.targetLatencyNanos = targetLatencyNanos;
+			this.limit = loadSheddingProperties.getInitialLimit();
+			this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+		}
+		
+		private boolean tryAcquire() {
+			final int current = this.getLimit();
+			while (true) {
+				final int inFlight = this.inFlight.get();
+				if (inFlight >= current) {
+					return false;
+				}
+				if (this.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+					return true;
+				}
+			}
+		}
+		
+		private void release() {
+			this.inFlight.decrementAndGet();
+		}
+		
+		private synchronized void onResponse(final long latencyNanos, final boolean failed) {
+			if (failed || latencyNanos > this.targetLatencyNanos) {
+				// one decrease per target latency, so a burst of slow responses backs off once rather than collapsing the limit
+				final long now = System.nanoTime();
+				if (now - this.lastDecreaseNanos >= this.targetLatencyNanos) {
+					this.limit = Math.max(this.loadSheddingProperties.getMinLimit(), 
+							this.limit * this.loadSheddingProperties.getBackoffRatio());
+					this.lastDecreaseNanos = now;
+				}
+			} else {
+				this.limit = Math.min(this.loadSheddingProperties.getMaxLimit(), this.limit + 1 / this.limit);
+			}
+		}
+		
+		private synchronized int getLimit() {
+			return (int) this.limit;
+		}
+		
+		private int getInFlight() {
+			return this.inFlight.get();
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
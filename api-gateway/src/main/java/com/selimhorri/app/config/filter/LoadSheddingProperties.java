@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.filter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.gateway.load-shedding")
+@Data
+public class LoadSheddingProperties {
+	
+	private boolean enabled = true;
+	private int initialLimit = 200;
+	private int minLimit = 10;
+	private int maxLimit = 2000;
+	
+	// multiplicative decrease applied on every slow or failed response
+	private double backoffRatio = 0.9;
+	private Duration targetLatency = Duration.ofMillis(500);
+	private Map<String, Duration> routeTargetLatencies = new HashMap<>();
+	
+	public Duration getTargetLatency(final String routeId) {
+		return this.routeTargetLatencies.getOrDefault(routeId, this.targetLatency);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,379 @@
+package com.selimhorri.app.config.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+	private static final List<String> HOP_BY_HOP_HEADERS = List.of(
+			HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE, "Keep-Alive");
+	// CORS headers are recomputed per request by the gateway before routing, so never replayed or keyed on
+	private static final List<String> CORS_VARY_HEADERS = List.of(
+			HttpHeaders.ORIGIN, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+	// HEAD and OPTIONS change nothing upstream
+	private static final Set<HttpMethod> WRITE_METHODS = EnumSet.of(
+			HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+	
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Cache<String, CachedResponse>> caches = new ConcurrentHashMap<>();
+	
+	public ResponseCacheGatewayFilterFactory(final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		final Cache<String, CachedResponse> cache = this.caches.computeIfAbsent(config.getRouteId(), 
+				routeId -> this.buildCache(routeId, config));
+		final List<PathPattern> includePaths = parsePaths(config.getIncludePaths());
+		final List<PathPattern> excludePaths = parsePaths(config.getExcludePaths());
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			
+			final ServerHttpRequest request = exchange.getRequest();
+			final PathContainer path = request.getPath().pathWithinApplication();
+			final boolean isCachedPath = includePaths.stream().anyMatch(pattern -> pattern.matches(path)) 
+					&& excludePaths.stream().noneMatch(pattern -> pattern.matches(path));
+			
+			// a write to a cached path drops the entries it can change, writes elsewhere (reservations,
+			// imports) keep the cache and the stock they move shows once the entries expire
+			if (WRITE_METHODS.contains(request.getMethod())) {
+				if (!isCachedPath) {
+					return chain.filter(exchange);
+				}
+				return chain.filter(exchange)
+						.doOnSuccess(done -> {
+							final HttpStatus status = exchange.getResponse().getStatusCode();
+							if (status == null || status.is2xxSuccessful()) {
+								invalidate(cache, request.getURI().getRawPath());
+							}
+						});
+			}
+			
+			if (request.getMethod() != HttpMethod.GET || !isCachedPath || !isCacheableRequest(request, config)) {
+				return chain.filter(exchange);
+			}
+			
+			final String key = cacheKey(request, config);
+			final CachedResponse cachedResponse = hasDirective(request.getHeaders(), "no-cache") 
+					? null 
+					: cache.getIfPresent(key);
+			if (cachedResponse != null) {
+				return writeCachedResponse(exchange, cachedResponse);
+			}
+			
+			return chain.filter(exchange.mutate()
+					.response(new CachingResponseDecorator(exchange, cache, key, config))
+					.build());
+		// ahead of NettyWriteResponseFilter so it writes through the decorator. hits are therefore served
+		// before RequestRateLimiter on purpose: its buckets guard the service behind the route, which a hit never reaches
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	// a write to an item (the path up to its first numeric segment) changes that item's entries, its
+	// sub-resources included, and the listings of its collection; a write without an id may change any of them
+	static void invalidate(final Cache<String, CachedResponse> cache, final String writtenPath) {
+		final String collection = collectionPath(writtenPath);
+		final String item = itemPath(writtenPath);
+		cache.asMap().keySet().removeIf(key -> {
+			final String path = key.split("[?\\n]", 2)[0];
+			if (!path.equals(collection) && !path.startsWith(collection + "/")) {
+				return false;
+			}
+			final String entryItem = itemPath(path);
+			return item == null || entryItem == null || entryItem.equals(item);
+		});
+	}
+	
+	private static String collectionPath(final String path) {
+		final int idStart = idSegmentStart(path);
+		return idStart < 0 ? path : path.substring(0, idStart - 1);
+	}
+	
+	private static String itemPath(final String path) {
+		final int idStart = idSegmentStart(path);
+		if (idStart < 0) {
+			return null;
+		}
+		final int idEnd = path.indexOf('/', idStart);
+		return idEnd < 0 ? path : path.substring(0, idEnd);
+	}
+	
+	private static int idSegmentStart(final String path) {
+		int start = 1;
+		while (start < path.length()) {
+			final int slash = path.indexOf('/', start);
+			final int end = slash < 0 ? path.length() : slash;
+			if (end > start && path.substring(start, end).chars().allMatch(Character::isDigit)) {
+				return start;
+			}
+			start = end + 1;
+		}
+		return -1;
+	}
+	
+	private Cache<String, CachedResponse> buildCache(final String routeId, final Config config) {
+		final Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+				.maximumWeight(config.getMaximumSize().toBytes())
+				.weigher((final String key, final CachedResponse value) -> key.length() + value.getBody().length)
+				.expireAfterWrite(config.getTimeToLive())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(this.meterRegistry, cache, "gateway.responseCache", 
+				Tags.of("route", String.valueOf(routeId)));
+		return cache;
+	}
+	
+	private static List<PathPattern> parsePaths(final List<String> patterns) {
+		return patterns.stream()
+				.map(PathPatternParser.defaultInstance::parse)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static boolean isCacheableRequest(final ServerHttpRequest request, final Config config) {
+		if (hasDirective(request.getHeaders(), "no-store")) {
+			return false;
+		}
+		// responses to authenticated calls are private unless the credentials are part of the key
+		return !request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION) 
+				|| config.getVaryHeaders().stream().anyMatch(HttpHeaders.AUTHORIZATION::equalsIgnoreCase);
+	}
+	
+	private static String cacheKey(final ServerHttpRequest request, final Config config) {
+		final StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+		if (request.getURI().getRawQuery() != null) {
+			key.append('?').append(request.getURI().getRawQuery());
+		}
+		config.getVaryHeaders().forEach(header -> key.append('\n')
+				.append(header.toLowerCase(Locale.ROOT))
+				.append(':')
+				.append(String.join(",", request.getHeaders().getOrEmpty(header))));
+		return key.toString();
+	}
+	
+	private static Mono<Void> writeCachedResponse(final ServerWebExchange exchange, final CachedResponse cachedResponse) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.getHeaders().putAll(cachedResponse.getHeaders());
+		response.getHeaders().set(HttpHeaders.AGE, 
+				String.valueOf((System.currentTimeMillis() - cachedResponse.getStoredAt()) / 1000));
+		response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+		if (matchesIfNoneMatch(exchange.getRequest().getHeaders(), cachedResponse.getETag())) {
+			return writeNotModified(response);
+		}
+		response.setStatusCode(cachedResponse.getStatus());
+		response.getHeaders().setContentLength(cachedResponse.getBody().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cachedResponse.getBody())));
+	}
+	
+	private static Mono<Void> writeNotModified(final ServerHttpResponse response) {
+		response.setStatusCode(HttpStatus.NOT_MODIFIED);
+		response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+		response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+		response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+		return response.setComplete();
+	}
+	
+	static boolean matchesIfNoneMatch(final HttpHeaders requestHeaders, final String eTag) {
+		// If-None-Match uses the weak comparison, so W/ prefixes are ignored
+		try {
+			return requestHeaders.getIfNoneMatch().stream()
+					.map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+					.anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+		}
+		catch (final IllegalArgumentException e) {
+			log.debug("*** ResponseCache; ignoring malformed If-None-Match: {} *", e.getMessage());
+			return false;
+		}
+	}
+	
+	static String strongETag(final byte[] body) {
+		try {
+			return "\"" + Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(MessageDigest.getInstance("SHA-256").digest(body)) + "\"";
+		}
+		catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static boolean hasDirective(final HttpHeaders headers, final String directive) {
+		return headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream()
+				.flatMap(value -> List.of(value.split(",")).stream())
+				.anyMatch(value -> value.trim().toLowerCase(Locale.ROOT).startsWith(directive));
+	}
+	
+	private static final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+		
+		private final ServerWebExchange exchange;
+		private final Cache<String, CachedResponse> cache;
+		private final String key;
+		private final Config config;
+		
+		private CachingResponseDecorator(final ServerWebExchange exchange, final Cache<String, CachedResponse> cache, 
+				final String key, final Config config) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.cache = cache;
+			this.key = key;
+			this.config = config;
+		}
+		
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			if (!this.isBufferable()) {
+				return super.writeWith(body);
+			}
+			return DataBufferUtils.join(Flux.from(body))
+					.map(joined -> {
+						final byte[] bytes = new byte[joined.readableByteCount()];
+						joined.read(bytes);
+						DataBufferUtils.release(joined);
+						return bytes;
+					})
+					.defaultIfEmpty(new byte[0])
+					.flatMap(this::writeBuffered);
+		}
+		
+		private Mono<Void> writeBuffered(final byte[] bytes) {
+			final HttpHeaders headers = this.getHeaders();
+			if (headers.getETag() == null) {
+				headers.setETag(strongETag(bytes));
+			}
+			headers.remove(HttpHeaders.TRANSFER_ENCODING);
+			headers.set(CACHE_STATUS_HEADER, "MISS");
+			
+			if (this.isStorable(bytes)) {
+				final HttpHeaders storedHeaders = new HttpHeaders();
+				storedHeaders.putAll(headers);
+				HOP_BY_HOP_HEADERS.forEach(storedHeaders::remove);
+				storedHeaders.remove(CACHE_STATUS_HEADER);
+				storedHeaders.keySet().removeIf(header -> header.regionMatches(true, 0, "Access-Control-", 0, 15));
+				final HttpStatus status = this.getStatusCode();
+				this.cache.put(this.key, new CachedResponse(status == null ? HttpStatus.OK : status, storedHeaders, bytes, 
+						headers.getETag(), System.currentTimeMillis()));
+			}
+			
+			if (matchesIfNoneMatch(this.exchange.getRequest().getHeaders(), headers.getETag())) {
+				return writeNotModified(this.getDelegate());
+			}
+			headers.setContentLength(bytes.length);
+			return super.writeWith(Mono.just(this.bufferFactory().wrap(bytes)));
+		}
+		
+		// only complete JSON documents are held in memory, streams and large downloads pass straight through
+		private boolean isBufferable() {
+			final HttpStatus status = this.getStatusCode();
+			final MediaType contentType = this.getHeaders().getContentType();
+			final long contentLength = this.getHeaders().getContentLength();
+			return (status == null || status == HttpStatus.OK) 
+					&& contentType != null 
+					&& this.config.getMediaTypes().stream().anyMatch(contentType::isCompatibleWith) 
+					&& contentLength <= this.config.getMaximumEntrySize().toBytes();
+		}
+		
+		private boolean isStorable(final byte[] bytes) {
+			final HttpHeaders headers = this.getHeaders();
+			if (bytes.length > this.config.getMaximumEntrySize().toBytes() 
+					|| headers.containsKey(HttpHeaders.SET_COOKIE) 
+					|| hasDirective(headers, "no-store") 
+					|| hasDirective(headers, "private")) {
+				return false;
+			}
+			// a response that varies on something outside the key could be served to the wrong client
+			return headers.getVary().stream()
+					.flatMap(value -> List.of(value.split(",")).stream())
+					.map(String::trim)
+					.allMatch(vary -> this.config.getVaryHeaders().stream().anyMatch(vary::equalsIgnoreCase) 
+							|| CORS_VARY_HEADERS.stream().anyMatch(vary::equalsIgnoreCase));
+		}
+		
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	private static final class CachedResponse {
+		
+		private final HttpStatus status;
+		private final HttpHeaders headers;
+		private final byte[] body;
+		private final String eTag;
+		private final long storedAt;
+		
+	}
+	
+	@Data
+	public static class Config implements HasRouteId {
+		
+		private String routeId;
+		private Duration timeToLive = Duration.ofSeconds(30);
+		private DataSize maximumSize = DataSize.ofMegabytes(16);
+		private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+		private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT);
+		private List<MediaType> mediaTypes = List.of(MediaType.APPLICATION_JSON);
+		// request paths, route prefix included, whose GETs are cached; exclusions win
+		private List<String> includePaths = List.of("/**");
+		private List<String> excludePaths = List.of();
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,125 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// keys a client by the subject of a bearer token signed with proxy-client's key, otherwise by its address.
+// an unsigned or forged token must not buy a fresh bucket, so the signature and expiry are checked here
+@Slf4j
+public class ClientKeyResolver implements KeyResolver {
+	
+	private static final String HMAC_SHA256 = "HmacSHA256";
+	private static final String FORWARDED_FOR = "X-Forwarded-For";
+	
+	private final ObjectMapper objectMapper;
+	private final SecretKeySpec signingKey;
+	private final List<String> trustedProxies;
+	
+	public ClientKeyResolver(final ObjectMapper objectMapper, final RateLimitProperties.ClientKey clientKey) {
+		this.objectMapper = objectMapper;
+		this.signingKey = new SecretKeySpec(decodeSigningKey(clientKey.getSigningKey()), HMAC_SHA256);
+		this.trustedProxies = List.copyOf(clientKey.getTrustedProxies());
+	}
+	
+	@Override
+	public Mono<String> resolve(final ServerWebExchange exchange) {
+		final String username = this.extractSubject(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+		if (username != null) {
+			return Mono.just("user:" + username);
+		}
+		return Mono.just("ip:" + this.clientAddress(exchange.getRequest()));
+	}
+	
+	private String extractSubject(final String authorizationHeader) {
+		if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+			return null;
+		}
+		final String token = authorizationHeader.substring(7);
+		final String[] parts = token.split("\\.");
+		if (parts.length != 3) {
+			return null;
+		}
+		try {
+			if (!this.hasValidSignature(token.substring(0, token.lastIndexOf('.')), parts[2])) {
+				log.debug("*** ClientKeyResolver; bearer token signature does not match, falling back to client address *");
+				return null;
+			}
+			final JsonNode claims = this.objectMapper
+					.readTree(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+			final JsonNode expiration = claims.get("exp");
+			if (expiration != null && expiration.asLong() * 1000 < System.currentTimeMillis()) {
+				return null;
+			}
+			final JsonNode subject = claims.get("sub");
+			return subject == null || subject.asText().isBlank() ? null : subject.asText();
+		}
+		catch (final Exception e) {
+			log.debug("*** ClientKeyResolver; unreadable bearer token, falling back to client address *");
+			return null;
+		}
+	}
+	
+	private boolean hasValidSignature(final String signedContent, final String signature) throws GeneralSecurityException {
+		final Mac mac = Mac.getInstance(HMAC_SHA256);
+		mac.init(this.signingKey);
+		return MessageDigest.isEqual(
+				mac.doFinal(signedContent.getBytes(StandardCharsets.US_ASCII)),
+				Base64.getUrlDecoder().decode(signature));
+	}
+	
+	// X-Forwarded-For is only honoured when the peer is a trusted proxy; the client is the right-most
+	// hop that is not one, anything left of it can be set by the client itself
+	private String clientAddress(final ServerHttpRequest request) {
+		final InetSocketAddress remoteAddress = request.getRemoteAddress();
+		if (remoteAddress == null || remoteAddress.getAddress() == null) {
+			return "unknown";
+		}
+		String client = remoteAddress.getAddress().getHostAddress();
+		final List<String> forwardedFor = request.getHeaders().getOrEmpty(FORWARDED_FOR);
+		for (int i = forwardedFor.size() - 1; i >= 0 && this.trustedProxies.contains(client); i--) {
+			final String[] hops = forwardedFor.get(i).split(",");
+			for (int j = hops.length - 1; j >= 0 && this.trustedProxies.contains(client); j--) {
+				if (!hops[j].isBlank()) {
+					client = hops[j].trim();
+				}
+			}
+		}
+		return client;
+	}
+	
+	// proxy-client signs with jjwt 0.9, which reads the key as base64 and ignores a trailing partial quantum
+	private static byte[] decodeSigningKey(final String signingKey) {
+		return Base64.getDecoder().decode(signingKey.substring(0, signingKey.length() - signingKey.length() % 4));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+	
+	private final Cache<String, Bucket> buckets;
+	
+	public InMemoryTokenBucketStore(final RateLimitProperties.Store store) {
+		// an idle bucket refills completely, so evicting it loses nothing
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(store.getMaximumSize())
+				.expireAfterAccess(store.getExpireAfterAccess())
+				.build();
+	}
+	
+	@Override
+	public Mono<Long> tryConsume(final String key, final long replenishRate, final long burstCapacity, final long requestedTokens) {
+		final Bucket bucket = this.buckets.get(key, k -> new Bucket(burstCapacity, System.nanoTime()));
+		return Mono.just(bucket.tryConsume(replenishRate, burstCapacity, requestedTokens));
+	}
+	
+	private static final class Bucket {
+		
+		private double tokens;
+		private long lastRefillNanos;
+		
+		private Bucket(final double tokens, final long lastRefillNanos) {
+			this.tokens = tokens;
+			this.lastRefillNanos = lastRefillNanos;
+		}
+		
+		private synchronized long tryConsume(final long replenishRate, final long burstCapacity, final long requestedTokens) {
+			final long now = System.nanoTime();
+			final double refilled = (now - this.lastRefillNanos) * replenishRate / (double) TimeUnit.SECONDS.toNanos(1);
+			this.tokens = Math.min(burstCapacity, this.tokens + refilled);
+			this.lastRefillNanos = now;
+			if (this.tokens < requestedTokens) {
+				return -1L;
+			}
+			this.tokens -= requestedTokens;
+			return (long) this.tokens;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
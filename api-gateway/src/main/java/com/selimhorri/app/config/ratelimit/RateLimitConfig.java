@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+	
+	// declare a TokenBucketStore bean backed by a shared store to enforce limits across gateway replicas
+	@Bean
+	@ConditionalOnMissingBean(TokenBucketStore.class)
+	public TokenBucketStore tokenBucketStore(final RateLimitProperties rateLimitProperties) {
+		return new InMemoryTokenBucketStore(rateLimitProperties.getStore());
+	}
+	
+	@Bean
+	public TokenBucketRateLimiter tokenBucketRateLimiter(final ConfigurationService configurationService, 
+			final RateLimitProperties rateLimitProperties, final TokenBucketStore tokenBucketStore, final MeterRegistry meterRegistry) {
+		return new TokenBucketRateLimiter(configurationService, rateLimitProperties, tokenBucketStore, meterRegistry);
+	}
+	
+	@Bean
+	public ClientKeyResolver clientKeyResolver(final ObjectMapper objectMapper, final RateLimitProperties rateLimitProperties) {
+		return new ClientKeyResolver(objectMapper, rateLimitProperties.getClientKey());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
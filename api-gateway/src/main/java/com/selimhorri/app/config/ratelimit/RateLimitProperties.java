@@ -0,0 +1,70 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@ConfigurationProperties(prefix = "app.gateway.rate-limit")
+@Data
+public class RateLimitProperties {
+	
+	private Limit defaults = new Limit();
+	private Map<String, Limit> routes = new HashMap<>();
+	private final Store store = new Store();
+	private final ClientKey clientKey = new ClientKey();
+	
+	public Limit getLimit(final String routeId) {
+		return this.routes.getOrDefault(routeId, this.defaults);
+	}
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Limit {
+		
+		// tokens added per second, i.e. the sustained request rate per client
+		private long replenishRate = 50;
+		private long burstCapacity = 100;
+		private long requestedTokens = 1;
+		
+	}
+	
+	@Data
+	public static class Store {
+		
+		private long maximumSize = 100_000;
+		private Duration expireAfterAccess = Duration.ofMinutes(10);
+		
+	}
+	
+	@Data
+	public static class ClientKey {
+		
+		// base64 HS256 key proxy-client signs its tokens with
+		private String signingKey = "secret";
+		// addresses of load balancers in front of the gateway whose X-Forwarded-For is believed
+		private List<String> trustedProxies = new ArrayList<>();
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,69 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.util.Map;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+public class TokenBucketRateLimiter extends AbstractRateLimiter<RateLimitProperties.Limit> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+	
+	private final RateLimitProperties rateLimitProperties;
+	private final TokenBucketStore tokenBucketStore;
+	private final MeterRegistry meterRegistry;
+	
+	public TokenBucketRateLimiter(final ConfigurationService configurationService, final RateLimitProperties rateLimitProperties, 
+			final TokenBucketStore tokenBucketStore, final MeterRegistry meterRegistry) {
+		super(RateLimitProperties.Limit.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.rateLimitProperties = rateLimitProperties;
+		this.tokenBucketStore = tokenBucketStore;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		// limits bound from filter args win over app.gateway.rate-limit
+		final RateLimitProperties.Limit limit = this.getConfig().getOrDefault(routeId, this.rateLimitProperties.getLimit(routeId));
+		return this.tokenBucketStore
+				.tryConsume(routeId + ":" + id, limit.getReplenishRate(), limit.getBurstCapacity(), limit.getRequestedTokens())
+				.map(tokensLeft -> {
+					if (tokensLeft < 0) {
+						log.debug("*** TokenBucketRateLimiter; rejecting {} on route {} *", id, routeId);
+						this.meterRegistry.counter("gateway.requests.rejected", "route", routeId, "reason", "rate_limit")
+								.increment();
+						return new Response(false, Map.of(
+								REMAINING_HEADER, "0",
+								REPLENISH_RATE_HEADER, String.valueOf(limit.getReplenishRate()),
+								BURST_CAPACITY_HEADER, String.valueOf(limit.getBurstCapacity()),
+								HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, limit.getRequestedTokens() / Math.max(1, limit.getReplenishRate())))));
+					}
+					return new Response(true, Map.of(
+							REMAINING_HEADER, String.valueOf(tokensLeft),
+							REPLENISH_RATE_HEADER, String.valueOf(limit.getReplenishRate()),
+							BURST_CAPACITY_HEADER, String.valueOf(limit.getBurstCapacity())));
+				});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,10 @@
+package com.selimhorri.app.config.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+public interface TokenBucketStore {
+	
+	// tokens left in the bucket after consuming, or -1 when the request is rejected
+	Mono<Long> tryConsume(final String key, final long replenishRate, final long burstCapacity, final long requestedTokens);
+	
+}
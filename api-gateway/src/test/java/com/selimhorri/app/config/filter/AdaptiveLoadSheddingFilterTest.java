@@ -0,0 +1,126 @@
+package com.selimhorri.app.config.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para AdaptiveLoadSheddingFilter
+ * Validación del límite de concurrencia adaptativo y del rechazo con 429
+ */
+@DisplayName("Adaptive Load Shedding Filter Unit Tests")
+class AdaptiveLoadSheddingFilterTest {
+
+    private static final Route ROUTE = Route.async()
+            .id("PRODUCT-SERVICE")
+            .uri(URI.create("lb://PRODUCT-SERVICE"))
+            .predicate(exchange -> true)
+            .build();
+
+    private LoadSheddingProperties loadSheddingProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveLoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        loadSheddingProperties = new LoadSheddingProperties();
+        loadSheddingProperties.setInitialLimit(2);
+        loadSheddingProperties.setMinLimit(1);
+        loadSheddingProperties.setTargetLatency(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdaptiveLoadSheddingFilter(loadSheddingProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should shed requests above the concurrency limit with 429")
+    void testFilter_AboveLimit_ShouldReject() {
+        // Given - dos peticiones que quedan en vuelo
+        final Sinks.Empty<Void> downstream = Sinks.empty();
+        final GatewayFilterChain pending = exchange -> downstream.asMono();
+        filter.filter(exchange(), pending).subscribe();
+        filter.filter(exchange(), pending).subscribe();
+
+        // When
+        final MockServerWebExchange shed = exchange();
+        filter.filter(shed, exchange -> Mono.empty()).block();
+
+        // Then
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.counter("gateway.requests.rejected", "route", "PRODUCT-SERVICE", "reason", "load_shed").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.loadshedding.inflight").gauge().value()).isEqualTo(2.0);
+        downstream.tryEmitEmpty();
+        assertThat(meterRegistry.get("gateway.loadshedding.inflight").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit on downstream errors and grow it back on healthy responses")
+    void testFilter_ShouldAdaptLimitToDownstreamSignals() {
+        // Given
+        loadSheddingProperties.setInitialLimit(20);
+        loadSheddingProperties.setTargetLatency(Duration.ofSeconds(5));
+        final GatewayFilterChain failing = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        };
+
+        // When
+        filter = new AdaptiveLoadSheddingFilter(loadSheddingProperties, meterRegistry);
+        filter.filter(exchange(), failing).block();
+        final int afterFailure = filter.getLimit("PRODUCT-SERVICE");
+        for (int i = 0; i < 40; i++) {
+            filter.filter(exchange(), exchange -> Mono.empty()).block();
+        }
+
+        // Then
+        assertThat(afterFailure).isLessThan(20);
+        assertThat(filter.getLimit("PRODUCT-SERVICE")).isGreaterThan(afterFailure);
+    }
+
+    @Test
+    @DisplayName("Should judge a streamed response by the time to its first byte")
+    void testFilter_SlowStreamWithFastFirstByte_ShouldKeepLimit() {
+        // Given - la respuesta se confirma enseguida pero el cuerpo tarda más que la latencia objetivo
+        loadSheddingProperties.setInitialLimit(20);
+        loadSheddingProperties.setTargetLatency(Duration.ofMillis(100));
+        final GatewayFilterChain streaming = exchange -> {
+            final DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+            return exchange.getResponse().writeWith(Flux.concat(
+                    Mono.fromSupplier(() -> bufferFactory.wrap("{\"productId\":1}\n".getBytes(StandardCharsets.UTF_8))),
+                    Mono.delay(Duration.ofMillis(300))
+                            .map(tick -> bufferFactory.wrap("{\"productId\":2}\n".getBytes(StandardCharsets.UTF_8)))));
+        };
+
+        // When
+        filter = new AdaptiveLoadSheddingFilter(loadSheddingProperties, meterRegistry);
+        filter.filter(exchange(), streaming).block();
+
+        // Then
+        assertThat(filter.getLimit("PRODUCT-SERVICE")).isEqualTo(20);
+    }
+
+    private MockServerWebExchange exchange() {
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        return exchange;
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.selimhorri.app.config.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para ResponseCacheGatewayFilterFactory
+ * Validación de la caché de respuestas GET y de las peticiones condicionales con ETag
+ */
+@DisplayName("Response Cache Gateway Filter Unit Tests")
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"collection\":[{\"productId\":1,\"productTitle\":\"asus\"}]}";
+
+    private AtomicInteger upstreamCalls;
+    private MediaType upstreamContentType;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        upstreamCalls = new AtomicInteger();
+        upstreamContentType = MediaType.APPLICATION_JSON;
+        final ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setRouteId("PRODUCT-SERVICE");
+        config.setExcludePaths(List.of("/product-service/api/reservations/**"));
+        filter = new ResponseCacheGatewayFilterFactory(new SimpleMeterRegistry()).apply(config);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated GET from the cache with the same strong ETag")
+    void testFilter_RepeatedGet_ShouldHitCache() {
+        // Given
+        final MockServerWebExchange first = get("/product-service/api/products");
+        final MockServerWebExchange second = get("/product-service/api/products");
+
+        // When
+        filter(first);
+        filter(second);
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getAccessControlAllowOrigin()).isNull();
+        assertThat(second.getResponse().getHeaders().getETag())
+                .startsWith("\"")
+                .isEqualTo(first.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Should answer If-None-Match with 304 and no body")
+    void testFilter_WithMatchingIfNoneMatch_ShouldReturnNotModified() {
+        // Given
+        final MockServerWebExchange first = get("/product-service/api/products");
+        filter(first);
+        final String eTag = first.getResponse().getHeaders().getETag();
+
+        // When
+        final MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+        filter(conditional);
+
+        // Then
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(conditional.getResponse().getBodyAsString().block()).isNullOrEmpty();
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should key entries by the configured Vary headers")
+    void testFilter_WithDifferentAccept_ShouldMiss() {
+        // When
+        filter(get("/product-service/api/products"));
+        filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the collection after a successful write without an id")
+    void testFilter_AfterPut_ShouldReloadFromUpstream() {
+        // Given
+        filter(get("/product-service/api/products"));
+
+        // When
+        filter(MockServerWebExchange.from(MockServerHttpRequest.put("/product-service/api/products").build()));
+        filter(get("/product-service/api/products"));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop only the written product and the listings after a product write")
+    void testFilter_AfterProductWrite_ShouldKeepOtherProducts() {
+        // Given
+        filter(get("/product-service/api/products"));
+        filter(get("/product-service/api/products/1"));
+        filter(get("/product-service/api/products/2"));
+        filter(get("/product-service/api/categories/1"));
+
+        // When
+        filter(MockServerWebExchange.from(MockServerHttpRequest.post("/product-service/api/products/1/stock").build()));
+        final MockServerWebExchange listing = get("/product-service/api/products");
+        final MockServerWebExchange written = get("/product-service/api/products/1");
+        final MockServerWebExchange other = get("/product-service/api/products/2");
+        final MockServerWebExchange category = get("/product-service/api/categories/1");
+        filter(listing);
+        filter(written);
+        filter(other);
+        filter(category);
+
+        // Then
+        assertThat(listing.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(written.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(other.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(category.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+    }
+
+    @Test
+    @DisplayName("Should keep the cache after a write to an excluded path")
+    void testFilter_AfterReservation_ShouldStillHit() {
+        // Given
+        filter(get("/product-service/api/products/1"));
+
+        // When
+        filter(MockServerWebExchange.from(MockServerHttpRequest.post("/product-service/api/reservations").build()));
+        filter(get("/product-service/api/products/1"));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the cache on HEAD and OPTIONS")
+    void testFilter_AfterHeadOrOptions_ShouldStillHit() {
+        // Given
+        filter(get("/product-service/api/products"));
+
+        // When
+        filter(MockServerWebExchange.from(MockServerHttpRequest.head("/product-service/api/products").build()));
+        filter(MockServerWebExchange.from(MockServerHttpRequest.options("/product-service/api/products").build()));
+        filter(get("/product-service/api/products"));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not cache excluded paths")
+    void testFilter_ExcludedPath_ShouldBypassCache() {
+        // When
+        filter(get("/product-service/api/reservations/1"));
+        final MockServerWebExchange second = get("/product-service/api/reservations/1");
+        filter(second);
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should never cache authenticated or streamed responses")
+    void testFilter_AuthorizedOrStreamed_ShouldBypassCache() {
+        // When
+        filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")));
+        filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")));
+        upstreamContentType = MediaType.APPLICATION_NDJSON;
+        filter(get("/product-service/api/products/stream"));
+        final MockServerWebExchange streamed = get("/product-service/api/products/stream");
+        filter(streamed);
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(4);
+        assertThat(streamed.getResponse().getHeaders().getETag()).isNull();
+    }
+
+    private MockServerWebExchange get(final String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+    }
+
+    private void filter(final MockServerWebExchange exchange) {
+        final GatewayFilterChain upstream = upstreamExchange -> {
+            upstreamCalls.incrementAndGet();
+            upstreamExchange.getResponse().setStatusCode(HttpStatus.OK);
+            upstreamExchange.getResponse().getHeaders().setContentType(upstreamContentType);
+            upstreamExchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ORIGIN));
+            upstreamExchange.getResponse().getHeaders().setAccessControlAllowOrigin("http://localhost:4200");
+            return upstreamExchange.getResponse().writeWith(Mono.just(upstreamExchange.getResponse()
+                    .bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+        filter.filter(exchange, upstream).block();
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.selimhorri.app.config.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para TokenBucketRateLimiter y ClientKeyResolver
+ * Validación del límite por ruta y por cliente, y de la resolución de la clave del cliente
+ */
+@DisplayName("Token Bucket Rate Limiter Unit Tests")
+class TokenBucketRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        final RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setDefaults(new RateLimitProperties.Limit(1, 3, 1));
+        rateLimitProperties.getRoutes().put("USER-SERVICE", new RateLimitProperties.Limit(1, 1, 1));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TokenBucketRateLimiter(null, rateLimitProperties,
+                new InMemoryTokenBucketStore(rateLimitProperties.getStore()), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject with 429 headers")
+    void testIsAllowed_BeyondBurst_ShouldReject() {
+        // When
+        final boolean first = isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1");
+        final boolean second = isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1");
+        final boolean third = isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1");
+        final RateLimiter.Response rejected = rateLimiter.isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1").block();
+
+        // Then
+        assertThat(first && second && third).isTrue();
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders())
+                .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "0")
+                .containsKey(HttpHeaders.RETRY_AFTER);
+        assertThat(meterRegistry.counter("gateway.requests.rejected", "route", "PRODUCT-SERVICE", "reason", "rate_limit").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per route")
+    void testIsAllowed_ShouldIsolateClientsAndRoutes() {
+        // Given
+        isAllowed("USER-SERVICE", "user:selimhorri");
+
+        // When / Then
+        assertThat(isAllowed("USER-SERVICE", "user:selimhorri")).isFalse();
+        assertThat(isAllowed("USER-SERVICE", "user:other")).isTrue();
+        assertThat(isAllowed("PRODUCT-SERVICE", "user:selimhorri")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should key by the subject of a signed JWT and fall back to the client address")
+    void testResolve_ShouldPreferJwtSubject() throws Exception {
+        // Given
+        final ClientKeyResolver keyResolver = new ClientKeyResolver(new ObjectMapper(), new RateLimitProperties.ClientKey());
+        final MockServerWebExchange authenticated = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/app/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("{\"sub\":\"selimhorri\"}", "secret")));
+        final MockServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 51000)));
+
+        // When / Then
+        assertThat(keyResolver.resolve(authenticated).block()).isEqualTo("user:selimhorri");
+        assertThat(keyResolver.resolve(anonymous).block()).isEqualTo("ip:10.0.0.7");
+    }
+
+    @Test
+    @DisplayName("Should ignore forged or expired tokens and key them by the client address")
+    void testResolve_ForgedToken_ShouldUseClientAddress() throws Exception {
+        // Given
+        final ClientKeyResolver keyResolver = new ClientKeyResolver(new ObjectMapper(), new RateLimitProperties.ClientKey());
+        final String forged = token("{\"sub\":\"selimhorri\"}", "c2lnbmVkIGJ5IHNvbWVib2R5IGVsc2U=");
+        final String expired = token("{\"sub\":\"selimhorri\",\"exp\":1}", "secret");
+
+        // When / Then
+        for (final String token : new String[] { forged, expired, forged.substring(0, forged.lastIndexOf('.') + 1) + "x" }) {
+            final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                    .get("/app/api/orders")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .remoteAddress(new InetSocketAddress("10.0.0.7", 51000)));
+            assertThat(keyResolver.resolve(exchange).block()).isEqualTo("ip:10.0.0.7");
+        }
+    }
+
+    @Test
+    @DisplayName("Should honour X-Forwarded-For only from trusted proxies")
+    void testResolve_ForwardedFor_ShouldTrustOnlyKnownProxies() {
+        // Given
+        final RateLimitProperties.ClientKey clientKey = new RateLimitProperties.ClientKey();
+        clientKey.setTrustedProxies(List.of("10.0.0.1"));
+        final ClientKeyResolver keyResolver = new ClientKeyResolver(new ObjectMapper(), clientKey);
+        final MockServerWebExchange viaProxy = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .header("X-Forwarded-For", "1.2.3.4, 203.0.113.9")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 51000)));
+        final MockServerWebExchange direct = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/product-service/api/products")
+                .header("X-Forwarded-For", "1.2.3.4")
+                .remoteAddress(new InetSocketAddress("203.0.113.9", 51000)));
+
+        // When / Then
+        assertThat(keyResolver.resolve(viaProxy).block()).isEqualTo("ip:203.0.113.9");
+        assertThat(keyResolver.resolve(direct).block()).isEqualTo("ip:203.0.113.9");
+    }
+
+    private boolean isAllowed(final String routeId, final String id) {
+        return rateLimiter.isAllowed(routeId, id).block().isAllowed();
+    }
+
+    // HS256 token signed the way jjwt 0.9 does with a base64 key, as proxy-client issues them
+    private static String token(final String claims, final String signingKey) throws Exception {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String content = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(Base64.getDecoder()
+                .decode(signingKey.substring(0, signingKey.length() - signingKey.length() % 4)), "HmacSHA256"));
+        return content + "." + encoder.encodeToString(mac.doFinal(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+}
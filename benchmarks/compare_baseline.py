@@ -0,0 +1,106 @@
+"""
+Comparación de resultados JMH contra la línea base
+==================================================
+
+Compara cada benchmark (nombre + parámetros) de un resultado JMH en JSON con
+otro de referencia y falla si alguno empeora más que el umbral y, además, los
+intervalos score ± error de los dos resultados no se solapan. Un cambio dentro
+del ruido de la medida (habitual en benchmarks de nanosegundos) no cuenta como
+regresión; para que el error sea fiable hay que medir con varios forks (-f 3).
+
+En CI la referencia es la rama base, medida en el mismo job y en la misma
+máquina. benchmarks/baseline/ solo se usa cuando la rama base aún no tiene
+benchmarks, y entonces el resultado no bloquea el job.
+
+Uso:
+    python3 benchmarks/compare_baseline.py base-results/product-service-benchmarks.json \
+        product-service-benchmarks.json --threshold 0.25
+
+En GitHub Actions la tabla se añade también al resumen del job ($GITHUB_STEP_SUMMARY).
+"""
+
+import argparse
+import json
+import math
+import os
+import sys
+
+# en modo throughput un valor mayor es mejor; en avgt, sample y ss, uno menor
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = json.load(f)
+    scores = {}
+    for result in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted((result.get("params") or {}).items()))
+        key = ".".join(result["benchmark"].split(".")[-2:])
+        if params:
+            key += f" [{params}]"
+        metric = result["primaryMetric"]
+        # JMH escribe "NaN" cuando no puede calcular el error
+        scores[key] = (result["mode"], metric["score"], float(metric.get("scoreError", "NaN")), metric["scoreUnit"])
+    return scores
+
+
+def overlaps(base_score, base_error, score, error):
+    # sin error (un solo fork o una sola iteración) no se puede separar el cambio del ruido
+    if math.isnan(base_error) or math.isnan(error):
+        return True
+    return score - error <= base_score + base_error and base_score - base_error <= score + error
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=0.25,
+                        help="empeoramiento relativo tolerado (0.25 = 25%%)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    lines = [
+        f"### {os.path.basename(args.current)}",
+        "",
+        "| Benchmark | Base | Actual | Cambio | |",
+        "|---|---:|---:|---:|---|",
+    ]
+    regressions = 0
+    for key, (mode, score, error, unit) in sorted(current.items()):
+        if key not in baseline:
+            lines.append(f"| {key} | - | {score:.3f} ± {error:.3f} {unit} | - | nuevo |")
+            continue
+        _, base_score, base_error, _ = baseline[key]
+        change = (score - base_score) / base_score if base_score else 0.0
+        worse = -change if mode in HIGHER_IS_BETTER else change
+        status = ""
+        if worse > args.threshold:
+            if overlaps(base_score, base_error, score, error):
+                status = "dentro del error"
+            else:
+                status = "regresión"
+                regressions += 1
+        lines.append(f"| {key} | {base_score:.3f} ± {base_error:.3f} | {score:.3f} ± {error:.3f} {unit} "
+                     f"| {change:+.1%} | {status} |")
+    for key in sorted(baseline.keys() - current.keys()):
+        lines.append(f"| {key} | {baseline[key][1]:.3f} | - | - | eliminado |")
+
+    report = "\n".join(lines) + "\n"
+    print(report)
+    summary = os.environ.get("GITHUB_STEP_SUMMARY")
+    if summary:
+        with open(summary, "a", encoding="utf-8") as f:
+            f.write(report + "\n")
+
+    if regressions:
+        print(f"{regressions} benchmark(s) empeoraron más de {args.threshold:.0%} frente a la referencia, "
+              f"fuera del error de la medida", file=sys.stderr)
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,77 @@
+package com.selimhorri.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la serialización Jackson de DtoCollectionResponse con ProductDto
+ * Compara el ObjectMapper de la aplicación (MapperConfig, salida indentada) con uno compacto
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoCollectionSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectMapper applicationMapper;
+    private ObjectMapper compactMapper;
+    private DtoCollectionResponse<ProductDto> response;
+
+    @Setup
+    public void setUp() {
+        applicationMapper = new MapperConfig().objectMapperBean();
+        compactMapper = new JsonMapper();
+        final List<ProductDto> productDtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            productDtos.add(ProductDto.builder()
+                    .productId(i)
+                    .productTitle("Product " + i)
+                    .imageUrl("https://cdn.example.com/products/" + i + ".png")
+                    .sku("SKU-" + i)
+                    .priceUnit(10.0 + i % 500)
+                    .quantity(i % 100)
+                    .categoryDto(CategoryDto.builder()
+                            .categoryId(i % 20)
+                            .categoryTitle("Category " + i % 20)
+                            .imageUrl("https://cdn.example.com/categories/" + i % 20 + ".png")
+                            .build())
+                    .build());
+        }
+        response = new DtoCollectionResponse<>(productDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeWithApplicationMapper() throws Exception {
+        return applicationMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() throws Exception {
+        return compactMapper.writeValueAsBytes(response);
+    }
+
+}
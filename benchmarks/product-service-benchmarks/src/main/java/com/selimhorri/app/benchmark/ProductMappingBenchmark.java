@@ -0,0 +1,127 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.projection.ProductView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de ProductMappingHelper
+ * Mide el mapeo entidad -> DTO, proyección -> DTO (listados) y DTO -> entidad (escrituras)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private Product product;
+    private ProductView productView;
+    private ProductDto productDto;
+
+    @Setup
+    public void setUp() {
+        product = Product.builder()
+                .productId(1)
+                .productTitle("Lenovo ThinkPad X1 Carbon")
+                .imageUrl("https://cdn.example.com/products/1.png")
+                .sku("LN-X1-CARBON-9")
+                .priceUnit(1499.99)
+                .quantity(42)
+                .category(Category.builder()
+                        .categoryId(3)
+                        .categoryTitle("Laptops")
+                        .imageUrl("https://cdn.example.com/categories/3.png")
+                        .build())
+                .build();
+        productView = new FixedProductView(product);
+        productDto = ProductMappingHelper.map(product);
+    }
+
+    @Benchmark
+    public ProductDto mapEntityToDto() {
+        return ProductMappingHelper.map(product);
+    }
+
+    @Benchmark
+    public ProductDto mapViewToDto() {
+        return ProductMappingHelper.map(productView);
+    }
+
+    @Benchmark
+    public Product mapDtoToEntity() {
+        return ProductMappingHelper.map(productDto);
+    }
+
+    // la proyección real es un proxy de Spring Data; aquí se aísla el coste del helper
+    private static final class FixedProductView implements ProductView {
+
+        private final Product product;
+
+        private FixedProductView(final Product product) {
+            this.product = product;
+        }
+
+        @Override
+        public Integer getProductId() {
+            return product.getProductId();
+        }
+
+        @Override
+        public String getProductTitle() {
+            return product.getProductTitle();
+        }
+
+        @Override
+        public String getImageUrl() {
+            return product.getImageUrl();
+        }
+
+        @Override
+        public String getSku() {
+            return product.getSku();
+        }
+
+        @Override
+        public Double getPriceUnit() {
+            return product.getPriceUnit();
+        }
+
+        @Override
+        public Integer getQuantity() {
+            return product.getQuantity();
+        }
+
+        @Override
+        public Integer getCategoryId() {
+            return product.getCategory().getCategoryId();
+        }
+
+        @Override
+        public String getCategoryTitle() {
+            return product.getCategory().getCategoryTitle();
+        }
+
+        @Override
+        public String getCategoryImageUrl() {
+            return product.getCategory().getImageUrl();
+        }
+
+    }
+
+}
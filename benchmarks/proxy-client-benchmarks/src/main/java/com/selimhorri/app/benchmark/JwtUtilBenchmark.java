@@ -0,0 +1,117 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.jwt.model.ParsedToken;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de JwtUtilImpl
+ * Mide la emisión de un token (login) y su parseo y validación (cada petición autenticada),
+ * y compara en JwtRequestFilter el camino anterior (extractUsername + validateToken, tres parseos)
+ * con parseToken (un solo parseo) según el tamaño del token
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtilImpl jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtilImpl();
+        userDetails = new UserDetailsImpl(CredentialDto.builder()
+                .username("selimhorri")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonLocked(true)
+                .build());
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public ParsedToken parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    // camino anterior: el filtro extrae el usuario y validateToken vuelve a parsear usuario y expiración
+    @Benchmark
+    public Boolean extractThenValidate(final ClaimsToken claimsToken) {
+        final String username = jwtUtil.extractUsername(claimsToken.token);
+        return jwtUtil.extractUsername(claimsToken.token).equals(username)
+                && username.equals(userDetails.getUsername())
+                && !jwtUtil.extractExpiration(claimsToken.token).before(new Date());
+    }
+
+    @Benchmark
+    public Boolean parseOnce(final ClaimsToken claimsToken) {
+        final ParsedToken parsedToken = jwtUtil.parseToken(claimsToken.token);
+        return parsedToken.getSubject() != null && jwtUtil.validateToken(parsedToken, userDetails);
+    }
+
+    // estado aparte para que el parámetro no cambie las claves de los benchmarks de la línea base
+    @State(Scope.Benchmark)
+    public static class ClaimsToken {
+
+        // 0: solo sub/iat/exp; 4: roles y flags de cuenta; 24: token con claims de perfil (~1.5 KB)
+        @Param({"0", "4", "24"})
+        private int extraClaims;
+
+        private String token;
+
+        @Setup
+        public void setUp() {
+            final Map<String, Object> claims = new HashMap<>();
+            claims.put("authorities", List.of(RoleBasedAuthority.ROLE_USER.name()));
+            for (int i = 0; i < extraClaims; i++) {
+                claims.put("claim" + i, "value-" + i + "-" + "x".repeat(32));
+            }
+            token = Jwts.builder()
+                    .setClaims(claims)
+                    .setSubject("selimhorri")
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(10)))
+                    .signWith(SignatureAlgorithm.HS256, "secret")
+                    .compact();
+        }
+
+    }
+
+}
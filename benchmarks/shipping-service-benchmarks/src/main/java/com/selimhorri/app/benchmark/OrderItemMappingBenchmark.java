@@ -0,0 +1,54 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de OrderItemMappingHelper
+ * Mide el mapeo entidad -> DTO (con los DTO anidados de producto y orden) y DTO -> entidad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderItemMappingBenchmark {
+
+    private OrderItem orderItem;
+    private OrderItemDto orderItemDto;
+
+    @Setup
+    public void setUp() {
+        orderItem = OrderItem.builder()
+                .productId(7)
+                .orderId(42)
+                .orderedQuantity(3)
+                .build();
+        orderItemDto = OrderItemMappingHelper.map(orderItem);
+    }
+
+    @Benchmark
+    public OrderItemDto mapEntityToDto() {
+        return OrderItemMappingHelper.map(orderItem);
+    }
+
+    @Benchmark
+    public OrderItem mapDtoToEntity() {
+        return OrderItemMappingHelper.map(orderItemDto);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.UserMappingHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de UserMappingHelper
+ * Mide el mapeo entidad -> DTO y DTO -> entidad de un usuario con sus credenciales
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private User user;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .userId(1)
+                .firstName("Selim")
+                .lastName("Horri")
+                .imageUrl("https://cdn.example.com/users/1.png")
+                .email("selim@example.com")
+                .phone("+21622125144")
+                .credential(Credential.builder()
+                        .credentialId(1)
+                        .username("selimhorri")
+                        .password("$2a$04$8mAh0Wm1HspJ8PtN3dFjHOkvHNjgL0Hd0h9Gs9R3sUJ7PvZ8hLdW6")
+                        .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                        .isEnabled(true)
+                        .isAccountNonExpired(true)
+                        .isAccountNonLocked(true)
+                        .isCredentialsNonExpired(true)
+                        .build())
+                .build();
+        userDto = UserMappingHelper.map(user);
+    }
+
+    @Benchmark
+    public UserDto mapEntityToDto() {
+        return UserMappingHelper.map(user);
+    }
+
+    @Benchmark
+    public User mapDtoToEntity() {
+        return UserMappingHelper.map(userDto);
+    }
+
+}
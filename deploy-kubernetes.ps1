@@ -44,6 +44,12 @@ Write-Host ""
 Write-Host "📝 Creando namespace 'ecommerce'..." -ForegroundColor Yellow
 kubectl apply -f k8s/namespace.yaml
 
+# Token compartido por las réplicas de product-service para invalidar la caché del catálogo
+kubectl get secret product-service-cache-invalidation -n ecommerce 2>&1 | Out-Null
+if ($LASTEXITCODE -ne 0) {
+    kubectl create secret generic product-service-cache-invalidation -n ecommerce --from-literal=token=$([guid]::NewGuid().ToString('N'))
+}
+
 # Desplegar Zipkin (Tracing)
 Write-Host "📊 Desplegando Zipkin (Distributed Tracing)..." -ForegroundColor Yellow
 kubectl apply -f k8s/zipkin-deployment.yaml
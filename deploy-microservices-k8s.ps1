@@ -76,6 +76,12 @@ if ($LASTEXITCODE -ne 0) {
 } else {
     Write-Host "✅ Namespace 'ecommerce' ya existe" -ForegroundColor Green
 }
+# Token compartido por las réplicas de product-service para invalidar la caché del catálogo
+kubectl get secret product-service-cache-invalidation -n ecommerce 2>&1 | Out-Null
+if ($LASTEXITCODE -ne 0) {
+    kubectl create secret generic product-service-cache-invalidation -n ecommerce --from-literal=token=$([guid]::NewGuid().ToString('N'))
+    Write-Host "✅ Secret 'product-service-cache-invalidation' creado" -ForegroundColor Green
+}
 Write-Host ""
 
 # Desplegar microservicios
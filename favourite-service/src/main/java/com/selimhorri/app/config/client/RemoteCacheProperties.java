@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.remote-cache")
+@Data
+public class RemoteCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration timeToLive = Duration.ofSeconds(30);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.logging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.access-log")
+@Data
+public class AccessLogProperties {
+	
+	private boolean enabled = true;
+	
+	// share of the successful, fast requests that get a line, failed and slow ones always do
+	private double sampleRate = 1.0;
+	private Duration slowThreshold = Duration.ofSeconds(1);
+	private List<String> excludePaths = new ArrayList<>(List.of("/actuator"));
+	
+}
+
+
+
+
+
+
+
+
+
+
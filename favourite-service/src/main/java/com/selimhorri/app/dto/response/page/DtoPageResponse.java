@@ -0,0 +1,68 @@
+package com.selimhorri.app.dto.response.page;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoPageResponse<T> {
+	
+	private Collection<T> collection;
+	private Integer size;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer page;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Long totalElements;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer totalPages;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer nextAfter;
+	
+	public static <T> DtoPageResponse<T> of(final Page<T> page) {
+		return DtoPageResponse.<T>builder()
+				.collection(page.getContent())
+				.size(page.getSize())
+				.page(page.getNumber())
+				.totalElements(page.getTotalElements())
+				.totalPages(page.getTotalPages())
+				.build();
+	}
+	
+	public static <T> DtoPageResponse<T> of(final Slice<T> slice, final Function<T, Integer> idExtractor) {
+		final var content = slice.getContent();
+		return DtoPageResponse.<T>builder()
+				.collection(content)
+				.size(slice.getSize())
+				.nextAfter(slice.hasNext() && !content.isEmpty() ? 
+						idExtractor.apply(content.get(content.size() - 1)) : null)
+				.build();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,7 +30,7 @@ public class ApiExceptionHandler {
 	})
 	public <T extends BindException> ResponseEntity<ExceptionMsg> handleValidationException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle validation exception*\n");
+		log.debug("**ApiExceptionHandler controller, handle validation exception*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -42,10 +44,12 @@ public class ApiExceptionHandler {
 	
 	@ExceptionHandler(value = {
 		FavouriteNotFoundException.class,
+		// unknown sort property on the paged endpoints
+		PropertyReferenceException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle API request*\n");
+		log.debug("**ApiExceptionHandler controller, handle API request*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -57,6 +61,24 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	// the bulkhead of a remote dependency is full, the client should back off and retry
+	@ExceptionHandler(value = {
+		BulkheadFullException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleOverloadException(final T e) {
+		
+		log.debug("**ApiExceptionHandler controller, handle overload exception*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
 	
 	
 }
@@ -0,0 +1,47 @@
+package com.selimhorri.app.helper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+public interface StreamingResponseHelper {
+	
+	public static <T> ResponseEntity<StreamingResponseBody> ndjson(final ObjectMapper objectMapper, 
+			final Consumer<Consumer<T>> producer) {
+		
+		final var objectWriter = objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT);
+		
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> producer.accept(dto -> {
+					try {
+						outputStream.write(objectWriter.writeValueAsBytes(dto));
+						outputStream.write('\n');
+					}
+					catch (final IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -6,6 +6,9 @@ import java.time.format.DateTimeFormatter;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +18,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,10 +39,11 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteResource {
 	
 	private final FavouriteService favouriteService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
-		log.info("*** FavouriteDto List, controller; fetch all favourites *");
+		log.debug("*** FavouriteDto List, controller; fetch all favourites *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
 	}
 	
@@ -44,7 +52,7 @@ public class FavouriteResource {
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		log.info("*** FavouriteDto, resource; fetch favourite by id *");
+		log.debug("*** FavouriteDto, resource; fetch favourite by id *");
 		return ResponseEntity.ok(this.favouriteService.findById(
 				new FavouriteId(Integer.parseInt(userId), Integer.parseInt(productId), 
 						LocalDateTime.parse(likeDate, DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)))));
@@ -55,7 +63,7 @@ public class FavouriteResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final FavouriteId favouriteId) {
-		log.info("*** FavouriteDto, resource; fetch favourite by id *");
+		log.debug("*** FavouriteDto, resource; fetch favourite by id *");
 		return ResponseEntity.ok(this.favouriteService.findById(favouriteId));
 	}
 	
@@ -64,7 +72,7 @@ public class FavouriteResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final FavouriteDto favouriteDto) {
-		log.info("*** FavouriteDto, resource; save favourite *");
+		log.debug("*** FavouriteDto, resource; save favourite *");
 		return ResponseEntity.ok(this.favouriteService.save(favouriteDto));
 	}
 	
@@ -73,7 +81,7 @@ public class FavouriteResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final FavouriteDto favouriteDto) {
-		log.info("*** FavouriteDto, resource; update favourite *");
+		log.debug("*** FavouriteDto, resource; update favourite *");
 		return ResponseEntity.ok(this.favouriteService.update(favouriteDto));
 	}
 	
@@ -82,7 +90,7 @@ public class FavouriteResource {
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		log.info("*** Boolean, resource; delete favourite by id *");
+		log.debug("*** Boolean, resource; delete favourite by id *");
 		this.favouriteService.deleteById(new FavouriteId(Integer.parseInt(userId), Integer.parseInt(productId), 
 						LocalDateTime.parse(likeDate, DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))));
 		return ResponseEntity.ok(true);
@@ -93,11 +101,24 @@ public class FavouriteResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final FavouriteId favouriteId) {
-		log.info("*** Boolean, resource; delete favourite by id *");
+		log.debug("*** Boolean, resource; delete favourite by id *");
 		this.favouriteService.deleteById(favouriteId);
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<FavouriteDto>> findAll(
+			@PageableDefault(size = 20, sort = "likeDate", direction = Direction.DESC) final Pageable pageable) {
+		log.debug("*** FavouriteDto Page, controller; fetch page of favourites *");
+		return ResponseEntity.ok(DtoPageResponse.of(this.favouriteService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** FavouriteDto Stream, controller; stream all favourites *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.favouriteService::streamAll);
+	}
+	
 	
 	
 }
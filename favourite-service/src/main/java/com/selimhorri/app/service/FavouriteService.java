@@ -1,6 +1,10 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
@@ -12,5 +16,7 @@ public interface FavouriteService {
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
+	Page<FavouriteDto> findAll(final Pageable pageable);
+	void streamAll(final Consumer<FavouriteDto> consumer);
 	
 }
@@ -1,18 +1,37 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
-
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.client.RemoteDtoCache;
+import com.selimhorri.app.config.client.SingleFlight;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
@@ -27,40 +46,35 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class FavouriteServiceImpl implements FavouriteService {
 	
+	private static final int STREAM_CHUNK_SIZE = 500;
+	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
+	private final SingleFlight singleFlight;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
-		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		log.debug("*** FavouriteDto List, service; fetch all favourites *");
+		return this.enrich(this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
+					.collect(Collectors.toUnmodifiableList()))
+				.stream()
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
 	public FavouriteDto findById(final FavouriteId favouriteId) {
-		log.info("*** FavouriteDto, service; fetch favourite by id *");
+		log.debug("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
 				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					f.setUserDto(this.fetchCachedUsers(Set.of(f.getUserId()))
+							.getOrDefault(f.getUserId(), f.getUserDto()));
+					f.setProductDto(this.fetchCachedProducts(Set.of(f.getProductId()))
+							.getOrDefault(f.getProductId(), f.getProductDto()));
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
@@ -84,6 +98,89 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	@Override
+	public Page<FavouriteDto> findAll(final Pageable pageable) {
+		log.debug("*** FavouriteDto Page, service; fetch page of favourites *");
+		final var page = this.favouriteRepository.findAll(pageable)
+				.map(FavouriteMappingHelper::map);
+		return new PageImpl<>(this.enrich(page.getContent()), page.getPageable(), page.getTotalElements());
+	}
+	
+	// keyset chunks, each read in its own short transaction, so the user and product lookups
+	// and the writes to the client never run while a database connection is held
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public void streamAll(final Consumer<FavouriteDto> consumer) {
+		log.debug("*** FavouriteDto Stream, service; stream all favourites *");
+		final Pageable chunk = PageRequest.of(0, STREAM_CHUNK_SIZE, Sort.by("userId", "productId", "likeDate"));
+		Slice<Favourite> favourites = this.favouriteRepository.findAllBy(chunk);
+		this.enrich(favourites.map(FavouriteMappingHelper::map).getContent()).forEach(consumer);
+		while (favourites.hasNext()) {
+			final Favourite last = favourites.getContent().get(favourites.getNumberOfElements() - 1);
+			favourites = this.favouriteRepository.findAllAfter(last.getUserId(), last.getProductId(), 
+					last.getLikeDate(), chunk);
+			this.enrich(favourites.map(FavouriteMappingHelper::map).getContent()).forEach(consumer);
+		}
+	}
+	
+	private List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos) {
+		
+		final Map<Integer, UserDto> userDtos = this.fetchCachedUsers(favouriteDtos.stream()
+				.map(FavouriteDto::getUserId)
+				.collect(Collectors.toSet()));
+		final Map<Integer, ProductDto> productDtos = this.fetchCachedProducts(favouriteDtos.stream()
+				.map(FavouriteDto::getProductId)
+				.collect(Collectors.toSet()));
+		
+		favouriteDtos.forEach(f -> {
+			f.setUserDto(userDtos.getOrDefault(f.getUserId(), f.getUserDto()));
+			f.setProductDto(productDtos.getOrDefault(f.getProductId(), f.getProductDto()));
+		});
+		return favouriteDtos;
+	}
+	
+	private Map<Integer, UserDto> fetchCachedUsers(final Set<Integer> userIds) {
+		return this.remoteDtoCache.getAll(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, userIds, UserDto.class, 
+				missingIds -> this.singleFlight.getAll(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, 
+						missingIds, this::fetchUsers));
+	}
+	
+	private Map<Integer, ProductDto> fetchCachedProducts(final Set<Integer> productIds) {
+		return this.remoteDtoCache.getAll(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, productIds, ProductDto.class, 
+				missingIds -> this.singleFlight.getAll(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, 
+						missingIds, this::fetchProducts));
+	}
+	
+	private Map<Integer, UserDto> fetchUsers(final Set<Integer> userIds) {
+		if (userIds.isEmpty()) {
+			return Map.of();
+		}
+		return Optional.ofNullable(this.restTemplate
+					.exchange(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+							HttpMethod.POST, new HttpEntity<>(userIds), 
+							new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {})
+					.getBody())
+				.map(DtoCollectionResponse::getCollection)
+				.orElseGet(List::of)
+				.stream()
+					.collect(Collectors.toMap(UserDto::getUserId, Function.identity(), (u1, u2) -> u1));
+	}
+	
+	private Map<Integer, ProductDto> fetchProducts(final Set<Integer> productIds) {
+		if (productIds.isEmpty()) {
+			return Map.of();
+		}
+		return Optional.ofNullable(this.restTemplate
+					.exchange(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch", 
+							HttpMethod.POST, new HttpEntity<>(productIds), 
+							new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {})
+					.getBody())
+				.map(DtoCollectionResponse::getCollection)
+				.orElseGet(List::of)
+				.stream()
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity(), (p1, p2) -> p1));
+	}
+	
 	
 	
 }
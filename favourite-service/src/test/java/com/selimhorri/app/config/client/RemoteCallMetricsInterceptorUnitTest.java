@@ -0,0 +1,123 @@
+package com.selimhorri.app.config.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Pruebas Unitarias para RemoteCallMetricsInterceptor
+ * Validación de los timers http.client.requests por servicio destino,
+ * plantilla de uri y resultado de la llamada
+ */
+@DisplayName("Remote Call Metrics Interceptor Unit Tests")
+class RemoteCallMetricsInterceptorUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = new RestTemplate();
+        final RemoteCallMetricsInterceptor interceptor = new RemoteCallMetricsInterceptor(meterRegistry);
+        restTemplate.setUriTemplateHandler(interceptor.uriTemplateHandler(restTemplate.getUriTemplateHandler()));
+        restTemplate.getInterceptors().add(interceptor);
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    @DisplayName("Should tag concatenated ids as {id} and the target service as clientName")
+    void testConcatenatedUrl() {
+        server.expect(requestTo("http://PRODUCT-SERVICE/product-service/api/products/42"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+
+        restTemplate.getForObject("http://PRODUCT-SERVICE/product-service/api/products/42", String.class);
+
+        final Timer timer = meterRegistry.get(RemoteCallMetricsInterceptor.METRIC_NAME)
+                .tag("clientName", "PRODUCT-SERVICE")
+                .tag("uri", "/product-service/api/products/{id}")
+                .tag("method", "GET")
+                .tag("status", "200")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep uri variables of the template and drop the query")
+    void testUriTemplate() {
+        server.expect(requestTo("http://USER-SERVICE/user-service/api/credentials/username/alice?active=true"))
+                .andRespond(withSuccess());
+
+        restTemplate.getForObject("http://USER-SERVICE/user-service/api/credentials/username/{username}?active=true",
+                String.class, "alice");
+
+        assertThat(meterRegistry.get(RemoteCallMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "/user-service/api/credentials/username/{username}")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record error responses with their status and outcome")
+    void testClientError() {
+        server.expect(requestTo("http://USER-SERVICE/user-service/api/users/7"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThatThrownBy(() -> restTemplate.getForObject("http://USER-SERVICE/user-service/api/users/7", String.class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(meterRegistry.get(RemoteCallMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "/user-service/api/users/{id}")
+                .tag("status", "404")
+                .tag("outcome", "CLIENT_ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not reuse the template of a call that never reached the interceptor")
+    void testStaleTemplate() {
+        // a template expanded on this thread whose request failed before being executed
+        restTemplate.getUriTemplateHandler().expand("http://USER-SERVICE/user-service/api/credentials/username/{username}", "bob");
+        server.expect(requestTo("http://USER-SERVICE/user-service/api/users/username/carol"))
+                .andRespond(withSuccess());
+
+        restTemplate.exchange(RequestEntity.get(URI.create("http://USER-SERVICE/user-service/api/users/username/carol")).build(),
+                String.class);
+
+        assertThat(meterRegistry.get(RemoteCallMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "/user-service/api/users/username/carol")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(RemoteCallMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "/user-service/api/credentials/username/{username}")
+                .timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should normalise numeric path segments")
+    void testUriNormalisation() {
+        assertThat(RemoteCallMetricsInterceptor.uri("http://ORDER-SERVICE/order-service/api/orders/12/items/3?page=1"))
+                .isEqualTo("/order-service/api/orders/{id}/items/{id}");
+        assertThat(RemoteCallMetricsInterceptor.uri("http://ORDER-SERVICE")).isEqualTo("/");
+        assertThat(RemoteCallMetricsInterceptor.uri("/api/orders/batch")).isEqualTo("/api/orders/batch");
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.selimhorri.app.config.client;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas Unitarias para RemoteDtoCache
+ * Validación de la caché de consultas remotas a otros microservicios
+ * y de la respuesta degradada cuando el servicio remoto falla o el bulkhead está lleno
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Remote DTO Cache Unit Tests")
+class RemoteDtoCacheUnitTest {
+
+    private static final String USER_API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RemoteDtoCache remoteDtoCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remoteDtoCache = remoteDtoCache(ThreadPoolBulkheadRegistry.ofDefaults());
+    }
+
+    private RemoteDtoCache remoteDtoCache(final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry) {
+        final RemoteCacheProperties remoteCacheProperties = new RemoteCacheProperties();
+        remoteCacheProperties.setTimeToLive(Duration.ofMinutes(1));
+        final Resilience4JCircuitBreakerFactory circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(),
+                new Resilience4jBulkheadProvider(threadPoolBulkheadRegistry, BulkheadRegistry.ofDefaults()));
+        circuitBreakerFactory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                        .slidingWindowSize(2)
+                        .minimumNumberOfCalls(2)
+                        .build())
+                .timeLimiterConfig(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(200))
+                        .build())
+                .build());
+        return new RemoteDtoCache(restTemplate, remoteCacheProperties, meterRegistry, circuitBreakerFactory);
+    }
+
+    @Test
+    @DisplayName("Should call the remote service once per id within the TTL")
+    void testGet_ShouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(restTemplate.getForObject(eq(USER_API_URL + "/1"), eq(UserDto.class)))
+                .thenReturn(UserDto.builder().userId(1).firstName("John").build());
+
+        // When
+        final UserDto first = remoteDtoCache.get(USER_API_URL, 1, UserDto.class);
+        final UserDto second = remoteDtoCache.get(USER_API_URL, 1, UserDto.class);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto.class));
+        assertThat(meterRegistry.get("remote.cache.hit.ratio")
+                .tag("target", "user-service")
+                .tag("resource", "users")
+                .gauge()
+                .value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should load only distinct missing ids through the batch loader")
+    void testGetAll_ShouldDeduplicateAndLoadOnlyMisses() {
+        // Given
+        when(restTemplate.getForObject(eq(USER_API_URL + "/1"), eq(UserDto.class)))
+                .thenReturn(UserDto.builder().userId(1).build());
+        remoteDtoCache.get(USER_API_URL, 1, UserDto.class);
+        final AtomicReference<Set<Integer>> requested = new AtomicReference<>();
+
+        // When - el id 2 aparece varias veces en la misma consulta
+        final Map<Integer, UserDto> result = remoteDtoCache.getAll(USER_API_URL, List.of(1, 2, 2, 3, 2), UserDto.class,
+                ids -> {
+                    requested.set(Set.copyOf(ids));
+                    return ids.stream().collect(Collectors.toMap(id -> id, id -> UserDto.builder().userId(id).build()));
+                });
+
+        // Then
+        assertThat(requested.get()).containsExactlyInAnyOrder(2, 3);
+        assertThat(result).containsOnlyKeys(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should not cache empty remote responses")
+    void testGet_WhenRemoteReturnsNull_ShouldRetryNextTime() {
+        // Given
+        when(restTemplate.getForObject(eq(USER_API_URL + "/9"), eq(UserDto.class)))
+                .thenReturn(null);
+
+        // When
+        remoteDtoCache.get(USER_API_URL, 9, UserDto.class);
+        final UserDto result = remoteDtoCache.get(USER_API_URL, 9, UserDto.class);
+
+        // Then
+        assertThat(result).isNull();
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    @Test
+    @DisplayName("Should degrade to missing DTOs and stop calling a failing service once the circuit opens")
+    void testGet_WhenRemoteFails_ShouldDegradeAndOpenCircuit() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(UserDto.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        final UserDto first = remoteDtoCache.get(USER_API_URL, 1, UserDto.class);
+        final UserDto second = remoteDtoCache.get(USER_API_URL, 2, UserDto.class);
+        final UserDto third = remoteDtoCache.get(USER_API_URL, 3, UserDto.class);
+
+        // Then - la tercera consulta no llega al servicio remoto
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(third).isNull();
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UserDto.class));
+        assertThat(meterRegistry.get("remote.cache.degraded.lookups")
+                .tag("target", "user-service")
+                .tag("resource", "users")
+                .tag("exception", "ResourceAccessException")
+                .counter()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get("remote.cache.degraded.lookups")
+                .tag("exception", "CallNotPermittedException")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject lookups instead of degrading them when the bulkhead is full")
+    void testGetAll_WhenBulkheadIsFull_ShouldPropagateRejection() throws Exception {
+        // Given - un hilo ocupado y un hueco en la cola
+        final RemoteDtoCache saturatedCache = remoteDtoCache(ThreadPoolBulkheadRegistry.of(ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(1)
+                .maxThreadPoolSize(1)
+                .queueCapacity(1)
+                .build()));
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Map<Integer, UserDto>> running = CompletableFuture.supplyAsync(() -> saturatedCache
+                .getAll(USER_API_URL, List.of(1), UserDto.class, ids -> {
+                    started.countDown();
+                    await(release);
+                    return Map.of();
+                }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<Map<Integer, UserDto>> queued = CompletableFuture.supplyAsync(() -> saturatedCache
+                .getAll(USER_API_URL, List.of(2), UserDto.class, ids -> Map.of()));
+        Thread.sleep(50);
+
+        try {
+            // When / Then
+            assertThatThrownBy(() -> saturatedCache.getAll(USER_API_URL, List.of(3), UserDto.class, ids -> Map.of()))
+                    .isInstanceOf(BulkheadFullException.class);
+            assertThat(meterRegistry.find("remote.cache.degraded.lookups").counter()).isNull();
+        } finally {
+            release.countDown();
+            running.get(1, TimeUnit.SECONDS);
+            queued.get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up on a slow service after the time limit")
+    void testGetAll_WhenLoaderIsSlow_ShouldTimeOut() {
+        // When
+        final long start = System.nanoTime();
+        final Map<Integer, UserDto> result = remoteDtoCache.getAll(USER_API_URL, List.of(1), UserDto.class, ids -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of(1, UserDto.builder().userId(1).build());
+        });
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.selimhorri.app.config.client;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas Unitarias para SingleFlight
+ * Validación de la agrupación de consultas remotas concurrentes e idénticas
+ */
+@DisplayName("Single Flight Unit Tests")
+class SingleFlightUnitTest {
+
+    private static final String PRODUCT_API_URL = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight batch call between concurrent callers of the same ids")
+    void testGetAll_ShouldCoalesceConcurrentCallers() throws Exception {
+        // Given - la primera llamada queda bloqueada hasta que la segunda registra sus ids
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        // When
+        final Future<Map<Integer, ProductDto>> leader = executor.submit(() -> singleFlight.getAll(PRODUCT_API_URL, Set.of(1, 2), ids -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return products(ids);
+        }));
+        leaderStarted.await(1, TimeUnit.SECONDS);
+        final Future<Map<Integer, ProductDto>> follower = executor.submit(() -> singleFlight.getAll(PRODUCT_API_URL, Set.of(2, 3), ids -> {
+            calls.incrementAndGet();
+            assertThat(ids).containsExactly(3);
+            release.countDown();
+            return products(ids);
+        }));
+
+        // Then
+        assertThat(leader.get(1, TimeUnit.SECONDS)).containsOnlyKeys(1, 2);
+        assertThat(follower.get(1, TimeUnit.SECONDS)).containsOnlyKeys(2, 3);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("remote.singleflight.calls").tag("outcome", "coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the call fails so the next caller retries")
+    void testGetAll_WhenLoaderFails_ShouldNotKeepKeyInFlight() {
+        // Given / When
+        assertThatThrownBy(() -> singleFlight.getAll(PRODUCT_API_URL, Set.of(1), ids -> {
+            throw new IllegalStateException("product-service down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(singleFlight.getAll(PRODUCT_API_URL, Set.of(1), SingleFlightUnitTest::products)).containsOnlyKeys(1);
+        assertThat(meterRegistry.get("remote.singleflight.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the key when the loader throws an Error")
+    void testGetAll_WhenLoaderThrowsError_ShouldNotKeepKeyInFlight() {
+        // Given / When
+        assertThatThrownBy(() -> singleFlight.getAll(PRODUCT_API_URL, Set.of(1), ids -> {
+            throw new OutOfMemoryError("batch too large");
+        })).isInstanceOf(OutOfMemoryError.class);
+
+        // Then
+        assertThat(meterRegistry.get("remote.singleflight.inflight").gauge().value()).isZero();
+        assertThat(singleFlight.getAll(PRODUCT_API_URL, Set.of(1), SingleFlightUnitTest::products)).containsOnlyKeys(1);
+    }
+
+    private static Map<Integer, ProductDto> products(final Set<Integer> ids) {
+        return ids.stream().collect(Collectors.toMap(id -> id, id -> ProductDto.builder().productId(id).build()));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
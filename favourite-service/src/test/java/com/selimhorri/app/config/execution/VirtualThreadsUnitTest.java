@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.execution;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para VirtualThreads
+ * Validación del ejecutor de hilos virtuales en Java 21 y de que
+ * en versiones anteriores no se crea ninguno
+ */
+@DisplayName("Virtual Threads Unit Tests")
+class VirtualThreadsUnitTest {
+
+    @Test
+    @DisplayName("Should run tasks on named virtual threads only on Java 21 or later")
+    void testNewThreadPerTaskExecutor() throws Exception {
+        final Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor("test-virtual-");
+
+        if (Runtime.version().feature() < 21) {
+            assertThat(executor).isEmpty();
+            return;
+        }
+        assertThat(executor).isPresent();
+        try {
+            final Thread thread = executor.get().submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertThat(thread.getName()).startsWith("test-virtual-");
+            assertThat((Boolean) Thread.class.getMethod("isVirtual").invoke(thread)).isTrue();
+        }
+        finally {
+            executor.get().shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.selimhorri.app.config.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas Unitarias para AccessLogFilter
+ * Validación del muestreo de la línea de acceso y de que las peticiones
+ * fallidas o lentas siempre se registran
+ */
+@DisplayName("Access Log Filter Unit Tests")
+class AccessLogFilterUnitTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("access");
+    private ListAppender<ILoggingEvent> appender;
+    private AccessLogProperties accessLogProperties;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+        accessLogProperties = new AccessLogProperties();
+        accessLogProperties.setSampleRate(0.0);
+        accessLogProperties.setSlowThreshold(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should log one structured line per sampled request")
+    void testSampledRequest() throws ServletException, IOException {
+        accessLogProperties.setSampleRate(1.0);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/favourite-service/api/favourites");
+        request.setServletPath("/api/favourites");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AccessLogFilter(accessLogProperties).doFilter(request, response, new MockFilterChain());
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .startsWith("method=GET path=/favourite-service/api/favourites status=200 duration_us=")
+                .endsWith("sampled=true");
+    }
+
+    @Test
+    @DisplayName("Should skip fast successful requests outside the sample")
+    void testNotSampled() throws ServletException, IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/favourites");
+
+        new AccessLogFilter(accessLogProperties).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should always log server errors and exceptions")
+    void testFailedRequests() throws ServletException, IOException {
+        final AccessLogFilter filter = new AccessLogFilter(accessLogProperties);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(503);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/favourites"), response, new MockFilterChain());
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/favourites"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("boom");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .anySatisfy(line -> assertThat(line).contains("method=GET").contains("status=503").endsWith("sampled=false"))
+                .anySatisfy(line -> assertThat(line).contains("method=POST").contains("status=500").endsWith("sampled=false"));
+    }
+
+    @Test
+    @DisplayName("Should always log slow requests")
+    void testSlowRequest() throws ServletException, IOException {
+        accessLogProperties.setSlowThreshold(Duration.ZERO);
+
+        new AccessLogFilter(accessLogProperties)
+                .doFilter(new MockHttpServletRequest("GET", "/api/favourites"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not filter excluded paths")
+    void testExcludedPath() throws ServletException, IOException {
+        accessLogProperties.setSampleRate(1.0);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/favourite-service/actuator/health");
+        request.setServletPath("/actuator/health");
+
+        new AccessLogFilter(accessLogProperties).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).isEmpty();
+    }
+
+}
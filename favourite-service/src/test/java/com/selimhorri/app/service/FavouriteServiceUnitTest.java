@@ -0,0 +1,121 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.config.client.RemoteCacheProperties;
+import com.selimhorri.app.config.client.RemoteDtoCache;
+import com.selimhorri.app.config.client.SingleFlight;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.impl.FavouriteServiceImpl;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas Unitarias para FavouriteService
+ * Validación de que los usuarios y productos de los favoritos se resuelven
+ * con una sola consulta por lotes y sin ids repetidos
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Favourite Service Unit Tests")
+class FavouriteServiceUnitTest {
+
+    private static final String USER_BATCH_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch";
+    private static final String PRODUCT_BATCH_URL = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch";
+
+    @Mock
+    private FavouriteRepository favouriteRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private FavouriteServiceImpl favouriteService;
+
+    @BeforeEach
+    void setUp() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final Resilience4JCircuitBreakerFactory circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(),
+                new Resilience4jBulkheadProvider(ThreadPoolBulkheadRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()));
+        favouriteService = new FavouriteServiceImpl(favouriteRepository, restTemplate,
+                new RemoteDtoCache(restTemplate, new RemoteCacheProperties(), meterRegistry, circuitBreakerFactory),
+                new SingleFlight(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("Should resolve repeated users and products with one batch call each")
+    @SuppressWarnings("unchecked")
+    void testFindAll_ShouldBatchDistinctIds() {
+        // Given - el usuario 1 y el producto 10 aparecen en varios favoritos
+        when(favouriteRepository.findAll()).thenReturn(List.of(
+                favourite(1, 10, 1), favourite(1, 20, 2), favourite(2, 10, 3), favourite(1, 10, 4)));
+        when(restTemplate.exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+                        UserDto.builder().userId(1).firstName("John").build(),
+                        UserDto.builder().userId(2).firstName("Jane").build()))));
+        when(restTemplate.exchange(eq(PRODUCT_BATCH_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+                        ProductDto.builder().productId(10).productTitle("asus").build(),
+                        ProductDto.builder().productId(20).productTitle("hp").build()))));
+
+        // When
+        final List<FavouriteDto> favourites = favouriteService.findAll();
+
+        // Then
+        final ArgumentCaptor<HttpEntity<?>> userRequest = ArgumentCaptor.forClass(HttpEntity.class);
+        final ArgumentCaptor<HttpEntity<?>> productRequest = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(1)).exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), userRequest.capture(),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any());
+        verify(restTemplate, times(1)).exchange(eq(PRODUCT_BATCH_URL), eq(HttpMethod.POST), productRequest.capture(),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>>any());
+        assertThat((Iterable<Integer>) userRequest.getValue().getBody()).containsExactlyInAnyOrder(1, 2);
+        assertThat((Iterable<Integer>) productRequest.getValue().getBody()).containsExactlyInAnyOrder(10, 20);
+        assertThat(favourites).hasSize(4)
+                .allSatisfy(favourite -> {
+                    assertThat(favourite.getUserDto().getUserId()).isEqualTo(favourite.getUserId());
+                    assertThat(favourite.getProductDto().getProductId()).isEqualTo(favourite.getProductId());
+                });
+    }
+
+    private static Favourite favourite(final int userId, final int productId, final int day) {
+        return Favourite.builder()
+                .userId(userId)
+                .productId(productId)
+                .likeDate(LocalDateTime.of(2024, 1, day, 12, 0))
+                .build();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.selimhorri.app.loadtest;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+// open workload model: arrivals follow a schedule fixed up front and never wait for earlier journeys,
+// so a slow system faces a growing backlog instead of a politely reduced load (no coordinated
+// omission). each journey gets the time it was meant to start, a late start counts against latency
+public final class ArrivalRateGenerator {
+	
+	private final double rate;
+	private final boolean poisson;
+	private final int maxConcurrency;
+	private final Random random = new Random(42);
+	
+	public ArrivalRateGenerator(final double rate, final boolean poisson, final int maxConcurrency) {
+		this.rate = rate;
+		this.poisson = poisson;
+		this.maxConcurrency = maxConcurrency;
+	}
+	
+	// blocks for the duration plus the time the last journeys need to finish
+	public Result run(final Duration duration, final LongConsumer journey) throws InterruptedException {
+		final AtomicInteger threads = new AtomicInteger();
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(this.maxConcurrency, this.maxConcurrency,
+				30, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+					final Thread thread = new Thread(runnable, "load-test-user-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		
+		final long start = System.nanoTime();
+		final long end = start + duration.toNanos();
+		long started = 0;
+		long dropped = 0;
+		long intendedStart = start;
+		while (intendedStart < end) {
+			final long wait = intendedStart - System.nanoTime();
+			if (wait > 0)
+				LockSupport.parkNanos(wait);
+			final long scheduled = intendedStart;
+			try {
+				executor.execute(() -> journey.accept(scheduled));
+				started++;
+			}
+			catch (final RejectedExecutionException e) {
+				// every journey thread is busy, the system under test is saturated at this rate
+				dropped++;
+			}
+			intendedStart += this.nextInterval();
+		}
+		
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.MINUTES);
+		return new Result(started, dropped, System.nanoTime() - start);
+	}
+	
+	private long nextInterval() {
+		final double meanNanos = TimeUnit.SECONDS.toNanos(1) / this.rate;
+		if (!this.poisson)
+			return (long) meanNanos;
+		// exponential inter-arrival times give a Poisson arrival process with the same mean rate
+		return (long) (-Math.log(1 - this.random.nextDouble()) * meanNanos);
+	}
+	
+	public static final class Result {
+		
+		private final long started;
+		private final long dropped;
+		private final long elapsedNanos;
+		
+		private Result(final long started, final long dropped, final long elapsedNanos) {
+			this.started = started;
+			this.dropped = dropped;
+			this.elapsedNanos = elapsedNanos;
+		}
+		
+		public long getStarted() {
+			return this.started;
+		}
+		
+		public long getDropped() {
+			return this.dropped;
+		}
+		
+		public long getElapsedNanos() {
+			return this.elapsedNanos;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
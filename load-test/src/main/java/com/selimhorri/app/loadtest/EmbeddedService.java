@@ -0,0 +1,167 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// one service booted from its repackaged jar inside this JVM. the jar is exploded once into the work
+// directory and loaded by its own class loader whose parent is the platform loader: the services
+// share package and class names, and nothing of this launcher (Jackson, HdrHistogram) leaks into them
+public final class EmbeddedService {
+	
+	private static final String BOOT_INF = "BOOT-INF/";
+	private static final String EXPLODED_MARKER = ".exploded";
+	
+	private final String name;
+	private final int port;
+	private final Path jar;
+	private URLClassLoader classLoader;
+	
+	public EmbeddedService(final String name, final int port, final Path jar) {
+		this.name = name;
+		this.port = port;
+		this.jar = jar;
+	}
+	
+	public String getName() {
+		return this.name;
+	}
+	
+	// the discovery name the other services use in their URLs, e.g. PRODUCT-SERVICE
+	public String getServiceId() {
+		return this.name.toUpperCase();
+	}
+	
+	public int getPort() {
+		return this.port;
+	}
+	
+	// every service is mounted under its own name as servlet context path
+	public String getBaseUrl() {
+		return String.format("http://localhost:%d/%s", this.port, this.name);
+	}
+	
+	// returns once the application context has started, SpringApplication.run does not block
+	public void start(final List<String> args, final Path workDir) throws Exception {
+		final Path exploded = this.explode(workDir.resolve(this.name));
+		final String startClass;
+		try (final JarFile jarFile = new JarFile(this.jar.toFile())) {
+			startClass = jarFile.getManifest().getMainAttributes().getValue("Start-Class");
+		}
+		if (startClass == null)
+			throw new IllegalStateException(String.format("%s is not a repackaged Spring Boot jar", this.jar));
+		
+		this.classLoader = new URLClassLoader(this.name, this.classPath(exploded), ClassLoader.getPlatformClassLoader());
+		final Thread thread = Thread.currentThread();
+		final ClassLoader previous = thread.getContextClassLoader();
+		// threads the service creates while starting inherit its loader as context class loader
+		thread.setContextClassLoader(this.classLoader);
+		try {
+			this.disableTomcatUrlStreamHandlerFactory();
+			this.classLoader.loadClass(startClass)
+					.getMethod("main", String[].class)
+					.invoke(null, (Object) args.toArray(String[]::new));
+		}
+		catch (final InvocationTargetException e) {
+			throw new IllegalStateException(String.format("%s failed to start", this.name), e.getCause());
+		}
+		finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+	
+	// every service brings its own copy of Tomcat, and each copy would register its URL stream handler
+	// factory, which the JVM accepts only once. the services need no jar:war: URLs, so none registers it
+	private void disableTomcatUrlStreamHandlerFactory() throws ReflectiveOperationException {
+		try {
+			Class.forName("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory", true, this.classLoader)
+					.getMethod("disable")
+					.invoke(null);
+		}
+		catch (final ClassNotFoundException e) {
+			// not a Tomcat service
+		}
+	}
+	
+	// reuses the previous extraction while the jar is unchanged
+	private Path explode(final Path target) throws IOException {
+		final String stamp = Files.size(this.jar) + ":" + Files.getLastModifiedTime(this.jar).toMillis();
+		final Path marker = target.resolve(EXPLODED_MARKER);
+		if (Files.exists(marker) && stamp.equals(Files.readString(marker)))
+			return target;
+		
+		if (Files.exists(target)) {
+			try (final Stream<Path> paths = Files.walk(target)) {
+				for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+					Files.delete(path);
+			}
+		}
+		try (final JarFile jarFile = new JarFile(this.jar.toFile())) {
+			final Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				final JarEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !entry.getName().startsWith(BOOT_INF))
+					continue;
+				final Path destination = target.resolve(entry.getName()).normalize();
+				if (!destination.startsWith(target))
+					throw new IOException(String.format("Entry outside of the jar: %s", entry.getName()));
+				Files.createDirectories(destination.getParent());
+				try (final InputStream inputStream = jarFile.getInputStream(entry)) {
+					Files.copy(inputStream, destination, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		}
+		Files.writeString(marker, stamp);
+		return target;
+	}
+	
+	// classes first, then the libraries in the order the repackager recorded in classpath.idx
+	private URL[] classPath(final Path exploded) throws IOException {
+		final List<URL> urls = new ArrayList<>();
+		urls.add(exploded.resolve(BOOT_INF + "classes/").toUri().toURL());
+		final Path index = exploded.resolve(BOOT_INF + "classpath.idx");
+		final List<Path> libraries;
+		if (Files.exists(index)) {
+			libraries = Files.readAllLines(index, StandardCharsets.UTF_8).stream()
+					.map(line -> line.replaceFirst("^- ", "").replace("\"", "").trim())
+					.filter(line -> !line.isEmpty())
+					.map(exploded::resolve)
+					.collect(Collectors.toList());
+		}
+		else {
+			try (final Stream<Path> paths = Files.list(exploded.resolve(BOOT_INF + "lib"))) {
+				libraries = paths.sorted().collect(Collectors.toList());
+			}
+		}
+		for (final Path library : libraries)
+			urls.add(library.toUri().toURL());
+		return urls.toArray(URL[]::new);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
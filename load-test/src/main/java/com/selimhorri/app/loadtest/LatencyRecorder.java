@@ -0,0 +1,96 @@
+package com.selimhorri.app.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// latencies in microseconds per endpoint, recorded lock-free by the journey threads and drained into
+// running totals by the reporter. intervals give the progress lines, totals the final percentiles
+public final class LatencyRecorder {
+	
+	private static final int SIGNIFICANT_DIGITS = 3;
+	
+	private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+	
+	public void record(final String endpoint, final long elapsedNanos, final boolean success) {
+		final Endpoint stats = this.endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+		stats.recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+		if (!success)
+			stats.errors.incrementAndGet();
+	}
+	
+	// end of the warmup: what was recorded so far is dropped
+	public synchronized void reset() {
+		this.endpoints.values().forEach(stats -> {
+			stats.recorder.getIntervalHistogram();
+			stats.total.reset();
+			stats.errors.set(0);
+		});
+	}
+	
+	// what was recorded since the previous interval, per endpoint, also added to the totals
+	public synchronized Map<String, Histogram> interval() {
+		final Map<String, Histogram> interval = new TreeMap<>();
+		this.endpoints.forEach((endpoint, stats) -> {
+			final Histogram histogram = stats.recorder.getIntervalHistogram();
+			stats.total.add(histogram);
+			interval.put(endpoint, histogram);
+		});
+		return interval;
+	}
+	
+	public synchronized Map<String, Result> totals() {
+		this.interval();
+		final Map<String, Result> totals = new TreeMap<>();
+		this.endpoints.forEach((endpoint, stats) ->
+				totals.put(endpoint, new Result(stats.total.copy(), stats.errors.get())));
+		return totals;
+	}
+	
+	public static final class Result {
+		
+		private final Histogram histogram;
+		private final long errors;
+		
+		private Result(final Histogram histogram, final long errors) {
+			this.histogram = histogram;
+			this.errors = errors;
+		}
+		
+		public Histogram getHistogram() {
+			return this.histogram;
+		}
+		
+		public long getErrors() {
+			return this.errors;
+		}
+		
+	}
+	
+	private static final class Endpoint {
+		
+		private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+		private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+		private final AtomicLong errors = new AtomicLong();
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
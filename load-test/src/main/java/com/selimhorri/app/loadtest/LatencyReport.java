@@ -0,0 +1,87 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+// percentile table per endpoint in milliseconds, plus one .hgrm file per endpoint that the
+// HdrHistogram plotter (hdrhistogram.github.io/HdrHistogram/plotFiles.html) reads as is
+public final class LatencyReport {
+	
+	private static final double MICROS_PER_MILLI = 1000.0;
+	
+	private final Map<String, LatencyRecorder.Result> results;
+	private final double elapsedSeconds;
+	
+	public LatencyReport(final Map<String, LatencyRecorder.Result> results, final long elapsedNanos) {
+		this.results = results;
+		this.elapsedSeconds = elapsedNanos / 1e9;
+	}
+	
+	public void print(final PrintStream out) {
+		out.printf("%-58s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+				"endpoint", "count", "errors", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		this.results.forEach((endpoint, result) -> {
+			final Histogram histogram = result.getHistogram();
+			out.printf("%-58s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+					endpoint, histogram.getTotalCount(), result.getErrors(),
+					histogram.getTotalCount() / this.elapsedSeconds,
+					millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+					histogram.getMaxValue() / MICROS_PER_MILLI);
+		});
+	}
+	
+	public static void printInterval(final PrintStream out, final long secondsIntoRun, final Map<String, Histogram> interval) {
+		final Histogram journey = interval.get(UserJourney.JOURNEY);
+		if (journey == null || journey.getTotalCount() == 0) {
+			out.printf("[%4ds] no journey completed in this interval%n", secondsIntoRun);
+			return;
+		}
+		out.printf("[%4ds] journeys %6d  p50 %8.1f ms  p99 %8.1f ms  max %8.1f ms%n", secondsIntoRun,
+				journey.getTotalCount(), millis(journey, 50), millis(journey, 99), journey.getMaxValue() / MICROS_PER_MILLI);
+	}
+	
+	public void write(final Path reportDir, final String header) throws IOException {
+		Files.createDirectories(reportDir);
+		try (final PrintStream summary = new PrintStream(
+				Files.newOutputStream(reportDir.resolve("summary.txt")), false, StandardCharsets.UTF_8)) {
+			summary.println(header);
+			summary.println();
+			this.print(summary);
+		}
+		for (final Map.Entry<String, LatencyRecorder.Result> entry : this.results.entrySet()) {
+			final Path file = reportDir.resolve(fileName(entry.getKey()));
+			try (final PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+				// values are recorded in microseconds, the file is in milliseconds
+				entry.getValue().getHistogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+			}
+		}
+	}
+	
+	private static double millis(final Histogram histogram, final double percentile) {
+		return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+	}
+	
+	// GET /order-service/api/orders/{orderId} -> GET_order-service_api_orders_orderId.hgrm
+	static String fileName(final String endpoint) {
+		return endpoint.replaceAll("[^A-Za-z0-9.-]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
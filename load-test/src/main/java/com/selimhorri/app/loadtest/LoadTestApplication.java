@@ -0,0 +1,130 @@
+package com.selimhorri.app.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// boots the services of the storefront journey in this JVM, seeds the catalog, drives journeys at a
+// fixed arrival rate and prints the latency percentiles per endpoint. the journeys call the services
+// directly: api-gateway and proxy-client are not booted, see load-test/README.md
+public final class LoadTestApplication {
+	
+	private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+	
+	private LoadTestApplication() {
+	}
+	
+	public static void main(final String[] args) throws Exception {
+		final LoadTestOptions options = LoadTestOptions.parse(args);
+		System.out.println("Load test: " + options);
+		
+		final ServiceCluster cluster = new ServiceCluster(options.getServicesDir());
+		final long bootStart = System.nanoTime();
+		cluster.start(options.getWorkDir(), options.getServiceLogLevel(), options.getExecutionMode(),
+				options.getServiceArgs());
+		System.out.printf("All services up in %.1fs%n", (System.nanoTime() - bootStart) / 1e9);
+		
+		final LatencyRecorder latencyRecorder = new LatencyRecorder();
+		final LoadTestClient client = new LoadTestClient(latencyRecorder);
+		final List<Integer> productIds = seedCatalog(cluster, client, options.getProducts());
+		System.out.printf("Catalog seeded, %d products%n", productIds.size());
+		// the seeding calls are not part of the measurement
+		latencyRecorder.reset();
+		
+		final UserJourney journey = new UserJourney(cluster, client, latencyRecorder, productIds, options.getSagaTimeout());
+		final ArrivalRateGenerator generator = new ArrivalRateGenerator(
+				options.getRate(), options.isPoisson(), options.getMaxConcurrency());
+		
+		if (!options.getWarmup().isZero()) {
+			System.out.printf("Warmup for %s%n", options.getWarmup());
+			generator.run(options.getWarmup(), journey::run);
+			latencyRecorder.reset();
+		}
+		
+		System.out.printf("Measuring for %s%n", options.getDuration());
+		final long runStart = System.nanoTime();
+		final ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "load-test-progress");
+			thread.setDaemon(true);
+			return thread;
+		});
+		progress.scheduleAtFixedRate(() -> LatencyReport.printInterval(System.out,
+						TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - runStart), latencyRecorder.interval()),
+				PROGRESS_INTERVAL.toMillis(), PROGRESS_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+		final long completedBefore = journey.getCompleted();
+		final long failedBefore = journey.getFailed();
+		final ArrivalRateGenerator.Result result = generator.run(options.getDuration(), journey::run);
+		progress.shutdownNow();
+		
+		final String header = String.format(
+				"%s%nservices %s, called directly (no api-gateway, no proxy-client)"
+						+ "%njourneys started %d, completed %d, failed %d, dropped (max-concurrency reached) %d",
+				options, String.join(", ", ServiceCluster.SERVICES), result.getStarted(), journey.getCompleted() - completedBefore,
+				journey.getFailed() - failedBefore, result.getDropped());
+		final LatencyReport report = new LatencyReport(latencyRecorder.totals(), result.getElapsedNanos());
+		System.out.println();
+		System.out.println(header);
+		System.out.println();
+		report.print(System.out);
+		report.write(options.getReportDir(), header);
+		System.out.printf("%nReport written to %s%n", options.getReportDir());
+		
+		// the embedded services keep non daemon threads (Tomcat, schedulers) alive
+		System.exit(0);
+	}
+	
+	// one bulk import of extra products, then every product id the journeys may pick
+	private static List<Integer> seedCatalog(final ServiceCluster cluster, final LoadTestClient client, final int products)
+			throws Exception {
+		final String baseUrl = cluster.get("product-service").getBaseUrl() + "/api/products";
+		if (products > 0) {
+			final String runId = Long.toString(System.currentTimeMillis(), 36);
+			final StringBuilder ndjson = new StringBuilder();
+			for (int i = 0; i < products; i++) {
+				ndjson.append(client.getObjectMapper().writeValueAsString(Map.of(
+						"productTitle", "Load test product " + i,
+						"imageUrl", "https://example.com/load-test/" + i + ".png",
+						"sku", String.format("LT-%s-%06d", runId, i),
+						"priceUnit", 1 + i % 100,
+						"quantity", 1_000_000,
+						"category", Map.of("categoryId", 1 + i % 3))))
+						.append('\n');
+			}
+			final JsonNode catalogImport = client.post("POST /product-service/api/products/imports",
+					baseUrl + "/imports", "application/x-ndjson", ndjson.toString());
+			if (catalogImport.path("failed").asLong() > 0)
+				System.err.printf("Catalog import: %s%n", catalogImport);
+		}
+		
+		final List<Integer> productIds = new ArrayList<>();
+		for (int page = 0; ; page++) {
+			final JsonNode response = client.get("GET /product-service/api/products/page",
+					baseUrl + "/page?page=" + page + "&size=100");
+			response.path("collection").forEach(product -> productIds.add(product.path("productId").asInt()));
+			if (page + 1 >= response.path("totalPages").asInt())
+				break;
+		}
+		if (productIds.isEmpty())
+			throw new IllegalStateException("The catalog is empty, nothing to order");
+		return List.copyOf(productIds);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,81 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// every call is timed and recorded under its endpoint template, not the concrete URL, so the report
+// has one line per endpoint. a non 2xx answer is recorded as an error and ends the journey
+public final class LoadTestClient {
+	
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final LatencyRecorder latencyRecorder;
+	
+	public LoadTestClient(final LatencyRecorder latencyRecorder) {
+		this.latencyRecorder = latencyRecorder;
+	}
+	
+	public ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+	
+	public JsonNode get(final String endpoint, final String url) throws IOException, InterruptedException {
+		return this.send(endpoint, HttpRequest.newBuilder(URI.create(url)).GET());
+	}
+	
+	public JsonNode post(final String endpoint, final String url, final Object body) throws IOException, InterruptedException {
+		return this.post(endpoint, url, "application/json", this.objectMapper.writeValueAsString(body));
+	}
+	
+	public JsonNode post(final String endpoint, final String url, final String contentType, final String body)
+			throws IOException, InterruptedException {
+		return this.send(endpoint, HttpRequest.newBuilder(URI.create(url))
+				.header("Content-Type", contentType)
+				.POST(HttpRequest.BodyPublishers.ofString(body)));
+	}
+	
+	private JsonNode send(final String endpoint, final HttpRequest.Builder request) throws IOException, InterruptedException {
+		final long start = System.nanoTime();
+		final HttpResponse<byte[]> response;
+		try {
+			response = this.httpClient.send(request.timeout(REQUEST_TIMEOUT)
+					.header("Accept", "application/json")
+					.build(), HttpResponse.BodyHandlers.ofByteArray());
+		}
+		catch (final IOException e) {
+			this.latencyRecorder.record(endpoint, System.nanoTime() - start, false);
+			throw e;
+		}
+		final boolean success = response.statusCode() / 100 == 2;
+		this.latencyRecorder.record(endpoint, System.nanoTime() - start, success);
+		if (!success)
+			throw new IOException(String.format("%s answered %d: %s", endpoint, response.statusCode(),
+					new String(response.body()).strip()));
+		return response.body().length == 0 ? this.objectMapper.nullNode() : this.objectMapper.readTree(response.body());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,156 @@
+package com.selimhorri.app.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// --key=value arguments, every option has a default so a bare java -jar runs a short smoke load
+public final class LoadTestOptions {
+	
+	private static final String SERVICE_ARG_PREFIX = "service.";
+	
+	// journeys started per second, independent of how fast earlier journeys complete (open model)
+	private final double rate;
+	private final boolean poisson;
+	private final Duration warmup;
+	private final Duration duration;
+	
+	// journeys in flight before new arrivals are dropped and counted
+	private final int maxConcurrency;
+	
+	// extra products bulk-imported before the run, so the catalog pages are not trivially small
+	private final int products;
+	
+	private final Duration sagaTimeout;
+	private final Path servicesDir;
+	private final Path workDir;
+	private final Path reportDir;
+	private final String serviceLogLevel;
+	
+	// app.execution.mode of the services: platform (Tomcat's pool) or virtual (Java 21 virtual threads)
+	private final String executionMode;
+	
+	// --service.server.tomcat.threads.max=20 reaches every service as --server.tomcat.threads.max=20
+	private final List<String> serviceArgs;
+	
+	private LoadTestOptions(final Map<String, String> options) {
+		this.rate = Double.parseDouble(options.getOrDefault("rate", "10"));
+		this.poisson = "poisson".equalsIgnoreCase(options.getOrDefault("arrivals", "uniform"));
+		this.warmup = parseDuration(options.getOrDefault("warmup", "15s"));
+		this.duration = parseDuration(options.getOrDefault("duration", "60s"));
+		this.maxConcurrency = Integer.parseInt(options.getOrDefault("max-concurrency", "256"));
+		this.products = Integer.parseInt(options.getOrDefault("products", "500"));
+		this.sagaTimeout = parseDuration(options.getOrDefault("saga-timeout", "30s"));
+		this.servicesDir = Path.of(options.getOrDefault("services-dir", ".")).toAbsolutePath().normalize();
+		this.workDir = Path.of(options.getOrDefault("work-dir", "load-test/target/services")).toAbsolutePath().normalize();
+		this.reportDir = Path.of(options.getOrDefault("report-dir", "load-test/target/report")).toAbsolutePath().normalize();
+		this.serviceLogLevel = options.getOrDefault("service-log-level", "WARN");
+		this.executionMode = options.getOrDefault("execution-mode", "platform");
+		this.serviceArgs = options.entrySet().stream()
+				.filter(option -> option.getKey().startsWith(SERVICE_ARG_PREFIX))
+				.map(option -> "--" + option.getKey().substring(SERVICE_ARG_PREFIX.length()) + "=" + option.getValue())
+				.sorted()
+				.collect(Collectors.toList());
+		if (this.rate <= 0 || this.maxConcurrency <= 0)
+			throw new IllegalArgumentException("rate and max-concurrency must be positive");
+	}
+	
+	public static LoadTestOptions parse(final String[] args) {
+		final Map<String, String> options = new HashMap<>();
+		for (final String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("="))
+				throw new IllegalArgumentException(String.format("Expected --key=value, got: %s", arg));
+			final int separator = arg.indexOf('=');
+			options.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+		return new LoadTestOptions(options);
+	}
+	
+	// 500ms, 30s, 5m
+	static Duration parseDuration(final String value) {
+		final String text = value.trim().toLowerCase();
+		if (text.endsWith("ms"))
+			return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+		if (text.endsWith("s"))
+			return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+		if (text.endsWith("m"))
+			return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+		return Duration.ofSeconds(Long.parseLong(text));
+	}
+	
+	public double getRate() {
+		return this.rate;
+	}
+	
+	public boolean isPoisson() {
+		return this.poisson;
+	}
+	
+	public Duration getWarmup() {
+		return this.warmup;
+	}
+	
+	public Duration getDuration() {
+		return this.duration;
+	}
+	
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+	
+	public int getProducts() {
+		return this.products;
+	}
+	
+	public Duration getSagaTimeout() {
+		return this.sagaTimeout;
+	}
+	
+	public Path getServicesDir() {
+		return this.servicesDir;
+	}
+	
+	public Path getWorkDir() {
+		return this.workDir;
+	}
+	
+	public Path getReportDir() {
+		return this.reportDir;
+	}
+	
+	public String getServiceLogLevel() {
+		return this.serviceLogLevel;
+	}
+	
+	public String getExecutionMode() {
+		return this.executionMode;
+	}
+	
+	public List<String> getServiceArgs() {
+		return this.serviceArgs;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("rate=%s/s arrivals=%s warmup=%s duration=%s max-concurrency=%d products=%d execution-mode=%s",
+				this.rate, this.poisson ? "poisson" : "uniform", this.warmup, this.duration,
+				this.maxConcurrency, this.products, this.executionMode)
+				+ (this.serviceArgs.isEmpty() ? "" : " " + String.join(" ", this.serviceArgs));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
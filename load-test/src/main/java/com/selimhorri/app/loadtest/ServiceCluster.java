@@ -0,0 +1,122 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// the services of one user journey, each on a random free port with its in-memory H2 (dev profile).
+// Eureka is replaced by Spring Cloud's simple discovery client: every service gets the static list of
+// all instances, so the load-balanced RestTemplates resolve http://PRODUCT-SERVICE/... as in production
+public final class ServiceCluster {
+	
+	// the edge is left out: api-gateway (routing, rate limiting, response cache) and proxy-client (JWT
+	// authentication, Feign fan-out) are not part of the measured latencies
+	public static final List<String> SERVICES = List.of(
+			"user-service", "product-service", "favourite-service",
+			"order-service", "payment-service", "shipping-service");
+	
+	// per service overrides that only make sense with a single instance of each
+	private static final Map<String, List<String>> SERVICE_ARGS = Map.of(
+			"product-service", List.of("--app.cache.catalog.peers.enabled=false"));
+	
+	private final Map<String, EmbeddedService> services = new LinkedHashMap<>();
+	
+	public ServiceCluster(final Path servicesDir) throws IOException {
+		for (final String name : SERVICES)
+			this.services.put(name, new EmbeddedService(name, freePort(), findJar(servicesDir, name)));
+	}
+	
+	public EmbeddedService get(final String name) {
+		return this.services.get(name);
+	}
+	
+	public void start(final Path workDir, final String logLevel, final String executionMode, final List<String> extraArgs)
+			throws InterruptedException {
+		final List<String> common = new ArrayList<>(List.of(
+				"--spring.profiles.active=dev",
+				// no config server: the ${SPRING_CONFIG_IMPORT} placeholder resolves to nothing
+				"--SPRING_CONFIG_IMPORT=",
+				"--eureka.client.enabled=false",
+				"--spring.zipkin.enabled=false",
+				"--spring.main.banner-mode=off",
+				"--logging.level.root=" + logLevel,
+				"--logging.level.com.selimhorri=" + logLevel,
+				"--app.execution.mode=" + executionMode));
+		// bracket keys keep the upper case service ids the RestTemplate URLs use
+		this.services.values().forEach(service -> common.add(String.format(
+				"--spring.cloud.discovery.client.simple.instances[%s][0].uri=http://localhost:%d",
+				service.getServiceId(), service.getPort())));
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(this.services.size());
+		try {
+			final List<Future<?>> starts = new ArrayList<>();
+			for (final EmbeddedService service : this.services.values()) {
+				final List<String> args = new ArrayList<>(common);
+				args.add("--server.port=" + service.getPort());
+				args.addAll(SERVICE_ARGS.getOrDefault(service.getName(), List.of()));
+				args.addAll(extraArgs);
+				starts.add(executor.submit(() -> {
+					final long started = System.nanoTime();
+					service.start(args, workDir);
+					System.out.printf("%-18s started on port %d in %.1fs%n",
+							service.getName(), service.getPort(), (System.nanoTime() - started) / 1e9);
+					return null;
+				}));
+				// springdoc's classgraph defines its jvm-driver helpers in java.base, once per JVM and
+				// not safely from several class loaders at a time: the first service boots alone
+				if (starts.size() == 1)
+					starts.get(0).get();
+			}
+			for (final Future<?> start : starts)
+				start.get();
+		}
+		catch (final ExecutionException e) {
+			throw new IllegalStateException("A service failed to start", e.getCause());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+	
+	private static Path findJar(final Path servicesDir, final String name) throws IOException {
+		final Path target = servicesDir.resolve(name).resolve("target");
+		if (Files.isDirectory(target)) {
+			try (final DirectoryStream<Path> jars = Files.newDirectoryStream(target, name + "-v*.jar")) {
+				for (final Path jar : jars)
+					return jar;
+			}
+		}
+		throw new IllegalStateException(String.format(
+				"No %s jar in %s, build the services first: mvn -B package -DskipTests", name, target));
+	}
+	
+	private static int freePort() throws IOException {
+		try (final ServerSocket socket = new ServerSocket(0)) {
+			socket.setReuseAddress(true);
+			return socket.getLocalPort();
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,162 @@
+package com.selimhorri.app.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// register -> browse -> favourite -> order -> pay -> ship, the way the storefront chains the calls.
+// payment and shipping run behind the checkout (outbox relay), so they are measured by polling the
+// order until the saga settles and then reading the shipping line it created
+public final class UserJourney {
+	
+	public static final String JOURNEY = "journey (register -> ship)";
+	public static final String SAGA = "checkout saga (pay -> ship)";
+	
+	// AppConstant.LOCAL_DATE_TIME_FORMAT of the favourite service
+	private static final DateTimeFormatter LIKE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy__HH:mm:ss:SSSSSS");
+	private static final Duration SAGA_POLL_INTERVAL = Duration.ofMillis(100);
+	
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+	
+	private final ServiceCluster cluster;
+	private final LoadTestClient client;
+	private final LatencyRecorder latencyRecorder;
+	private final List<Integer> productIds;
+	private final Duration sagaTimeout;
+	private final String runId = Long.toString(System.currentTimeMillis(), 36);
+	
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	
+	public UserJourney(final ServiceCluster cluster, final LoadTestClient client, final LatencyRecorder latencyRecorder,
+			final List<Integer> productIds, final Duration sagaTimeout) {
+		this.cluster = cluster;
+		this.client = client;
+		this.latencyRecorder = latencyRecorder;
+		this.productIds = productIds;
+		this.sagaTimeout = sagaTimeout;
+	}
+	
+	public long getCompleted() {
+		return this.completed.get();
+	}
+	
+	public long getFailed() {
+		return this.failed.get();
+	}
+	
+	// intendedStartNanos is when the arrival schedule wanted this journey to begin
+	public void run(final long intendedStartNanos) {
+		boolean success = false;
+		try {
+			this.steps();
+			success = true;
+			this.completed.incrementAndGet();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.failed.incrementAndGet();
+		}
+		catch (final Exception e) {
+			this.failed.incrementAndGet();
+			if (this.failed.get() <= 5)
+				System.err.printf("journey failed: %s%n", e.getMessage());
+		}
+		finally {
+			this.latencyRecorder.record(JOURNEY, System.nanoTime() - intendedStartNanos, success);
+		}
+	}
+	
+	private void steps() throws Exception {
+		final String users = this.cluster.get("user-service").getBaseUrl() + "/api/users";
+		final String products = this.cluster.get("product-service").getBaseUrl() + "/api/products";
+		final String favourites = this.cluster.get("favourite-service").getBaseUrl() + "/api/favourites";
+		final String orderService = this.cluster.get("order-service").getBaseUrl();
+		final String shippings = this.cluster.get("shipping-service").getBaseUrl() + "/api/shippings";
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		
+		// register
+		final String username = String.format("load-%s-%d", this.runId, SEQUENCE.incrementAndGet());
+		final JsonNode user = this.client.post("POST /user-service/api/users", users, Map.of(
+				"firstName", "Load",
+				"lastName", "Test",
+				"email", username + "@example.com",
+				"phone", "+21600000000",
+				"credential", Map.of(
+						"username", username,
+						"password", "load-test",
+						"roleBasedAuthority", "ROLE_USER",
+						"isEnabled", true,
+						"isAccountNonExpired", true,
+						"isAccountNonLocked", true,
+						"isCredentialsNonExpired", true)));
+		final int userId = user.path("userId").asInt();
+		
+		// browse
+		this.client.get("GET /product-service/api/products/page",
+				products + "/page?page=" + random.nextInt(5) + "&size=20");
+		final int productId = this.productIds.get(random.nextInt(this.productIds.size()));
+		final JsonNode product = this.client.get("GET /product-service/api/products/{productId}", products + "/" + productId);
+		
+		// favourite
+		this.client.post("POST /favourite-service/api/favourites", favourites, Map.of(
+				"userId", userId,
+				"productId", productId,
+				"likeDate", LocalDateTime.now().format(LIKE_DATE_FORMAT)));
+		
+		// order
+		final JsonNode cart = this.client.post("POST /order-service/api/carts", orderService + "/api/carts",
+				Map.of("userId", userId));
+		final int cartId = cart.path("cartId").asInt();
+		final int quantity = 1 + random.nextInt(3);
+		this.client.post("POST /order-service/api/carts/{cartId}/items", orderService + "/api/carts/" + cartId + "/items",
+				Map.of("productId", productId, "quantity", quantity));
+		final JsonNode order = this.client.post("POST /order-service/api/orders/checkout", orderService + "/api/orders/checkout",
+				Map.of(
+						"order", Map.of(
+								"orderDesc", "load test order",
+								"orderFee", quantity * product.path("priceUnit").asDouble(),
+								"cart", Map.of("cartId", cartId)),
+						"items", List.of(Map.of("productId", productId, "orderedQuantity", quantity))));
+		final int orderId = order.path("orderId").asInt();
+		
+		// pay -> ship
+		final long sagaStart = System.nanoTime();
+		final long deadline = sagaStart + this.sagaTimeout.toNanos();
+		String status = order.path("orderStatus").asText();
+		while (!"COMPLETED".equals(status) && !"FAILED".equals(status)) {
+			if (System.nanoTime() > deadline) {
+				this.latencyRecorder.record(SAGA, System.nanoTime() - sagaStart, false);
+				throw new IllegalStateException(String.format("Order %d still %s after %s", orderId, status, this.sagaTimeout));
+			}
+			Thread.sleep(SAGA_POLL_INTERVAL.toMillis());
+			status = this.client.get("GET /order-service/api/orders/{orderId}", orderService + "/api/orders/" + orderId)
+					.path("orderStatus").asText();
+		}
+		this.latencyRecorder.record(SAGA, System.nanoTime() - sagaStart, "COMPLETED".equals(status));
+		if (!"COMPLETED".equals(status))
+			throw new IllegalStateException(String.format("Order %d %s", orderId, status));
+		
+		this.client.get("GET /shipping-service/api/shippings/{orderId}/{productId}",
+				shippings + "/" + orderId + "/" + productId);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
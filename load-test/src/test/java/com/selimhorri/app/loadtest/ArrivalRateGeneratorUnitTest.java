@@ -0,0 +1,94 @@
+package com.selimhorri.app.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para ArrivalRateGenerator
+ * Validación del calendario de llegadas del modelo abierto y de que las
+ * llegadas por encima de la concurrencia máxima se descartan y se cuentan
+ */
+@DisplayName("Arrival Rate Generator Unit Tests")
+class ArrivalRateGeneratorUnitTest {
+
+    @Test
+    @DisplayName("Should start one journey per interval at a uniform rate")
+    void testUniformArrivals() throws InterruptedException {
+        // Given
+        final List<Long> scheduled = new CopyOnWriteArrayList<>();
+        final ArrivalRateGenerator generator = new ArrivalRateGenerator(100, false, 16);
+
+        // When
+        final ArrivalRateGenerator.Result result = generator.run(Duration.ofMillis(500), scheduled::add);
+
+        // Then
+        assertThat(result.getStarted()).isEqualTo(50);
+        assertThat(result.getDropped()).isZero();
+        assertThat(scheduled).hasSize(50);
+        final List<Long> sorted = scheduled.stream().sorted().collect(Collectors.toList());
+        for (int i = 1; i < sorted.size(); i++)
+            assertThat(sorted.get(i) - sorted.get(i - 1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(result.getElapsedNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(490));
+    }
+
+    @Test
+    @DisplayName("Should keep the mean rate with Poisson arrivals")
+    void testPoissonArrivals() throws InterruptedException {
+        // Given
+        final ArrivalRateGenerator generator = new ArrivalRateGenerator(1000, true, 64);
+
+        // When
+        final ArrivalRateGenerator.Result result = generator.run(Duration.ofSeconds(1), scheduled -> {
+        });
+
+        // Then
+        assertThat(result.getStarted() + result.getDropped()).isBetween(850L, 1150L);
+    }
+
+    @Test
+    @DisplayName("Should drop and count arrivals while every journey thread is busy")
+    void testSaturation() throws InterruptedException {
+        // Given
+        final CountDownLatch release = new CountDownLatch(1);
+        final ArrivalRateGenerator generator = new ArrivalRateGenerator(100, false, 2);
+
+        // When
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(600);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        final AtomicBoolean first = new AtomicBoolean(true);
+        final ArrivalRateGenerator.Result result = generator.run(Duration.ofMillis(300), scheduled -> {
+            // the release is timed from the first journey, which starts after the run's clock
+            if (first.compareAndSet(true, false))
+                releaser.start();
+            try {
+                release.await();
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Then
+        assertThat(result.getStarted()).isEqualTo(2);
+        assertThat(result.getDropped()).isEqualTo(28);
+        assertThat(result.getElapsedNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(600));
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para LatencyRecorder
+ * Validación de los histogramas por endpoint, en microsegundos, por intervalo
+ * y acumulados, y del descarte del calentamiento
+ */
+@DisplayName("Latency Recorder Unit Tests")
+class LatencyRecorderUnitTest {
+
+    @Test
+    @DisplayName("Should record latencies in microseconds per endpoint")
+    void testRecord() {
+        // Given
+        final LatencyRecorder recorder = new LatencyRecorder();
+
+        // When
+        recorder.record("GET /products", TimeUnit.MILLISECONDS.toNanos(5), true);
+        recorder.record("GET /products", TimeUnit.MILLISECONDS.toNanos(15), false);
+        recorder.record("POST /orders", 10, true);
+        final Map<String, LatencyRecorder.Result> totals = recorder.totals();
+
+        // Then
+        assertThat(totals).containsOnlyKeys("GET /products", "POST /orders");
+        final Histogram products = totals.get("GET /products").getHistogram();
+        assertThat(products.getTotalCount()).isEqualTo(2);
+        assertThat(products.getMinValue()).isEqualTo(products.lowestEquivalentValue(5_000));
+        assertThat(products.getMaxValue()).isEqualTo(products.highestEquivalentValue(15_000));
+        assertThat(totals.get("GET /products").getErrors()).isEqualTo(1);
+        // sub-microsecond latencies still count as one sample of 1µs
+        assertThat(totals.get("POST /orders").getHistogram().getMaxValue()).isEqualTo(1);
+        assertThat(totals.get("POST /orders").getErrors()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return only what was recorded since the previous interval and keep the totals")
+    void testInterval() {
+        // Given
+        final LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("journey", TimeUnit.MILLISECONDS.toNanos(1), true);
+
+        // When
+        final Map<String, Histogram> first = recorder.interval();
+        recorder.record("journey", TimeUnit.MILLISECONDS.toNanos(2), true);
+        recorder.record("journey", TimeUnit.MILLISECONDS.toNanos(3), true);
+        final Map<String, Histogram> second = recorder.interval();
+
+        // Then
+        assertThat(first.get("journey").getTotalCount()).isEqualTo(1);
+        assertThat(second.get("journey").getTotalCount()).isEqualTo(2);
+        assertThat(recorder.totals().get("journey").getHistogram().getTotalCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop samples and errors recorded before a reset")
+    void testReset() {
+        // Given
+        final LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("journey", TimeUnit.SECONDS.toNanos(2), false);
+        recorder.interval();
+        recorder.record("journey", TimeUnit.SECONDS.toNanos(3), false);
+
+        // When
+        recorder.reset();
+        recorder.record("journey", TimeUnit.MILLISECONDS.toNanos(4), true);
+        final LatencyRecorder.Result total = recorder.totals().get("journey");
+
+        // Then
+        assertThat(total.getHistogram().getTotalCount()).isEqualTo(1);
+        assertThat(total.getHistogram().getMaxValue()).isLessThan(TimeUnit.SECONDS.toMicros(1));
+        assertThat(total.getErrors()).isZero();
+    }
+
+}
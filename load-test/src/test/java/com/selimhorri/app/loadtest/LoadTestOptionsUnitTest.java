@@ -0,0 +1,99 @@
+package com.selimhorri.app.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas Unitarias para LoadTestOptions
+ * Validación de los valores por defecto, del formato --clave=valor y de las
+ * propiedades que se pasan a los servicios
+ */
+@DisplayName("Load Test Options Unit Tests")
+class LoadTestOptionsUnitTest {
+
+    @Test
+    @DisplayName("Should run a short smoke load without arguments")
+    void testDefaults() {
+        // When
+        final LoadTestOptions options = LoadTestOptions.parse(new String[0]);
+
+        // Then
+        assertThat(options.getRate()).isEqualTo(10);
+        assertThat(options.isPoisson()).isFalse();
+        assertThat(options.getWarmup()).isEqualTo(Duration.ofSeconds(15));
+        assertThat(options.getDuration()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(options.getMaxConcurrency()).isEqualTo(256);
+        assertThat(options.getProducts()).isEqualTo(500);
+        assertThat(options.getSagaTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(options.getServiceLogLevel()).isEqualTo("WARN");
+        assertThat(options.getExecutionMode()).isEqualTo("platform");
+        assertThat(options.getReportDir()).isEqualTo(Path.of("load-test/target/report").toAbsolutePath().normalize());
+        assertThat(options.getServiceArgs()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should parse --key=value arguments")
+    void testParse() {
+        // When
+        final LoadTestOptions options = LoadTestOptions.parse(new String[] {
+                "--rate=25.5", "--arrivals=Poisson", "--duration=2m", "--warmup=500ms",
+                "--max-concurrency=32", "--execution-mode=virtual", "--report-dir=target/report-virtual"});
+
+        // Then
+        assertThat(options.getRate()).isEqualTo(25.5);
+        assertThat(options.isPoisson()).isTrue();
+        assertThat(options.getDuration()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(options.getWarmup()).isEqualTo(Duration.ofMillis(500));
+        assertThat(options.getMaxConcurrency()).isEqualTo(32);
+        assertThat(options.getExecutionMode()).isEqualTo("virtual");
+        assertThat(options.getReportDir()).isEqualTo(Path.of("target/report-virtual").toAbsolutePath().normalize());
+        assertThat(options.toString())
+                .isEqualTo("rate=25.5/s arrivals=poisson warmup=PT0.5S duration=PT2M max-concurrency=32 products=500 execution-mode=virtual");
+    }
+
+    @Test
+    @DisplayName("Should pass --service.* arguments to every service, sorted")
+    void testServiceArgs() {
+        // When
+        final LoadTestOptions options = LoadTestOptions.parse(new String[] {
+                "--service.server.tomcat.threads.max=20", "--service.app.http-client.max-per-route=50"});
+
+        // Then
+        assertThat(options.getServiceArgs())
+                .containsExactly("--app.http-client.max-per-route=50", "--server.tomcat.threads.max=20");
+        assertThat(options.toString())
+                .endsWith(" --app.http-client.max-per-route=50 --server.tomcat.threads.max=20");
+    }
+
+    @Test
+    @DisplayName("Should parse milliseconds, seconds, minutes and bare seconds")
+    void testParseDuration() {
+        assertThat(LoadTestOptions.parseDuration("500ms")).isEqualTo(Duration.ofMillis(500));
+        assertThat(LoadTestOptions.parseDuration("30s")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(LoadTestOptions.parseDuration(" 5M ")).isEqualTo(Duration.ofMinutes(5));
+        assertThat(LoadTestOptions.parseDuration("45")).isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed arguments and non-positive limits")
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> LoadTestOptions.parse(new String[] {"rate=10"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate=10");
+        assertThatThrownBy(() -> LoadTestOptions.parse(new String[] {"--rate"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestOptions.parse(new String[] {"--rate=0"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestOptions.parse(new String[] {"--max-concurrency=-1"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestOptions.parse(new String[] {"--duration=soon"}))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.http-client")
+@Data
+public class HttpClientProperties {
+	
+	private int maxTotal = 200;
+	private int maxPerRoute = 50;
+	private Map<String, Integer> routes = new HashMap<>();
+	private Duration connectTimeout = Duration.ofSeconds(1);
+	private Duration connectionRequestTimeout = Duration.ofMillis(500);
+	private Duration readTimeout = Duration.ofSeconds(5);
+	private Duration keepAlive = Duration.ofSeconds(30);
+	private Duration maxIdleTime = Duration.ofSeconds(30);
+	private Duration timeToLive = Duration.ofMinutes(5);
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	
+}
+
+
+
+
+
+
+
+
+
+
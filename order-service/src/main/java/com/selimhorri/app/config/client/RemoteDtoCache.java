@@ -0,0 +1,141 @@
+package com.selimhorri.app.config.client;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RemoteDtoCache {
+	
+	private final RestTemplate restTemplate;
+	private final RemoteCacheProperties remoteCacheProperties;
+	private final MeterRegistry meterRegistry;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final Map<String, Cache<Integer, Object>> caches = new ConcurrentHashMap<>();
+	
+	public <T> T get(final String apiUrl, final Integer id, final Class<T> type) {
+		return this.getAll(apiUrl, Collections.singleton(id), type).get(id);
+	}
+	
+	public <T> Map<Integer, T> getAll(final String apiUrl, final Collection<Integer> ids, final Class<T> type) {
+		return this.getAll(apiUrl, ids, type, missingIds -> {
+			final Map<Integer, T> dtos = new HashMap<>();
+			missingIds.forEach(id -> dtos.put(id, this.restTemplate.getForObject(apiUrl + "/" + id, type)));
+			return dtos;
+		});
+	}
+	
+	public <T> Map<Integer, T> getAll(final String apiUrl, final Collection<Integer> ids, final Class<T> type, 
+			final Function<Set<Integer>, Map<Integer, T>> loader) {
+		
+		final Cache<Integer, Object> cache = this.cache(apiUrl);
+		final Map<Integer, T> dtos = new HashMap<>();
+		final Set<Integer> missingIds = new LinkedHashSet<>();
+		
+		// each distinct id is looked up once per call, however often the caller references it
+		ids.stream()
+				.filter(id -> id != null && !dtos.containsKey(id) && !missingIds.contains(id))
+				.forEach(id -> {
+					final Object dto = cache.getIfPresent(id);
+					if (dto != null) {
+						dtos.put(id, type.cast(dto));
+					} else {
+						missingIds.add(id);
+					}
+				});
+		
+		if (!missingIds.isEmpty()) {
+			this.load(apiUrl, missingIds, loader).forEach((id, dto) -> {
+				if (dto != null) {
+					cache.put(id, dto);
+					dtos.put(id, dto);
+				}
+			});
+		}
+		return dtos;
+	}
+	
+	// a slow or failing dependency degrades to DTOs without their remote part instead of holding request threads.
+	// a full bulkhead is overload rather than a failing dependency, the caller sheds the request instead
+	private <T> Map<Integer, T> load(final String apiUrl, final Set<Integer> missingIds, 
+			final Function<Set<Integer>, Map<Integer, T>> loader) {
+		final URI uri = URI.create(apiUrl);
+		return this.circuitBreakerFactory.create(uri.getHost().toLowerCase())
+				.run(() -> loader.apply(missingIds), throwable -> {
+					if (throwable instanceof BulkheadFullException)
+						throw (BulkheadFullException) throwable;
+					log.warn("*** RemoteDtoCache; degraded lookup of {} ids from {}: {} *", missingIds.size(), apiUrl, throwable.toString());
+					Counter.builder("remote.cache.degraded.lookups")
+							.description("Remote DTO lookups answered without their remote part")
+							.tag("target", uri.getHost().toLowerCase())
+							.tag("resource", uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1))
+							.tag("exception", throwable.getClass().getSimpleName())
+							.register(this.meterRegistry)
+							.increment();
+					return Map.of();
+				});
+	}
+	
+	public void evict(final String apiUrl, final Integer id) {
+		this.cache(apiUrl).invalidate(id);
+	}
+	
+	private Cache<Integer, Object> cache(final String apiUrl) {
+		return this.caches.computeIfAbsent(apiUrl, url -> {
+			
+			final Cache<Integer, Object> cache = Caffeine.newBuilder()
+					.maximumSize(this.remoteCacheProperties.getMaximumSize())
+					.expireAfterWrite(this.remoteCacheProperties.getTimeToLive())
+					.recordStats()
+					.build();
+			
+			final URI uri = URI.create(url);
+			final String target = uri.getHost().toLowerCase();
+			final String resource = uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1);
+			
+			CaffeineCacheMetrics.monitor(this.meterRegistry, cache, "remote." + target + "." + resource);
+			Gauge.builder("remote.cache.hit.ratio", cache, c -> c.stats().hitRate())
+					.description("Share of remote DTO lookups served from the local cache")
+					.tag("target", target)
+					.tag("resource", resource)
+					.register(this.meterRegistry);
+			return cache;
+		});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
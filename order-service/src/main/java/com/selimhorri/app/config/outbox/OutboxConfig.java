@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.outbox;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+	
+	private boolean enabled = true;
+	// rest: drive payment-service and shipping-service over HTTP, in-memory: local stand-in
+	private String broker = "rest";
+	private Duration pollInterval = Duration.ofMillis(500);
+	private int batchSize = 50;
+	// steps relayed concurrently, each worker also runs the step its handler enqueued
+	private int workers = 8;
+	// how long a claimed event stays invisible to other relays, must outlive one step
+	private Duration lease = Duration.ofSeconds(30);
+	private int maxAttempts = 10;
+	private Duration initialBackoff = Duration.ofSeconds(1);
+	private Duration maxBackoff = Duration.ofMinutes(5);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,208 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.service.CheckoutSagaService;
+import com.selimhorri.app.service.CheckoutService;
+import com.selimhorri.app.service.OutboxEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelay implements SmartLifecycle {
+	
+	private final OutboxEventService outboxEventService;
+	private final CheckoutService checkoutService;
+	private final CheckoutSagaService checkoutSagaService;
+	private final OutboxProperties outboxProperties;
+	private volatile ScheduledExecutorService executor;
+	private volatile ExecutorService workers;
+	private volatile Semaphore idleWorkers;
+	
+	// own lifecycle so polling stops before the entity manager factory is closed
+	@Override
+	public void start() {
+		if (!this.outboxProperties.isEnabled())
+			return;
+		final long pollIntervalMillis = this.outboxProperties.getPollInterval().toMillis();
+		final AtomicInteger workerCount = new AtomicInteger();
+		this.idleWorkers = new Semaphore(this.outboxProperties.getWorkers());
+		this.workers = Executors.newFixedThreadPool(this.outboxProperties.getWorkers(), r -> {
+			final Thread thread = new Thread(r, "outbox-relay-worker-" + workerCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "outbox-relay");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.scheduleWithFixedDelay(this::relaySafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	@Override
+	public void stop() {
+		final ScheduledExecutorService executor = this.executor;
+		if (executor == null)
+			return;
+		// poller first, so nothing is dispatched to workers that are draining
+		awaitShutdown(executor);
+		awaitShutdown(this.workers);
+		this.executor = null;
+		this.workers = null;
+	}
+	
+	private static void awaitShutdown(final ExecutorService executorService) {
+		executorService.shutdown();
+		try {
+			executorService.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	@Override
+	public boolean isRunning() {
+		return this.executor != null;
+	}
+	
+	private void relaySafely() {
+		try {
+			this.relay();
+		}
+		catch (final RuntimeException e) {
+			log.warn("Outbox relay run failed: {}", e.toString());
+		}
+	}
+	
+	// the poller only claims as many events as there are idle workers, so no claimed event
+	// waits in a queue while its lease runs out. until started, the batch is relayed on the caller
+	// and the steps that went through are returned, afterwards the events handed to workers
+	public int relay() {
+		
+		final ExecutorService workers = this.workers;
+		final Semaphore idleWorkers = this.idleWorkers;
+		final int capacity = workers == null ? this.outboxProperties.getBatchSize() : 
+				Math.min(this.outboxProperties.getBatchSize(), idleWorkers.availablePermits());
+		if (capacity == 0)
+			return 0;
+		
+		final List<OutboxEvent> dueEvents = this.outboxEventService.findDue(capacity);
+		int relayed = 0;
+		
+		for (final OutboxEvent outboxEvent : dueEvents) {
+			if (workers != null && !idleWorkers.tryAcquire())
+				break;
+			// another instance holds the lease
+			if (!this.outboxEventService.claim(outboxEvent.getEventId(), this.outboxProperties.getLease())) {
+				if (workers != null)
+					idleWorkers.release();
+				continue;
+			}
+			
+			if (workers == null) {
+				relayed += this.process(outboxEvent);
+				continue;
+			}
+			try {
+				workers.execute(() -> {
+					try {
+						this.process(outboxEvent);
+					}
+					finally {
+						idleWorkers.release();
+					}
+				});
+				relayed++;
+			}
+			catch (final RejectedExecutionException e) {
+				// stopping, the lease expires and the event is picked up again
+				idleWorkers.release();
+				break;
+			}
+		}
+		
+		return relayed;
+	}
+	
+	// runs a claimed step, then claims the step it enqueued and runs it right away
+	// instead of leaving it for the next poll. returns the number of steps that went through
+	int process(final OutboxEvent claimedEvent) {
+		
+		OutboxEvent outboxEvent = claimedEvent;
+		int relayed = 0;
+		
+		while (outboxEvent != null) {
+			final int attempts = outboxEvent.getAttempts() + 1;
+			OutboxEvent nextEvent = null;
+			try {
+				nextEvent = this.checkoutSagaService.handle(outboxEvent);
+				relayed++;
+			}
+			catch (final HttpClientErrorException e) {
+				if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)
+					this.retryOrFail(outboxEvent, attempts, e);
+				else
+					this.checkoutService.fail(outboxEvent, e.getMessage());
+			}
+			catch (final RuntimeException e) {
+				this.retryOrFail(outboxEvent, attempts, e);
+			}
+			outboxEvent = nextEvent != null 
+					&& this.outboxEventService.claim(nextEvent.getEventId(), this.outboxProperties.getLease()) ? 
+					nextEvent : null;
+		}
+		
+		return relayed;
+	}
+	
+	private void retryOrFail(final OutboxEvent outboxEvent, final int attempts, final RuntimeException e) {
+		if (attempts >= this.outboxProperties.getMaxAttempts()) {
+			log.warn("Outbox event {} of order {} failed after {} attempts: {}", 
+					outboxEvent.getEventId(), outboxEvent.getAggregateId(), attempts, e.toString());
+			this.checkoutService.fail(outboxEvent, e.toString());
+		} else {
+			log.debug("Outbox event {} of order {} failed, attempt {}: {}", 
+					outboxEvent.getEventId(), outboxEvent.getAggregateId(), attempts, e.toString());
+			this.outboxEventService.reschedule(outboxEvent.getEventId(), this.backoff(attempts), e.toString());
+		}
+	}
+	
+	private Duration backoff(final int attempts) {
+		final Duration backoff = this.outboxProperties.getInitialBackoff()
+				.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return backoff.compareTo(this.outboxProperties.getMaxBackoff()) > 0 ? 
+				this.outboxProperties.getMaxBackoff() : backoff;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
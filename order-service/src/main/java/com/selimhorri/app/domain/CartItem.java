@@ -0,0 +1,59 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "cart_items")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class CartItem extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "cart_item_id", unique = true, nullable = false, updatable = false)
+	private Integer cartItemId;
+	
+	// plain id, a line edit must never touch (or lock) the cart row itself
+	@Column(name = "cart_id", nullable = false, updatable = false)
+	private Integer cartId;
+	
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "quantity", nullable = false)
+	private Integer quantity;
+	
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,19 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum CheckoutEventType {
+	
+	REQUEST_PAYMENT("request_payment"),
+	START_PAYMENT("start_payment"),
+	COMPLETE_PAYMENT("complete_payment"),
+	REQUEST_SHIPPING("request_shipping"),
+	// compensation, enqueued when a step fails after the payment was created
+	CANCEL_PAYMENT("cancel_payment");
+	
+	private final String type;
+	
+}
@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -58,6 +60,10 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	@Column(name = "order_fee", columnDefinition = "decimal")
 	private Double orderFee;
 	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "order_status")
+	private OrderStatus orderStatus;
+	
 	@ManyToOne(fetch = FetchType.EAGER)
 	@JoinColumn(name = "cart_id")
 	private Cart cart;
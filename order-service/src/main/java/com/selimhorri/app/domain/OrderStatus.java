@@ -0,0 +1,19 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OrderStatus {
+	
+	PENDING("pending"),
+	PAYMENT_PENDING("payment_pending"),
+	PAYMENT_IN_PROGRESS("payment_in_progress"),
+	PAID("paid"),
+	COMPLETED("completed"),
+	FAILED("failed");
+	
+	private final String status;
+	
+}
@@ -0,0 +1,75 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class OutboxEvent extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "event_id", unique = true, nullable = false, updatable = false)
+	private Integer eventId;
+	
+	// order id, the saga this event belongs to
+	@Column(name = "aggregate_id", nullable = false, updatable = false)
+	private Integer aggregateId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", nullable = false, updatable = false)
+	private CheckoutEventType eventType;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_status", nullable = false)
+	private OutboxEventStatus eventStatus;
+	
+	@Lob
+	@Column(name = "payload", nullable = false, updatable = false)
+	private String payload;
+	
+	@Column(name = "attempts", nullable = false)
+	private Integer attempts;
+	
+	@Column(name = "last_error")
+	private String lastError;
+	
+	@Column(name = "available_at", nullable = false)
+	private Instant availableAt;
+	
+	@Column(name = "published_at")
+	private Instant publishedAt;
+	
+}
+
+
+
+
+
+
+
+
+
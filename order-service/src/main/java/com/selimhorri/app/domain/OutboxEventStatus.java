@@ -0,0 +1,16 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventStatus {
+	
+	PENDING("pending"),
+	PUBLISHED("published"),
+	FAILED("failed");
+	
+	private final String status;
+	
+}
@@ -0,0 +1,18 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum PaymentStatus {
+	
+	NOT_STARTED("not_started"),
+	IN_PROGRESS("in_progress"),
+	COMPLETED("completed"),
+	// compensated by the checkout saga, refunded when it was already payed
+	CANCELED("canceled");
+	
+	private final String status;
+	
+}
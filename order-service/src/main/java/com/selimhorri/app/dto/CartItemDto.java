@@ -0,0 +1,33 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CartItemDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer cartItemId;
+	private Integer cartId;
+	private Integer productId;
+	private Integer quantity;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CheckoutDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	@NotNull(message = "Order must not be NULL")
+	private OrderDto orderDto;
+	
+	@NotEmpty(message = "Checkout must contain at least one item")
+	private List<@Valid CheckoutItemDto> items;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,39 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder(toBuilder = true)
+public class CheckoutEventPayload implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer paymentId;
+	
+	private List<CheckoutItemDto> items;
+	
+}
+
+
+
+
+
+
+
+
+
+
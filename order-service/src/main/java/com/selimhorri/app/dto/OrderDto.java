@@ -15,6 +15,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderStatus;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,6 +39,7 @@ public class OrderDto implements Serializable {
 	private LocalDateTime orderDate;
 	private String orderDesc;
 	private Double orderFee;
+	private OrderStatus orderStatus;
 	
 	@JsonProperty("cart")
 	@JsonInclude(Include.NON_NULL)
@@ -3,6 +3,8 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -15,6 +17,7 @@ import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,7 +32,7 @@ public class ApiExceptionHandler {
 	})
 	public <T extends BindException> ResponseEntity<ExceptionMsg> handleValidationException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle validation exception*\n");
+		log.debug("**ApiExceptionHandler controller, handle validation exception*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -45,10 +48,12 @@ public class ApiExceptionHandler {
 		CartNotFoundException.class,
 		OrderNotFoundException.class,
 		IllegalStateException.class,
+		// unknown sort property on the paged endpoints
+		PropertyReferenceException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle API request*\n");
+		log.debug("**ApiExceptionHandler controller, handle API request*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -60,6 +65,42 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	// cart line still contended after the configured retries
+	@ExceptionHandler(value = {
+		ConcurrencyFailureException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleConflictException(final T e) {
+		
+		log.debug("**ApiExceptionHandler controller, handle conflict exception*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### Concurrent modification, please retry! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), conflict);
+	}
+	
+	// the bulkhead of a remote dependency is full, the client should back off and retry
+	@ExceptionHandler(value = {
+		BulkheadFullException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleOverloadException(final T e) {
+		
+		log.debug("**ApiExceptionHandler controller, handle overload exception*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
 	
 	
 }
@@ -0,0 +1,29 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.CartItem;
+import com.selimhorri.app.dto.CartItemDto;
+
+public interface CartItemMappingHelper {
+	
+	public static CartItemDto map(final CartItem cartItem) {
+		return CartItemDto.builder()
+				.cartItemId(cartItem.getCartItemId())
+				.cartId(cartItem.getCartId())
+				.productId(cartItem.getProductId())
+				.quantity(cartItem.getQuantity())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.repository.projection.OrderView;
 
 public interface OrderMappingHelper {
 	
@@ -13,6 +14,7 @@ public interface OrderMappingHelper {
 				.orderDate(order.getOrderDate())
 				.orderDesc(order.getOrderDesc())
 				.orderFee(order.getOrderFee())
+				.orderStatus(order.getOrderStatus())
 				.cartDto(
 						CartDto.builder()
 							.cartId(order.getCart().getCartId())
@@ -20,12 +22,27 @@ public interface OrderMappingHelper {
 				.build();
 	}
 	
+	public static OrderDto map(final OrderView orderView) {
+		return OrderDto.builder()
+				.orderId(orderView.getOrderId())
+				.orderDate(orderView.getOrderDate())
+				.orderDesc(orderView.getOrderDesc())
+				.orderFee(orderView.getOrderFee())
+				.orderStatus(orderView.getOrderStatus())
+				.cartDto(
+						CartDto.builder()
+							.cartId(orderView.getCartId())
+							.build())
+				.build();
+	}
+	
 	public static Order map(final OrderDto orderDto) {
 		return Order.builder()
 				.orderId(orderDto.getOrderId())
 				.orderDate(orderDto.getOrderDate())
 				.orderDesc(orderDto.getOrderDesc())
 				.orderFee(orderDto.getOrderFee())
+				.orderStatus(orderDto.getOrderStatus())
 				.cart(
 						Cart.builder()
 							.cartId(orderDto.getCartDto().getCartId())
@@ -0,0 +1,21 @@
+package com.selimhorri.app.helper;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mapping.PropertyPath;
+
+public interface PageableHelper {
+	
+	// a sort on an @Query is appended to the JPQL as is, so an unknown property only fails inside Hibernate;
+	// resolving it against the entity first raises the PropertyReferenceException a derived query would
+	public static Pageable checkSort(final Pageable pageable, final Class<?> entityType) {
+		pageable.getSort().forEach(order -> PropertyPath.from(order.getProperty(), entityType));
+		return pageable;
+	}
+	
+	
+	
+}
+
+
+
+
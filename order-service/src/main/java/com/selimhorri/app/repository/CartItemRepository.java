@@ -0,0 +1,24 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.CartItem;
+
+public interface CartItemRepository extends JpaRepository<CartItem, Integer> {
+	
+	List<CartItem> findByCartIdOrderByCartItemId(final Integer cartId);
+	
+	Optional<CartItem> findByCartIdAndProductId(final Integer cartId, final Integer productId);
+	
+	@Modifying
+	@Query("DELETE FROM CartItem i WHERE i.cartId = :cartId AND i.productId = :productId")
+	int deleteByCartIdAndProductId(@Param("cartId") final Integer cartId, @Param("productId") final Integer productId);
+	
+	
+}
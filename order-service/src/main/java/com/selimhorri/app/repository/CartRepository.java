@@ -1,11 +1,14 @@
 package com.selimhorri.app.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Cart;
 
 public interface CartRepository extends JpaRepository<Cart, Integer> {
 	
+	Slice<Cart> findByCartIdGreaterThan(final Integer cartId, final Pageable pageable);
 	
 	
 }
@@ -1,11 +1,44 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.repository.projection.OrderView;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	String ORDER_VIEW = "SELECT o.orderId AS orderId, o.orderDate AS orderDate, o.orderDesc AS orderDesc, "
+			+ "o.orderFee AS orderFee, o.orderStatus AS orderStatus, o.cart.cartId AS cartId FROM Order o";
+	
+	// the EAGER cart would otherwise be selected once per distinct cart
+	@EntityGraph(attributePaths = "cart")
+	@Override
+	List<Order> findAll();
+	
+	@Query(value = ORDER_VIEW, countQuery = "SELECT COUNT(o) FROM Order o")
+	Page<OrderView> findAllViews(final Pageable pageable);
+	
+	@Query(ORDER_VIEW + " WHERE o.orderId > :orderId")
+	Slice<OrderView> findViewsByOrderIdGreaterThan(@Param("orderId") final Integer orderId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query(ORDER_VIEW)
+	Stream<OrderView> streamAllViews();
 	
 	
 }
@@ -0,0 +1,30 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventStatus;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Integer> {
+	
+	List<OutboxEvent> findByEventStatusAndAvailableAtLessThanEqualOrderByEventId(final OutboxEventStatus eventStatus, 
+			final Instant availableAt, final Pageable pageable);
+	
+	// conditional update, only one relay instance wins the lease on a given event
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE OutboxEvent e SET e.availableAt = :leaseUntil, e.attempts = e.attempts + 1 "
+			+ "WHERE e.eventId = :eventId AND e.eventStatus = :eventStatus AND e.availableAt <= :now")
+	int claim(@Param("eventId") final Integer eventId, @Param("eventStatus") final OutboxEventStatus eventStatus, 
+			@Param("now") final Instant now, @Param("leaseUntil") final Instant leaseUntil);
+	
+	long countByEventStatus(final OutboxEventStatus eventStatus);
+	
+	
+}
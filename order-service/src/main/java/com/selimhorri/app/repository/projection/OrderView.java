@@ -0,0 +1,17 @@
+package com.selimhorri.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.selimhorri.app.domain.OrderStatus;
+
+// exactly the columns OrderMappingHelper reads; the cart is only needed by id, so no join
+public interface OrderView {
+	
+	Integer getOrderId();
+	LocalDateTime getOrderDate();
+	String getOrderDesc();
+	Double getOrderFee();
+	OrderStatus getOrderStatus();
+	Integer getCartId();
+	
+}
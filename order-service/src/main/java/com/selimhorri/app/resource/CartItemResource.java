@@ -0,0 +1,92 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.CartItemService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/carts/{cartId}/items")
+@Slf4j
+@RequiredArgsConstructor
+public class CartItemResource {
+	
+	private final CartItemService cartItemService;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<CartItemDto>> findAll(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId) {
+		log.debug("*** CartItemDto List, controller; fetch all items of cart *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartItemService.findAll(Integer.parseInt(cartId))));
+	}
+	
+	// adds to the quantity already in the cart, creating the line if needed
+	@PostMapping
+	public ResponseEntity<CartItemDto> add(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final CartItemDto cartItemDto) {
+		log.debug("*** CartItemDto, resource; add item to cart *");
+		return ResponseEntity.ok(this.cartItemService.add(Integer.parseInt(cartId), cartItemDto));
+	}
+	
+	// sets the quantity of one line, zero removes it
+	@PatchMapping("/{productId}")
+	public ResponseEntity<CartItemDto> updateQuantity(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId, 
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final CartItemDto cartItemDto) {
+		log.debug("*** CartItemDto, resource; update quantity of cart item *");
+		return ResponseEntity.ok(this.cartItemService.updateQuantity(Integer.parseInt(cartId), 
+				Integer.parseInt(productId), cartItemDto.getQuantity()));
+	}
+	
+	@DeleteMapping("/{productId}")
+	public ResponseEntity<Boolean> remove(
+			@PathVariable("cartId") final String cartId, 
+			@PathVariable("productId") final String productId) {
+		log.debug("*** Boolean, resource; remove item from cart *");
+		this.cartItemService.remove(Integer.parseInt(cartId), Integer.parseInt(productId));
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.CartService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 public class CartResource {
 	
 	private final CartService cartService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
-		log.info("*** CartDto List, controller; fetch all categories *");
+		log.debug("*** CartDto List, controller; fetch all categories *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
 	}
 	
@@ -40,7 +48,7 @@ public class CartResource {
 			@PathVariable("cartId") 
 			@NotBlank(message = "Input must not be blank") 
 			@Valid final String cartId) {
-		log.info("*** CartDto, resource; fetch cart by id *");
+		log.debug("*** CartDto, resource; fetch cart by id *");
 		return ResponseEntity.ok(this.cartService.findById(Integer.parseInt(cartId)));
 	}
 	
@@ -49,7 +57,7 @@ public class CartResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		log.info("*** CartDto, resource; save cart *");
+		log.debug("*** CartDto, resource; save cart *");
 		return ResponseEntity.ok(this.cartService.save(cartDto));
 	}
 	
@@ -58,7 +66,7 @@ public class CartResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CartDto cartDto) {
-		log.info("*** CartDto, resource; update cart *");
+		log.debug("*** CartDto, resource; update cart *");
 		return ResponseEntity.ok(this.cartService.update(cartDto));
 	}
 	
@@ -70,17 +78,34 @@ public class CartResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CartDto cartDto) {
-		log.info("*** CartDto, resource; update cart with cartId *");
+		log.debug("*** CartDto, resource; update cart with cartId *");
 		return ResponseEntity.ok(this.cartService.update(Integer.parseInt(cartId), cartDto));
 	}
 	
 	@DeleteMapping("/{cartId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("cartId") final String cartId) {
-		log.info("*** Boolean, resource; delete cart by id *");
+		log.debug("*** Boolean, resource; delete cart by id *");
 		this.cartService.deleteById(Integer.parseInt(cartId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<CartDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer cartId, 
+			@PageableDefault(size = 20, sort = "cartId") final Pageable pageable) {
+		log.debug("*** CartDto Page, controller; fetch page of carts *");
+		if (cartId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.cartService.findAllAfter(cartId, pageable), CartDto::getCartId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.cartService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** CartDto Stream, controller; stream all carts *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.cartService::streamAll);
+	}
+	
 	
 	
 }
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
-		log.info("*** OrderDto List, controller; fetch all orders *");
+		log.debug("*** OrderDto List, controller; fetch all orders *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
@@ -40,7 +48,7 @@ public class OrderResource {
 			@PathVariable("orderId") 
 			@NotBlank(message = "Input must not be blank") 
 			@Valid final String orderId) {
-		log.info("*** OrderDto, resource; fetch order by id *");
+		log.debug("*** OrderDto, resource; fetch order by id *");
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 	
@@ -49,7 +57,7 @@ public class OrderResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderDto orderDto) {
-		log.info("*** OrderDto, resource; save order *");
+		log.debug("*** OrderDto, resource; save order *");
 		return ResponseEntity.ok(this.orderService.save(orderDto));
 	}
 	
@@ -58,7 +66,7 @@ public class OrderResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderDto orderDto) {
-		log.info("*** OrderDto, resource; update order *");
+		log.debug("*** OrderDto, resource; update order *");
 		return ResponseEntity.ok(this.orderService.update(orderDto));
 	}
 	
@@ -70,17 +78,34 @@ public class OrderResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderDto orderDto) {
-		log.info("*** OrderDto, resource; update order with orderId *");
+		log.debug("*** OrderDto, resource; update order with orderId *");
 		return ResponseEntity.ok(this.orderService.update(Integer.parseInt(orderId), orderDto));
 	}
 	
 	@DeleteMapping("/{orderId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("orderId") final String orderId) {
-		log.info("*** Boolean, resource; delete order by id *");
+		log.debug("*** Boolean, resource; delete order by id *");
 		this.orderService.deleteById(Integer.parseInt(orderId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<OrderDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer orderId, 
+			@PageableDefault(size = 20, sort = "orderId") final Pageable pageable) {
+		log.debug("*** OrderDto Page, controller; fetch page of orders *");
+		if (orderId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.orderService.findAllAfter(orderId, pageable), OrderDto::getOrderId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.orderService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** OrderDto Stream, controller; stream all orders *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.orderService::streamAll);
+	}
+	
 	
 	
 }
@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CartItemDto;
+
+public interface CartItemService {
+	
+	List<CartItemDto> findAll(final Integer cartId);
+	CartItemDto add(final Integer cartId, final CartItemDto cartItemDto);
+	CartItemDto updateQuantity(final Integer cartId, final Integer productId, final Integer quantity);
+	void remove(final Integer cartId, final Integer productId);
+	
+}
@@ -1,6 +1,11 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.CartDto;
 
@@ -12,5 +17,8 @@ public interface CartService {
 	CartDto update(final CartDto cartDto);
 	CartDto update(final Integer cartId, final CartDto cartDto);
 	void deleteById(final Integer cartId);
+	Page<CartDto> findAll(final Pageable pageable);
+	Slice<CartDto> findAllAfter(final Integer cartId, final Pageable pageable);
+	void streamAll(final Consumer<CartDto> consumer);
 	
 }
@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.PaymentDto;
+
+public interface CheckoutBroker {
+	
+	PaymentDto requestPayment(final Integer orderId);
+	PaymentDto updatePayment(final PaymentDto paymentDto);
+	void requestShipping(final List<OrderItemDto> orderItemDtos);
+	
+}
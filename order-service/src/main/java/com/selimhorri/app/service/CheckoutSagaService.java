@@ -0,0 +1,10 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.OutboxEvent;
+
+public interface CheckoutSagaService {
+	
+	// returns the next step of the saga, null once it is over
+	OutboxEvent handle(final OutboxEvent outboxEvent);
+	
+}
@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.OrderStatus;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.dto.CheckoutEventPayload;
+import com.selimhorri.app.dto.OrderDto;
+
+public interface CheckoutService {
+	
+	OrderDto checkout(final CheckoutDto checkoutDto);
+	OutboxEvent advance(final OutboxEvent outboxEvent, final OrderStatus orderStatus, 
+			final CheckoutEventType nextEventType, final CheckoutEventPayload nextPayload);
+	void fail(final OutboxEvent outboxEvent, final String reason);
+	
+}
@@ -1,6 +1,11 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.OrderDto;
 
@@ -12,5 +17,8 @@ public interface OrderService {
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
+	Page<OrderDto> findAll(final Pageable pageable);
+	Slice<OrderDto> findAllAfter(final Integer orderId, final Pageable pageable);
+	void streamAll(final Consumer<OrderDto> consumer);
 	
 }
@@ -0,0 +1,19 @@
+package com.selimhorri.app.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.OutboxEvent;
+
+public interface OutboxEventService {
+	
+	OutboxEvent enqueue(final Integer aggregateId, final CheckoutEventType eventType, final Object payload);
+	<T> T readPayload(final OutboxEvent outboxEvent, final Class<T> payloadType);
+	List<OutboxEvent> findDue(final int batchSize);
+	boolean claim(final Integer eventId, final Duration lease);
+	void markPublished(final Integer eventId);
+	void reschedule(final Integer eventId, final Duration backoff, final String error);
+	void markFailed(final Integer eventId, final String error);
+	
+}
@@ -0,0 +1,144 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.CartItem;
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.helper.CartItemMappingHelper;
+import com.selimhorri.app.repository.CartItemRepository;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.service.CartItemService;
+
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// no class level @Transactional, every retry attempt needs a fresh transaction
+// (and a fresh read of the line) after an optimistic lock or unique key conflict
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CartItemServiceImpl implements CartItemService {
+	
+	public static final String RETRY_NAME = "cartItems";
+	
+	private final CartItemRepository cartItemRepository;
+	private final CartRepository cartRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final RetryRegistry retryRegistry;
+	
+	@Override
+	public List<CartItemDto> findAll(final Integer cartId) {
+		log.debug("*** CartItemDto List, service; fetch all items of cart *");
+		this.requireCart(cartId);
+		return this.cartItemRepository.findByCartIdOrderByCartItemId(cartId)
+				.stream()
+					.map(CartItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public CartItemDto add(final Integer cartId, final CartItemDto cartItemDto) {
+		log.debug("*** CartItemDto, service; add item to cart *");
+		if (cartItemDto.getProductId() == null)
+			throw new IllegalStateException("Product id must not be NULL");
+		final int quantity = cartItemDto.getQuantity() == null ? 1 : cartItemDto.getQuantity();
+		if (quantity <= 0)
+			throw new IllegalStateException("Quantity to add must be positive");
+		this.requireCart(cartId);
+		
+		return this.retrying(() -> {
+			final CartItem cartItem = this.cartItemRepository
+					.findByCartIdAndProductId(cartId, cartItemDto.getProductId())
+					.orElseGet(() -> CartItem.builder()
+							.cartId(cartId)
+							.productId(cartItemDto.getProductId())
+							.quantity(0)
+							.build());
+			cartItem.setQuantity(cartItem.getQuantity() + quantity);
+			return this.save(cartItem);
+		});
+	}
+	
+	@Override
+	public CartItemDto updateQuantity(final Integer cartId, final Integer productId, final Integer quantity) {
+		log.debug("*** CartItemDto, service; update quantity of cart item *");
+		if (quantity == null || quantity < 0)
+			throw new IllegalStateException("Quantity must not be NULL or negative");
+		this.requireCart(cartId);
+		
+		if (quantity == 0) {
+			this.remove(cartId, productId);
+			return CartItemDto.builder()
+					.cartId(cartId)
+					.productId(productId)
+					.quantity(0)
+					.build();
+		}
+		
+		return this.retrying(() -> {
+			final CartItem cartItem = this.cartItemRepository
+					.findByCartIdAndProductId(cartId, productId)
+					.orElseGet(() -> CartItem.builder()
+							.cartId(cartId)
+							.productId(productId)
+							.build());
+			cartItem.setQuantity(quantity);
+			return this.save(cartItem);
+		});
+	}
+	
+	// a single conditional delete, idempotent and never conflicting with a concurrent edit
+	@Override
+	public void remove(final Integer cartId, final Integer productId) {
+		log.debug("*** Void, service; remove item from cart *");
+		this.transactionTemplate.executeWithoutResult(status -> this.cartItemRepository
+				.deleteByCartIdAndProductId(cartId, productId));
+	}
+	
+	private void requireCart(final Integer cartId) {
+		if (!this.cartRepository.existsById(cartId))
+			throw new CartNotFoundException(String.format("Cart with id: %d not found", cartId));
+	}
+	
+	// two requests creating the same line race on the (cart_id, product_id) unique key; the loser retries,
+	// finds the winner's line and updates it. any other integrity violation is a genuine error
+	private CartItemDto save(final CartItem cartItem) {
+		final boolean newLine = cartItem.getCartItemId() == null;
+		try {
+			return CartItemMappingHelper.map(this.cartItemRepository.saveAndFlush(cartItem));
+		}
+		catch (final DataIntegrityViolationException e) {
+			if (!newLine)
+				throw e;
+			throw new OptimisticLockingFailureException(String.format("Cart item of cart: %d and product: %d created concurrently", 
+					cartItem.getCartId(), cartItem.getProductId()), e);
+		}
+	}
+	
+	private <T> T retrying(final Supplier<T> work) {
+		return this.retryRegistry.retry(RETRY_NAME)
+				.executeSupplier(() -> this.transactionTemplate.execute(status -> work.get()));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,16 +1,35 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
-
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.client.RemoteDtoCache;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
@@ -25,65 +44,120 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
 	
+	// one batch user lookup per chunk
+	private static final int STREAM_CHUNK_SIZE = 500;
+	
 	private final CartRepository cartRepository;
 	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
 	
 	@Override
 	public List<CartDto> findAll() {
-		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		log.debug("*** CartDto List, service; fetch all carts *");
+		return this.enrich(this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
+					.collect(Collectors.toUnmodifiableList()))
+				.stream()
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
 	public CartDto findById(final Integer cartId) {
-		log.info("*** CartDto, service; fetch cart by id *");
+		log.debug("*** CartDto, service; fetch cart by id *");
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
-				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-					return c;
-				})
+				.map(c -> this.enrich(List.of(c)).get(0))
 				.orElseThrow(() -> new CartNotFoundException(String
 						.format("Cart with id: %d not found", cartId)));
 	}
 	
 	@Override
 	public CartDto save(final CartDto cartDto) {
-		log.info("*** CartDto, service; save cart *");
+		log.debug("*** CartDto, service; save cart *");
 		return CartMappingHelper.map(this.cartRepository
 				.save(CartMappingHelper.map(cartDto)));
 	}
 	
 	@Override
 	public CartDto update(final CartDto cartDto) {
-		log.info("*** CartDto, service; update cart *");
+		log.debug("*** CartDto, service; update cart *");
 		return CartMappingHelper.map(this.cartRepository
 				.save(CartMappingHelper.map(cartDto)));
 	}
 	
 	@Override
 	public CartDto update(final Integer cartId, final CartDto cartDto) {
-		log.info("*** CartDto, service; update cart with cartId *");
+		log.debug("*** CartDto, service; update cart with cartId *");
 		return CartMappingHelper.map(this.cartRepository
 				.save(CartMappingHelper.map(this.findById(cartId))));
 	}
 	
 	@Override
 	public void deleteById(final Integer cartId) {
-		log.info("*** Void, service; delete cart by id *");
+		log.debug("*** Void, service; delete cart by id *");
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	@Override
+	public Page<CartDto> findAll(final Pageable pageable) {
+		log.debug("*** CartDto Page, service; fetch page of carts *");
+		final var page = this.cartRepository.findAll(pageable)
+				.map(CartMappingHelper::map);
+		return new PageImpl<>(this.enrich(page.getContent()), page.getPageable(), page.getTotalElements());
+	}
+	
+	@Override
+	public Slice<CartDto> findAllAfter(final Integer cartId, final Pageable pageable) {
+		log.debug("*** CartDto Slice, service; fetch carts after id *");
+		final var slice = this.cartRepository.findByCartIdGreaterThan(cartId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("cartId")))
+				.map(CartMappingHelper::map);
+		return new SliceImpl<>(this.enrich(slice.getContent()), slice.getPageable(), slice.hasNext());
+	}
+	
+	// keyset chunks, each read in its own short transaction, so the user lookups and the writes
+	// to the client never run while a database connection is held
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public void streamAll(final Consumer<CartDto> consumer) {
+		log.debug("*** CartDto Stream, service; stream all carts *");
+		final Pageable chunk = PageRequest.of(0, STREAM_CHUNK_SIZE, Sort.by("cartId"));
+		Slice<Cart> carts = this.cartRepository.findByCartIdGreaterThan(0, chunk);
+		this.enrich(carts.map(CartMappingHelper::map).getContent()).forEach(consumer);
+		while (carts.hasNext()) {
+			carts = this.cartRepository.findByCartIdGreaterThan(
+					carts.getContent().get(carts.getNumberOfElements() - 1).getCartId(), chunk);
+			this.enrich(carts.map(CartMappingHelper::map).getContent()).forEach(consumer);
+		}
+	}
+	
+	private List<CartDto> enrich(final List<CartDto> cartDtos) {
+		final Map<Integer, UserDto> userDtos = this.remoteDtoCache.getAll(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, 
+				cartDtos.stream()
+					.map(c -> c.getUserDto().getUserId())
+					.collect(Collectors.toSet()), 
+				UserDto.class, this::fetchUsers);
+		cartDtos.forEach(c -> c.setUserDto(userDtos.getOrDefault(c.getUserDto().getUserId(), c.getUserDto())));
+		return cartDtos;
+	}
+	
+	private Map<Integer, UserDto> fetchUsers(final Set<Integer> userIds) {
+		if (userIds.isEmpty()) {
+			return Map.of();
+		}
+		return Optional.ofNullable(this.restTemplate
+					.exchange(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+							HttpMethod.POST, new HttpEntity<>(userIds), 
+							new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {})
+					.getBody())
+				.map(DtoCollectionResponse::getCollection)
+				.orElseGet(List::of)
+				.stream()
+					.collect(Collectors.toMap(UserDto::getUserId, Function.identity(), (u1, u2) -> u1));
+	}
+	
 	
 	
 }
@@ -0,0 +1,99 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.OrderStatus;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.CheckoutEventPayload;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.service.CheckoutBroker;
+import com.selimhorri.app.service.CheckoutSagaService;
+import com.selimhorri.app.service.CheckoutService;
+import com.selimhorri.app.service.OutboxEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// not transactional on purpose, remote calls must not hold a connection or row locks;
+// each step is committed by CheckoutService#advance together with the next outbox event
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutSagaServiceImpl implements CheckoutSagaService {
+	
+	private final CheckoutService checkoutService;
+	private final OutboxEventService outboxEventService;
+	private final CheckoutBroker checkoutBroker;
+	
+	@Override
+	public OutboxEvent handle(final OutboxEvent outboxEvent) {
+		log.debug("*** OutboxEvent, service; handle checkout event {} of order {} *", 
+				outboxEvent.getEventType(), outboxEvent.getAggregateId());
+		final CheckoutEventPayload payload = this.outboxEventService
+				.readPayload(outboxEvent, CheckoutEventPayload.class);
+		
+		switch (outboxEvent.getEventType()) {
+			case REQUEST_PAYMENT:
+				final PaymentDto paymentDto = this.checkoutBroker.requestPayment(payload.getOrderId());
+				return this.checkoutService.advance(outboxEvent, OrderStatus.PAYMENT_PENDING, CheckoutEventType.START_PAYMENT, 
+						payload.toBuilder().paymentId(paymentDto.getPaymentId()).build());
+			case START_PAYMENT:
+				this.checkoutBroker.updatePayment(payment(payload, PaymentStatus.IN_PROGRESS, false));
+				return this.checkoutService.advance(outboxEvent, OrderStatus.PAYMENT_IN_PROGRESS, 
+						CheckoutEventType.COMPLETE_PAYMENT, payload);
+			case COMPLETE_PAYMENT:
+				this.checkoutBroker.updatePayment(payment(payload, PaymentStatus.COMPLETED, true));
+				return this.checkoutService.advance(outboxEvent, OrderStatus.PAID, CheckoutEventType.REQUEST_SHIPPING, payload);
+			case REQUEST_SHIPPING:
+				this.checkoutBroker.requestShipping(orderItems(payload));
+				return this.checkoutService.advance(outboxEvent, OrderStatus.COMPLETED, null, null);
+			case CANCEL_PAYMENT:
+				this.checkoutBroker.updatePayment(payment(payload, PaymentStatus.CANCELED, false));
+				return this.checkoutService.advance(outboxEvent, OrderStatus.FAILED, null, null);
+			default:
+				throw new IllegalStateException(String.format("Unknown checkout event type: %s", outboxEvent.getEventType()));
+		}
+	}
+	
+	private static PaymentDto payment(final CheckoutEventPayload payload, final PaymentStatus paymentStatus, 
+			final boolean isPayed) {
+		return PaymentDto.builder()
+				.paymentId(payload.getPaymentId())
+				.isPayed(isPayed)
+				.paymentStatus(paymentStatus)
+				.orderDto(OrderDto.builder()
+						.orderId(payload.getOrderId())
+						.build())
+				.build();
+	}
+	
+	private static List<OrderItemDto> orderItems(final CheckoutEventPayload payload) {
+		return payload.getItems().stream()
+				.map(i -> OrderItemDto.builder()
+						.productId(i.getProductId())
+						.orderId(payload.getOrderId())
+						.orderedQuantity(i.getOrderedQuantity())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
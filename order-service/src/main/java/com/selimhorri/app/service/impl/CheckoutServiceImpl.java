@@ -0,0 +1,105 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderStatus;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.dto.CheckoutEventPayload;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.CheckoutService;
+import com.selimhorri.app.service.OutboxEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutServiceImpl implements CheckoutService {
+	
+	private final OrderRepository orderRepository;
+	private final CartRepository cartRepository;
+	private final OutboxEventService outboxEventService;
+	
+	// order and first saga step commit together, payment and shipping are driven by the outbox relay
+	@Override
+	public OrderDto checkout(final CheckoutDto checkoutDto) {
+		log.debug("*** OrderDto, service; checkout order *");
+		
+		final Integer cartId = Optional.ofNullable(checkoutDto.getOrderDto().getCartDto())
+				.map(CartDto::getCartId)
+				.orElse(null);
+		if (cartId == null || !this.cartRepository.existsById(cartId))
+			throw new CartNotFoundException(String.format("Cart with id: %s not found", cartId));
+		
+		final Order order = OrderMappingHelper.map(checkoutDto.getOrderDto());
+		order.setOrderId(null);
+		order.setOrderDate(Optional.ofNullable(order.getOrderDate()).orElseGet(LocalDateTime::now));
+		order.setOrderStatus(OrderStatus.PENDING);
+		final Order savedOrder = this.orderRepository.save(order);
+		
+		this.outboxEventService.enqueue(savedOrder.getOrderId(), CheckoutEventType.REQUEST_PAYMENT, 
+				CheckoutEventPayload.builder()
+					.orderId(savedOrder.getOrderId())
+					.items(checkoutDto.getItems())
+					.build());
+		
+		return OrderMappingHelper.map(savedOrder);
+	}
+	
+	@Override
+	public OutboxEvent advance(final OutboxEvent outboxEvent, final OrderStatus orderStatus, 
+			final CheckoutEventType nextEventType, final CheckoutEventPayload nextPayload) {
+		log.debug("*** OutboxEvent, service; advance checkout saga *");
+		this.outboxEventService.markPublished(outboxEvent.getEventId());
+		this.orderRepository.findById(outboxEvent.getAggregateId())
+				.ifPresent(o -> o.setOrderStatus(orderStatus));
+		return nextEventType == null ? null : 
+				this.outboxEventService.enqueue(outboxEvent.getAggregateId(), nextEventType, nextPayload);
+	}
+	
+	// a step failing once the payment exists (a shipping request after COMPLETE_PAYMENT included) enqueues
+	// its cancellation with the failure, so the customer is never charged for an order that is not shipped.
+	// a failed cancellation stays FAILED in the outbox for manual follow-up
+	@Override
+	public void fail(final OutboxEvent outboxEvent, final String reason) {
+		log.debug("*** Void, service; fail checkout saga *");
+		this.outboxEventService.markFailed(outboxEvent.getEventId(), reason);
+		this.orderRepository.findById(outboxEvent.getAggregateId())
+				.ifPresent(o -> o.setOrderStatus(OrderStatus.FAILED));
+		if (outboxEvent.getEventType() == CheckoutEventType.CANCEL_PAYMENT) {
+			log.warn("*** Void, service; payment of order {} could not be canceled: {} *", outboxEvent.getAggregateId(), reason);
+			return;
+		}
+		final CheckoutEventPayload payload = this.outboxEventService.readPayload(outboxEvent, CheckoutEventPayload.class);
+		if (payload.getPaymentId() != null)
+			this.outboxEventService.enqueue(outboxEvent.getAggregateId(), CheckoutEventType.CANCEL_PAYMENT, payload);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
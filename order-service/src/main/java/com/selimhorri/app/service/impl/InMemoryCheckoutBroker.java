@@ -0,0 +1,92 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.service.CheckoutBroker;
+
+import lombok.extern.slf4j.Slf4j;
+
+// stand-in for payment-service and shipping-service, used by tests and local runs without the other services
+@Service
+@ConditionalOnProperty(prefix = "app.outbox", name = "broker", havingValue = "in-memory")
+@Slf4j
+public class InMemoryCheckoutBroker implements CheckoutBroker {
+	
+	private final AtomicInteger paymentIds = new AtomicInteger();
+	private final Map<Integer, PaymentDto> payments = new ConcurrentHashMap<>();
+	private final Map<Integer, List<PaymentStatus>> paymentStatusHistory = new ConcurrentHashMap<>();
+	private final Map<String, OrderItemDto> orderItems = new ConcurrentHashMap<>();
+	
+	@Override
+	public PaymentDto requestPayment(final Integer orderId) {
+		log.debug("*** PaymentDto, in-memory broker; request payment of order *");
+		// idempotent per order id, as payment-service
+		return this.findPaymentByOrderId(orderId)
+				.orElseGet(() -> this.updatePayment(PaymentDto.builder()
+						.paymentId(this.paymentIds.incrementAndGet())
+						.isPayed(false)
+						.paymentStatus(PaymentStatus.NOT_STARTED)
+						.orderDto(OrderDto.builder()
+								.orderId(orderId)
+								.build())
+						.build()));
+	}
+	
+	@Override
+	public PaymentDto updatePayment(final PaymentDto paymentDto) {
+		log.debug("*** PaymentDto, in-memory broker; update payment *");
+		this.payments.put(paymentDto.getPaymentId(), paymentDto);
+		this.paymentStatusHistory.computeIfAbsent(paymentDto.getOrderDto().getOrderId(), 
+				k -> Collections.synchronizedList(new ArrayList<>())).add(paymentDto.getPaymentStatus());
+		return paymentDto;
+	}
+	
+	@Override
+	public void requestShipping(final List<OrderItemDto> orderItemDtos) {
+		log.debug("*** Void, in-memory broker; request shipping of order items *");
+		orderItemDtos.forEach(i -> this.orderItems.put(i.getProductId() + ":" + i.getOrderId(), i));
+	}
+	
+	public Optional<PaymentDto> findPaymentByOrderId(final Integer orderId) {
+		return this.payments.values().stream()
+				.filter(p -> orderId.equals(p.getOrderDto().getOrderId()))
+				.findFirst();
+	}
+	
+	public List<PaymentStatus> findPaymentStatusHistory(final Integer orderId) {
+		return List.copyOf(this.paymentStatusHistory.getOrDefault(orderId, List.of()));
+	}
+	
+	public List<OrderItemDto> findOrderItems(final Integer orderId) {
+		return this.orderItems.values().stream()
+				.filter(i -> orderId.equals(i.getOrderId()))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,16 +1,26 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.helper.PageableHelper;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.projection.OrderView;
 import com.selimhorri.app.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,7 +36,7 @@ public class OrderServiceImpl implements OrderService {
 	
 	@Override
 	public List<OrderDto> findAll() {
-		log.info("*** OrderDto List, service; fetch all orders *");
+		log.debug("*** OrderDto List, service; fetch all orders *");
 		return this.orderRepository.findAll()
 				.stream()
 					.map(OrderMappingHelper::map)
@@ -36,7 +46,7 @@ public class OrderServiceImpl implements OrderService {
 	
 	@Override
 	public OrderDto findById(final Integer orderId) {
-		log.info("*** OrderDto, service; fetch order by id *");
+		log.debug("*** OrderDto, service; fetch order by id *");
 		return this.orderRepository.findById(orderId)
 				.map(OrderMappingHelper::map)
 				.orElseThrow(() -> new OrderNotFoundException(String
@@ -45,31 +55,54 @@ public class OrderServiceImpl implements OrderService {
 	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
-		log.info("*** OrderDto, service; save order *");
+		log.debug("*** OrderDto, service; save order *");
 		return OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
-		log.info("*** OrderDto, service; update order *");
+		log.debug("*** OrderDto, service; update order *");
 		return OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
-		log.info("*** OrderDto, service; update order with orderId *");
+		log.debug("*** OrderDto, service; update order with orderId *");
 		return OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(this.findById(orderId))));
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
-		log.info("*** Void, service; delete order by id *");
+		log.debug("*** Void, service; delete order by id *");
 		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
 	}
 	
+	@Override
+	public Page<OrderDto> findAll(final Pageable pageable) {
+		log.debug("*** OrderDto Page, service; fetch page of orders *");
+		return this.orderRepository.findAllViews(PageableHelper.checkSort(pageable, Order.class))
+				.map(OrderMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<OrderDto> findAllAfter(final Integer orderId, final Pageable pageable) {
+		log.debug("*** OrderDto Slice, service; fetch orders after id *");
+		return this.orderRepository.findViewsByOrderIdGreaterThan(orderId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("orderId")))
+				.map(OrderMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<OrderDto> consumer) {
+		log.debug("*** OrderDto Stream, service; stream all orders *");
+		try (final Stream<OrderView> orders = this.orderRepository.streamAllViews()) {
+			orders.forEach(o -> consumer.accept(OrderMappingHelper.map(o)));
+		}
+	}
+	
 	
 	
 }
@@ -0,0 +1,118 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventStatus;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxEventServiceImpl implements OutboxEventService {
+	
+	private static final int MAX_ERROR_LENGTH = 255;
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+	
+	@Override
+	public OutboxEvent enqueue(final Integer aggregateId, final CheckoutEventType eventType, final Object payload) {
+		log.debug("*** OutboxEvent, service; enqueue outbox event *");
+		try {
+			return this.outboxEventRepository.save(OutboxEvent.builder()
+					.aggregateId(aggregateId)
+					.eventType(eventType)
+					.eventStatus(OutboxEventStatus.PENDING)
+					.payload(this.objectMapper.writeValueAsString(payload))
+					.attempts(0)
+					.availableAt(Instant.now())
+					.build());
+		}
+		catch (final JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize outbox payload", e);
+		}
+	}
+	
+	@Override
+	public <T> T readPayload(final OutboxEvent outboxEvent, final Class<T> payloadType) {
+		try {
+			return this.objectMapper.readValue(outboxEvent.getPayload(), payloadType);
+		}
+		catch (final JsonProcessingException e) {
+			throw new IllegalStateException(String
+					.format("Could not read payload of outbox event with id: %d", outboxEvent.getEventId()), e);
+		}
+	}
+	
+	@Override
+	public List<OutboxEvent> findDue(final int batchSize) {
+		return this.outboxEventRepository.findByEventStatusAndAvailableAtLessThanEqualOrderByEventId(
+				OutboxEventStatus.PENDING, Instant.now(), PageRequest.of(0, batchSize));
+	}
+	
+	@Override
+	public boolean claim(final Integer eventId, final Duration lease) {
+		final Instant now = Instant.now();
+		return this.outboxEventRepository.claim(eventId, OutboxEventStatus.PENDING, now, now.plus(lease)) == 1;
+	}
+	
+	@Override
+	public void markPublished(final Integer eventId) {
+		this.outboxEventRepository.findById(eventId).ifPresent(e -> {
+			e.setEventStatus(OutboxEventStatus.PUBLISHED);
+			e.setPublishedAt(Instant.now());
+			e.setLastError(null);
+		});
+	}
+	
+	@Override
+	public void reschedule(final Integer eventId, final Duration backoff, final String error) {
+		log.debug("*** Void, service; reschedule outbox event *");
+		this.outboxEventRepository.findById(eventId).ifPresent(e -> {
+			e.setAvailableAt(Instant.now().plus(backoff));
+			e.setLastError(truncate(error));
+		});
+	}
+	
+	@Override
+	public void markFailed(final Integer eventId, final String error) {
+		log.debug("*** Void, service; mark outbox event as failed *");
+		this.outboxEventRepository.findById(eventId).ifPresent(e -> {
+			e.setEventStatus(OutboxEventStatus.FAILED);
+			e.setLastError(truncate(error));
+		});
+	}
+	
+	private static String truncate(final String error) {
+		return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
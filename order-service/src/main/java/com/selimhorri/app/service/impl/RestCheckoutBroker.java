@@ -0,0 +1,76 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.service.CheckoutBroker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@ConditionalOnProperty(prefix = "app.outbox", name = "broker", havingValue = "rest", matchIfMissing = true)
+@Slf4j
+@RequiredArgsConstructor
+public class RestCheckoutBroker implements CheckoutBroker {
+	
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	
+	private final RestTemplate restTemplate;
+	
+	// a step retried after a lost response must not create a second payment, payment-service returns
+	// the payment it already holds for the order id sent as idempotency key
+	@Override
+	public PaymentDto requestPayment(final Integer orderId) {
+		log.debug("*** PaymentDto, broker; request payment of order *");
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(IDEMPOTENCY_KEY_HEADER, String.valueOf(orderId));
+		return this.restTemplate.postForObject(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL, 
+				new HttpEntity<>(PaymentDto.builder()
+					.isPayed(false)
+					.paymentStatus(PaymentStatus.NOT_STARTED)
+					.orderDto(OrderDto.builder()
+							.orderId(orderId)
+							.build())
+					.build(), headers), 
+				PaymentDto.class);
+	}
+	
+	@Override
+	public PaymentDto updatePayment(final PaymentDto paymentDto) {
+		log.debug("*** PaymentDto, broker; update payment *");
+		this.restTemplate.put(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL, paymentDto);
+		return paymentDto;
+	}
+	
+	// order items are keyed by (productId, orderId) in shipping-service, so a replayed step overwrites
+	@Override
+	public void requestShipping(final List<OrderItemDto> orderItemDtos) {
+		log.debug("*** Void, broker; request shipping of order items *");
+		orderItemDtos.forEach(i -> this.restTemplate
+				.postForObject(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL, i, OrderItemDto.class));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,3 @@
+
+ALTER TABLE orders ADD COLUMN order_status VARCHAR(32);
+
@@ -0,0 +1,17 @@
+
+CREATE TABLE outbox_events (
+	event_id INT(11) NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	aggregate_id INT(11) NOT NULL,
+	event_type VARCHAR(64) NOT NULL,
+	event_status VARCHAR(32) NOT NULL,
+	payload TEXT NOT NULL,
+	attempts INT(11) DEFAULT 0 NOT NULL,
+	last_error VARCHAR(255),
+	available_at TIMESTAMP NOT NULL,
+	published_at TIMESTAMP,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_events_status_available_at ON outbox_events (event_status, available_at);
+
@@ -0,0 +1,13 @@
+
+CREATE TABLE cart_items (
+	cart_item_id INT(11) NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	cart_id INT(11) NOT NULL,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	version INT(11) DEFAULT 0 NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP,
+	CONSTRAINT uk_cart_items_cart_id_product_id UNIQUE (cart_id, product_id),
+	CONSTRAINT fk_cart_items_cart_id FOREIGN KEY (cart_id) REFERENCES carts (cart_id) ON DELETE CASCADE
+);
+
@@ -0,0 +1,199 @@
+package com.selimhorri.app.config.outbox;
+
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventStatus;
+import com.selimhorri.app.service.CheckoutSagaService;
+import com.selimhorri.app.service.CheckoutService;
+import com.selimhorri.app.service.OutboxEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas Unitarias para OutboxRelay
+ * Validación de reclamos, reintentos con backoff y fallos definitivos de la saga
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Relay Unit Tests")
+class OutboxRelayUnitTest {
+
+    @Mock
+    private OutboxEventService outboxEventService;
+
+    @Mock
+    private CheckoutService checkoutService;
+
+    @Mock
+    private CheckoutSagaService checkoutSagaService;
+
+    private OutboxProperties outboxProperties;
+    private OutboxRelay outboxRelay;
+    private OutboxEvent outboxEvent;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new OutboxProperties();
+        outboxProperties.setMaxAttempts(3);
+        outboxProperties.setInitialBackoff(Duration.ofSeconds(1));
+        outboxRelay = new OutboxRelay(outboxEventService, checkoutService, checkoutSagaService, outboxProperties);
+
+        outboxEvent = OutboxEvent.builder()
+            .eventId(1)
+            .aggregateId(10)
+            .eventType(CheckoutEventType.REQUEST_PAYMENT)
+            .eventStatus(OutboxEventStatus.PENDING)
+            .attempts(0)
+            .build();
+        when(outboxEventService.findDue(anyInt())).thenReturn(List.of(outboxEvent));
+    }
+
+    @Test
+    @DisplayName("Should skip events claimed by another relay")
+    void testRelay_WhenClaimIsLost_ShouldSkipEvent() {
+        // Given
+        when(outboxEventService.claim(eq(1), any())).thenReturn(false);
+
+        // When
+        int relayed = outboxRelay.relay();
+
+        // Then
+        assertThat(relayed).isZero();
+        verifyNoInteractions(checkoutSagaService);
+    }
+
+    @Test
+    @DisplayName("Should run the next step right away instead of waiting for the next poll")
+    void testRelay_WhenStepSucceeds_ShouldRunNextStepImmediately() {
+        // Given
+        OutboxEvent nextEvent = OutboxEvent.builder()
+            .eventId(2)
+            .aggregateId(10)
+            .eventType(CheckoutEventType.START_PAYMENT)
+            .eventStatus(OutboxEventStatus.PENDING)
+            .attempts(0)
+            .build();
+        when(outboxEventService.claim(eq(1), any())).thenReturn(true);
+        when(outboxEventService.claim(eq(2), any())).thenReturn(true);
+        when(checkoutSagaService.handle(outboxEvent)).thenReturn(nextEvent);
+        when(checkoutSagaService.handle(nextEvent)).thenReturn(null);
+
+        // When
+        int relayed = outboxRelay.relay();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        verify(outboxEventService, times(1)).findDue(anyInt());
+        verify(checkoutSagaService).handle(nextEvent);
+    }
+
+    @Test
+    @DisplayName("Should leave the next step to its claimant when another relay won it")
+    void testRelay_WhenNextStepClaimIsLost_ShouldStop() {
+        // Given
+        OutboxEvent nextEvent = OutboxEvent.builder().eventId(2).aggregateId(10).attempts(0).build();
+        when(outboxEventService.claim(eq(1), any())).thenReturn(true);
+        when(outboxEventService.claim(eq(2), any())).thenReturn(false);
+        when(checkoutSagaService.handle(outboxEvent)).thenReturn(nextEvent);
+
+        // When
+        int relayed = outboxRelay.relay();
+
+        // Then
+        assertThat(relayed).isEqualTo(1);
+        verify(checkoutSagaService, never()).handle(nextEvent);
+    }
+
+    @Test
+    @DisplayName("Should relay on the worker pool once started")
+    void testRelay_WhenStarted_ShouldDispatchToWorkers() throws InterruptedException {
+        // Given
+        outboxProperties.setPollInterval(Duration.ofHours(1));
+        outboxProperties.setWorkers(2);
+        CountDownLatch handled = new CountDownLatch(1);
+        when(outboxEventService.claim(eq(1), any())).thenReturn(true);
+        when(checkoutSagaService.handle(outboxEvent)).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread().getName()).startsWith("outbox-relay-worker-");
+            handled.countDown();
+            return null;
+        });
+        outboxRelay.start();
+
+        try {
+            // When
+            int dispatched = outboxRelay.relay();
+
+            // Then
+            assertThat(dispatched).isEqualTo(1);
+            assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        finally {
+            outboxRelay.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reschedule with exponential backoff on transient failures")
+    void testRelay_WhenStepFails_ShouldReschedule() {
+        // Given
+        outboxEvent.setAttempts(1);
+        when(outboxEventService.claim(eq(1), any())).thenReturn(true);
+        doThrow(new ResourceAccessException("payment-service down")).when(checkoutSagaService).handle(outboxEvent);
+
+        // When
+        int relayed = outboxRelay.relay();
+
+        // Then
+        assertThat(relayed).isZero();
+        verify(outboxEventService).reschedule(eq(1), eq(Duration.ofSeconds(2)), anyString());
+        verify(checkoutService, never()).fail(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail the saga once attempts are exhausted")
+    void testRelay_WhenAttemptsExhausted_ShouldFailSaga() {
+        // Given
+        outboxEvent.setAttempts(2);
+        when(outboxEventService.claim(eq(1), any())).thenReturn(true);
+        doThrow(new ResourceAccessException("payment-service down")).when(checkoutSagaService).handle(outboxEvent);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(checkoutService).fail(eq(outboxEvent), anyString());
+        verify(outboxEventService, never()).reschedule(any(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail the saga immediately on client errors")
+    void testRelay_WhenClientError_ShouldFailWithoutRetry() {
+        // Given
+        when(outboxEventService.claim(eq(1), any())).thenReturn(true);
+        doThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST)).when(checkoutSagaService).handle(outboxEvent);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(checkoutService).fail(eq(outboxEvent), anyString());
+        verify(outboxEventService, never()).reschedule(any(), any(), anyString());
+    }
+}
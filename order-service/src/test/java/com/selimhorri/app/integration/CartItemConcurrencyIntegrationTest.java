@@ -0,0 +1,115 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.service.CartItemService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de Integración para las líneas del carrito
+ * Validación del bloqueo optimista con los reintentos configurados ante ediciones concurrentes
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Item Concurrency Integration Tests")
+class CartItemConcurrencyIntegrationTest {
+
+    private static final int CART_ID = 1;
+    private static final int ADDS_PER_TAB = 25;
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Test
+    @DisplayName("Should not lose updates when two tabs add the same product concurrently")
+    void testAdd_WhenTwoTabsAddSameProduct_ShouldKeepEveryUpdate() throws Exception {
+        // Given
+        int productId = 101;
+
+        // When
+        runInTabs(2, () -> {
+            for (int i = 0; i < ADDS_PER_TAB; i++) {
+                cartItemService.add(CART_ID, CartItemDto.builder().productId(productId).quantity(1).build());
+            }
+        });
+
+        // Then
+        assertThat(quantityOf(productId)).isEqualTo(2 * ADDS_PER_TAB);
+    }
+
+    @Test
+    @DisplayName("Should keep lines of different products independent")
+    void testAdd_WhenTabsAddDifferentProducts_ShouldKeepBothLines() throws Exception {
+        // When
+        runInTabs(2, () -> cartItemService.add(CART_ID, CartItemDto.builder().productId(201).quantity(2).build()),
+            () -> cartItemService.add(CART_ID, CartItemDto.builder().productId(202).quantity(3).build()));
+
+        // Then
+        assertThat(quantityOf(201)).isEqualTo(2);
+        assertThat(quantityOf(202)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should set quantity and remove the line when quantity is zero")
+    void testUpdateQuantity_ShouldSetAndRemove() {
+        // Given
+        int productId = 301;
+        cartItemService.add(CART_ID, CartItemDto.builder().productId(productId).quantity(1).build());
+
+        // When
+        CartItemDto updated = cartItemService.updateQuantity(CART_ID, productId, 7);
+
+        // Then
+        assertThat(updated.getQuantity()).isEqualTo(7);
+        assertThat(quantityOf(productId)).isEqualTo(7);
+
+        // When
+        cartItemService.updateQuantity(CART_ID, productId, 0);
+
+        // Then
+        assertThat(cartItemService.findAll(CART_ID))
+            .noneMatch(i -> i.getProductId().equals(productId));
+    }
+
+    private int quantityOf(int productId) {
+        return cartItemService.findAll(CART_ID).stream()
+            .filter(i -> i.getProductId().equals(productId))
+            .mapToInt(CartItemDto::getQuantity)
+            .sum();
+    }
+
+    private static void runInTabs(int tabs, Runnable... work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tabs);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < tabs; i++) {
+                Runnable tab = work[i % work.length];
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    tab.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
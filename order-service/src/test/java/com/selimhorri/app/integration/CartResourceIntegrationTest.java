@@ -0,0 +1,141 @@
+package com.selimhorri.app.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de Integración para los listados de CartResource
+ * Validación de la paginación por offset y por keyset, del streaming NDJSON
+ * y de que los usuarios se resuelven con una consulta por lotes
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "app.outbox.enabled=false"
+)
+@ActiveProfiles("test")
+@DisplayName("Cart Resource Integration Tests")
+class CartResourceIntegrationTest {
+
+    private static final String USER_BATCH_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(restTemplate.exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    final Collection<Integer> userIds = (Collection<Integer>) invocation.<HttpEntity<?>>getArgument(2).getBody();
+                    return ResponseEntity.ok(new DtoCollectionResponse<>(userIds.stream()
+                            .map(userId -> UserDto.builder().userId(userId).firstName("user-" + userId).build())
+                            .collect(Collectors.toList())));
+                });
+    }
+
+    @Test
+    @DisplayName("Should return an offset page with totals and enriched users")
+    void testFindPage_ShouldReturnTotals() throws Exception {
+        // When
+        final ResponseEntity<String> response = testRestTemplate.getForEntity("/api/carts/page?size=2", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final JsonNode page = objectMapper.readTree(response.getBody());
+        assertThat(page.get("collection")).hasSize(2);
+        assertThat(page.get("page").asInt()).isZero();
+        assertThat(page.get("totalElements").asLong()).isEqualTo(cartRepository.count());
+        page.get("collection").forEach(cart -> assertThat(cart.get("user").get("firstName").asText())
+                .isEqualTo("user-" + cart.get("user").get("userId").asInt()));
+        verify(restTemplate, atMost(1)).exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    @Test
+    @DisplayName("Should walk the carts with the keyset cursor")
+    void testFindAfter_ShouldFollowNextAfter() throws Exception {
+        // Given
+        final JsonNode first = objectMapper.readTree(testRestTemplate
+                .getForObject("/api/carts/page?after=0&size=2", String.class));
+
+        // When
+        final JsonNode second = objectMapper.readTree(testRestTemplate
+                .getForObject("/api/carts/page?after=" + first.get("nextAfter").asInt() + "&size=2", String.class));
+
+        // Then
+        assertThat(first.has("totalElements")).isFalse();
+        assertThat(first.get("collection").get(1).get("cartId").asInt()).isEqualTo(first.get("nextAfter").asInt());
+        assertThat(second.get("collection").get(0).get("cartId").asInt()).isGreaterThan(first.get("nextAfter").asInt());
+    }
+
+    @Test
+    @DisplayName("Should stream every cart as one NDJSON line")
+    void testStream_ShouldWriteOneLinePerCart() throws Exception {
+        // When
+        final ResponseEntity<String> response = testRestTemplate.getForEntity("/api/carts/stream", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        final List<String> lines = response.getBody().lines().collect(Collectors.toList());
+        assertThat(lines).hasSize((int) cartRepository.count());
+        for (final String line : lines) {
+            assertThat(objectMapper.readTree(line).get("user").get("firstName").asText()).startsWith("user-");
+        }
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown sort property with 400")
+    void testFindPage_WithUnknownSort_ShouldReturnBadRequest() {
+        // When
+        final ResponseEntity<String> response = testRestTemplate.getForEntity("/api/carts/page?sort=foo", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.domain.CheckoutEventType;
+import com.selimhorri.app.domain.OrderStatus;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.dto.CheckoutEventPayload;
+import com.selimhorri.app.dto.CheckoutItemDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxEventService;
+import com.selimhorri.app.service.impl.InMemoryCheckoutBroker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Pruebas de Integración para el checkout de Order Service
+ * Validación del outbox y de la saga de pago y envío con el broker en memoria,
+ * y de la cancelación del pago cuando el envío falla
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "app.outbox.broker=in-memory",
+        "app.outbox.poll-interval=50ms"
+    }
+)
+@ActiveProfiles("test")
+@DisplayName("Checkout Saga Integration Tests")
+class CheckoutSagaIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static final int UNSHIPPABLE_PRODUCT_ID = 999;
+
+    @SpyBean
+    private InMemoryCheckoutBroker checkoutBroker;
+
+    @Autowired
+    private OutboxEventService outboxEventService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    @DisplayName("Should accept checkout and complete payment and shipping asynchronously")
+    void testCheckout_ShouldDrivePaymentAndShipping() throws InterruptedException {
+        // Given
+        CheckoutDto checkoutDto = CheckoutDto.builder()
+            .orderDto(OrderDto.builder()
+                .orderDesc("Checkout Test Order")
+                .orderFee(42.0)
+                .cartDto(CartDto.builder().cartId(1).build())
+                .build())
+            .items(List.of(
+                CheckoutItemDto.builder().productId(1).orderedQuantity(2).build(),
+                CheckoutItemDto.builder().productId(2).orderedQuantity(1).build()))
+            .build();
+
+        // When
+        ResponseEntity<OrderDto> response = restTemplate.postForEntity(
+            "/api/orders/checkout",
+            checkoutDto,
+            OrderDto.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+
+        Integer orderId = response.getBody().getOrderId();
+        OrderDto order = awaitStatus(orderId, OrderStatus.COMPLETED, Duration.ofSeconds(10));
+
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(checkoutBroker.findPaymentStatusHistory(orderId))
+            .containsExactly(PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS, PaymentStatus.COMPLETED);
+        assertThat(checkoutBroker.findPaymentByOrderId(orderId))
+            .hasValueSatisfying(p -> assertThat(p.getIsPayed()).isTrue());
+        assertThat(checkoutBroker.findOrderItems(orderId)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should cancel the completed payment when shipping fails")
+    void testCheckout_WhenShippingFails_ShouldCancelPayment() throws InterruptedException {
+        // Given - shipping-service rejects the items of this order
+        doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+            .when(checkoutBroker).requestShipping(argThat((List<OrderItemDto> items) -> items != null && items.stream()
+                .anyMatch(i -> i.getProductId() == UNSHIPPABLE_PRODUCT_ID)));
+        CheckoutDto checkoutDto = CheckoutDto.builder()
+            .orderDto(OrderDto.builder()
+                .orderDesc("Unshippable Order")
+                .orderFee(10.0)
+                .cartDto(CartDto.builder().cartId(1).build())
+                .build())
+            .items(List.of(CheckoutItemDto.builder().productId(UNSHIPPABLE_PRODUCT_ID).orderedQuantity(1).build()))
+            .build();
+
+        // When
+        OrderDto order = restTemplate.postForObject("/api/orders/checkout", checkoutDto, OrderDto.class);
+
+        // Then
+        Integer orderId = order.getOrderId();
+        awaitPaymentStatus(orderId, PaymentStatus.CANCELED, Duration.ofSeconds(10));
+        assertThat(checkoutBroker.findPaymentStatusHistory(orderId))
+            .containsExactly(PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS, PaymentStatus.COMPLETED,
+                PaymentStatus.CANCELED);
+        assertThat(checkoutBroker.findPaymentByOrderId(orderId))
+            .hasValueSatisfying(p -> assertThat(p.getIsPayed()).isFalse());
+        assertThat(restTemplate.getForObject("/api/orders/" + orderId, OrderDto.class).getOrderStatus())
+            .isEqualTo(OrderStatus.FAILED);
+        assertThat(checkoutBroker.findOrderItems(orderId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject checkout for an unknown cart without writing an outbox event")
+    void testCheckout_WhenCartDoesNotExist_ShouldReturnBadRequest() {
+        // Given
+        CheckoutDto checkoutDto = CheckoutDto.builder()
+            .orderDto(OrderDto.builder()
+                .orderDesc("Unknown Cart Order")
+                .cartDto(CartDto.builder().cartId(Integer.MAX_VALUE).build())
+                .build())
+            .items(List.of(CheckoutItemDto.builder().productId(1).orderedQuantity(1).build()))
+            .build();
+
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+            "/api/orders/checkout",
+            checkoutDto,
+            Map.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should let only one relay claim an outbox event")
+    void testClaim_ShouldBeExclusive() {
+        // Given - the background relay competes for the same event
+        OutboxEvent outboxEvent = outboxEventService.enqueue(Integer.MAX_VALUE, CheckoutEventType.REQUEST_SHIPPING,
+            CheckoutEventPayload.builder().orderId(Integer.MAX_VALUE).items(List.of()).build());
+
+        // When
+        boolean first = outboxEventService.claim(outboxEvent.getEventId(), Duration.ofMinutes(1));
+        boolean second = outboxEventService.claim(outboxEvent.getEventId(), Duration.ofMinutes(1));
+
+        // Then - every successful claim bumps attempts, so exactly one claimant won
+        assertThat(first && second).isFalse();
+        assertThat(outboxEventRepository.findById(outboxEvent.getEventId()))
+            .hasValueSatisfying(e -> assertThat(e.getAttempts()).isEqualTo(1));
+    }
+
+    private void awaitPaymentStatus(Integer orderId, PaymentStatus paymentStatus, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!checkoutBroker.findPaymentStatusHistory(orderId).contains(paymentStatus) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private OrderDto awaitStatus(Integer orderId, OrderStatus orderStatus, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        OrderDto order = restTemplate.getForObject("/api/orders/" + orderId, OrderDto.class);
+        while (order.getOrderStatus() != orderStatus && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            order = restTemplate.getForObject("/api/orders/" + orderId, OrderDto.class);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,92 @@
+package com.selimhorri.app.integration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de Integración para el número de consultas de Order Service
+ * Validación de que cada listado se resuelve sin consultas N+1 usando las estadísticas de Hibernate
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.outbox.enabled=false"
+    }
+)
+@ActiveProfiles("test")
+@DisplayName("Order Service Query Count Integration Tests")
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list all orders with their carts in a single query")
+    void testFindAll_ShouldRunOneQuery() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/orders", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page orders with one content query and one count query")
+    void testFindPage_ShouldRunContentAndCountQueries() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/orders/page?size=2", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read a keyset slice of orders in a single query")
+    void testFindAfter_ShouldRunOneQuery() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/orders/page?after=1&size=2", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream all orders in a single query")
+    void testStream_ShouldRunOneQuery() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/orders/stream", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
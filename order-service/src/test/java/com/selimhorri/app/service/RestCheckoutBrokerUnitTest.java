@@ -0,0 +1,57 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.service.impl.RestCheckoutBroker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Pruebas Unitarias para RestCheckoutBroker
+ * Validación de la clave de idempotencia enviada a payment-service
+ */
+@DisplayName("Rest Checkout Broker Unit Tests")
+class RestCheckoutBrokerUnitTest {
+
+    private MockRestServiceServer server;
+    private RestCheckoutBroker checkoutBroker;
+
+    @BeforeEach
+    void setUp() {
+        final RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        checkoutBroker = new RestCheckoutBroker(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should send the order id as idempotency key of the payment request")
+    void testRequestPayment_ShouldSendOrderIdAsIdempotencyKey() {
+        // Given
+        server.expect(requestTo(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(RestCheckoutBroker.IDEMPOTENCY_KEY_HEADER, "7"))
+                .andExpect(jsonPath("$.order.orderId").value(7))
+                .andRespond(withSuccess("{\"paymentId\":11,\"isPayed\":false,\"paymentStatus\":\"NOT_STARTED\"}",
+                        MediaType.APPLICATION_JSON));
+
+        // When
+        final PaymentDto paymentDto = checkoutBroker.requestPayment(7);
+
+        // Then
+        assertThat(paymentDto.getPaymentId()).isEqualTo(11);
+        server.verify();
+    }
+
+}
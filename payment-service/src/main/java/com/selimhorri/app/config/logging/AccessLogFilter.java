@@ -0,0 +1,108 @@
+package com.selimhorri.app.config.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// one line per request on the "access" logger: method, path, status, duration and client, as key=value
+// pairs. nothing is formatted for the requests that are not logged: every failed or slow request gets
+// a line, the others only the configured sample. sampled=true marks the lines that stand for 1/sample-rate
+public class AccessLogFilter extends OncePerRequestFilter {
+	
+	private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+	
+	private final AccessLogProperties accessLogProperties;
+	private final long slowThresholdMicros;
+	
+	public AccessLogFilter(final AccessLogProperties accessLogProperties) {
+		this.accessLogProperties = accessLogProperties;
+		this.slowThresholdMicros = accessLogProperties.getSlowThreshold().toNanos() / 1000;
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		if (!ACCESS_LOG.isInfoEnabled()) {
+			return true;
+		}
+		final String path = request.getServletPath();
+		return this.accessLogProperties.getExcludePaths().stream().anyMatch(path::startsWith);
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			filterChain.doFilter(request, response);
+			failed = false;
+		}
+		finally {
+			if (!failed && request.isAsyncStarted()) {
+				// streaming and deferred responses are logged once the async processing completes
+				request.getAsyncContext().addListener(new AsyncListener() {
+					
+					@Override
+					public void onComplete(final AsyncEvent event) {
+						AccessLogFilter.this.log(request, response, start, false);
+					}
+					
+					@Override
+					public void onTimeout(final AsyncEvent event) {
+					}
+					
+					@Override
+					public void onError(final AsyncEvent event) {
+					}
+					
+					@Override
+					public void onStartAsync(final AsyncEvent event) {
+					}
+					
+				});
+			}
+			else {
+				this.log(request, response, start, failed);
+			}
+		}
+	}
+	
+	private void log(final HttpServletRequest request, final HttpServletResponse response, final long start,
+			final boolean failed) {
+		
+		final long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+		// an exception escaping the chain becomes a 500 once the container handles it
+		final int status = failed ? 500 : response.getStatus();
+		final boolean sampled = status < 500 && durationMicros < this.slowThresholdMicros;
+		if (sampled && ThreadLocalRandom.current().nextDouble() >= this.accessLogProperties.getSampleRate()) {
+			return;
+		}
+		ACCESS_LOG.info("method={} path={} status={} duration_us={} client={} sampled={}",
+				request.getMethod(), request.getRequestURI(), status, durationMicros, request.getRemoteAddr(), sampled);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
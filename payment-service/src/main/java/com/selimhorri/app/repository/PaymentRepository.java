@@ -1,11 +1,18 @@
 package com.selimhorri.app.repository;
 
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	Optional<Payment> findFirstByOrderIdOrderByPaymentId(final Integer orderId);
+	
+	Slice<Payment> findByPaymentIdGreaterThan(final Integer paymentId, final Pageable pageable);
 	
 	
 }
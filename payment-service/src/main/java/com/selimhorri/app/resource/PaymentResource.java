@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +13,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,11 +35,15 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentResource {
 	
+	// set by the checkout saga of order-service to the order id
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	
 	private final PaymentService paymentService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
-		log.info("*** PaymentDto List, controller; fetch all payments *");
+		log.debug("*** PaymentDto List, controller; fetch all payments *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
 	}
 	
@@ -40,16 +52,19 @@ public class PaymentResource {
 			@PathVariable("paymentId") 
 			@NotBlank(message = "Input must not be blank") 
 			@Valid final String paymentId) {
-		log.info("*** PaymentDto, resource; fetch payment by id *");
+		log.debug("*** PaymentDto, resource; fetch payment by id *");
 		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId)));
 	}
 	
 	@PostMapping
 	public ResponseEntity<PaymentDto> save(
+			@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) final Integer orderId, 
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final PaymentDto paymentDto) {
-		log.info("*** PaymentDto, resource; save payment *");
+		log.debug("*** PaymentDto, resource; save payment *");
+		if (orderId != null)
+			return ResponseEntity.ok(this.paymentService.findOrSave(orderId, paymentDto));
 		return ResponseEntity.ok(this.paymentService.save(paymentDto));
 	}
 	
@@ -58,17 +73,34 @@ public class PaymentResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final PaymentDto paymentDto) {
-		log.info("*** PaymentDto, resource; update payment *");
+		log.debug("*** PaymentDto, resource; update payment *");
 		return ResponseEntity.ok(this.paymentService.update(paymentDto));
 	}
 	
 	@DeleteMapping("/{paymentId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
-		log.info("*** Boolean, resource; delete payment by id *");
+		log.debug("*** Boolean, resource; delete payment by id *");
 		this.paymentService.deleteById(Integer.parseInt(paymentId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<PaymentDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer paymentId, 
+			@PageableDefault(size = 20, sort = "paymentId") final Pageable pageable) {
+		log.debug("*** PaymentDto Page, controller; fetch page of payments *");
+		if (paymentId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.paymentService.findAllAfter(paymentId, pageable), PaymentDto::getPaymentId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.paymentService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** PaymentDto Stream, controller; stream all payments *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.paymentService::streamAll);
+	}
+	
 	
 	
 }
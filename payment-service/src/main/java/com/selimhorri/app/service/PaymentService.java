@@ -1,6 +1,11 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.PaymentDto;
 
@@ -9,7 +14,11 @@ public interface PaymentService {
 	List<PaymentDto> findAll();
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
+	PaymentDto findOrSave(final Integer orderId, final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
+	Page<PaymentDto> findAll(final Pageable pageable);
+	Slice<PaymentDto> findAllAfter(final Integer paymentId, final Pageable pageable);
+	void streamAll(final Consumer<PaymentDto> consumer);
 	
 }
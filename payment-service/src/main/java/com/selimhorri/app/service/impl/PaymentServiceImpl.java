@@ -1,14 +1,22 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.client.RemoteDtoCache;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
@@ -25,57 +33,105 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 	
+	private static final int STREAM_CHUNK_SIZE = 500;
+	
 	private final PaymentRepository paymentRepository;
-	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
 	
 	@Override
 	public List<PaymentDto> findAll() {
-		log.info("*** PaymentDto List, service; fetch all payments *");
+		log.debug("*** PaymentDto List, service; fetch all payments *");
 		return this.paymentRepository.findAll()
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
+					.map(this::enrich)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
 	public PaymentDto findById(final Integer paymentId) {
-		log.info("*** PaymentDto, service; fetch payment by id *");
+		log.debug("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
-				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-					return p;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
-		log.info("*** PaymentDto, service; save payment *");
+		log.debug("*** PaymentDto, service; save payment *");
 		return PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
 	}
 	
+	// the order id is the idempotency key of the checkout saga: a replayed request gets the payment
+	// created by the first one instead of a second payment for the same order
+	@Override
+	public PaymentDto findOrSave(final Integer orderId, final PaymentDto paymentDto) {
+		log.debug("*** PaymentDto, service; find or save payment of order *");
+		if (paymentDto.getOrderDto() == null || !orderId.equals(paymentDto.getOrderDto().getOrderId()))
+			throw new IllegalStateException(String.format("Idempotency key: %d does not match the order of the payment", orderId));
+		return this.paymentRepository.findFirstByOrderIdOrderByPaymentId(orderId)
+				.map(PaymentMappingHelper::map)
+				.orElseGet(() -> this.save(paymentDto));
+	}
+	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
-		log.info("*** PaymentDto, service; update payment *");
+		log.debug("*** PaymentDto, service; update payment *");
 		return PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
-		log.info("*** Void, service; delete payment by id *");
+		log.debug("*** Void, service; delete payment by id *");
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	@Override
+	public Page<PaymentDto> findAll(final Pageable pageable) {
+		log.debug("*** PaymentDto Page, service; fetch page of payments *");
+		return this.paymentRepository.findAll(pageable)
+				.map(PaymentMappingHelper::map)
+				.map(this::enrich);
+	}
+	
+	@Override
+	public Slice<PaymentDto> findAllAfter(final Integer paymentId, final Pageable pageable) {
+		log.debug("*** PaymentDto Slice, service; fetch payments after id *");
+		return this.paymentRepository.findByPaymentIdGreaterThan(paymentId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("paymentId")))
+				.map(PaymentMappingHelper::map)
+				.map(this::enrich);
+	}
+	
+	// keyset chunks, each read in its own short transaction, so the order lookups
+	// and the writes to the client never run while a database connection is held
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public void streamAll(final Consumer<PaymentDto> consumer) {
+		log.debug("*** PaymentDto Stream, service; stream all payments *");
+		final Pageable chunk = PageRequest.of(0, STREAM_CHUNK_SIZE, Sort.by("paymentId"));
+		Slice<Payment> payments = this.paymentRepository.findByPaymentIdGreaterThan(0, chunk);
+		payments.forEach(p -> consumer.accept(this.enrich(PaymentMappingHelper.map(p))));
+		while (payments.hasNext()) {
+			payments = this.paymentRepository.findByPaymentIdGreaterThan(
+					payments.getContent().get(payments.getNumberOfElements() - 1).getPaymentId(), chunk);
+			payments.forEach(p -> consumer.accept(this.enrich(PaymentMappingHelper.map(p))));
+		}
+	}
+	
+	// a degraded lookup returns nothing, the response then keeps the id-only order
+	private PaymentDto enrich(final PaymentDto paymentDto) {
+		final OrderDto orderDto = this.remoteDtoCache.get(AppConstant.DiscoveredDomainsApi
+				.ORDER_SERVICE_API_URL, paymentDto.getOrderDto().getOrderId(), OrderDto.class);
+		if (orderDto != null)
+			paymentDto.setOrderDto(orderDto);
+		return paymentDto;
+	}
+	
 	
 	
 }
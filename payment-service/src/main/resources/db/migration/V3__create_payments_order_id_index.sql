@@ -0,0 +1,2 @@
+
+CREATE INDEX idx_payments_order_id ON payments (order_id);
@@ -0,0 +1,38 @@
+package com.selimhorri.app.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.domain.PaymentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas Unitarias para PaymentDto
+ * Validación de la lectura de los pagos que envía la saga de checkout
+ * de order-service con el ObjectMapper del servicio
+ */
+@DisplayName("Payment Dto Unit Tests")
+class PaymentDtoUnitTest {
+
+    private final ObjectMapper objectMapper = new MapperConfig().objectMapperBean();
+
+    @Test
+    @DisplayName("Should ignore order fields that only order-service knows")
+    void testUnknownOrderFields() throws JsonProcessingException {
+        // Given
+        final String json = "{\"paymentId\":3,\"isPayed\":true,\"paymentStatus\":\"COMPLETED\","
+                + "\"order\":{\"orderId\":7,\"orderStatus\":\"PAYMENT_PENDING\",\"cart\":null}}";
+
+        // When
+        final PaymentDto paymentDto = objectMapper.readValue(json, PaymentDto.class);
+
+        // Then
+        assertThat(paymentDto.getPaymentId()).isEqualTo(3);
+        assertThat(paymentDto.getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(paymentDto.getOrderDto().getOrderId()).isEqualTo(7);
+    }
+
+}
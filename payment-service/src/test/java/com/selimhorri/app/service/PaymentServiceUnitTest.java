@@ -0,0 +1,141 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.config.client.RemoteDtoCache;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas Unitarias para PaymentService
+ * Validación de la creación idempotente del pago de un pedido y del pedido
+ * que devuelve la consulta cuando order-service no responde
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payment Service Unit Tests")
+class PaymentServiceUnitTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private RemoteDtoCache remoteDtoCache;
+
+    @InjectMocks
+    private PaymentServiceImpl paymentService;
+
+    @Test
+    @DisplayName("Should create the payment of an order on the first request")
+    void testFindOrSave_WhenOrderHasNoPayment_ShouldSave() {
+        // Given
+        when(paymentRepository.findFirstByOrderIdOrderByPaymentId(7)).thenReturn(Optional.empty());
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(i -> {
+            final Payment payment = i.getArgument(0);
+            payment.setPaymentId(11);
+            return payment;
+        });
+
+        // When
+        final PaymentDto result = paymentService.findOrSave(7, payment(7));
+
+        // Then
+        assertThat(result.getPaymentId()).isEqualTo(11);
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should return the existing payment when the request is replayed")
+    void testFindOrSave_WhenOrderHasPayment_ShouldNotSaveAgain() {
+        // Given
+        when(paymentRepository.findFirstByOrderIdOrderByPaymentId(7)).thenReturn(Optional.of(Payment.builder()
+                .paymentId(11)
+                .orderId(7)
+                .isPayed(false)
+                .paymentStatus(PaymentStatus.NOT_STARTED)
+                .build()));
+
+        // When
+        final PaymentDto result = paymentService.findOrSave(7, payment(7));
+
+        // Then
+        assertThat(result.getPaymentId()).isEqualTo(11);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a key that is not the order of the payment")
+    void testFindOrSave_WhenKeyDoesNotMatchOrder_ShouldThrow() {
+        assertThatThrownBy(() -> paymentService.findOrSave(8, payment(7)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    @DisplayName("Should return the order from order-service")
+    void testFindById_ShouldEnrichOrder() {
+        // Given
+        when(paymentRepository.findById(11)).thenReturn(Optional.of(storedPayment()));
+        when(remoteDtoCache.get(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, 7, OrderDto.class))
+                .thenReturn(OrderDto.builder().orderId(7).orderDesc("init").orderFee(5.0).build());
+
+        // When
+        final PaymentDto result = paymentService.findById(11);
+
+        // Then
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(7);
+        assertThat(result.getOrderDto().getOrderDesc()).isEqualTo("init");
+    }
+
+    @Test
+    @DisplayName("Should keep the order id when the order lookup is degraded")
+    void testFindById_WhenOrderLookupDegraded_ShouldKeepOrderId() {
+        // Given
+        when(paymentRepository.findById(11)).thenReturn(Optional.of(storedPayment()));
+        when(remoteDtoCache.get(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, 7, OrderDto.class))
+                .thenReturn(null);
+
+        // When
+        final PaymentDto result = paymentService.findById(11);
+
+        // Then
+        assertThat(result.getOrderDto()).isNotNull();
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(7);
+        assertThat(result.getOrderDto().getOrderDesc()).isNull();
+    }
+
+    private static Payment storedPayment() {
+        return Payment.builder()
+                .paymentId(11)
+                .orderId(7)
+                .isPayed(false)
+                .paymentStatus(PaymentStatus.NOT_STARTED)
+                .build();
+    }
+
+    private static PaymentDto payment(final int orderId) {
+        return PaymentDto.builder()
+                .isPayed(false)
+                .paymentStatus(PaymentStatus.NOT_STARTED)
+                .orderDto(OrderDto.builder().orderId(orderId).build())
+                .build();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.constant.AppConstant;
+
+@Configuration
+@EnableCaching
+@EnableAsync
+@EnableConfigurationProperties(CatalogCacheProperties.class)
+public class CacheConfig {
+	
+	@Bean
+	public CacheManager cacheManager(final CatalogCacheProperties catalogCacheProperties) {
+		final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+		caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+				.maximumSize(catalogCacheProperties.getMaximumSize())
+				.expireAfterWrite(catalogCacheProperties.getTimeToLive())
+				.recordStats());
+		// declared up front so the actuator binds cache.gets/cache.evictions meters at startup
+		caffeineCacheManager.setCacheNames(List.of(
+				AppConstant.CacheNames.PRODUCTS, 
+				AppConstant.CacheNames.CATEGORIES));
+		caffeineCacheManager.setAllowNullValues(false);
+		// puts/evicts issued inside a transaction are applied only once it commits
+		return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.cache.catalog")
+@Data
+public class CatalogCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration timeToLive = Duration.ofMinutes(10);
+	private final Peers peers = new Peers();
+	
+	@Data
+	public static class Peers {
+		
+		private boolean enabled = true;
+		private Duration connectTimeout = Duration.ofMillis(500);
+		private Duration readTimeout = Duration.ofSeconds(1);
+		// shared secret sent with every invalidation; without one peers' invalidations are refused
+		private String token;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,96 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.resource.CacheInvalidationResource;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@ConditionalOnProperty(prefix = "app.cache.catalog.peers", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PeerCacheInvalidationListener {
+	
+	private static final String INVALIDATIONS_PATH = "/api/cache/invalidations";
+	
+	private final DiscoveryClient discoveryClient;
+	private final ObjectProvider<Registration> registration;
+	private final RestTemplate restTemplate;
+	private final String applicationName;
+	private final String contextPath;
+	private final HttpHeaders headers = new HttpHeaders();
+	
+	public PeerCacheInvalidationListener(final DiscoveryClient discoveryClient, 
+			final ObjectProvider<Registration> registration, 
+			final RestTemplateBuilder restTemplateBuilder, 
+			final CatalogCacheProperties catalogCacheProperties, 
+			@Value("${spring.application.name}") final String applicationName, 
+			@Value("${server.servlet.context-path:}") final String contextPath) {
+		this.discoveryClient = discoveryClient;
+		this.registration = registration;
+		// plain client: peers are addressed by instance uri, not through the load balancer
+		this.restTemplate = restTemplateBuilder
+				.setConnectTimeout(catalogCacheProperties.getPeers().getConnectTimeout())
+				.setReadTimeout(catalogCacheProperties.getPeers().getReadTimeout())
+				.build();
+		this.applicationName = applicationName;
+		this.contextPath = contextPath;
+		final String token = catalogCacheProperties.getPeers().getToken();
+		if (token == null || token.isBlank()) {
+			// every peer answers 403 and replicas only converge on the cache TTL
+			log.warn("*** app.cache.catalog.peers.token (CACHE_INVALIDATION_TOKEN) is not set, "
+					+ "peers will refuse this instance's cache invalidations and it will refuse theirs *");
+		}
+		else {
+			this.headers.set(CacheInvalidationResource.TOKEN_HEADER, token);
+		}
+	}
+	
+	@Async
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCacheInvalidation(final CacheInvalidationDto cacheInvalidationDto) {
+		final Registration self = this.registration.getIfAvailable();
+		this.discoveryClient.getInstances(this.applicationName).stream()
+				.filter(instance -> self == null || !instance.getInstanceId().equals(self.getInstanceId()))
+				.forEach(instance -> this.send(instance, cacheInvalidationDto));
+	}
+	
+	private void send(final ServiceInstance instance, final CacheInvalidationDto cacheInvalidationDto) {
+		try {
+			this.restTemplate.postForObject(instance.getUri() + this.contextPath + INVALIDATIONS_PATH, 
+					new HttpEntity<>(cacheInvalidationDto, this.headers), Boolean.class);
+		}
+		catch (final RestClientException e) {
+			// the peer keeps serving its entry until the cache TTL expires it
+			log.warn("*** Void, cache; invalidation of {} on {} failed: {} *", 
+					cacheInvalidationDto.getCacheName(), instance.getInstanceId(), e.getMessage());
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.catalog;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CatalogImportProperties.class)
+public class CatalogImportConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
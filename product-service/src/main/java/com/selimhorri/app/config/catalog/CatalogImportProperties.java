@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.catalog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.catalog-import")
+@Data
+public class CatalogImportProperties {
+	
+	// rows per JDBC batch and per transaction
+	private int chunkSize = 1000;
+	private int maxReportedErrors = 1000;
+	// finished imports kept for the progress endpoint
+	private int retainedImports = 20;
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
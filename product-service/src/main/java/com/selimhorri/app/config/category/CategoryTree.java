@@ -0,0 +1,132 @@
+package com.selimhorri.app.config.category;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.selimhorri.app.dto.CategoryTreeDto;
+
+// Immutable snapshot of the category forest. Nodes are built once per snapshot and shared by
+// every reader without locking; writes produce a new snapshot that is swapped in.
+public final class CategoryTree {
+	
+	private static final CategoryTree EMPTY = new CategoryTree(Map.of());
+	
+	private final Map<Integer, Entry> entries;
+	private final Map<Integer, CategoryTreeDto> nodes;
+	private final List<CategoryTreeDto> roots;
+	
+	private CategoryTree(final Map<Integer, Entry> entries) {
+		this.entries = entries;
+		final Map<Integer, List<Entry>> childrenByParent = new HashMap<>();
+		final List<Entry> rootEntries = new ArrayList<>();
+		entries.values().forEach(e -> {
+			if (e.parentCategoryId == null || !entries.containsKey(e.parentCategoryId))
+				rootEntries.add(e);
+			else
+				childrenByParent.computeIfAbsent(e.parentCategoryId, id -> new ArrayList<>()).add(e);
+		});
+		final Map<Integer, CategoryTreeDto> nodes = new HashMap<>();
+		this.roots = build(rootEntries, childrenByParent, nodes);
+		this.nodes = Map.copyOf(nodes);
+	}
+	
+	public static CategoryTree empty() {
+		return EMPTY;
+	}
+	
+	public static CategoryTree of(final Collection<Entry> entries) {
+		final Map<Integer, Entry> byId = new HashMap<>();
+		entries.forEach(e -> byId.put(e.categoryId, e));
+		return new CategoryTree(Map.copyOf(byId));
+	}
+	
+	// drops the subtree previously rooted at previousPath and grafts the re-read one in its place
+	public CategoryTree replaceSubtree(final String previousPath, final Collection<Entry> subtree) {
+		final Map<Integer, Entry> byId = new HashMap<>();
+		this.entries.values().forEach(e -> {
+			if (previousPath == null || !e.categoryPath.startsWith(previousPath))
+				byId.put(e.categoryId, e);
+		});
+		subtree.forEach(e -> byId.put(e.categoryId, e));
+		return new CategoryTree(Map.copyOf(byId));
+	}
+	
+	public Optional<CategoryTreeDto> find(final Integer categoryId) {
+		return Optional.ofNullable(this.nodes.get(categoryId));
+	}
+	
+	public List<CategoryTreeDto> getRoots() {
+		return this.roots;
+	}
+	
+	public int size() {
+		return this.nodes.size();
+	}
+	
+	private static List<CategoryTreeDto> build(final List<Entry> level, 
+			final Map<Integer, List<Entry>> childrenByParent, final Map<Integer, CategoryTreeDto> nodes) {
+		level.sort(Comparator.comparing(e -> e.categoryId));
+		final List<CategoryTreeDto> built = new ArrayList<>(level.size());
+		for (final Entry e : level) {
+			final CategoryTreeDto node = CategoryTreeDto.builder()
+					.categoryId(e.categoryId)
+					.categoryTitle(e.categoryTitle)
+					.imageUrl(e.imageUrl)
+					.categoryPath(e.categoryPath)
+					.ancestorIds(ancestorIdsOf(e))
+					.subCategories(build(childrenByParent.getOrDefault(e.categoryId, new ArrayList<>()), 
+							childrenByParent, nodes))
+					.build();
+			nodes.put(e.categoryId, node);
+			built.add(node);
+		}
+		return List.copyOf(built);
+	}
+	
+	private static List<Integer> ancestorIdsOf(final Entry e) {
+		final List<Integer> ancestorIds = new ArrayList<>();
+		for (final String segment : e.categoryPath.split("/")) {
+			if (!segment.isEmpty())
+				ancestorIds.add(Integer.valueOf(segment));
+		}
+		ancestorIds.remove(e.categoryId);
+		return List.copyOf(ancestorIds);
+	}
+	
+	public static final class Entry {
+		
+		private final Integer categoryId;
+		private final Integer parentCategoryId;
+		private final String categoryTitle;
+		private final String imageUrl;
+		private final String categoryPath;
+		
+		public Entry(final Integer categoryId, final Integer parentCategoryId, 
+				final String categoryTitle, final String imageUrl, final String categoryPath) {
+			this.categoryId = categoryId;
+			this.parentCategoryId = parentCategoryId;
+			this.categoryTitle = categoryTitle;
+			this.imageUrl = imageUrl;
+			this.categoryPath = categoryPath;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
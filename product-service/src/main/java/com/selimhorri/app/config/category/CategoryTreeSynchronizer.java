@@ -0,0 +1,150 @@
+package com.selimhorri.app.config.category;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.repository.CategoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeSynchronizer {
+	
+	private final CategoryRepository categoryRepository;
+	private final PlatformTransactionManager transactionManager;
+	private volatile CategoryTree tree = CategoryTree.empty();
+	
+	public CategoryTree getTree() {
+		return this.tree;
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		this.rebuild();
+	}
+	
+	// local writes, applied once the category row is committed
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCacheInvalidation(final CacheInvalidationDto cacheInvalidationDto) {
+		this.apply(cacheInvalidationDto);
+	}
+	
+	public void apply(final CacheInvalidationDto cacheInvalidationDto) {
+		if (!AppConstant.CacheNames.CATEGORIES.equals(cacheInvalidationDto.getCacheName()))
+			return;
+		if (cacheInvalidationDto.getKey() == null)
+			this.rebuild();
+		else
+			this.refresh(cacheInvalidationDto.getKey());
+	}
+	
+	// re-reads only the written category's subtree, a single range scan on the path index
+	public synchronized void refresh(final Integer categoryId) {
+		final CategoryTree current = this.tree;
+		final String previousPath = current.find(categoryId)
+				.map(CategoryTreeDto::getCategoryPath)
+				.orElse(null);
+		final List<CategoryTree.Entry> subtree = this.transaction(true).execute(status -> 
+				this.categoryRepository.findCategoryPathByCategoryId(categoryId)
+					.map(path -> this.categoryRepository.findByCategoryPathStartingWith(path)
+							.stream()
+								.map(CategoryTreeSynchronizer::entryOf)
+								.collect(Collectors.toUnmodifiableList()))
+					.orElseGet(List::of));
+		this.tree = current.replaceSubtree(previousPath, subtree);
+	}
+	
+	// paths are derived from the parent links, any missing or stale one is repaired before the snapshot is built
+	public synchronized void rebuild() {
+		final List<CategoryTree.Entry> entries = this.transaction(false).execute(status -> {
+			final List<Category> categories = this.categoryRepository.findAll();
+			final Map<Integer, Integer> parentIds = new HashMap<>();
+			categories.forEach(c -> parentIds.put(c.getCategoryId(), 
+					c.getParentCategory() == null ? null : c.getParentCategory().getCategoryId()));
+			final Map<Integer, String> paths = new HashMap<>();
+			int repaired = 0;
+			for (final Category category : categories) {
+				final String path = pathOf(category.getCategoryId(), parentIds, paths);
+				if (!path.equals(category.getCategoryPath())) {
+					category.setCategoryPath(path);
+					repaired++;
+				}
+			}
+			if (repaired > 0)
+				log.info("*** Void, synchronizer; repaired {} category paths *", repaired);
+			return categories.stream()
+					.map(CategoryTreeSynchronizer::entryOf)
+					.collect(Collectors.toUnmodifiableList());
+		});
+		this.tree = CategoryTree.of(entries);
+		log.info("*** Void, synchronizer; category tree rebuilt with {} categories *", this.tree.size());
+	}
+	
+	private static String pathOf(final Integer categoryId, final Map<Integer, Integer> parentIds, final Map<Integer, String> paths) {
+		final Deque<Integer> chain = new ArrayDeque<>();
+		final Set<Integer> visited = new HashSet<>();
+		Integer current = categoryId;
+		while (current != null && !paths.containsKey(current) && visited.add(current)) {
+			chain.push(current);
+			current = parentIds.get(current);
+		}
+		// a parent link cycle is cut where it closes and rooted there
+		String path = current != null && paths.containsKey(current) ? paths.get(current) : "/";
+		while (!chain.isEmpty()) {
+			final Integer id = chain.pop();
+			path = path + id + "/";
+			paths.put(id, path);
+		}
+		return paths.get(categoryId);
+	}
+	
+	private static CategoryTree.Entry entryOf(final Category category) {
+		return new CategoryTree.Entry(
+				category.getCategoryId(), 
+				category.getParentCategory() == null ? null : category.getParentCategory().getCategoryId(), 
+				category.getCategoryTitle(), 
+				category.getImageUrl(), 
+				category.getCategoryPath());
+	}
+	
+	private TransactionTemplate transaction(final boolean readOnly) {
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
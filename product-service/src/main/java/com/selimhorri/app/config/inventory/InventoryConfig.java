@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.inventory;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(InventoryProperties.class)
+public class InventoryConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
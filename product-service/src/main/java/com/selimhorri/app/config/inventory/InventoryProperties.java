@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.inventory;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.inventory")
+@Data
+public class InventoryProperties {
+	
+	private Duration defaultTtl = Duration.ofMinutes(10);
+	private Duration maxTtl = Duration.ofHours(1);
+	// a SKU seen sold out is rejected in memory for this long, shielding the hot row
+	private Duration soldOutTtl = Duration.ofSeconds(1);
+	private final Sweeper sweeper = new Sweeper();
+	
+	@Data
+	public static class Sweeper {
+		
+		private boolean enabled = true;
+		private Duration interval = Duration.ofSeconds(5);
+		private int batchSize = 500;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
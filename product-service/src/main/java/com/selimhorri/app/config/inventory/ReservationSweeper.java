@@ -0,0 +1,94 @@
+package com.selimhorri.app.config.inventory;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.ReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationSweeper implements SmartLifecycle {
+	
+	private final ReservationService reservationService;
+	private final InventoryProperties inventoryProperties;
+	private volatile ScheduledExecutorService executor;
+	
+	// own lifecycle so sweeping stops before the entity manager factory is closed
+	@Override
+	public void start() {
+		if (!this.inventoryProperties.getSweeper().isEnabled())
+			return;
+		final long intervalMillis = this.inventoryProperties.getSweeper().getInterval().toMillis();
+		this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "reservation-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	@Override
+	public void stop() {
+		final ScheduledExecutorService executor = this.executor;
+		if (executor == null)
+			return;
+		executor.shutdown();
+		try {
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.executor = null;
+	}
+	
+	@Override
+	public boolean isRunning() {
+		return this.executor != null;
+	}
+	
+	// each expiry is its own short transaction, a hold committed or released meanwhile is skipped
+	public int sweep() {
+		final List<String> expiredIds = this.reservationService
+				.findExpiredIds(this.inventoryProperties.getSweeper().getBatchSize());
+		int expired = 0;
+		for (final String reservationId : expiredIds) {
+			if (this.reservationService.expire(reservationId))
+				expired++;
+		}
+		if (expired > 0)
+			log.info("*** Void, sweeper; expired {} reservations *", expired);
+		return expired;
+	}
+	
+	private void sweepSafely() {
+		try {
+			this.sweep();
+		}
+		catch (final RuntimeException e) {
+			log.warn("Reservation sweep failed: {}", e.toString());
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
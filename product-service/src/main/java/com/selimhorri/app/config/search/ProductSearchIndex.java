@@ -0,0 +1,399 @@
+package com.selimhorri.app.config.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.selimhorri.app.dto.CategoryFacetDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+
+// In-memory inverted index: term -> sorted doc ids. Per-doc price and category live in
+// primitive arrays so filters and facet counts scan without touching the product objects.
+public class ProductSearchIndex {
+	
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+	// tokens never contain ':' so category terms cannot collide with text terms
+	private static final String CATEGORY_TERM = "cat:";
+	private static final int MIN_COMPACTION = 1024;
+	private static final Postings EMPTY = new Postings(new int[0], 0);
+	
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final int maxPrefixExpansions;
+	
+	private final TreeMap<String, Postings> postings = new TreeMap<>();
+	private final Map<Integer, Integer> docIdsByProductId = new HashMap<>();
+	private final Map<Integer, CategoryNode> categories = new HashMap<>();
+	private final Map<Integer, Integer> categoryOrdinals = new HashMap<>();
+	private final List<Integer> categoryIdsByOrdinal = new ArrayList<>();
+	
+	private ProductDto[] products = new ProductDto[1024];
+	private double[] prices = new double[1024];
+	private int[] categoryOrds = new int[1024];
+	private int[] titleLengths = new int[1024];
+	private int docCount;
+	private int deletedCount;
+	
+	public ProductSearchIndex(final int maxPrefixExpansions) {
+		this.maxPrefixExpansions = maxPrefixExpansions;
+	}
+	
+	// categories must be known before products are indexed, ancestors are resolved at index time
+	public void putCategory(final Integer categoryId, final String categoryTitle, final Integer parentCategoryId) {
+		this.lock.writeLock().lock();
+		try {
+			this.categories.put(categoryId, new CategoryNode(categoryTitle, parentCategoryId));
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void index(final ProductDto productDto) {
+		this.lock.writeLock().lock();
+		try {
+			this.removeLocked(productDto.getProductId());
+			this.addLocked(productDto);
+			this.compactIfSparse();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			this.removeLocked(productId);
+			this.compactIfSparse();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.docIdsByProductId.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public ProductSearchResponse search(final ProductSearchQuery query) {
+		this.lock.readLock().lock();
+		try {
+			return this.searchLocked(query);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public List<String> suggest(final String prefix, final int limit) {
+		final ProductSearchResponse response = this.search(ProductSearchQuery.builder()
+				.text(prefix)
+				.prefix(true)
+				.limit(limit)
+				.build());
+		final Set<String> titles = new LinkedHashSet<>();
+		response.getCollection().forEach(p -> titles.add(p.getProductTitle()));
+		return List.copyOf(titles);
+	}
+	
+	static List<String> tokenize(final String text) {
+		if (text == null || text.isBlank())
+			return List.of();
+		final String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		final List<String> tokens = new ArrayList<>();
+		for (final String token : SEPARATORS.split(normalized)) {
+			if (!token.isEmpty())
+				tokens.add(token);
+		}
+		return tokens;
+	}
+	
+	private ProductSearchResponse searchLocked(final ProductSearchQuery query) {
+		final List<String> tokens = tokenize(query.getText());
+		final List<Postings> required = new ArrayList<>(tokens.size() + 1);
+		for (int i = 0; i < tokens.size(); i++) {
+			final boolean prefix = query.isPrefix() && i == tokens.size() - 1;
+			required.add(prefix ? this.expandPrefix(tokens.get(i)) : this.postingsOf(tokens.get(i)));
+		}
+		if (query.getCategoryId() != null)
+			required.add(this.postingsOf(CATEGORY_TERM + query.getCategoryId()));
+		
+		final Postings candidates = required.isEmpty() ? null : intersect(required);
+		final int limit = Math.max(0, query.getOffset()) + Math.max(0, query.getLimit());
+		final Comparator<Integer> order = this.order(query.getSort(), !tokens.isEmpty());
+		// max-heap on the worst kept hit, so most candidates are rejected with one comparison
+		final PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, limit), order.reversed());
+		final int[] facetCounts = new int[this.categoryIdsByOrdinal.size()];
+		final double minPrice = query.getMinPrice() == null ? Double.NEGATIVE_INFINITY : query.getMinPrice();
+		final double maxPrice = query.getMaxPrice() == null ? Double.POSITIVE_INFINITY : query.getMaxPrice();
+		int total = 0;
+		
+		final int n = candidates == null ? this.docCount : candidates.size;
+		for (int i = 0; i < n; i++) {
+			final int docId = candidates == null ? i : candidates.ids[i];
+			if (this.products[docId] == null)
+				continue;
+			final double price = this.prices[docId];
+			if (price < minPrice || price > maxPrice)
+				continue;
+			total++;
+			if (this.categoryOrds[docId] >= 0)
+				facetCounts[this.categoryOrds[docId]]++;
+			if (limit == 0)
+				continue;
+			if (top.size() < limit) {
+				top.add(docId);
+			}
+			else if (order.compare(docId, top.peek()) < 0) {
+				top.poll();
+				top.add(docId);
+			}
+		}
+		
+		final Integer[] ranked = top.toArray(new Integer[0]);
+		Arrays.sort(ranked, order);
+		final List<ProductDto> hits = new ArrayList<>();
+		for (int i = Math.max(0, query.getOffset()); i < ranked.length; i++)
+			hits.add(this.products[ranked[i]]);
+		
+		return ProductSearchResponse.builder()
+				.collection(hits)
+				.offset(Math.max(0, query.getOffset()))
+				.size(hits.size())
+				.totalElements(total)
+				.facets(this.facets(facetCounts))
+				.build();
+	}
+	
+	private Comparator<Integer> order(final ProductSearchSort sort, final boolean hasText) {
+		final Comparator<Integer> byProductId = Comparator.comparingInt(docId -> this.products[docId].getProductId());
+		switch (sort == null ? ProductSearchSort.RELEVANCE : sort) {
+			case PRICE_ASC:
+				return Comparator.<Integer>comparingDouble(docId -> this.prices[docId]).thenComparing(byProductId);
+			case PRICE_DESC:
+				return Comparator.<Integer>comparingDouble(docId -> -this.prices[docId]).thenComparing(byProductId);
+			default:
+				// every hit matched every token, the shorter title is the closer match
+				return hasText ?
+						Comparator.<Integer>comparingInt(docId -> this.titleLengths[docId]).thenComparing(byProductId) :
+						byProductId;
+		}
+	}
+	
+	private List<CategoryFacetDto> facets(final int[] facetCounts) {
+		final List<CategoryFacetDto> facets = new ArrayList<>();
+		for (int ordinal = 0; ordinal < facetCounts.length; ordinal++) {
+			if (facetCounts[ordinal] == 0)
+				continue;
+			final Integer categoryId = this.categoryIdsByOrdinal.get(ordinal);
+			final CategoryNode node = this.categories.get(categoryId);
+			facets.add(CategoryFacetDto.builder()
+					.categoryId(categoryId)
+					.categoryTitle(node == null ? null : node.title)
+					.count(facetCounts[ordinal])
+					.build());
+		}
+		facets.sort(Comparator.comparing(CategoryFacetDto::getCount).reversed()
+				.thenComparing(CategoryFacetDto::getCategoryId));
+		return facets;
+	}
+	
+	private Postings postingsOf(final String term) {
+		final Postings list = this.postings.get(term);
+		return list == null ? EMPTY : list;
+	}
+	
+	// unions the postings of (at most maxPrefixExpansions) terms starting with the prefix
+	private Postings expandPrefix(final String prefix) {
+		final NavigableMap<String, Postings> matches = this.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+		if (matches.isEmpty())
+			return EMPTY;
+		if (matches.size() == 1)
+			return matches.firstEntry().getValue();
+		final BitSet union = new BitSet(this.docCount);
+		int expanded = 0;
+		for (final Postings list : matches.values()) {
+			if (expanded++ >= this.maxPrefixExpansions)
+				break;
+			for (int i = 0; i < list.size; i++)
+				union.set(list.ids[i]);
+		}
+		final int[] ids = union.stream().toArray();
+		return new Postings(ids, ids.length);
+	}
+	
+	// smallest list first, then binary-searched lookups into the larger ones
+	private static Postings intersect(final List<Postings> lists) {
+		lists.sort(Comparator.comparingInt(list -> list.size));
+		Postings result = lists.get(0);
+		for (int l = 1; l < lists.size() && result.size > 0; l++) {
+			final Postings other = lists.get(l);
+			final int[] next = new int[result.size];
+			int size = 0;
+			int from = 0;
+			for (int i = 0; i < result.size && from < other.size; i++) {
+				final int docId = result.ids[i];
+				final int at = Arrays.binarySearch(other.ids, from, other.size, docId);
+				if (at >= 0) {
+					next[size++] = docId;
+					from = at + 1;
+				}
+				else {
+					from = -at - 1;
+				}
+			}
+			result = new Postings(next, size);
+		}
+		return result;
+	}
+	
+	private void addLocked(final ProductDto productDto) {
+		this.ensureCapacity(this.docCount + 1);
+		final int docId = this.docCount++;
+		final Integer categoryId = productDto.getCategoryDto() == null ? null : productDto.getCategoryDto().getCategoryId();
+		this.products[docId] = productDto;
+		this.prices[docId] = productDto.getPriceUnit() == null ? 0d : productDto.getPriceUnit();
+		this.categoryOrds[docId] = categoryId == null ? -1 : this.categoryOrdinal(categoryId);
+		this.titleLengths[docId] = productDto.getProductTitle() == null ? 0 : productDto.getProductTitle().length();
+		this.docIdsByProductId.put(productDto.getProductId(), docId);
+		for (final String term : this.termsOf(productDto, categoryId))
+			this.postings.computeIfAbsent(term, t -> new Postings()).add(docId);
+	}
+	
+	private void removeLocked(final Integer productId) {
+		final Integer docId = this.docIdsByProductId.remove(productId);
+		if (docId == null)
+			return;
+		// tombstone only, postings are cleaned up on compaction
+		this.products[docId] = null;
+		this.deletedCount++;
+	}
+	
+	private Set<String> termsOf(final ProductDto productDto, final Integer categoryId) {
+		final Set<String> terms = new LinkedHashSet<>(tokenize(productDto.getProductTitle()));
+		if (productDto.getSku() != null) {
+			final List<String> skuTokens = tokenize(productDto.getSku());
+			terms.addAll(skuTokens);
+			terms.add(String.join("", skuTokens));
+		}
+		// walk up the tree: a product is found by any ancestor's title or id
+		final Set<Integer> visited = new LinkedHashSet<>();
+		Integer current = categoryId;
+		while (current != null && visited.add(current)) {
+			terms.add(CATEGORY_TERM + current);
+			final CategoryNode node = this.categories.get(current);
+			if (node == null)
+				break;
+			terms.addAll(tokenize(node.title));
+			current = node.parentCategoryId;
+		}
+		terms.remove("");
+		return terms;
+	}
+	
+	private int categoryOrdinal(final Integer categoryId) {
+		return this.categoryOrdinals.computeIfAbsent(categoryId, id -> {
+			this.categoryIdsByOrdinal.add(id);
+			return this.categoryIdsByOrdinal.size() - 1;
+		});
+	}
+	
+	private void ensureCapacity(final int capacity) {
+		if (capacity <= this.products.length)
+			return;
+		final int grown = Math.max(capacity, this.products.length * 2);
+		this.products = Arrays.copyOf(this.products, grown);
+		this.prices = Arrays.copyOf(this.prices, grown);
+		this.categoryOrds = Arrays.copyOf(this.categoryOrds, grown);
+		this.titleLengths = Arrays.copyOf(this.titleLengths, grown);
+	}
+	
+	private void compactIfSparse() {
+		if (this.deletedCount > MIN_COMPACTION && this.deletedCount > this.docCount / 2)
+			this.compactLocked();
+	}
+	
+	private void compactLocked() {
+		final ProductDto[] live = Arrays.copyOf(this.products, this.docCount);
+		this.postings.clear();
+		this.docIdsByProductId.clear();
+		Arrays.fill(this.products, null);
+		this.docCount = 0;
+		this.deletedCount = 0;
+		for (final ProductDto productDto : live) {
+			if (productDto != null)
+				this.addLocked(productDto);
+		}
+	}
+	
+	private static final class CategoryNode {
+		
+		private final String title;
+		private final Integer parentCategoryId;
+		
+		private CategoryNode(final String title, final Integer parentCategoryId) {
+			this.title = title;
+			this.parentCategoryId = parentCategoryId;
+		}
+		
+	}
+	
+	// append-only, doc ids are handed out in increasing order so the list stays sorted
+	private static final class Postings {
+		
+		private int[] ids;
+		private int size;
+		
+		private Postings() {
+			this(new int[4], 0);
+		}
+		
+		private Postings(final int[] ids, final int size) {
+			this.ids = ids;
+			this.size = size;
+		}
+		
+		private void add(final int docId) {
+			if (this.size == this.ids.length)
+				this.ids = Arrays.copyOf(this.ids, this.size * 2);
+			this.ids[this.size++] = docId;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,181 @@
+package com.selimhorri.app.config.search;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.projection.CategoryView;
+import com.selimhorri.app.repository.projection.ProductView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexSynchronizer implements SmartLifecycle {
+	
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final SearchProperties searchProperties;
+	private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+	private volatile ProductSearchIndex index;
+	private volatile boolean rebuilding;
+	private volatile ExecutorService executor;
+	
+	@Override
+	public void start() {
+		this.index = new ProductSearchIndex(this.searchProperties.getMaxPrefixExpansions());
+		this.executor = Executors.newSingleThreadExecutor(r -> {
+			final Thread thread = new Thread(r, "product-search-indexer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	@Override
+	public void stop() {
+		final ExecutorService executor = this.executor;
+		if (executor == null)
+			return;
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.executor = null;
+	}
+	
+	@Override
+	public boolean isRunning() {
+		return this.executor != null;
+	}
+	
+	public ProductSearchIndex getIndex() {
+		return this.index;
+	}
+	
+	// ready listeners run before readiness flips to accepting traffic, so the first search sees a full index
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		this.rebuildSafely();
+	}
+	
+	// local writes, applied once the product row is committed
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCacheInvalidation(final CacheInvalidationDto cacheInvalidationDto) {
+		this.apply(cacheInvalidationDto);
+	}
+	
+	public void apply(final CacheInvalidationDto cacheInvalidationDto) {
+		final String cacheName = cacheInvalidationDto.getCacheName();
+		if (AppConstant.CacheNames.PRODUCTS.equals(cacheName) && cacheInvalidationDto.getKey() != null)
+			this.refresh(cacheInvalidationDto.getKey());
+		else if (AppConstant.CacheNames.PRODUCTS.equals(cacheName) || AppConstant.CacheNames.CATEGORIES.equals(cacheName))
+			this.scheduleRebuild();
+	}
+	
+	public void refresh(final Integer productId) {
+		if (this.rebuilding)
+			this.changedDuringRebuild.add(productId);
+		final ProductSearchIndex index = this.index;
+		if (index == null)
+			return;
+		final Optional<ProductDto> productDto = this.readOnlyTransaction().execute(status -> 
+				this.productRepository.findById(productId).map(ProductMappingHelper::map));
+		if (productDto.isPresent())
+			index.index(productDto.get());
+		else
+			index.remove(productId);
+	}
+	
+	// category changes move whole subtrees, so the index is rebuilt aside and swapped in
+	public void rebuild() {
+		this.rebuilding = true;
+		this.changedDuringRebuild.clear();
+		final ProductSearchIndex rebuilt = new ProductSearchIndex(this.searchProperties.getMaxPrefixExpansions());
+		try {
+			this.readOnlyTransaction().executeWithoutResult(status -> {
+				try (final Stream<CategoryView> categories = this.categoryRepository.streamAllViews()) {
+					categories.forEach(c -> rebuilt.putCategory(c.getCategoryId(), c.getCategoryTitle(), c.getParentCategoryId()));
+				}
+				try (final Stream<ProductView> products = this.productRepository.streamAllViews()) {
+					products.forEach(p -> rebuilt.index(ProductMappingHelper.map(p)));
+				}
+			});
+			this.index = rebuilt;
+		}
+		finally {
+			this.rebuilding = false;
+		}
+		// writes committed while the snapshot was streaming are replayed on the new index
+		for (final Integer productId : Set.copyOf(this.changedDuringRebuild)) {
+			this.changedDuringRebuild.remove(productId);
+			this.refresh(productId);
+		}
+		log.info("*** Void, indexer; search index rebuilt with {} products *", rebuilt.size());
+	}
+	
+	private void scheduleRebuild() {
+		final ExecutorService executor = this.executor;
+		if (executor == null || !this.rebuildPending.compareAndSet(false, true))
+			return;
+		executor.execute(() -> {
+			this.rebuildPending.set(false);
+			this.rebuildSafely();
+		});
+	}
+	
+	private void rebuildSafely() {
+		try {
+			this.rebuild();
+		}
+		catch (final RuntimeException e) {
+			log.warn("Product search index rebuild failed: {}", e.toString());
+		}
+	}
+	
+	private TransactionTemplate readOnlyTransaction() {
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		transactionTemplate.setReadOnly(true);
+		return transactionTemplate;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,45 @@
+package com.selimhorri.app.config.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchQuery {
+	
+	private String text;
+	
+	// last token of text matches as a prefix (autocomplete)
+	private boolean prefix;
+	
+	private Double minPrice;
+	private Double maxPrice;
+	
+	// matches the category and all of its descendants
+	private Integer categoryId;
+	
+	@Builder.Default
+	private ProductSearchSort sort = ProductSearchSort.RELEVANCE;
+	
+	private int offset;
+	
+	@Builder.Default
+	private int limit = 20;
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,16 @@
+package com.selimhorri.app.config.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum ProductSearchSort {
+	
+	RELEVANCE("relevance"),
+	PRICE_ASC("price_asc"),
+	PRICE_DESC("price_desc");
+	
+	private final String sort;
+	
+}
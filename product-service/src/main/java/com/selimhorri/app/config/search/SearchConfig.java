@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.search;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
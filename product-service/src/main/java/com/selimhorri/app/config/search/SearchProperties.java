@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.search")
+@Data
+public class SearchProperties {
+	
+	// bounds the work a one-letter prefix can trigger
+	private int maxPrefixExpansions = 256;
+	private int maxPageSize = 100;
+	// deep pages keep offset + size hits on the heap
+	private int maxResultWindow = 10000;
+	private int suggestLimit = 10;
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -34,6 +34,14 @@ public abstract class AppConstant {
 		
 	}
 	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheNames {
+		
+		public static final String PRODUCTS = "products";
+		public static final String CATEGORIES = "categories";
+		
+	}
+	
 	
 	
 }
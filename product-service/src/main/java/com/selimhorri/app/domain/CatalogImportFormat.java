@@ -0,0 +1,15 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum CatalogImportFormat {
+	
+	CSV("csv"),
+	JSON("json");
+	
+	private final String format;
+	
+}
@@ -0,0 +1,16 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum CatalogImportStatus {
+	
+	RUNNING("running"),
+	COMPLETED("completed"),
+	FAILED("failed");
+	
+	private final String status;
+	
+}
@@ -45,6 +45,10 @@ public final class Category extends AbstractMappedEntity implements Serializable
 	@Column(name = "image_url")
 	private String imageUrl;
 	
+	// "/<root id>/.../<own id>/", descendants share it as a prefix
+	@Column(name = "category_path")
+	private String categoryPath;
+	
 	@JsonIgnore
 	@OneToMany(mappedBy = "parentCategory", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
 	private Set<Category> subCategories;
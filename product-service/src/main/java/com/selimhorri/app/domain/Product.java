@@ -46,7 +46,9 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	@Column(name = "price_unit", columnDefinition = "decimal")
 	private Double priceUnit;
 	
-	@Column(name = "quantity")
+	// stock only moves through the reservation engine once the product exists: holds, releases and
+	// POST /api/products/{productId}/stock
+	@Column(name = "quantity", updatable = false)
 	private Integer quantity;
 	
 	@ManyToOne(fetch = FetchType.EAGER)
@@ -0,0 +1,60 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "reservations")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true, exclude = {"items"})
+@Data
+@Builder
+public final class Reservation extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "reservation_id", unique = true, nullable = false, updatable = false)
+	private String reservationId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "reservation_status", nullable = false)
+	private ReservationStatus reservationStatus;
+	
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+	
+	@ElementCollection(fetch = FetchType.EAGER)
+	@CollectionTable(name = "reservation_items", joinColumns = @JoinColumn(name = "reservation_id"))
+	private List<ReservationItem> items;
+	
+}
+
+
+
+
+
+
+
+
+
+
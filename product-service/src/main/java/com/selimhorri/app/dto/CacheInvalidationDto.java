@@ -0,0 +1,32 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotBlank;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CacheInvalidationDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotBlank(message = "Cache name must not be blank")
+	private String cacheName;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer key;
+	
+}
+
+
+
@@ -0,0 +1,59 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.selimhorri.app.domain.CatalogImportFormat;
+import com.selimhorri.app.domain.CatalogImportStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CatalogImportDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String importId;
+	private CatalogImportStatus importStatus;
+	private CatalogImportFormat format;
+	private Long rowsRead;
+	private Long imported;
+	private Long failed;
+	private Long rowsPerSecond;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant startedAt;
+	
+	@JsonInclude(Include.NON_NULL)
+	@JsonFormat(shape = Shape.STRING)
+	private Instant finishedAt;
+	
+	// why a FAILED import stopped, rows already committed stay imported
+	@JsonInclude(Include.NON_NULL)
+	private String message;
+	
+	// capped at app.catalog-import.max-reported-errors, failed counts them all
+	private List<CatalogImportErrorDto> errors;
+	
+}
+
+
+
+
+
+
+
+
+
+
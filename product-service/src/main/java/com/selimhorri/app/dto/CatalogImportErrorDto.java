@@ -0,0 +1,39 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CatalogImportErrorDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// 1-based: CSV line number, or position of the element in the JSON input
+	private Long row;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String sku;
+	
+	private String message;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CategoryTreeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer categoryId;
+	private String categoryTitle;
+	private String imageUrl;
+	private String categoryPath;
+	private List<Integer> ancestorIds;
+	private List<CategoryTreeDto> subCategories;
+	
+}
+
+
+
+
+
+
+
+
+
+
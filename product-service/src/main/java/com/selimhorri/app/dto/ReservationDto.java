@@ -0,0 +1,54 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.selimhorri.app.domain.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ReservationDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String reservationId;
+	private ReservationStatus reservationStatus;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant expiresAt;
+	
+	// requested hold time, capped by app.inventory.max-ttl
+	@JsonInclude(Include.NON_NULL)
+	@Positive(message = "TTL must be positive")
+	private Integer ttlSeconds;
+	
+	@NotEmpty(message = "Reservation must contain at least one item")
+	private List<@Valid ReservationItemDto> items;
+	
+}
+
+
+
+
+
+
+
+
+
+
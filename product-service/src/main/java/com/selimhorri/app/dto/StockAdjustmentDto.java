@@ -0,0 +1,24 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class StockAdjustmentDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// units added to the stock, negative to write off
+	@NotNull(message = "Quantity delta must not be NULL")
+	private Integer delta;
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.dto.response.search;
+
+import java.util.Collection;
+
+import com.selimhorri.app.dto.CategoryFacetDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchResponse {
+	
+	private Collection<ProductDto> collection;
+	private Integer offset;
+	private Integer size;
+	private Integer totalElements;
+	private Collection<CategoryFacetDto> facets;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -12,8 +13,13 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.CategoryHierarchyException;
+import com.selimhorri.app.exception.wrapper.CatalogImportNotFoundException;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +35,7 @@ public class ApiExceptionHandler {
 	})
 	public <T extends BindException> ResponseEntity<ExceptionMsg> handleValidationException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle validation exception*\n");
+		log.debug("**ApiExceptionHandler controller, handle validation exception*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -42,12 +48,17 @@ public class ApiExceptionHandler {
 	}
 	
 	@ExceptionHandler(value = {
+		CategoryHierarchyException.class,
+		CatalogImportNotFoundException.class,
 		CategoryNotFoundException.class,
 		ProductNotFoundException.class,
+		ReservationNotFoundException.class,
+		// unknown sort property on the paged endpoints
+		PropertyReferenceException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle API request*\n");
+		log.debug("**ApiExceptionHandler controller, handle API request*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -59,6 +70,24 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		InsufficientStockException.class,
+		ReservationStateException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleConflictException(final T e) {
+		
+		log.debug("**ApiExceptionHandler controller, handle conflict exception*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), conflict);
+	}
+	
 	
 	
 }
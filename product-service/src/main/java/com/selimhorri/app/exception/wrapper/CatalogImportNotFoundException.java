@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class CatalogImportNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public CatalogImportNotFoundException() {
+		super();
+	}
+	
+	public CatalogImportNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public CatalogImportNotFoundException(String message) {
+		super(message);
+	}
+	
+	public CatalogImportNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.repository.projection.CategoryView;
 
 public interface CategoryMappingHelper {
 	
@@ -25,6 +26,20 @@ public interface CategoryMappingHelper {
 				.build();
 	}
 	
+	public static CategoryDto map(final CategoryView categoryView) {
+		return CategoryDto.builder()
+				.categoryId(categoryView.getCategoryId())
+				.categoryTitle(categoryView.getCategoryTitle())
+				.imageUrl(categoryView.getImageUrl())
+				.parentCategoryDto(
+						CategoryDto.builder()
+							.categoryId(categoryView.getParentCategoryId())
+							.categoryTitle(categoryView.getParentCategoryTitle())
+							.imageUrl(categoryView.getParentCategoryImageUrl())
+							.build())
+				.build();
+	}
+	
 	public static Category map(final CategoryDto categoryDto) {
 		
 		final var parentCategoryDto = Optional.ofNullable(categoryDto
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.projection.ProductView;
 
 public interface ProductMappingHelper {
 	
@@ -24,6 +25,23 @@ public interface ProductMappingHelper {
 				.build();
 	}
 	
+	public static ProductDto map(final ProductView productView) {
+		return ProductDto.builder()
+				.productId(productView.getProductId())
+				.productTitle(productView.getProductTitle())
+				.imageUrl(productView.getImageUrl())
+				.sku(productView.getSku())
+				.priceUnit(productView.getPriceUnit())
+				.quantity(productView.getQuantity())
+				.categoryDto(
+						CategoryDto.builder()
+							.categoryId(productView.getCategoryId())
+							.categoryTitle(productView.getCategoryTitle())
+							.imageUrl(productView.getCategoryImageUrl())
+							.build())
+				.build();
+	}
+	
 	public static Product map(final ProductDto productDto) {
 		return Product.builder()
 				.productId(productDto.getProductId())
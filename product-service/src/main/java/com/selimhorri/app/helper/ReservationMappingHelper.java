@@ -0,0 +1,37 @@
+package com.selimhorri.app.helper;
+
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.domain.Reservation;
+import com.selimhorri.app.dto.ReservationDto;
+import com.selimhorri.app.dto.ReservationItemDto;
+
+public interface ReservationMappingHelper {
+	
+	public static ReservationDto map(final Reservation reservation) {
+		return ReservationDto.builder()
+				.reservationId(reservation.getReservationId())
+				.reservationStatus(reservation.getReservationStatus())
+				.expiresAt(reservation.getExpiresAt())
+				.items(reservation.getItems().stream()
+						.map(i -> ReservationItemDto.builder()
+								.productId(i.getProductId())
+								.quantity(i.getQuantity())
+								.build())
+						.collect(Collectors.toUnmodifiableList()))
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,65 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.repository.projection.CategoryView;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	// list reads project straight to the mapped columns, the EAGER parent chain is never loaded
+	String CATEGORY_VIEW = "SELECT c.categoryId AS categoryId, c.categoryTitle AS categoryTitle, c.imageUrl AS imageUrl, "
+			+ "pc.categoryId AS parentCategoryId, pc.categoryTitle AS parentCategoryTitle, "
+			+ "pc.imageUrl AS parentCategoryImageUrl "
+			+ "FROM Category c LEFT JOIN c.parentCategory pc";
+	
+	// every parent is part of the same result, fetching it in the join avoids a select per parent
+	@EntityGraph(attributePaths = "parentCategory")
+	@Override
+	List<Category> findAll();
+	
+	@Query(CATEGORY_VIEW)
+	List<CategoryView> findAllViews();
+	
+	@Query(value = CATEGORY_VIEW, countQuery = "SELECT COUNT(c) FROM Category c")
+	Page<CategoryView> findAllViews(final Pageable pageable);
+	
+	@Query(CATEGORY_VIEW + " WHERE c.categoryId > :categoryId")
+	Slice<CategoryView> findViewsByCategoryIdGreaterThan(@Param("categoryId") final Integer categoryId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query(CATEGORY_VIEW)
+	Stream<CategoryView> streamAllViews();
+	
+	@Query("SELECT c.categoryPath FROM Category c WHERE c.categoryId = :categoryId")
+	Optional<String> findCategoryPathByCategoryId(@Param("categoryId") final Integer categoryId);
+	
+	@EntityGraph(attributePaths = "parentCategory")
+	List<Category> findByCategoryPathStartingWith(final String categoryPath);
+	
+	// re-roots every descendant path in one statement when a category moves
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Category c SET c.categoryPath = CONCAT(:newPath, SUBSTRING(c.categoryPath, :from)) "
+			+ "WHERE c.categoryPath LIKE CONCAT(:oldPath, '%') AND c.categoryId <> :categoryId")
+	int moveSubtree(@Param("categoryId") final Integer categoryId, @Param("oldPath") final String oldPath, 
+			@Param("newPath") final String newPath, @Param("from") final int from);
 	
 	
 }
@@ -1,11 +1,53 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.repository.projection.ProductView;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	// list reads project straight to the mapped columns, the EAGER category chain is never loaded
+	String PRODUCT_VIEW = "SELECT p.productId AS productId, p.productTitle AS productTitle, p.imageUrl AS imageUrl, "
+			+ "p.sku AS sku, p.priceUnit AS priceUnit, p.quantity AS quantity, c.categoryId AS categoryId, "
+			+ "c.categoryTitle AS categoryTitle, c.imageUrl AS categoryImageUrl "
+			+ "FROM Product p LEFT JOIN p.category c";
+	
+	@Query(PRODUCT_VIEW)
+	List<ProductView> findAllViews();
+	
+	@Query(value = PRODUCT_VIEW, countQuery = "SELECT COUNT(p) FROM Product p")
+	Page<ProductView> findAllViews(final Pageable pageable);
+	
+	@Query(PRODUCT_VIEW + " WHERE p.productId > :productId")
+	Slice<ProductView> findViewsByProductIdGreaterThan(@Param("productId") final Integer productId, final Pageable pageable);
+	
+	@Query(PRODUCT_VIEW + " WHERE p.productId IN :productIds")
+	List<ProductView> findViewsByProductIdIn(@Param("productIds") final Collection<Integer> productIds);
+	
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query(PRODUCT_VIEW)
+	Stream<ProductView> streamAllViews();
+	
+	// one range scan on the category path index instead of walking the subtree
+	@Query(value = PRODUCT_VIEW + " WHERE c.categoryPath LIKE CONCAT(:categoryPath, '%')", 
+			countQuery = "SELECT COUNT(p) FROM Product p JOIN p.category c WHERE c.categoryPath LIKE CONCAT(:categoryPath, '%')")
+	Page<ProductView> findViewsByCategoryPathStartingWith(@Param("categoryPath") final String categoryPath, final Pageable pageable);
 	
 	
 }
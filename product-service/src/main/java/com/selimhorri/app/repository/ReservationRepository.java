@@ -0,0 +1,44 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.Reservation;
+import com.selimhorri.app.domain.ReservationStatus;
+
+public interface ReservationRepository extends JpaRepository<Reservation, String> {
+	
+	// status transitions are conditional updates, so commit, release and the sweeper can race safely
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Reservation r SET r.reservationStatus = :to "
+			+ "WHERE r.reservationId = :reservationId AND r.reservationStatus = :from")
+	int transition(@Param("reservationId") final String reservationId, 
+			@Param("from") final ReservationStatus from, @Param("to") final ReservationStatus to);
+	
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Reservation r SET r.reservationStatus = :to "
+			+ "WHERE r.reservationId = :reservationId AND r.reservationStatus = :from AND r.expiresAt > :now")
+	int transitionIfNotExpired(@Param("reservationId") final String reservationId, 
+			@Param("from") final ReservationStatus from, @Param("to") final ReservationStatus to, 
+			@Param("now") final Instant now);
+	
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Reservation r SET r.reservationStatus = :to "
+			+ "WHERE r.reservationId = :reservationId AND r.reservationStatus = :from AND r.expiresAt <= :now")
+	int transitionIfExpired(@Param("reservationId") final String reservationId, 
+			@Param("from") final ReservationStatus from, @Param("to") final ReservationStatus to, 
+			@Param("now") final Instant now);
+	
+	@Query("SELECT r.reservationId FROM Reservation r "
+			+ "WHERE r.reservationStatus = :status AND r.expiresAt <= :now ORDER BY r.expiresAt")
+	List<String> findIdsExpiredBefore(@Param("status") final ReservationStatus status, 
+			@Param("now") final Instant now, final Pageable pageable);
+	
+	
+}
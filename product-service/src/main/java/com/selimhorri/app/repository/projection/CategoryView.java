@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository.projection;
+
+// exactly the columns CategoryMappingHelper reads, the parent comes from one outer join
+public interface CategoryView {
+	
+	Integer getCategoryId();
+	String getCategoryTitle();
+	String getImageUrl();
+	Integer getParentCategoryId();
+	String getParentCategoryTitle();
+	String getParentCategoryImageUrl();
+	
+}
@@ -0,0 +1,16 @@
+package com.selimhorri.app.repository.projection;
+
+// exactly the columns ProductMappingHelper reads, the category comes from one outer join
+public interface ProductView {
+	
+	Integer getProductId();
+	String getProductTitle();
+	String getImageUrl();
+	String getSku();
+	Double getPriceUnit();
+	Integer getQuantity();
+	Integer getCategoryId();
+	String getCategoryTitle();
+	String getCategoryImageUrl();
+	
+}
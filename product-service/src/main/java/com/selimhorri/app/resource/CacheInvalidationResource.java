@@ -0,0 +1,69 @@
+package com.selimhorri.app.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.config.cache.CatalogCacheProperties;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.service.CacheInvalidationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/cache/invalidations")
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationResource {
+	
+	public static final String TOKEN_HEADER = "X-Cache-Invalidation-Token";
+	
+	private final CacheInvalidationService cacheInvalidationService;
+	private final CatalogCacheProperties catalogCacheProperties;
+	
+	@PostMapping
+	public ResponseEntity<Boolean> evict(
+			@RequestHeader(name = TOKEN_HEADER, required = false) final String token, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final CacheInvalidationDto cacheInvalidationDto) {
+		log.debug("*** Boolean, resource; evict cache entries received from peer *");
+		if (!this.isPeer(token)) {
+			log.warn("*** Boolean, resource; rejected cache invalidation without a valid peer token *");
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(false);
+		}
+		this.cacheInvalidationService.evict(cacheInvalidationDto);
+		return ResponseEntity.ok(true);
+	}
+	
+	// the path is reachable through the gateway, only instances sharing app.cache.catalog.peers.token may evict
+	private boolean isPeer(final String token) {
+		final String expected = this.catalogCacheProperties.getPeers().getToken();
+		return expected != null && !expected.isBlank() && token != null 
+				&& MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,66 @@
+package com.selimhorri.app.resource;
+
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.domain.CatalogImportFormat;
+import com.selimhorri.app.dto.CatalogImportDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.CatalogImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// the body is read as a stream, the request returns once the import has finished
+@RestController
+@RequestMapping("/api/products/imports")
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogImportResource {
+	
+	private final CatalogImportService catalogImportService;
+	
+	@PostMapping(consumes = "text/csv")
+	public ResponseEntity<CatalogImportDto> importCsv(final InputStream inputStream) {
+		log.debug("*** CatalogImportDto, resource; import products from csv *");
+		return ResponseEntity.ok(this.catalogImportService.importProducts(inputStream, CatalogImportFormat.CSV));
+	}
+	
+	@PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<CatalogImportDto> importJson(final InputStream inputStream) {
+		log.debug("*** CatalogImportDto, resource; import products from json *");
+		return ResponseEntity.ok(this.catalogImportService.importProducts(inputStream, CatalogImportFormat.JSON));
+	}
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<CatalogImportDto>> findAll() {
+		log.debug("*** CatalogImportDto List, resource; fetch all imports *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.catalogImportService.findAll()));
+	}
+	
+	@GetMapping("/{importId}")
+	public ResponseEntity<CatalogImportDto> findById(@PathVariable("importId") final String importId) {
+		log.debug("*** CatalogImportDto, resource; fetch import by id *");
+		return ResponseEntity.ok(this.catalogImportService.findById(importId));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
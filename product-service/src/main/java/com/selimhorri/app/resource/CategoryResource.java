@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +37,11 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
-		log.info("*** CategoryDto List, controller; fetch all categories *");
+		log.debug("*** CategoryDto List, controller; fetch all categories *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
@@ -40,16 +50,36 @@ public class CategoryResource {
 			@PathVariable("categoryId") 
 			@NotBlank(message = "Input must not be blank") 
 			@Valid final String categoryId) {
-		log.info("*** CategoryDto, resource; fetch category by id *");
+		log.debug("*** CategoryDto, resource; fetch category by id *");
 		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
 	}
 	
+	@GetMapping("/tree")
+	public ResponseEntity<DtoCollectionResponse<CategoryTreeDto>> findTree() {
+		log.debug("*** CategoryTreeDto List, resource; fetch category tree *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findTree()));
+	}
+	
+	@GetMapping("/tree/{categoryId}")
+	public ResponseEntity<CategoryTreeDto> findTree(@PathVariable("categoryId") final Integer categoryId) {
+		log.debug("*** CategoryTreeDto, resource; fetch category subtree *");
+		return ResponseEntity.ok(this.categoryService.findTree(categoryId));
+	}
+	
+	@GetMapping("/{categoryId}/products")
+	public ResponseEntity<DtoPageResponse<ProductDto>> findAllProducts(
+			@PathVariable("categoryId") final Integer categoryId, 
+			@PageableDefault(size = 20, sort = "productId") final Pageable pageable) {
+		log.debug("*** ProductDto Page, resource; fetch products of category and its descendants *");
+		return ResponseEntity.ok(DtoPageResponse.of(this.categoryService.findAllProducts(categoryId, pageable)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, resource; save category *");
+		log.debug("*** CategoryDto, resource; save category *");
 		return ResponseEntity.ok(this.categoryService.save(categoryDto));
 	}
 	
@@ -58,7 +88,7 @@ public class CategoryResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, resource; update category *");
+		log.debug("*** CategoryDto, resource; update category *");
 		return ResponseEntity.ok(this.categoryService.update(categoryDto));
 	}
 	
@@ -70,17 +100,34 @@ public class CategoryResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, resource; update category with categoryId *");
+		log.debug("*** CategoryDto, resource; update category with categoryId *");
 		return ResponseEntity.ok(this.categoryService.update(Integer.parseInt(categoryId), categoryDto));
 	}
 	
 	@DeleteMapping("/{categoryId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		log.info("*** Boolean, resource; delete category by id *");
+		log.debug("*** Boolean, resource; delete category by id *");
 		this.categoryService.deleteById(Integer.parseInt(categoryId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<CategoryDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer categoryId, 
+			@PageableDefault(size = 20, sort = "categoryId") final Pageable pageable) {
+		log.debug("*** CategoryDto Page, controller; fetch page of categories *");
+		if (categoryId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.categoryService.findAllAfter(categoryId, pageable), CategoryDto::getCategoryId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.categoryService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** CategoryDto Stream, controller; stream all categories *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.categoryService::streamAll);
+	}
+	
 	
 	
 }
@@ -1,9 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +16,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockAdjustmentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +38,11 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
-		log.info("*** ProductDto List, controller; fetch all categories *");
+		log.debug("*** ProductDto List, controller; fetch all categories *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
 	}
 	
@@ -40,7 +51,7 @@ public class ProductResource {
 			@PathVariable("productId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String productId) {
-		log.info("*** ProductDto, resource; fetch product by id *");
+		log.debug("*** ProductDto, resource; fetch product by id *");
 		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
 	}
 	
@@ -49,7 +60,7 @@ public class ProductResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final ProductDto productDto) {
-		log.info("*** ProductDto, resource; save product *");
+		log.debug("*** ProductDto, resource; save product *");
 		return ResponseEntity.ok(this.productService.save(productDto));
 	}
 	
@@ -58,7 +69,7 @@ public class ProductResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final ProductDto productDto) {
-		log.info("*** ProductDto, resource; update product *");
+		log.debug("*** ProductDto, resource; update product *");
 		return ResponseEntity.ok(this.productService.update(productDto));
 	}
 	
@@ -70,17 +81,56 @@ public class ProductResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final ProductDto productDto) {
-		log.info("*** ProductDto, resource; update product with productId *");
+		log.debug("*** ProductDto, resource; update product with productId *");
 		return ResponseEntity.ok(this.productService.update(Integer.parseInt(productId), productDto));
 	}
 	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		log.info("*** Boolean, resource; delete product by id *");
+		log.debug("*** Boolean, resource; delete product by id *");
 		this.productService.deleteById(Integer.parseInt(productId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@PostMapping("/{productId}/stock")
+	public ResponseEntity<ProductDto> adjustStock(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockAdjustmentDto stockAdjustmentDto) {
+		log.debug("*** ProductDto, resource; adjust stock of product *");
+		return ResponseEntity.ok(this.productService.adjustStock(Integer.parseInt(productId), 
+				stockAdjustmentDto.getDelta()));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final Set<Integer> productIds) {
+		log.debug("*** ProductDto List, resource; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
+	}
+	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<ProductDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer productId, 
+			@PageableDefault(size = 20, sort = "productId") final Pageable pageable) {
+		log.debug("*** ProductDto Page, controller; fetch page of products *");
+		if (productId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.productService.findAllAfter(productId, pageable), ProductDto::getProductId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.productService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** ProductDto Stream, controller; stream all products *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.productService::streamAll);
+	}
+	
 	
 	
 }
@@ -0,0 +1,74 @@
+package com.selimhorri.app.resource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.config.search.ProductSearchQuery;
+import com.selimhorri.app.config.search.ProductSearchSort;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/products/search")
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchResource {
+	
+	private final ProductSearchService productSearchService;
+	
+	@GetMapping
+	public ResponseEntity<ProductSearchResponse> search(
+			@RequestParam(name = "q", required = false) final String text,
+			@RequestParam(name = "prefix", defaultValue = "false") final boolean prefix,
+			@RequestParam(name = "minPrice", required = false) final Double minPrice,
+			@RequestParam(name = "maxPrice", required = false) final Double maxPrice,
+			@RequestParam(name = "categoryId", required = false) final Integer categoryId,
+			@RequestParam(name = "sort", defaultValue = "relevance") final String sort,
+			@RequestParam(name = "page", defaultValue = "0") final int page,
+			@RequestParam(name = "size", defaultValue = "20") final int size) {
+		log.debug("*** ProductSearchResponse, resource; search products *");
+		return ResponseEntity.ok(this.productSearchService.search(ProductSearchQuery.builder()
+				.text(text)
+				.prefix(prefix)
+				.minPrice(minPrice)
+				.maxPrice(maxPrice)
+				.categoryId(categoryId)
+				.sort(Arrays.stream(ProductSearchSort.values())
+						.filter(s -> s.getSort().equalsIgnoreCase(sort))
+						.findFirst()
+						.orElse(ProductSearchSort.RELEVANCE))
+				.offset((int) Math.min((long) Math.max(0, page) * Math.max(0, size), Integer.MAX_VALUE))
+				.limit(size)
+				.build()));
+	}
+	
+	@GetMapping("/suggest")
+	public ResponseEntity<DtoCollectionResponse<String>> suggest(@RequestParam("q") final String prefix) {
+		log.debug("*** String List, resource; suggest product titles *");
+		final List<String> suggestions = this.productSearchService.suggest(prefix);
+		return ResponseEntity.ok(new DtoCollectionResponse<>(suggestions));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,77 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ReservationDto;
+import com.selimhorri.app.service.ReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/reservations")
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationResource {
+	
+	private final ReservationService reservationService;
+	
+	@GetMapping("/{reservationId}")
+	public ResponseEntity<ReservationDto> findById(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String reservationId) {
+		log.debug("*** ReservationDto, resource; fetch reservation by id *");
+		return ResponseEntity.ok(this.reservationService.findById(reservationId));
+	}
+	
+	@PostMapping
+	public ResponseEntity<ReservationDto> reserve(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final ReservationDto reservationDto) {
+		log.debug("*** ReservationDto, resource; reserve stock *");
+		return ResponseEntity.ok(this.reservationService.reserve(reservationDto));
+	}
+	
+	@PostMapping("/{reservationId}/commit")
+	public ResponseEntity<ReservationDto> commit(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String reservationId) {
+		log.debug("*** ReservationDto, resource; commit reservation *");
+		return ResponseEntity.ok(this.reservationService.commit(reservationId));
+	}
+	
+	@PostMapping("/{reservationId}/release")
+	public ResponseEntity<ReservationDto> release(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String reservationId) {
+		log.debug("*** ReservationDto, resource; release reservation *");
+		return ResponseEntity.ok(this.reservationService.release(reservationId));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
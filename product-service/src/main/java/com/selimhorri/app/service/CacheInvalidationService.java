@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.CacheInvalidationDto;
+
+public interface CacheInvalidationService {
+	
+	void evict(final CacheInvalidationDto cacheInvalidationDto);
+	void publish(final CacheInvalidationDto cacheInvalidationDto);
+	
+}
+
+
+
@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.io.InputStream;
+import java.util.List;
+
+import com.selimhorri.app.domain.CatalogImportFormat;
+import com.selimhorri.app.dto.CatalogImportDto;
+
+public interface CatalogImportService {
+	
+	CatalogImportDto importProducts(final InputStream inputStream, final CatalogImportFormat format);
+	List<CatalogImportDto> findAll();
+	CatalogImportDto findById(final String importId);
+	
+}
@@ -1,8 +1,15 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
 
 public interface CategoryService {
 	
@@ -12,5 +19,11 @@ public interface CategoryService {
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
 	void deleteById(final Integer categoryId);
+	Page<CategoryDto> findAll(final Pageable pageable);
+	Slice<CategoryDto> findAllAfter(final Integer categoryId, final Pageable pageable);
+	void streamAll(final Consumer<CategoryDto> consumer);
+	List<CategoryTreeDto> findTree();
+	CategoryTreeDto findTree(final Integer categoryId);
+	Page<ProductDto> findAllProducts(final Integer categoryId, final Pageable pageable);
 	
 }
@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.config.search.ProductSearchQuery;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+
+public interface ProductSearchService {
+	
+	ProductSearchResponse search(final ProductSearchQuery productSearchQuery);
+	List<String> suggest(final String prefix);
+	
+}
@@ -1,6 +1,12 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.ProductDto;
 
@@ -12,5 +18,10 @@ public interface ProductService {
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
 	void deleteById(final Integer productId);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
+	Page<ProductDto> findAll(final Pageable pageable);
+	Slice<ProductDto> findAllAfter(final Integer productId, final Pageable pageable);
+	void streamAll(final Consumer<ProductDto> consumer);
+	ProductDto adjustStock(final Integer productId, final Integer delta);
 	
 }
@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ReservationDto;
+
+public interface ReservationService {
+	
+	ReservationDto findById(final String reservationId);
+	ReservationDto reserve(final ReservationDto reservationDto);
+	ReservationDto commit(final String reservationId);
+	ReservationDto release(final String reservationId);
+	boolean expire(final String reservationId);
+	List<String> findExpiredIds(final int batchSize);
+	int adjustStock(final Integer productId, final int delta);
+	
+}
@@ -0,0 +1,62 @@
+package com.selimhorri.app.service.impl;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.category.CategoryTreeSynchronizer;
+import com.selimhorri.app.config.search.ProductSearchIndexSynchronizer;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.service.CacheInvalidationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+	
+	private final CacheManager cacheManager;
+	private final ApplicationEventPublisher applicationEventPublisher;
+	private final ProductSearchIndexSynchronizer productSearchIndexSynchronizer;
+	private final CategoryTreeSynchronizer categoryTreeSynchronizer;
+	
+	@Override
+	public void evict(final CacheInvalidationDto cacheInvalidationDto) {
+		log.debug("*** Void, service; evict local cache entries *");
+		// peers change the catalog too, keep the local search index and category tree in step
+		this.productSearchIndexSynchronizer.apply(cacheInvalidationDto);
+		this.categoryTreeSynchronizer.apply(cacheInvalidationDto);
+		final Cache cache = this.cacheManager.getCache(cacheInvalidationDto.getCacheName());
+		if (cache == null) {
+			log.warn("*** Void, service; unknown cache: {} *", cacheInvalidationDto.getCacheName());
+			return;
+		}
+		if (cacheInvalidationDto.getKey() == null) {
+			cache.clear();
+		} else {
+			cache.evict(cacheInvalidationDto.getKey());
+		}
+	}
+	
+	@Override
+	public void publish(final CacheInvalidationDto cacheInvalidationDto) {
+		log.debug("*** Void, service; publish cache invalidation to peers *");
+		this.applicationEventPublisher.publishEvent(cacheInvalidationDto);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,464 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.catalog.CatalogImportProperties;
+import com.selimhorri.app.config.category.CategoryTreeSynchronizer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.CatalogImportFormat;
+import com.selimhorri.app.domain.CatalogImportStatus;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.dto.CatalogImportDto;
+import com.selimhorri.app.dto.CatalogImportErrorDto;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.CatalogImportNotFoundException;
+import com.selimhorri.app.service.CacheInvalidationService;
+import com.selimhorri.app.service.CatalogImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// products use IDENTITY ids, which stops Hibernate from batching inserts, so imports go through
+// plain JDBC batches instead. the body is streamed and handled one chunk at a time, each chunk in
+// its own transaction: memory stays flat and a failure loses at most the chunk in flight
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogImportServiceImpl implements CatalogImportService {
+	
+	private static final String INSERT_PRODUCT_SQL = "INSERT INTO products "
+			+ "(category_id, product_title, image_url, sku, price_unit, quantity) VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String SELECT_EXISTING_SKUS_SQL =
+			"SELECT sku FROM products WHERE sku IN (:skus)";
+	private static final List<String> REQUIRED_CSV_COLUMNS =
+			List.of("productTitle", "sku", "priceUnit", "quantity", "categoryId");
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final CategoryTreeSynchronizer categoryTreeSynchronizer;
+	private final CacheInvalidationService cacheInvalidationService;
+	private final CatalogImportProperties catalogImportProperties;
+	private final Map<String, CatalogImportJob> imports = new ConcurrentHashMap<>();
+	
+	@Override
+	public CatalogImportDto importProducts(final InputStream inputStream, final CatalogImportFormat format) {
+		log.debug("*** CatalogImportDto, service; import products *");
+		final CatalogImportJob job = new CatalogImportJob(format);
+		this.imports.put(job.importId, job);
+		final int chunkSize = Math.max(1, this.catalogImportProperties.getChunkSize());
+		try (final RowReader reader = CatalogImportFormat.CSV == format ?
+				new CsvRowReader(inputStream) : new JsonRowReader(this.objectMapper, inputStream)) {
+			final Set<String> importedSkus = new HashSet<>();
+			final List<ImportRow> chunk = new ArrayList<>(chunkSize);
+			ImportRow row;
+			while ((row = reader.next()) != null) {
+				job.rowsRead.incrementAndGet();
+				chunk.add(row);
+				if (chunk.size() == chunkSize) {
+					this.importChunk(chunk, importedSkus, job);
+					chunk.clear();
+				}
+			}
+			this.importChunk(chunk, importedSkus, job);
+			job.finish(CatalogImportStatus.COMPLETED, null);
+		}
+		catch (final IOException | RuntimeException e) {
+			log.warn("Catalog import {} stopped after {} rows: {}", job.importId, job.rowsRead.get(), e.toString());
+			job.finish(CatalogImportStatus.FAILED, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+		}
+		finally {
+			// one event for the whole import: peers drop their product caches, the search index rebuilds
+			if (job.imported.get() > 0)
+				this.cacheInvalidationService.publish(new CacheInvalidationDto(AppConstant.CacheNames.PRODUCTS, null));
+			this.evictFinishedImports();
+		}
+		
+		final CatalogImportDto catalogImportDto = job.toDto();
+		log.info("*** CatalogImportDto, service; import {} {}: {} imported, {} failed, {} rows/s *",
+				job.importId, job.status, catalogImportDto.getImported(),
+				catalogImportDto.getFailed(), catalogImportDto.getRowsPerSecond());
+		return catalogImportDto;
+	}
+	
+	@Override
+	public List<CatalogImportDto> findAll() {
+		log.debug("*** CatalogImportDto List, service; fetch all imports *");
+		return this.imports.values().stream()
+				.sorted(Comparator.comparing((final CatalogImportJob job) -> job.startedAt).reversed())
+				.map(CatalogImportJob::toDto)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public CatalogImportDto findById(final String importId) {
+		log.debug("*** CatalogImportDto, service; fetch import by id *");
+		final CatalogImportJob job = this.imports.get(importId);
+		if (job == null)
+			throw new CatalogImportNotFoundException(String.format("Catalog import with id: %s not found", importId));
+		return job.toDto();
+	}
+	
+	private void importChunk(final List<ImportRow> chunk, final Set<String> importedSkus, final CatalogImportJob job) {
+		if (chunk.isEmpty())
+			return;
+		
+		final List<ImportRow> validRows = new ArrayList<>(chunk.size());
+		for (final ImportRow row : chunk) {
+			final String error = row.error != null ? row.error : this.validate(row.productDto);
+			if (error != null)
+				job.reject(row, error);
+			else if (!importedSkus.add(row.sku))
+				job.reject(row, "Sku is repeated in the import");
+			else
+				validRows.add(row);
+		}
+		
+		// one lookup per chunk instead of letting a single existing SKU fail the whole batch
+		final Set<String> existingSkus = this.findExistingSkus(validRows);
+		validRows.removeIf(row -> {
+			if (!existingSkus.contains(row.sku))
+				return false;
+			job.reject(row, String.format("Product with sku: %s already exists", row.sku));
+			return true;
+		});
+		
+		if (!validRows.isEmpty()) {
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> this.insert(validRows));
+				job.imported.addAndGet(validRows.size());
+			}
+			catch (final DataAccessException e) {
+				// the batch rolled back as a whole, retry row by row to pin the failure on its rows
+				log.debug("Catalog import {} chunk rolled back, retrying row by row: {}", job.importId, e.toString());
+				for (final ImportRow row : validRows) {
+					try {
+						this.insert(List.of(row));
+						job.imported.incrementAndGet();
+					}
+					catch (final DataAccessException rowException) {
+						job.reject(row, NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+					}
+				}
+			}
+		}
+		log.debug("Catalog import {}: {} rows read, {} imported, {} failed",
+				job.importId, job.rowsRead.get(), job.imported.get(), job.failed.get());
+	}
+	
+	private String validate(final ProductDto productDto) {
+		if (productDto.getProductTitle() == null || productDto.getProductTitle().isBlank())
+			return "Product title must not be blank";
+		if (productDto.getSku() == null || productDto.getSku().isBlank())
+			return "Sku must not be blank";
+		if (productDto.getPriceUnit() == null || productDto.getPriceUnit() < 0 || productDto.getPriceUnit().isNaN())
+			return "Price unit must be zero or positive";
+		if (productDto.getQuantity() == null || productDto.getQuantity() < 0)
+			return "Quantity must be zero or positive";
+		if (productDto.getCategoryDto() == null || productDto.getCategoryDto().getCategoryId() == null)
+			return "Category must be set";
+		
+		final Integer categoryId = productDto.getCategoryDto().getCategoryId();
+		if (this.categoryTreeSynchronizer.getTree().find(categoryId).isEmpty())
+			return String.format("Category with id: %d not found", categoryId);
+		return null;
+	}
+	
+	private Set<String> findExistingSkus(final List<ImportRow> rows) {
+		if (rows.isEmpty())
+			return Set.of();
+		final List<String> skus = rows.stream()
+				.map(row -> row.sku)
+				.collect(Collectors.toList());
+		return new HashSet<>(this.namedParameterJdbcTemplate
+				.queryForList(SELECT_EXISTING_SKUS_SQL, Map.of("skus", skus), String.class));
+	}
+	
+	private void insert(final List<ImportRow> rows) {
+		this.jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, rows, rows.size(), (ps, row) -> {
+			final ProductDto productDto = row.productDto;
+			ps.setInt(1, productDto.getCategoryDto().getCategoryId());
+			ps.setString(2, productDto.getProductTitle());
+			ps.setString(3, productDto.getImageUrl());
+			ps.setString(4, productDto.getSku());
+			ps.setDouble(5, productDto.getPriceUnit());
+			ps.setInt(6, productDto.getQuantity());
+		});
+	}
+	
+	private void evictFinishedImports() {
+		final List<CatalogImportJob> finished = this.imports.values().stream()
+				.filter(job -> job.finishedAt != null)
+				.sorted(Comparator.comparing((final CatalogImportJob job) -> job.finishedAt).reversed())
+				.collect(Collectors.toList());
+		finished.stream()
+				.skip(Math.max(0, this.catalogImportProperties.getRetainedImports()))
+				.forEach(job -> this.imports.remove(job.importId));
+	}
+	
+	private static final class ImportRow {
+		
+		private final long row;
+		private final String sku;
+		private final ProductDto productDto;
+		
+		// set when the row could not be read, productDto is null then
+		private final String error;
+		
+		private ImportRow(final long row, final String sku, final ProductDto productDto, final String error) {
+			this.row = row;
+			this.sku = sku;
+			this.productDto = productDto;
+			this.error = error;
+		}
+		
+	}
+	
+	private interface RowReader extends Closeable {
+		
+		// null at the end of the input
+		ImportRow next() throws IOException;
+		
+	}
+	
+	// header row names the columns, fields may be quoted with "" as an escaped quote
+	private static final class CsvRowReader implements RowReader {
+		
+		private final BufferedReader reader;
+		private final Map<String, Integer> columns = new HashMap<>();
+		private long line;
+		
+		private CsvRowReader(final InputStream inputStream) throws IOException {
+			this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+			final String header = this.reader.readLine();
+			this.line++;
+			if (header == null)
+				return;
+			final List<String> names = split(header.replace("\uFEFF", ""));
+			for (int i = 0; i < names.size(); i++)
+				this.columns.put(names.get(i).trim(), i);
+			if (!this.columns.keySet().containsAll(REQUIRED_CSV_COLUMNS))
+				throw new IOException(String.format("CSV header must contain the columns %s", REQUIRED_CSV_COLUMNS));
+		}
+		
+		@Override
+		public ImportRow next() throws IOException {
+			if (this.columns.isEmpty())
+				return null;
+			String text;
+			do {
+				text = this.reader.readLine();
+				this.line++;
+				if (text == null)
+					return null;
+			} while (text.isBlank());
+			
+			final List<String> fields = split(text);
+			final String sku = this.field(fields, "sku");
+			try {
+				final String categoryId = this.field(fields, "categoryId");
+				final ProductDto productDto = ProductDto.builder()
+						.productTitle(this.field(fields, "productTitle"))
+						.imageUrl(this.field(fields, "imageUrl"))
+						.sku(sku)
+						.priceUnit(toDouble(this.field(fields, "priceUnit")))
+						.quantity(toInteger(this.field(fields, "quantity")))
+						.categoryDto(categoryId == null ? null : CategoryDto.builder()
+								.categoryId(toInteger(categoryId))
+								.build())
+						.build();
+				return new ImportRow(this.line, sku, productDto, null);
+			}
+			catch (final NumberFormatException e) {
+				return new ImportRow(this.line, sku, null, "Invalid number, " + e.getMessage());
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.reader.close();
+		}
+		
+		private String field(final List<String> fields, final String column) {
+			final Integer index = this.columns.get(column);
+			if (index == null || index >= fields.size())
+				return null;
+			final String value = fields.get(index).trim();
+			return value.isEmpty() ? null : value;
+		}
+		
+		private static Double toDouble(final String value) {
+			return value == null ? null : Double.valueOf(value);
+		}
+		
+		private static Integer toInteger(final String value) {
+			return value == null ? null : Integer.valueOf(value);
+		}
+		
+		private static List<String> split(final String text) {
+			final List<String> fields = new ArrayList<>();
+			final StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			for (int i = 0; i < text.length(); i++) {
+				final char c = text.charAt(i);
+				if (quoted) {
+					if (c != '"')
+						field.append(c);
+					else if (i + 1 < text.length() && text.charAt(i + 1) == '"')
+						field.append(text.charAt(++i));
+					else
+						quoted = false;
+				}
+				else if (c == '"')
+					quoted = true;
+				else if (c == ',') {
+					fields.add(field.toString());
+					field.setLength(0);
+				}
+				else
+					field.append(c);
+			}
+			fields.add(field.toString());
+			return fields;
+		}
+		
+	}
+	
+	// a JSON array of products or one product per line (NDJSON), bound one element at a time so a
+	// bad element is reported against its row while a syntax error stops the import
+	private static final class JsonRowReader implements RowReader {
+		
+		private final ObjectMapper objectMapper;
+		private final MappingIterator<JsonNode> nodes;
+		private long row;
+		
+		private JsonRowReader(final ObjectMapper objectMapper, final InputStream inputStream) throws IOException {
+			this.objectMapper = objectMapper;
+			this.nodes = objectMapper.readerFor(JsonNode.class).readValues(inputStream);
+		}
+		
+		@Override
+		public ImportRow next() throws IOException {
+			if (!this.nodes.hasNextValue())
+				return null;
+			final JsonNode node = this.nodes.nextValue();
+			this.row++;
+			final String sku = node.path("sku").isValueNode() ? node.path("sku").asText() : null;
+			try {
+				return new ImportRow(this.row, sku, this.objectMapper.treeToValue(node, ProductDto.class), null);
+			}
+			catch (final JsonProcessingException e) {
+				return new ImportRow(this.row, sku, null, "Invalid product, " + e.getOriginalMessage());
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			this.nodes.close();
+		}
+		
+	}
+	
+	private final class CatalogImportJob {
+		
+		private final String importId = UUID.randomUUID().toString();
+		private final CatalogImportFormat format;
+		private final Instant startedAt = Instant.now();
+		private final AtomicLong rowsRead = new AtomicLong();
+		private final AtomicLong imported = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final List<CatalogImportErrorDto> errors = Collections.synchronizedList(new ArrayList<>());
+		private volatile CatalogImportStatus status = CatalogImportStatus.RUNNING;
+		private volatile Instant finishedAt;
+		private volatile String message;
+		
+		private CatalogImportJob(final CatalogImportFormat format) {
+			this.format = format;
+		}
+		
+		private void reject(final ImportRow row, final String error) {
+			this.failed.incrementAndGet();
+			if (this.errors.size() < catalogImportProperties.getMaxReportedErrors())
+				this.errors.add(CatalogImportErrorDto.builder()
+						.row(row.row)
+						.sku(row.sku)
+						.message(error)
+						.build());
+		}
+		
+		private void finish(final CatalogImportStatus status, final String message) {
+			this.message = message;
+			this.finishedAt = Instant.now();
+			this.status = status;
+		}
+		
+		private CatalogImportDto toDto() {
+			final Instant finishedAt = this.finishedAt;
+			final long elapsedMillis = Duration.between(this.startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+			final long processed = this.imported.get() + this.failed.get();
+			final List<CatalogImportErrorDto> errors;
+			synchronized (this.errors) {
+				errors = List.copyOf(this.errors);
+			}
+			return CatalogImportDto.builder()
+					.importId(this.importId)
+					.importStatus(this.status)
+					.format(this.format)
+					.rowsRead(this.rowsRead.get())
+					.imported(this.imported.get())
+					.failed(this.failed.get())
+					.rowsPerSecond(processed * 1000 / Math.max(1, elapsedMillis))
+					.startedAt(this.startedAt)
+					.finishedAt(finishedAt)
+					.message(this.message)
+					.errors(errors)
+					.build();
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
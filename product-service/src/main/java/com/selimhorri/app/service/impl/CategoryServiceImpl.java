@@ -1,16 +1,40 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.category.CategoryTreeSynchronizer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CacheInvalidationDto;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.CategoryHierarchyException;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.PageableHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.projection.CategoryView;
+import com.selimhorri.app.service.CacheInvalidationService;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,50 +47,143 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final CacheInvalidationService cacheInvalidationService;
+	private final CategoryTreeSynchronizer categoryTreeSynchronizer;
+	private final ProductRepository productRepository;
 	
 	@Override
 	public List<CategoryDto> findAll() {
-		log.info("*** CategoryDto List, service; fetch all categorys *");
-		return this.categoryRepository.findAll()
+		log.debug("*** CategoryDto List, service; fetch all categorys *");
+		return this.categoryRepository.findAllViews()
 				.stream()
 					.map(CategoryMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Cacheable(cacheNames = AppConstant.CacheNames.CATEGORIES, key = "#categoryId")
 	@Override
 	public CategoryDto findById(final Integer categoryId) {
-		log.info("*** CategoryDto, service; fetch category by id *");
+		log.debug("*** CategoryDto, service; fetch category by id *");
 		return this.categoryRepository.findById(categoryId)
 				.map(CategoryMappingHelper::map)
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	@Caching(
+			put = @CachePut(cacheNames = AppConstant.CacheNames.CATEGORIES, key = "#result.categoryId"), 
+			evict = @CacheEvict(cacheNames = AppConstant.CacheNames.PRODUCTS, allEntries = true))
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		log.debug("*** CategoryDto, service; save category *");
+		final CategoryDto savedCategoryDto = CategoryMappingHelper.map(this
+				.saveWithPath(CategoryMappingHelper.map(categoryDto)));
+		this.invalidatePeers(savedCategoryDto.getCategoryId());
+		return savedCategoryDto;
 	}
 	
+	@Caching(
+			put = @CachePut(cacheNames = AppConstant.CacheNames.CATEGORIES, key = "#result.categoryId"), 
+			evict = @CacheEvict(cacheNames = AppConstant.CacheNames.PRODUCTS, allEntries = true))
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		log.debug("*** CategoryDto, service; update category *");
+		final CategoryDto updatedCategoryDto = CategoryMappingHelper.map(this
+				.saveWithPath(CategoryMappingHelper.map(categoryDto)));
+		this.invalidatePeers(updatedCategoryDto.getCategoryId());
+		return updatedCategoryDto;
 	}
 	
+	@Caching(
+			put = @CachePut(cacheNames = AppConstant.CacheNames.CATEGORIES, key = "#categoryId"), 
+			evict = @CacheEvict(cacheNames = AppConstant.CacheNames.PRODUCTS, allEntries = true))
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
-		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		log.debug("*** CategoryDto, service; update category with categoryId *");
+		final CategoryDto updatedCategoryDto = CategoryMappingHelper.map(this
+				.saveWithPath(CategoryMappingHelper.map(this.findById(categoryId))));
+		this.invalidatePeers(categoryId);
+		return updatedCategoryDto;
 	}
 	
+	@Caching(evict = {
+			@CacheEvict(cacheNames = AppConstant.CacheNames.CATEGORIES, key = "#categoryId"), 
+			@CacheEvict(cacheNames = AppConstant.CacheNames.PRODUCTS, allEntries = true) })
 	@Override
 	public void deleteById(final Integer categoryId) {
-		log.info("*** Void, service; delete category by id *");
+		log.debug("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.invalidatePeers(categoryId);
+	}
+	
+	@Override
+	public Page<CategoryDto> findAll(final Pageable pageable) {
+		log.debug("*** CategoryDto Page, service; fetch page of categories *");
+		return this.categoryRepository.findAllViews(PageableHelper.checkSort(pageable, Category.class))
+				.map(CategoryMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<CategoryDto> findAllAfter(final Integer categoryId, final Pageable pageable) {
+		log.debug("*** CategoryDto Slice, service; fetch categories after id *");
+		return this.categoryRepository.findViewsByCategoryIdGreaterThan(categoryId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("categoryId")))
+				.map(CategoryMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<CategoryDto> consumer) {
+		log.debug("*** CategoryDto Stream, service; stream all categories *");
+		try (final Stream<CategoryView> categories = this.categoryRepository.streamAllViews()) {
+			categories.forEach(c -> consumer.accept(CategoryMappingHelper.map(c)));
+		}
+	}
+	
+	@Override
+	public List<CategoryTreeDto> findTree() {
+		log.debug("*** CategoryTreeDto List, service; fetch category tree *");
+		return this.categoryTreeSynchronizer.getTree().getRoots();
+	}
+	
+	@Override
+	public CategoryTreeDto findTree(final Integer categoryId) {
+		log.debug("*** CategoryTreeDto, service; fetch category subtree *");
+		return this.categoryTreeSynchronizer.getTree().find(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
+	}
+	
+	@Override
+	public Page<ProductDto> findAllProducts(final Integer categoryId, final Pageable pageable) {
+		log.debug("*** ProductDto Page, service; fetch products of category and its descendants *");
+		return this.productRepository.findViewsByCategoryPathStartingWith(
+					this.findTree(categoryId).getCategoryPath(), PageableHelper.checkSort(pageable, Product.class))
+				.map(ProductMappingHelper::map);
+	}
+	
+	// keeps category_path = parent path + own id; a move re-roots the whole subtree with one update
+	private Category saveWithPath(final Category category) {
+		final String previousPath = category.getCategoryId() == null ? null : 
+				this.categoryRepository.findCategoryPathByCategoryId(category.getCategoryId()).orElse(null);
+		final Integer parentCategoryId = category.getParentCategory() == null ? null : 
+				category.getParentCategory().getCategoryId();
+		final String parentPath = parentCategoryId == null ? "/" : 
+				this.categoryRepository.findCategoryPathByCategoryId(parentCategoryId)
+					.orElseThrow(() -> new CategoryNotFoundException(String
+							.format("Parent category with id: %d not found", parentCategoryId)));
+		if (previousPath != null && parentPath.startsWith(previousPath))
+			throw new CategoryHierarchyException(String
+					.format("Category with id: %d cannot be moved under its own subtree", category.getCategoryId()));
+		final Category savedCategory = this.categoryRepository.save(category);
+		final String path = parentPath + savedCategory.getCategoryId() + "/";
+		savedCategory.setCategoryPath(path);
+		if (previousPath != null && !previousPath.equals(path))
+			this.categoryRepository.moveSubtree(savedCategory.getCategoryId(), previousPath, path, previousPath.length() + 1);
+		return savedCategory;
+	}
+	// products embed their category, so any category write drops every cached product too
+	private void invalidatePeers(final Integer categoryId) {
+		this.cacheInvalidationService.publish(new CacheInvalidationDto(AppConstant.CacheNames.CATEGORIES, categoryId));
+		this.cacheInvalidationService.publish(new CacheInvalidationDto(AppConstant.CacheNames.PRODUCTS, null));
 	}
 	
 	
@@ -0,0 +1,53 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.search.ProductSearchIndexSynchronizer;
+import com.selimhorri.app.config.search.ProductSearchQuery;
+import com.selimhorri.app.config.search.SearchProperties;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private final ProductSearchIndexSynchronizer productSearchIndexSynchronizer;
+	private final SearchProperties searchProperties;
+	
+	@Override
+	public ProductSearchResponse search(final ProductSearchQuery productSearchQuery) {
+		log.debug("*** ProductSearchResponse, service; search products *");
+		productSearchQuery.setOffset(Math.min(Math.max(0, productSearchQuery.getOffset()), 
+				this.searchProperties.getMaxResultWindow()));
+		productSearchQuery.setLimit(Math.min(Math.max(0, productSearchQuery.getLimit()), 
+				this.searchProperties.getMaxPageSize()));
+		return this.productSearchIndexSynchronizer.getIndex().search(productSearchQuery);
+	}
+	
+	@Override
+	public List<String> suggest(final String prefix) {
+		log.debug("*** String List, service; suggest product titles *");
+		return this.productSearchIndexSynchronizer.getIndex()
+				.suggest(prefix, this.searchProperties.getSuggestLimit());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
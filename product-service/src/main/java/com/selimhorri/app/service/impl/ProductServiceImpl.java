@@ -1,17 +1,41 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CacheInvalidationDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.PageableHelper;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.projection.ProductView;
+import com.selimhorri.app.service.CacheInvalidationService;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.ReservationService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,51 +47,137 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final CacheManager cacheManager;
+	private final CacheInvalidationService cacheInvalidationService;
+	private final ReservationService reservationService;
 	
 	@Override
 	public List<ProductDto> findAll() {
-		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+		log.debug("*** ProductDto List, service; fetch all products *");
+		return this.productRepository.findAllViews()
 				.stream()
 					.map(ProductMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Cacheable(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#productId")
 	@Override
 	public ProductDto findById(final Integer productId) {
-		log.info("*** ProductDto, service; fetch product by id *");
+		log.debug("*** ProductDto, service; fetch product by id *");
 		return this.productRepository.findById(productId)
 				.map(ProductMappingHelper::map)
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@CachePut(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#result.productId")
 	@Override
 	public ProductDto save(final ProductDto productDto) {
-		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		log.debug("*** ProductDto, service; save product *");
+		final ProductDto savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.invalidatePeers(savedProductDto.getProductId());
+		return savedProductDto;
 	}
 	
+	@CachePut(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#result.productId")
 	@Override
 	public ProductDto update(final ProductDto productDto) {
-		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		log.debug("*** ProductDto, service; update product *");
+		final Product product = ProductMappingHelper.map(productDto);
+		// quantity is not updatable, stock moves through reservations and adjustStock; a client
+		// writing back a product it read earlier must not overwrite what was reserved since
+		Optional.ofNullable(productDto.getProductId())
+				.flatMap(this.productRepository::findById)
+				.ifPresent(existing -> product.setQuantity(existing.getQuantity()));
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository.save(product));
+		this.invalidatePeers(updatedProductDto.getProductId());
+		return updatedProductDto;
 	}
 	
+	@CachePut(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#productId")
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
-		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
+		log.debug("*** ProductDto, service; update product with productId *");
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(this.findById(productId))));
+		this.invalidatePeers(productId);
+		return updatedProductDto;
 	}
 	
+	@CacheEvict(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#productId")
 	@Override
 	public void deleteById(final Integer productId) {
-		log.info("*** Void, service; delete product by id *");
+		log.debug("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.invalidatePeers(productId);
+	}
+	
+	@Override
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.debug("*** ProductDto List, service; fetch products by ids *");
+		final Cache productCache = this.cacheManager.getCache(AppConstant.CacheNames.PRODUCTS);
+		final List<ProductDto> productDtos = new ArrayList<>();
+		final Set<Integer> missingProductIds = new LinkedHashSet<>();
+		productIds.forEach(productId -> {
+			final ProductDto cachedProductDto = productCache.get(productId, ProductDto.class);
+			if (cachedProductDto != null) {
+				productDtos.add(cachedProductDto);
+			} else {
+				missingProductIds.add(productId);
+			}
+		});
+		if (!missingProductIds.isEmpty()) {
+			this.productRepository.findViewsByProductIdIn(missingProductIds)
+					.stream()
+						.map(ProductMappingHelper::map)
+						.forEach(productDto -> {
+							productCache.put(productDto.getProductId(), productDto);
+							productDtos.add(productDto);
+						});
+		}
+		return productDtos.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Page<ProductDto> findAll(final Pageable pageable) {
+		log.debug("*** ProductDto Page, service; fetch page of products *");
+		return this.productRepository.findAllViews(PageableHelper.checkSort(pageable, Product.class))
+				.map(ProductMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<ProductDto> findAllAfter(final Integer productId, final Pageable pageable) {
+		log.debug("*** ProductDto Slice, service; fetch products after id *");
+		return this.productRepository.findViewsByProductIdGreaterThan(productId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("productId")))
+				.map(ProductMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<ProductDto> consumer) {
+		log.debug("*** ProductDto Stream, service; stream all products *");
+		try (final Stream<ProductView> products = this.productRepository.streamAllViews()) {
+			products.forEach(p -> consumer.accept(ProductMappingHelper.map(p)));
+		}
+	}
+	@CachePut(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#productId")
+	@Override
+	public ProductDto adjustStock(final Integer productId, final Integer delta) {
+		log.debug("*** ProductDto, service; adjust stock of product *");
+		this.reservationService.adjustStock(productId, delta);
+		final ProductDto productDto = this.productRepository.findById(productId)
+				.map(ProductMappingHelper::map)
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+		this.invalidatePeers(productId);
+		return productDto;
+	}
+	
+	private void invalidatePeers(final Integer productId) {
+		this.cacheInvalidationService.publish(new CacheInvalidationDto(AppConstant.CacheNames.PRODUCTS, productId));
 	}
 	
 	
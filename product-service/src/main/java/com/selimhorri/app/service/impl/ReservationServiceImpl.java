@@ -0,0 +1,251 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.inventory.InventoryProperties;
+import com.selimhorri.app.domain.Reservation;
+import com.selimhorri.app.domain.ReservationItem;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.dto.ReservationDto;
+import com.selimhorri.app.dto.ReservationItemDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
+import com.selimhorri.app.helper.ReservationMappingHelper;
+import com.selimhorri.app.repository.ReservationRepository;
+import com.selimhorri.app.service.ReservationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// stock is taken when a hold is placed, with a conditional decrement per SKU, and handed back on
+// release or expiry; the product row lock is held only for the length of one short transaction.
+// quantities in the catalog cache are therefore indicative, this service is the source of truth
+@Service
+@Transactional
+@Slf4j
+public class ReservationServiceImpl implements ReservationService {
+	
+	private static final String DECREMENT_STOCK_SQL = 
+			"UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+	private static final String INCREMENT_STOCK_SQL = 
+			"UPDATE products SET quantity = quantity + ? WHERE product_id = ?";
+	private static final String ADJUST_STOCK_SQL = 
+			"UPDATE products SET quantity = COALESCE(quantity, 0) + ? "
+			+ "WHERE product_id = ? AND COALESCE(quantity, 0) + ? >= 0";
+	private static final String SELECT_STOCK_SQL = 
+			"SELECT quantity FROM products WHERE product_id = ?";
+	
+	private final ReservationRepository reservationRepository;
+	private final EntityManager entityManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final InventoryProperties inventoryProperties;
+	private final MeterRegistry meterRegistry;
+	private final Cache<Integer, Boolean> soldOutProducts;
+	
+	public ReservationServiceImpl(final ReservationRepository reservationRepository, 
+			final EntityManager entityManager, 
+			final JdbcTemplate jdbcTemplate, 
+			final InventoryProperties inventoryProperties, 
+			final MeterRegistry meterRegistry) {
+		this.reservationRepository = reservationRepository;
+		this.entityManager = entityManager;
+		this.jdbcTemplate = jdbcTemplate;
+		this.inventoryProperties = inventoryProperties;
+		this.meterRegistry = meterRegistry;
+		this.soldOutProducts = Caffeine.newBuilder()
+				.expireAfterWrite(inventoryProperties.getSoldOutTtl())
+				.build();
+	}
+	
+	@Override
+	public ReservationDto findById(final String reservationId) {
+		log.debug("*** ReservationDto, service; fetch reservation by id *");
+		return ReservationMappingHelper.map(this.findReservation(reservationId));
+	}
+	
+	@Override
+	public ReservationDto reserve(final ReservationDto reservationDto) {
+		log.debug("*** ReservationDto, service; reserve stock *");
+		
+		// one entry per SKU, ascending product id so multi-SKU holds always lock rows in the same order
+		final Map<Integer, Integer> quantities = reservationDto.getItems().stream()
+				.collect(Collectors.groupingBy(ReservationItemDto::getProductId, TreeMap::new, 
+						Collectors.summingInt(ReservationItemDto::getQuantity)));
+		
+		final List<Integer> soldOut = quantities.keySet().stream()
+				.filter(productId -> this.soldOutProducts.getIfPresent(productId) != null)
+				.collect(Collectors.toUnmodifiableList());
+		if (!soldOut.isEmpty())
+			throw this.rejected(soldOut);
+		
+		final List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(quantities.entrySet());
+		final int[][] updateCounts = this.jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, entries, entries.size(), 
+				(ps, e) -> {
+					ps.setInt(1, e.getValue());
+					ps.setInt(2, e.getKey());
+					ps.setInt(3, e.getValue());
+				});
+		
+		final List<Integer> rejected = new ArrayList<>();
+		for (int i = 0; i < entries.size(); i++) {
+			if (updateCounts[0][i] != 1)
+				rejected.add(entries.get(i).getKey());
+		}
+		if (!rejected.isEmpty()) {
+			rejected.stream()
+					.filter(productId -> this.availableStock(productId) <= 0)
+					.forEach(productId -> this.soldOutProducts.put(productId, Boolean.TRUE));
+			// rolls back the decrements of the other SKUs of this batch
+			throw this.rejected(rejected);
+		}
+		
+		final Reservation reservation = Reservation.builder()
+				.reservationId(UUID.randomUUID().toString())
+				.reservationStatus(ReservationStatus.HELD)
+				.expiresAt(Instant.now().plus(this.ttl(reservationDto.getTtlSeconds())))
+				.items(entries.stream()
+						.map(e -> new ReservationItem(e.getKey(), e.getValue()))
+						.collect(Collectors.toList()))
+				.build();
+		// persist, not save, an assigned id would make save merge and select first
+		this.entityManager.persist(reservation);
+		this.count(ReservationStatus.HELD.getStatus());
+		return ReservationMappingHelper.map(reservation);
+	}
+	
+	@Override
+	public ReservationDto commit(final String reservationId) {
+		log.debug("*** ReservationDto, service; commit reservation *");
+		if (this.reservationRepository.transitionIfNotExpired(reservationId, 
+				ReservationStatus.HELD, ReservationStatus.COMMITTED, Instant.now()) == 1) {
+			this.count(ReservationStatus.COMMITTED.getStatus());
+			return this.findById(reservationId);
+		}
+		final Reservation reservation = this.findReservation(reservationId);
+		if (reservation.getReservationStatus() == ReservationStatus.COMMITTED)
+			return ReservationMappingHelper.map(reservation);
+		throw new ReservationStateException(String.format("Reservation with id: %s is %s and cannot be committed", 
+				reservationId, this.describe(reservation)));
+	}
+	
+	@Override
+	public ReservationDto release(final String reservationId) {
+		log.debug("*** ReservationDto, service; release reservation *");
+		if (this.reservationRepository.transition(reservationId, 
+				ReservationStatus.HELD, ReservationStatus.RELEASED) == 1) {
+			final Reservation reservation = this.findReservation(reservationId);
+			this.restock(reservation);
+			this.count(ReservationStatus.RELEASED.getStatus());
+			return ReservationMappingHelper.map(reservation);
+		}
+		final Reservation reservation = this.findReservation(reservationId);
+		if (reservation.getReservationStatus() != ReservationStatus.COMMITTED)
+			return ReservationMappingHelper.map(reservation);
+		throw new ReservationStateException(String.format("Reservation with id: %s is %s and cannot be released", 
+				reservationId, this.describe(reservation)));
+	}
+	
+	@Override
+	public boolean expire(final String reservationId) {
+		if (this.reservationRepository.transitionIfExpired(reservationId, 
+				ReservationStatus.HELD, ReservationStatus.EXPIRED, Instant.now()) != 1)
+			return false;
+		this.restock(this.findReservation(reservationId));
+		this.count(ReservationStatus.EXPIRED.getStatus());
+		return true;
+	}
+	
+	@Override
+	public List<String> findExpiredIds(final int batchSize) {
+		return this.reservationRepository.findIdsExpiredBefore(ReservationStatus.HELD, Instant.now(), 
+				PageRequest.of(0, batchSize));
+	}
+	
+	// restock or write-off outside of a reservation, one conditional update so it races safely with
+	// holds; a product that gets stock back must not stay in the sold-out cache until its ttl
+	@Override
+	public int adjustStock(final Integer productId, final int delta) {
+		log.debug("*** Integer, service; adjust stock *");
+		if (this.jdbcTemplate.update(ADJUST_STOCK_SQL, delta, productId, delta) != 1) {
+			if (this.jdbcTemplate.queryForList(SELECT_STOCK_SQL, Integer.class, productId).isEmpty())
+				throw new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+			throw new InsufficientStockException(String
+					.format("Stock of product %d is below %d, it cannot go negative", productId, -delta));
+		}
+		this.soldOutProducts.invalidate(productId);
+		return this.availableStock(productId);
+	}
+	
+	private Reservation findReservation(final String reservationId) {
+		return this.reservationRepository.findById(reservationId)
+				.orElseThrow(() -> new ReservationNotFoundException(String
+						.format("Reservation with id: %s not found", reservationId)));
+	}
+	
+	private void restock(final Reservation reservation) {
+		final List<ReservationItem> items = reservation.getItems();
+		this.jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, items, items.size(), (ps, i) -> {
+			ps.setInt(1, i.getQuantity());
+			ps.setInt(2, i.getProductId());
+		});
+		items.forEach(i -> this.soldOutProducts.invalidate(i.getProductId()));
+	}
+	
+	private int availableStock(final Integer productId) {
+		final List<Integer> quantities = this.jdbcTemplate.queryForList(SELECT_STOCK_SQL, Integer.class, productId);
+		return quantities.isEmpty() || quantities.get(0) == null ? 0 : quantities.get(0);
+	}
+	
+	private Duration ttl(final Integer ttlSeconds) {
+		if (ttlSeconds == null)
+			return this.inventoryProperties.getDefaultTtl();
+		final Duration ttl = Duration.ofSeconds(ttlSeconds);
+		return ttl.compareTo(this.inventoryProperties.getMaxTtl()) > 0 ? this.inventoryProperties.getMaxTtl() : ttl;
+	}
+	
+	private String describe(final Reservation reservation) {
+		return reservation.getReservationStatus() == ReservationStatus.HELD 
+				&& !reservation.getExpiresAt().isAfter(Instant.now()) ? 
+						ReservationStatus.EXPIRED.getStatus() : reservation.getReservationStatus().getStatus();
+	}
+	
+	private InsufficientStockException rejected(final List<Integer> productIds) {
+		this.count("rejected");
+		return new InsufficientStockException(String.format("Insufficient stock for products: %s", productIds));
+	}
+	
+	private void count(final String outcome) {
+		this.meterRegistry.counter("inventory.reservations", "outcome", outcome).increment();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,19 @@
+
+CREATE TABLE reservations (
+	reservation_id VARCHAR(36) NOT NULL PRIMARY KEY,
+	reservation_status VARCHAR(32) NOT NULL,
+	expires_at TIMESTAMP NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_reservations_status_expires_at ON reservations (reservation_status, expires_at);
+
+CREATE TABLE reservation_items (
+	reservation_id VARCHAR(36) NOT NULL,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	PRIMARY KEY (reservation_id, product_id),
+	CONSTRAINT fk_reservation_items_reservation_id FOREIGN KEY (reservation_id) REFERENCES reservations (reservation_id) ON DELETE CASCADE
+);
+
@@ -0,0 +1,2 @@
+
+CREATE INDEX idx_products_sku ON products (sku);
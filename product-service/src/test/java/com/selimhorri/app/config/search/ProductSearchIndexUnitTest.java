@@ -0,0 +1,140 @@
+package com.selimhorri.app.config.search;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryFacetDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Pruebas Unitarias para ProductSearchIndex
+ * Validación de búsqueda por texto, prefijos, filtros de precio, jerarquía de categorías y facetas
+ */
+@DisplayName("Product Search Index Unit Tests")
+class ProductSearchIndexUnitTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(256);
+        index.putCategory(1, "Computer", null);
+        index.putCategory(2, "Laptops", 1);
+        index.putCategory(3, "Gaming Laptops", 2);
+        index.putCategory(4, "Mode", null);
+        index.index(product(1, "Asus ZenBook 14", "AS-ZB14", 999.0, 2));
+        index.index(product(2, "Asus ROG Strix", "AS-ROG", 1899.0, 3));
+        index.index(product(3, "HP Pavilion", "HP-PAV", 649.0, 2));
+        index.index(product(4, "Armani Jacket", "AR-JKT", 450.0, 4));
+        index.index(product(5, "Écran Asus 27", "AS-E27", 299.0, 1));
+    }
+
+    @Test
+    @DisplayName("Should match all tokens regardless of case and accents")
+    void testSearch_ShouldMatchAllTokens() {
+        // When
+        ProductSearchResponse response = index.search(query("asus ecran"));
+
+        // Then
+        assertThat(ids(response)).containsExactly(5);
+        assertThat(response.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete the last token as a prefix")
+    void testSearch_ShouldExpandPrefix() {
+        // When
+        ProductSearchResponse response = index.search(ProductSearchQuery.builder().text("asus z").prefix(true).build());
+        List<String> suggestions = index.suggest("pav", 10);
+
+        // Then
+        assertThat(ids(response)).containsExactly(1);
+        assertThat(suggestions).containsExactly("HP Pavilion");
+    }
+
+    @Test
+    @DisplayName("Should find products by sku and by ancestor category")
+    void testSearch_ShouldMatchSkuAndCategoryHierarchy() {
+        // When
+        ProductSearchResponse bySku = index.search(query("asrog"));
+        ProductSearchResponse byAncestorTitle = index.search(query("computer"));
+        ProductSearchResponse byAncestorId = index.search(ProductSearchQuery.builder().categoryId(2).build());
+
+        // Then
+        assertThat(ids(bySku)).containsExactly(2);
+        assertThat(ids(byAncestorTitle)).containsExactlyInAnyOrder(1, 2, 3, 5);
+        assertThat(ids(byAncestorId)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should filter by price, sort and count facets over all matches")
+    void testSearch_ShouldFilterSortAndFacet() {
+        // When
+        ProductSearchResponse response = index.search(ProductSearchQuery.builder()
+                .text("asus")
+                .minPrice(300.0)
+                .sort(ProductSearchSort.PRICE_DESC)
+                .limit(1)
+                .build());
+
+        // Then
+        assertThat(ids(response)).containsExactly(2);
+        assertThat(response.getTotalElements()).isEqualTo(2);
+        assertThat(response.getFacets())
+                .extracting(CategoryFacetDto::getCategoryId, CategoryFacetDto::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(2, 1),
+                        tuple(3, 1));
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletes, including after compaction")
+    void testIndex_ShouldReplaceAndRemoveDocuments() {
+        // Given
+        for (int i = 100; i < 3100; i++)
+            index.index(product(i, "Filler " + i, "F-" + i, 1.0, 4));
+
+        // When
+        index.index(product(3, "HP Envy", "HP-ENV", 749.0, 2));
+        index.remove(1);
+        for (int i = 100; i < 3100; i++)
+            index.remove(i);
+
+        // Then
+        assertThat(ids(index.search(query("pavilion")))).isEmpty();
+        assertThat(ids(index.search(query("envy")))).containsExactly(3);
+        assertThat(ids(index.search(query("zenbook")))).isEmpty();
+        assertThat(index.search(query("filler")).getTotalElements()).isZero();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private static ProductSearchQuery query(String text) {
+        return ProductSearchQuery.builder().text(text).build();
+    }
+
+    private static List<Integer> ids(ProductSearchResponse response) {
+        return response.getCollection().stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+    }
+
+    private static ProductDto product(int productId, String title, String sku, double price, int categoryId) {
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(title)
+                .sku(sku)
+                .priceUnit(price)
+                .quantity(10)
+                .categoryDto(CategoryDto.builder().categoryId(categoryId).build())
+                .build();
+    }
+
+}
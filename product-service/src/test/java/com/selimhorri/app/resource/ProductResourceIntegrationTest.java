@@ -0,0 +1,54 @@
+package com.selimhorri.app.resource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de Integración para ProductResource
+ * Validación de la consulta por lotes de productos y del orden de los listados paginados
+ */
+@SpringBootTest(properties = {
+    "app.cache.catalog.peers.enabled=false",
+    "app.inventory.sweeper.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Product Resource Integration Tests")
+class ProductResourceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should return each requested product once and skip unknown ids")
+    void testFindAllByIds_ShouldReturnDistinctKnownProducts() throws Exception {
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 2, 999]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.collection", hasSize(2)))
+            .andExpect(jsonPath("$.collection[*].productId", containsInAnyOrder(1, 2)))
+            .andExpect(jsonPath("$.collection[*].category.categoryId", containsInAnyOrder(1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown sort property with 400")
+    void testFindPage_WithUnknownSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/page").param("sort", "foo"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/page").param("sort", "priceUnit,desc"))
+            .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.selimhorri.app.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de Integración para ReservationResource
+ * Validación de la serialización de las reservas, de que las actualizaciones
+ * del catálogo no pisan el stock que mueven las reservas y del ajuste de stock
+ */
+@SpringBootTest(properties = {
+    "app.cache.catalog.peers.enabled=false",
+    "app.inventory.sweeper.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Reservation Resource Integration Tests")
+class ReservationResourceIntegrationTest {
+
+    private static final int PRODUCT_ID = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should reserve, read and release a reservation over HTTP")
+    void testReserve_ShouldSerializeExpiry() throws Exception {
+        // Given
+        setStock(PRODUCT_ID, 10);
+
+        // When
+        String body = mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ttlSeconds\":60,\"items\":[{\"productId\":" + PRODUCT_ID + ",\"quantity\":3}]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reservationStatus").value("HELD"))
+            .andReturn().getResponse().getContentAsString();
+        JsonNode reservation = objectMapper.readTree(body);
+        String reservationId = reservation.get("reservationId").asText();
+
+        // Then
+        assertThat(Instant.parse(reservation.get("expiresAt").asText())).isAfter(Instant.now());
+        mockMvc.perform(get("/api/reservations/{reservationId}", reservationId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reservationId").value(reservationId))
+            .andExpect(jsonPath("$.expiresAt").isString());
+        mockMvc.perform(post("/api/reservations/{reservationId}/release", reservationId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reservationStatus").value("RELEASED"));
+        assertThat(stockOf(PRODUCT_ID)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should keep reserved stock when the catalog updates a product")
+    void testUpdateProduct_ShouldNotOverwriteStock() throws Exception {
+        // Given
+        setStock(PRODUCT_ID, 10);
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":" + PRODUCT_ID + ",\"quantity\":4}]}"))
+            .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(put("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productId\":" + PRODUCT_ID + ",\"productTitle\":\"GTA\",\"imageUrl\":\"xxx\","
+                    + "\"sku\":\"qsdkjnvfrekjrf\",\"priceUnit\":0,\"quantity\":10,\"category\":{\"categoryId\":3}}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantity").value(6));
+
+        // Then
+        assertThat(stockOf(PRODUCT_ID)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should restock a sold-out product so it can be reserved again")
+    void testAdjustStock_ShouldRestockSoldOutProduct() throws Exception {
+        // Given
+        setStock(PRODUCT_ID, 0);
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":" + PRODUCT_ID + ",\"quantity\":1}]}"))
+            .andExpect(status().isConflict());
+
+        // When
+        mockMvc.perform(post("/api/products/{productId}/stock", PRODUCT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":5}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantity").value(5));
+
+        // Then
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":" + PRODUCT_ID + ",\"quantity\":2}]}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/{productId}", PRODUCT_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantity").value(5));
+        assertThat(stockOf(PRODUCT_ID)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject a write-off below zero and an unknown product")
+    void testAdjustStock_ShouldNotGoNegative() throws Exception {
+        // Given
+        setStock(PRODUCT_ID, 3);
+
+        // When/Then
+        mockMvc.perform(post("/api/products/{productId}/stock", PRODUCT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":-4}"))
+            .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/products/{productId}/stock", PRODUCT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":-3}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantity").value(0));
+        mockMvc.perform(post("/api/products/{productId}/stock", 999)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":1}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/products/{productId}/stock", PRODUCT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isBadRequest());
+        assertThat(stockOf(PRODUCT_ID)).isZero();
+    }
+
+    private void setStock(int productId, int quantity) {
+        jdbcTemplate.update("UPDATE products SET quantity = ? WHERE product_id = ?", quantity, productId);
+    }
+
+    private int stockOf(int productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?", Integer.class, productId);
+    }
+}
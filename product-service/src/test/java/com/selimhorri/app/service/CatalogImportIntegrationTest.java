@@ -0,0 +1,133 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.CatalogImportFormat;
+import com.selimhorri.app.domain.CatalogImportStatus;
+import com.selimhorri.app.dto.CatalogImportDto;
+import com.selimhorri.app.dto.CatalogImportErrorDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de Integración para la importación masiva del catálogo
+ * Validación de la carga por lotes, los errores por fila y el seguimiento del progreso
+ */
+@SpringBootTest(properties = {
+    "app.cache.catalog.peers.enabled=false",
+    "app.inventory.sweeper.enabled=false",
+    "app.catalog-import.chunk-size=2"
+})
+@AutoConfigureMockMvc
+@DisplayName("Catalog Import Integration Tests")
+class CatalogImportIntegrationTest {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should import valid CSV rows and report each rejected row")
+    void testImportCsv_ShouldReportRejectedRows() {
+        // Given
+        String csv = "﻿sku,productTitle,imageUrl,priceUnit,quantity,categoryId\n"
+                + "IMP-CSV-1,Keyboard,xxx,49.9,10,1\n"
+                + "IMP-CSV-2,\"Mouse, \"\"wireless\"\"\",,19.5,3,1\n"
+                + "IMP-CSV-3,Monitor,xxx,abc,1,1\n"
+                + ",Headset,xxx,5,1,1\n"
+                + "\n"
+                + "IMP-CSV-1,Keyboard again,xxx,49.9,10,1\n"
+                + "dfqejklejrkn,Existing,xxx,1,1,1\n"
+                + "IMP-CSV-4,Unknown category,xxx,1,1,999\n";
+
+        // When
+        CatalogImportDto result = catalogImportService.importProducts(stream(csv), CatalogImportFormat.CSV);
+
+        // Then
+        assertThat(result.getImportStatus()).isEqualTo(CatalogImportStatus.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(CatalogImportErrorDto::getRow).containsExactly(4L, 5L, 7L, 8L, 9L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT product_title FROM products WHERE sku = 'IMP-CSV-2'", String.class))
+                .isEqualTo("Mouse, \"wireless\"");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE sku LIKE 'IMP-CSV-%'", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should import a JSON array and NDJSON with per-element errors")
+    void testImportJson_ShouldAcceptArrayAndNdjson() throws Exception {
+        // Given
+        String array = "[{\"sku\":\"IMP-JSON-1\",\"productTitle\":\"Tablet\",\"priceUnit\":300,\"quantity\":2,\"category\":{\"categoryId\":1}},"
+                + "{\"sku\":\"IMP-JSON-2\",\"productTitle\":\"Pen\",\"priceUnit\":\"cheap\",\"quantity\":2,\"category\":{\"categoryId\":1}}]";
+        String ndjson = "{\"sku\":\"IMP-NDJSON-1\",\"productTitle\":\"Cable\",\"priceUnit\":3,\"quantity\":20,\"category\":{\"categoryId\":1}}\n"
+                + "{\"sku\":\"IMP-NDJSON-2\",\"productTitle\":\"Charger\",\"priceUnit\":15,\"quantity\":-1,\"category\":{\"categoryId\":1}}\n";
+
+        // When / Then
+        mockMvc.perform(post("/api/products/imports").contentType(MediaType.APPLICATION_JSON).content(array))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importStatus").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].sku").value("IMP-JSON-2"));
+        mockMvc.perform(post("/api/products/imports").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Quantity must be zero or positive"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE sku IN ('IMP-JSON-1', 'IMP-NDJSON-1')", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep committed chunks and report the failure when the input is malformed")
+    void testImportJson_ShouldFailOnMalformedInput() throws Exception {
+        // Given
+        String ndjson = "{\"sku\":\"IMP-BAD-1\",\"productTitle\":\"A\",\"priceUnit\":1,\"quantity\":1,\"category\":{\"categoryId\":1}}\n"
+                + "{\"sku\":\"IMP-BAD-2\",\"productTitle\":\"B\",\"priceUnit\":1,\"quantity\":1,\"category\":{\"categoryId\":1}}\n"
+                + "{\"sku\":\"IMP-BAD-3\",\"productTitle\":\"C\",\"priceUnit\":1,\"quantity\":1,\"category\":{\"categoryId\":1}}\n"
+                + "{\"sku\": oops\n";
+
+        // When
+        CatalogImportDto result = catalogImportService.importProducts(stream(ndjson), CatalogImportFormat.JSON);
+
+        // Then
+        assertThat(result.getImportStatus()).isEqualTo(CatalogImportStatus.FAILED);
+        assertThat(result.getMessage()).isNotBlank();
+        assertThat(result.getImported()).isEqualTo(2);
+        mockMvc.perform(get("/api/products/imports/{importId}", result.getImportId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importStatus").value("FAILED"));
+        mockMvc.perform(get("/api/products/imports"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection[*].importId", hasItem(result.getImportId())));
+        mockMvc.perform(get("/api/products/imports/{importId}", "missing"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.CategoryHierarchyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de Integración para el árbol de categorías
+ * Validación de rutas materializadas, movimientos de subárboles y consulta de productos por descendencia
+ */
+@SpringBootTest(properties = "app.cache.catalog.peers.enabled=false")
+@DisplayName("Category Tree Integration Tests")
+class CategoryTreeIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("Should expose every seeded category with a materialised path")
+    void testFindTree_ShouldContainSeededCategories() {
+        // When
+        List<CategoryTreeDto> roots = categoryService.findTree();
+        CategoryTreeDto computer = categoryService.findTree(1);
+
+        // Then
+        assertThat(roots).extracting(CategoryTreeDto::getCategoryId).contains(1, 2);
+        assertThat(computer.getCategoryPath()).isEqualTo("/1/");
+        assertThat(computer.getAncestorIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return products of a category and all of its descendants in one query")
+    void testFindAllProducts_ShouldIncludeDescendants() {
+        // Given
+        CategoryDto shoes = child("Shoes", 2);
+        CategoryDto sneakers = child("Sneakers", shoes.getCategoryId());
+        ProductDto product = product("Runner", "SNK-TREE-1", sneakers.getCategoryId());
+
+        // When
+        CategoryTreeDto subtree = categoryService.findTree(shoes.getCategoryId());
+
+        // Then
+        assertThat(subtree.getCategoryPath()).isEqualTo("/2/" + shoes.getCategoryId() + "/");
+        assertThat(subtree.getSubCategories()).singleElement()
+                .satisfies(node -> assertThat(node.getAncestorIds()).containsExactly(2, shoes.getCategoryId()));
+        assertThat(productIds(2)).contains(3, product.getProductId());
+        assertThat(productIds(shoes.getCategoryId())).containsExactly(product.getProductId());
+    }
+
+    @Test
+    @DisplayName("Should re-root the whole subtree when a category moves")
+    void testUpdate_ShouldMoveSubtree() {
+        // Given
+        CategoryDto bags = child("Bags", 2);
+        CategoryDto backpacks = child("Backpacks", bags.getCategoryId());
+        ProductDto product = product("Daypack", "BPK-TREE-1", backpacks.getCategoryId());
+
+        // When
+        bags.setParentCategoryDto(CategoryDto.builder().categoryId(1).build());
+        categoryService.update(bags);
+
+        // Then
+        assertThat(categoryService.findTree(backpacks.getCategoryId()).getCategoryPath())
+                .isEqualTo("/1/" + bags.getCategoryId() + "/" + backpacks.getCategoryId() + "/");
+        assertThat(categoryService.findTree(1).getSubCategories())
+                .extracting(CategoryTreeDto::getCategoryId).contains(bags.getCategoryId());
+        assertThat(productIds(1)).contains(product.getProductId());
+        assertThat(productIds(2)).doesNotContain(product.getProductId());
+    }
+
+    @Test
+    @DisplayName("Should reject moving a category under its own descendant")
+    void testUpdate_ShouldRejectCycle() {
+        // Given
+        CategoryDto outer = child("Outer", 2);
+        CategoryDto inner = child("Inner", outer.getCategoryId());
+
+        // When
+        outer.setParentCategoryDto(CategoryDto.builder().categoryId(inner.getCategoryId()).build());
+
+        // Then
+        assertThatThrownBy(() -> categoryService.update(outer))
+                .isInstanceOf(CategoryHierarchyException.class);
+        assertThat(categoryService.findTree(inner.getCategoryId()).getAncestorIds())
+                .containsExactly(2, outer.getCategoryId());
+    }
+
+    private CategoryDto child(String title, Integer parentCategoryId) {
+        return categoryService.save(CategoryDto.builder()
+                .categoryTitle(title)
+                .imageUrl("xxx")
+                .parentCategoryDto(CategoryDto.builder().categoryId(parentCategoryId).build())
+                .build());
+    }
+
+    private ProductDto product(String title, String sku, Integer categoryId) {
+        return productService.save(ProductDto.builder()
+                .productTitle(title)
+                .sku(sku)
+                .imageUrl("xxx")
+                .priceUnit(10.0)
+                .quantity(5)
+                .categoryDto(CategoryDto.builder().categoryId(categoryId).build())
+                .build());
+    }
+
+    private List<Integer> productIds(Integer categoryId) {
+        return categoryService.findAllProducts(categoryId, PageRequest.of(0, 100)).getContent().stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+    }
+
+}
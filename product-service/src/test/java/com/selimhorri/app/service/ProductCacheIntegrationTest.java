@@ -0,0 +1,185 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de Integración para la caché del catálogo
+ * Validación de lectura, actualización e invalidación de productos y categorías en caché
+ */
+@SpringBootTest(properties = {
+    "app.cache.catalog.peers.enabled=false",
+    "app.cache.catalog.peers.token=peer-secret"
+})
+@AutoConfigureMockMvc
+@DisplayName("Product Catalog Cache Integration Tests")
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Cache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productCache = cacheManager.getCache(AppConstant.CacheNames.PRODUCTS);
+        productCache.clear();
+        cacheManager.getCache(AppConstant.CacheNames.CATEGORIES).clear();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated product lookups from cache and record hits")
+    void testFindById_ShouldHitCacheOnSecondCall() {
+        // Given
+        double hitsBefore = cacheGets("hit");
+
+        // When
+        ProductDto first = productService.findById(2);
+        ProductDto second = productService.findById(2);
+
+        // Then
+        assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+        assertThat(second).isSameAs(first);
+        assertThat(productCache.get(2, ProductDto.class)).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should only accept peer invalidations carrying the shared token")
+    void testInvalidationEndpoint_ShouldRequirePeerToken() throws Exception {
+        // Given
+        productService.findById(3);
+        String invalidation = "{\"cacheName\":\"" + AppConstant.CacheNames.PRODUCTS + "\",\"key\":3}";
+
+        // When / Then
+        mockMvc.perform(post("/api/cache/invalidations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(invalidation))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/cache/invalidations")
+                .header("X-Cache-Invalidation-Token", "guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(invalidation))
+            .andExpect(status().isForbidden());
+        assertThat(productCache.get(3)).isNotNull();
+
+        mockMvc.perform(post("/api/cache/invalidations")
+                .header("X-Cache-Invalidation-Token", "peer-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(invalidation))
+            .andExpect(status().isOk());
+        assertThat(productCache.get(3)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refresh cached product on update")
+    void testUpdate_ShouldReplaceCachedProduct() {
+        // Given - a copy, the instance findById returns is the cached entry itself
+        ProductDto cached = productService.findById(3);
+        ProductDto productDto = ProductDto.builder()
+                .productId(cached.getProductId())
+                .productTitle("Armani Updated")
+                .imageUrl(cached.getImageUrl())
+                .sku(cached.getSku())
+                .priceUnit(cached.getPriceUnit())
+                .quantity(cached.getQuantity())
+                .categoryDto(cached.getCategoryDto())
+                .build();
+
+        // When
+        productService.update(productDto);
+
+        // Then
+        assertThat(cached.getProductTitle()).isNotEqualTo("Armani Updated");
+        assertThat(productCache.get(3, ProductDto.class)).isNotSameAs(cached);
+        assertThat(productCache.get(3, ProductDto.class).getProductTitle()).isEqualTo("Armani Updated");
+        assertThat(productService.findById(3).getProductTitle()).isEqualTo("Armani Updated");
+    }
+
+    @Test
+    @DisplayName("Should populate cache from batch lookups and serve cached ids without the database")
+    void testFindAllByIds_ShouldUseAndFillCache() {
+        // Given
+        ProductDto cached = productService.findById(1);
+
+        // When
+        List<ProductDto> productDtos = productService.findAllByIds(Set.of(1, 4));
+
+        // Then
+        assertThat(productDtos).hasSize(2).contains(cached);
+        assertThat(productCache.get(4, ProductDto.class)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop cached products when a category changes")
+    void testCategoryUpdate_ShouldEvictProducts() {
+        // Given
+        productService.findById(4);
+        CategoryDto categoryDto = categoryService.findById(3);
+        categoryDto.setParentCategoryDto(CategoryDto.builder().categoryId(1).build());
+
+        // When
+        categoryService.update(categoryDto);
+
+        // Then
+        assertThat(productCache.get(4)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict single entry received from a peer")
+    void testEvict_ShouldRemoveEntry() {
+        // Given
+        productService.findById(1);
+        productService.findById(2);
+
+        // When
+        cacheInvalidationService.evict(new CacheInvalidationDto(AppConstant.CacheNames.PRODUCTS, 1));
+
+        // Then
+        assertThat(productCache.get(1)).isNull();
+        assertThat(productCache.get(2)).isNotNull();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", AppConstant.CacheNames.PRODUCTS)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.config.search.ProductSearchQuery;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.CacheInvalidationDto;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de Integración para la búsqueda de productos
+ * Validación de la carga inicial del índice y su sincronización con las escrituras del catálogo
+ */
+@SpringBootTest(properties = "app.cache.catalog.peers.enabled=false")
+@DisplayName("Product Search Integration Tests")
+class ProductSearchIntegrationTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Test
+    @DisplayName("Should load catalog products into the index on startup")
+    void testSearch_ShouldFindSeededProducts() {
+        // When
+        ProductSearchResponse response = productSearchService.search(ProductSearchQuery.builder()
+                .text("dfqejk")
+                .prefix(true)
+                .build());
+
+        // Then
+        assertThat(response.getCollection()).extracting(ProductDto::getProductId).containsExactly(1);
+        assertThat(productSearchService.suggest("gt")).contains("GTA");
+    }
+
+    @Test
+    @DisplayName("Should index saved products and drop deleted ones after commit")
+    void testSave_ShouldKeepIndexInSync() {
+        // Given
+        ProductDto saved = productService.save(ProductDto.builder()
+                .productTitle("Lenovo ThinkPad Écran")
+                .sku("LN-SEARCH-1")
+                .imageUrl("xxx")
+                .priceUnit(1200.0)
+                .quantity(5)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+
+        // When
+        ProductSearchResponse byText = productSearchService.search(ProductSearchQuery.builder()
+                .text("thinkpad ecran")
+                .maxPrice(1500.0)
+                .build());
+        productService.deleteById(saved.getProductId());
+        ProductSearchResponse afterDelete = productSearchService.search(ProductSearchQuery.builder()
+                .text("lnsearch1")
+                .build());
+
+        // Then
+        assertThat(byText.getCollection()).extracting(ProductDto::getProductId).containsExactly(saved.getProductId());
+        assertThat(byText.getFacets()).anySatisfy(facet -> assertThat(facet.getCategoryId()).isEqualTo(1));
+        assertThat(afterDelete.getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refresh the indexed product when a peer invalidates it")
+    void testEvict_ShouldRefreshIndexedProduct() {
+        // Given
+        ProductDto productDto = productService.findById(2);
+        String title = productDto.getProductTitle();
+
+        // When
+        cacheInvalidationService.evict(new CacheInvalidationDto(AppConstant.CacheNames.PRODUCTS, 2));
+        ProductSearchResponse response = productSearchService.search(ProductSearchQuery.builder()
+                .text(title)
+                .build());
+
+        // Then
+        assertThat(response.getCollection().stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList())).contains(2);
+    }
+
+}
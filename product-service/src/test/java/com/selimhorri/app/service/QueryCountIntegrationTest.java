@@ -0,0 +1,121 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.constant.AppConstant;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de Integración para el número de consultas de Product Service
+ * Validación de que cada listado se resuelve sin consultas N+1 usando las estadísticas de Hibernate
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.cache.catalog.peers.enabled=false",
+    "app.inventory.sweeper.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Product Service Query Count Integration Tests")
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(AppConstant.CacheNames.PRODUCTS).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list all products with their categories in a single query")
+    void testFindAllProducts_ShouldRunOneQuery() throws Exception {
+        // When
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page products with one content query and one count query")
+    void testFindProductPage_ShouldRunContentAndCountQueries() throws Exception {
+        // When
+        mockMvc.perform(get("/api/products/page").param("size", "2")).andExpect(status().isOk());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read a keyset slice of products in a single query")
+    void testFindProductsAfter_ShouldRunOneQuery() throws Exception {
+        // When
+        mockMvc.perform(get("/api/products/page").param("after", "1").param("size", "2"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load uncached products of a batch in a single query")
+    void testFindProductsByIds_ShouldRunOneQuery() throws Exception {
+        // When
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3, 4]"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should list all categories with their parents in a single query")
+    void testFindAllCategories_ShouldRunOneQuery() throws Exception {
+        // When
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+        long listQueries = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/categories/page").param("size", "1")).andExpect(status().isOk());
+
+        // Then
+        assertThat(listQueries).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should list products of a category subtree in a single query")
+    void testFindCategoryProducts_ShouldRunOneQuery() throws Exception {
+        // When
+        mockMvc.perform(get("/api/categories/1/products").param("size", "100")).andExpect(status().isOk());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.config.inventory.ReservationSweeper;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.dto.ReservationDto;
+import com.selimhorri.app.dto.ReservationItemDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de Integración y estrés para las reservas de inventario
+ * Validación de que un SKU muy demandado nunca se sobrevende bajo concurrencia
+ */
+@SpringBootTest(properties = {
+    "app.cache.catalog.peers.enabled=false",
+    "app.inventory.sweeper.enabled=false",
+    "app.inventory.sold-out-ttl=200ms"
+})
+@DisplayName("Inventory Reservation Stress Integration Tests")
+class ReservationStressIntegrationTest {
+
+    private static final int HOT_PRODUCT_ID = 1;
+    private static final int STOCK = 100;
+    private static final int CHECKOUTS = 2000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationSweeper reservationSweeper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should never oversell a hot SKU under thousands of concurrent checkouts")
+    void testReserve_WhenHotSkuIsContended_ShouldNeverOversell() throws Exception {
+        // Given
+        setStock(HOT_PRODUCT_ID, STOCK);
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<String> held = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    held.add(reservationService.reserve(reservationOf(HOT_PRODUCT_ID, 1, null)).getReservationId());
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    unexpected.add(e);
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+
+        // Then
+        assertThat(unexpected).isEmpty();
+        assertThat(held).hasSize(STOCK);
+        assertThat(rejected.get()).isEqualTo(CHECKOUTS - STOCK);
+        assertThat(stockOf(HOT_PRODUCT_ID)).isZero();
+        assertThat(elapsedMillis).isLessThan(30_000);
+
+        // When - half the holds are released, the rest committed
+        List<String> holds = new ArrayList<>(held);
+        for (int i = 0; i < holds.size(); i++) {
+            if (i % 2 == 0) {
+                reservationService.release(holds.get(i));
+            } else {
+                reservationService.commit(holds.get(i));
+            }
+        }
+
+        // Then
+        assertThat(stockOf(HOT_PRODUCT_ID)).isEqualTo(STOCK / 2);
+        assertThat(reservationService.findById(holds.get(1)).getReservationStatus()).isEqualTo(ReservationStatus.COMMITTED);
+        assertThatThrownBy(() -> reservationService.release(holds.get(1))).isInstanceOf(ReservationStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should reserve several SKUs all or nothing")
+    void testReserve_WhenOneSkuIsShort_ShouldRollBackTheWholeBatch() throws InterruptedException {
+        // Given
+        setStock(2, 5);
+        setStock(3, 0);
+        ReservationDto batch = ReservationDto.builder()
+            .items(List.of(
+                ReservationItemDto.builder().productId(2).quantity(2).build(),
+                ReservationItemDto.builder().productId(3).quantity(1).build()))
+            .build();
+
+        // When / Then
+        assertThatThrownBy(() -> reservationService.reserve(batch)).isInstanceOf(InsufficientStockException.class);
+        assertThat(stockOf(2)).isEqualTo(5);
+
+        // When - restocked outside the reservation API, visible once the sold-out flag lapses
+        setStock(3, 4);
+        Thread.sleep(300);
+        ReservationDto reservation = reservationService.reserve(ReservationDto.builder()
+            .items(List.of(
+                ReservationItemDto.builder().productId(3).quantity(1).build(),
+                ReservationItemDto.builder().productId(2).quantity(2).build(),
+                ReservationItemDto.builder().productId(2).quantity(1).build()))
+            .build());
+
+        // Then
+        assertThat(reservation.getItems()).hasSize(2);
+        assertThat(stockOf(2)).isEqualTo(2);
+        assertThat(stockOf(3)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should return stock of expired holds when swept")
+    void testSweep_WhenHoldExpires_ShouldRestock() throws InterruptedException {
+        // Given
+        setStock(4, 10);
+        ReservationDto reservation = reservationService.reserve(reservationOf(4, 3, 1));
+        assertThat(stockOf(4)).isEqualTo(7);
+
+        // When
+        Thread.sleep(1_100);
+        int expired = reservationSweeper.sweep();
+
+        // Then
+        assertThat(expired).isGreaterThanOrEqualTo(1);
+        assertThat(stockOf(4)).isEqualTo(10);
+        assertThat(reservationService.findById(reservation.getReservationId()).getReservationStatus())
+            .isEqualTo(ReservationStatus.EXPIRED);
+        assertThatThrownBy(() -> reservationService.commit(reservation.getReservationId()))
+            .isInstanceOf(ReservationStateException.class);
+    }
+
+    private static ReservationDto reservationOf(int productId, int quantity, Integer ttlSeconds) {
+        return ReservationDto.builder()
+            .ttlSeconds(ttlSeconds)
+            .items(List.of(ReservationItemDto.builder().productId(productId).quantity(quantity).build()))
+            .build();
+    }
+
+    private void setStock(int productId, int quantity) {
+        jdbcTemplate.update("UPDATE products SET quantity = ? WHERE product_id = ?", quantity, productId);
+    }
+
+    private int stockOf(int productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?", Integer.class, productId);
+    }
+}
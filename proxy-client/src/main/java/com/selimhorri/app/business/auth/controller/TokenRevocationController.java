@@ -0,0 +1,48 @@
+package com.selimhorri.app.business.auth.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.security.jwt.TokenRevocationList;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/revocations")
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationController {
+	
+	private final TokenRevocationList tokenRevocationList;
+	
+	@PostMapping("/tokens/{tokenId}")
+	public ResponseEntity<Boolean> revokeToken(@PathVariable("tokenId") final String tokenId) {
+		log.debug("**TokenRevocation controller, proceed with the request*\n");
+		this.tokenRevocationList.revokeToken(tokenId);
+		return ResponseEntity.ok(true);
+	}
+	
+	@PostMapping("/users/{username}")
+	public ResponseEntity<Boolean> revokeUser(@PathVariable("username") final String username) {
+		log.debug("**TokenRevocation controller, proceed with the request*\n");
+		this.tokenRevocationList.revokeUser(username);
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
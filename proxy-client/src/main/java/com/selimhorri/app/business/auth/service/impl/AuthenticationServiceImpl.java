@@ -27,7 +27,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
 		
-		log.info("** AuthenticationResponse, authenticate user service*\n");
+		log.debug("** AuthenticationResponse, authenticate user service*\n");
 		
 		try {
 			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
@@ -23,8 +23,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
-		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		log.debug("**UserDetails, load user by username*\n");
+		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/{username}", CredentialDto.class, username));
 	}
 	
 	
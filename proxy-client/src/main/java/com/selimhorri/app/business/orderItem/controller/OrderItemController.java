@@ -56,8 +56,8 @@ public class OrderItemController {
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		this.orderItemClientService.deleteById(new OrderItemId(Integer.parseInt(orderId), 
-				Integer.parseInt(productId))).getBody();
+		this.orderItemClientService.deleteById(new OrderItemId(Integer.parseInt(productId), 
+				Integer.parseInt(orderId))).getBody();
 		return ResponseEntity.ok(true);
 	}
 	
@@ -9,7 +9,9 @@ public enum PaymentStatus {
 	
 	NOT_STARTED("not_started"),
 	IN_PROGRESS("in_progress"),
-	COMPLETED("completed");
+	COMPLETED("completed"),
+	// compensated by the checkout saga, refunded when it was already payed
+	CANCELED("canceled");
 	
 	private final String status;
 	
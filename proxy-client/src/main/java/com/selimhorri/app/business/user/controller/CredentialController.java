@@ -13,6 +13,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.security.cache.CaffeineUserCache;
+import com.selimhorri.app.security.jwt.JwtSecurityProperties;
+import com.selimhorri.app.security.jwt.TokenRevocationList;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +25,9 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final CaffeineUserCache caffeineUserCache;
+	private final TokenRevocationList tokenRevocationList;
+	private final JwtSecurityProperties jwtSecurityProperties;
 	
 	@GetMapping
 	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
@@ -40,22 +46,51 @@ public class CredentialController {
 	
 	@PostMapping
 	public ResponseEntity<CredentialDto> save(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody());
+		final ResponseEntity<CredentialDto> response = ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody());
+		this.evict(credentialDto);
+		return response;
 	}
 	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final ResponseEntity<CredentialDto> response = ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		this.evict(credentialDto);
+		this.revokeStaleClaims(credentialDto);
+		return response;
 	}
 	
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final ResponseEntity<CredentialDto> response = ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		this.evict(credentialDto);
+		this.revokeStaleClaims(credentialDto);
+		return response;
 	}
 	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		if (this.jwtSecurityProperties.isStateless()) {
+			this.revokeStaleClaims(this.credentialClientService.findById(credentialId).getBody());
+		}
+		final ResponseEntity<Boolean> response = ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		this.caffeineUserCache.removeAllUsersFromCache();
+		return response;
+	}
+	
+	// stale role or account flags only matter when the token itself is trusted for them
+	private void revokeStaleClaims(final CredentialDto credentialDto) {
+		if (this.jwtSecurityProperties.isStateless() && credentialDto != null && credentialDto.getUsername() != null) {
+			this.tokenRevocationList.revokeUser(credentialDto.getUsername());
+		}
+	}
+	
+	// only once user-service has the change, a concurrent login could otherwise cache the old credential again
+	private void evict(final CredentialDto credentialDto) {
+		if (credentialDto.getUsername() != null) {
+			this.caffeineUserCache.removeUserFromCache(credentialDto.getUsername());
+		} else {
+			this.caffeineUserCache.removeAllUsersFromCache();
+		}
 	}
 	
 	
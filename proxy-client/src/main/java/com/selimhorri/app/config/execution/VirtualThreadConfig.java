@@ -0,0 +1,79 @@
+package com.selimhorri.app.config.execution;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.extern.slf4j.Slf4j;
+
+// app.execution.mode=virtual: every request, and the MVC async work behind the streaming endpoints, runs
+// on its own virtual thread instead of Tomcat's worker pool. a thread blocked on a remote call no longer
+// holds one of server.tomcat.threads.max, in-flight requests are bounded by server.tomcat.max-connections
+// and, per dependency, by the HTTP client pool and the resilience4j bulkheads. without a Java 21 runtime
+// the platform pool stays in place
+@Configuration
+@ConditionalOnProperty(prefix = "app.execution", name = "mode", havingValue = "virtual")
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer, DisposableBean {
+	
+	private static final String THREAD_NAME_PREFIX = "http-virtual-";
+	
+	private final ExecutorService executor;
+	
+	public VirtualThreadConfig() {
+		this.executor = VirtualThreads.newThreadPerTaskExecutor(THREAD_NAME_PREFIX).orElse(null);
+		if (this.executor == null) {
+			log.warn("*** app.execution.mode=virtual needs Java 21, running on {}; keeping the platform thread pool *",
+					Runtime.version());
+		}
+		else {
+			log.info("*** Requests run on virtual threads *");
+		}
+	}
+	
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> {
+			if (this.executor != null && protocolHandler instanceof AbstractProtocol) {
+				((AbstractProtocol<?>) protocolHandler).setExecutor(this.executor);
+			}
+		};
+	}
+	
+	@Override
+	public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+		if (this.executor != null) {
+			configurer.setTaskExecutor(new ConcurrentTaskExecutor(this.executor));
+		}
+	}
+	
+	// Tomcat leaves an executor it did not create running
+	@Override
+	public void destroy() {
+		if (this.executor != null) {
+			this.executor.shutdown();
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
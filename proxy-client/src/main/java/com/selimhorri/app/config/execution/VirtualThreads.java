@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.execution;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// the services compile for Java 11, so the Java 21 API is looked up reflectively:
+// Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+final class VirtualThreads {
+	
+	private VirtualThreads() {
+	}
+	
+	// empty before Java 21, and on Java 19 and 20 without --enable-preview
+	static Optional<ExecutorService> newThreadPerTaskExecutor(final String namePrefix) {
+		try {
+			final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+			final ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+			return Optional.of((ExecutorService) Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory));
+		}
+		catch (final ReflectiveOperationException | RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
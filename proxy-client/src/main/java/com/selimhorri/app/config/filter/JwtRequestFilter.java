@@ -9,13 +9,19 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.jwt.model.ParsedToken;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.security.cache.VerifiedTokenCache;
+import com.selimhorri.app.security.jwt.JwtSecurityProperties;
+import com.selimhorri.app.security.jwt.TokenRevocationList;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,28 +33,45 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 	
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final UserCache userCache;
+	private final TokenRevocationList tokenRevocationList;
+	private final JwtSecurityProperties jwtSecurityProperties;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
 			throws ServletException, IOException {
 		
-		log.info("**JwtRequestFilter, once per request, validating and extracting token*\n");
+		log.debug("**JwtRequestFilter, once per request, validating and extracting token*\n");
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
 		String jwt = null;
+		ParsedToken parsedToken = null;
+		boolean verified = false;
 		
 		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
 			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
+			// a cache hit means this exact token already passed signature and expiry checks
+			parsedToken = this.verifiedTokenCache.get(jwt);
+			verified = parsedToken != null;
+			if (!verified) {
+				parsedToken = this.jwtService.parseToken(jwt);
+			}
+			if (this.tokenRevocationList.isRevoked(parsedToken)) {
+				log.info("**Jwt revoked for subject: {}*\n", parsedToken.getSubject());
+				parsedToken = null;
+			}
 		}
 		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (parsedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final UserDetails userDetails = this.resolveUserDetails(parsedToken);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails != null && (verified || this.jwtService.validateToken(parsedToken, userDetails))) {
+				if (!verified) {
+					this.verifiedTokenCache.put(jwt, parsedToken);
+				}
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -58,7 +81,32 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		}
 		
 		filterChain.doFilter(request, response);
-		log.info("**Jwt request filtered!*\n");
+		log.debug("**Jwt request filtered!*\n");
+	}
+	
+	private UserDetails resolveUserDetails(final ParsedToken parsedToken) {
+		// tokens issued before the claims were added still go through user-service
+		if (!this.jwtSecurityProperties.isStateless() || parsedToken.getAuthorities().isEmpty() 
+				|| parsedToken.getEnabled() == null || parsedToken.getLocked() == null) {
+			return this.loadUserByUsername(parsedToken.getSubject());
+		}
+		if (!parsedToken.getEnabled() || parsedToken.getLocked()) {
+			return null;
+		}
+		return User.withUsername(parsedToken.getSubject())
+				.password("")
+				.authorities(parsedToken.getAuthorities().toArray(String[]::new))
+				.build();
+	}
+	
+	private UserDetails loadUserByUsername(final String username) {
+		final UserDetails cachedUserDetails = this.userCache.getUserFromCache(username);
+		if (cachedUserDetails != null) {
+			return cachedUserDetails;
+		}
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+		this.userCache.putUserInCache(userDetails);
+		return userDetails;
 	}
 	
 	
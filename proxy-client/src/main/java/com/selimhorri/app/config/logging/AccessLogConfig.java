@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.logging;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+	
+	@Bean
+	public FilterRegistrationBean<AccessLogFilter> accessLogFilter(final AccessLogProperties accessLogProperties) {
+		final FilterRegistrationBean<AccessLogFilter> registration =
+				new FilterRegistrationBean<>(new AccessLogFilter(accessLogProperties));
+		// inside Sleuth's tracing filter (HIGHEST_PRECEDENCE + 5) so the line carries the trace id,
+		// outside everything else so the duration covers the whole request
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.resilience;
+
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadConfigurationBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+@Configuration
+public class ResilienceConfig {
+	
+	// Spring Cloud CircuitBreaker falls back to library defaults (1s time limit) unless told to use resilience4j.*.configs.default
+	@Bean
+	public Customizer<Resilience4JCircuitBreakerFactory> circuitBreakerFactoryCustomizer(
+			final CircuitBreakerRegistry circuitBreakerRegistry, final TimeLimiterRegistry timeLimiterRegistry) {
+		return circuitBreakerFactory -> circuitBreakerFactory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+				.circuitBreakerConfig(circuitBreakerRegistry.getDefaultConfig())
+				.timeLimiterConfig(timeLimiterRegistry.getDefaultConfig())
+				.build());
+	}
+	
+	@Bean
+	public Customizer<Resilience4jBulkheadProvider> bulkheadProviderCustomizer(
+			final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry, final BulkheadRegistry bulkheadRegistry) {
+		return bulkheadProvider -> bulkheadProvider.configureDefault(id -> new Resilience4jBulkheadConfigurationBuilder()
+				.threadPoolBulkheadConfig(threadPoolBulkheadRegistry.getDefaultConfig())
+				.bulkheadConfig(bulkheadRegistry.getDefaultConfig())
+				.build());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,88 @@
+package com.selimhorri.app.config.template;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+// the Feign side of RemoteCallMetricsInterceptor: same meter, same tags. it wraps the load-balancing
+// client, so clientName is the @FeignClient name and uri the path of the annotated method
+public class FeignMetricsCapability implements Capability {
+	
+	private final MeterRegistry meterRegistry;
+	
+	public FeignMetricsCapability(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> {
+			final long start = System.nanoTime();
+			Response response = null;
+			try {
+				response = client.execute(request, options);
+				return response;
+			}
+			finally {
+				Timer.builder(RemoteCallMetricsInterceptor.METRIC_NAME)
+						.tags(tags(request, response))
+						.register(this.meterRegistry)
+						.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		};
+	}
+	
+	private static Tags tags(final Request request, final Response response) {
+		final RequestTemplate requestTemplate = request.requestTemplate();
+		final String clientName;
+		final String uri;
+		if (requestTemplate != null && requestTemplate.feignTarget() != null && requestTemplate.methodMetadata() != null) {
+			clientName = requestTemplate.feignTarget().name();
+			// target url holds the @FeignClient path, the method template the rest
+			uri = RemoteCallMetricsInterceptor.uri(requestTemplate.feignTarget().url()
+					+ requestTemplate.methodMetadata().template().url());
+		}
+		else {
+			clientName = hostOf(request.url());
+			uri = RemoteCallMetricsInterceptor.uri(request.url());
+		}
+		return Tags.of(
+				"method", request.httpMethod().name(),
+				"uri", uri,
+				"clientName", clientName,
+				"status", response == null ? "IO_ERROR" : Integer.toString(response.status()),
+				"outcome", response == null ? Outcome.UNKNOWN.name() : Outcome.forStatus(response.status()).name());
+	}
+	
+	private static String hostOf(final String url) {
+		try {
+			return String.valueOf(URI.create(url).getHost());
+		}
+		catch (final IllegalArgumentException e) {
+			return "none";
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
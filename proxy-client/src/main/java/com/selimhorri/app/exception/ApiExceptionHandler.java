@@ -2,7 +2,10 @@ package com.selimhorri.app.exception;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.concurrent.TimeoutException;
 
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -20,6 +23,8 @@ import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import feign.FeignException;
 import feign.FeignException.FeignClientException;
 import feign.FeignException.FeignServerException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,7 +40,7 @@ public class ApiExceptionHandler {
 	})
 	public <T extends FeignException> ResponseEntity<ExceptionMsg> handleProxyException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle feign proxy exception*\n");
+		log.debug("**ApiExceptionHandler controller, handle feign proxy exception*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -47,13 +52,40 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		NoFallbackAvailableException.class,
+		CallNotPermittedException.class,
+		BulkheadFullException.class,
+		TimeoutException.class
+	})
+	public ResponseEntity<ExceptionMsg> handleDegradedDependencyException(final Exception e) {
+		
+		// Feign calls run inside a circuit breaker, which wraps whatever the client threw
+		if (e instanceof NoFallbackAvailableException && e.getCause() instanceof FeignException) {
+			return this.handleProxyException((FeignException) e.getCause());
+		}
+		
+		log.debug("**ApiExceptionHandler controller, handle unavailable dependency*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		final Throwable cause = e instanceof NoFallbackAvailableException && e.getCause() != null ? e.getCause() : e;
+		
+		return ResponseEntity.status(serviceUnavailable)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(ExceptionMsg.builder()
+					.msg("#### Dependency unavailable, try again later: " + cause.getClass().getSimpleName() + " ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build());
+	}
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class
 	})
 	public <T extends BindException> ResponseEntity<ExceptionMsg> handleValidationException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle validation exception*\n");
+		log.debug("**ApiExceptionHandler controller, handle validation exception*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
@@ -74,7 +106,7 @@ public class ApiExceptionHandler {
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
-		log.info("**ApiExceptionHandler controller, handle API request*\n");
+		log.debug("**ApiExceptionHandler controller, handle API request*\n");
 		final var badRequest = HttpStatus.BAD_REQUEST;
 		
 		return new ResponseEntity<>(
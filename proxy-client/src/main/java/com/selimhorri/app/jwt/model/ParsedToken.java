@@ -0,0 +1,30 @@
+package com.selimhorri.app.jwt.model;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ParsedToken {
+	
+	private String id;
+	private String subject;
+	private Date issuedAt;
+	private Date expiration;
+	
+	@Builder.Default
+	private List<String> authorities = List.of();
+	private Boolean enabled;
+	private Boolean locked;
+	
+}
+
+
+
@@ -5,6 +5,8 @@ import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.selimhorri.app.jwt.model.ParsedToken;
+
 import io.jsonwebtoken.Claims;
 
 public interface JwtUtil {
@@ -14,5 +16,7 @@ public interface JwtUtil {
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
 	String generateToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	ParsedToken parseToken(final String token);
+	Boolean validateToken(final ParsedToken parsedToken, final UserDetails userDetails);
 	
 }
@@ -2,12 +2,17 @@ package com.selimhorri.app.jwt.util.impl;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.selimhorri.app.jwt.model.ParsedToken;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -18,6 +23,9 @@ import io.jsonwebtoken.SignatureAlgorithm;
 public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
+	private static final String AUTHORITIES_CLAIM = "authorities";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String LOCKED_CLAIM = "locked";
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -39,19 +47,21 @@ public class JwtUtilImpl implements JwtUtil {
 		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
-	}
-	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
+		claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+		claims.put(LOCKED_CLAIM, !userDetails.isAccountNonLocked());
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
 	private String createToken(final Map<String, Object> claims, final String subject) {
 		return Jwts.builder()
 					.setClaims(claims)
+					.setId(UUID.randomUUID().toString())
 					.setSubject(subject)
 					.setIssuedAt(new Date(System.currentTimeMillis()))
 					.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
@@ -61,12 +71,40 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		return this.validateToken(this.parseToken(token), userDetails);
+	}
+	
+	@Override
+	public ParsedToken parseToken(final String token) {
+		final Claims claims = this.extractAllClaims(token);
+		return ParsedToken.builder()
+				.id(claims.getId())
+				.subject(claims.getSubject())
+				.issuedAt(claims.getIssuedAt())
+				.expiration(claims.getExpiration())
+				.authorities(this.extractAuthorities(claims))
+				.enabled(claims.get(ENABLED_CLAIM, Boolean.class))
+				.locked(claims.get(LOCKED_CLAIM, Boolean.class))
+				.build();
+	}
+	
+	@Override
+	public Boolean validateToken(final ParsedToken parsedToken, final UserDetails userDetails) {
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			parsedToken.getSubject().equals(userDetails.getUsername()) && !parsedToken.getExpiration().before(new Date())
 		);
 	}
 	
+	private List<String> extractAuthorities(final Claims claims) {
+		final List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+		if (authorities == null) {
+			return List.of();
+		}
+		return authorities.stream()
+				.map(String::valueOf)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
 	
 	
 }
@@ -1,5 +1,6 @@
 package com.selimhorri.app.security;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,11 +16,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.selimhorri.app.business.user.model.RoleBasedAuthority;
 import com.selimhorri.app.config.filter.JwtRequestFilter;
+import com.selimhorri.app.security.cache.SecurityCacheProperties;
+import com.selimhorri.app.security.jwt.JwtSecurityProperties;
 
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({ SecurityCacheProperties.class, JwtSecurityProperties.class })
 @RequiredArgsConstructor
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	
@@ -43,6 +47,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers("/api/authenticate/**").permitAll()
 				.antMatchers("/api/categories/**").permitAll()
 				.antMatchers("/api/products/**").permitAll()
+				.antMatchers("/api/revocations/**")
+					.hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 				.antMatchers("/api/**")
 					.hasAnyRole(RoleBasedAuthority.ROLE_USER.getRole(), 
 							RoleBasedAuthority.ROLE_ADMIN.getRole())
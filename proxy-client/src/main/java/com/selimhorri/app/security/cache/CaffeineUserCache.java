@@ -0,0 +1,58 @@
+package com.selimhorri.app.security.cache;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class CaffeineUserCache implements UserCache {
+	
+	private final Cache<String, UserDetails> cache;
+	
+	public CaffeineUserCache(final SecurityCacheProperties securityCacheProperties, final MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(securityCacheProperties.getUserDetails().getMaximumSize())
+				.expireAfterWrite(securityCacheProperties.getUserDetails().getTimeToLive())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "jwt.userDetails");
+	}
+	
+	@Override
+	public UserDetails getUserFromCache(final String username) {
+		return this.cache.getIfPresent(username);
+	}
+	
+	@Override
+	public void putUserInCache(final UserDetails user) {
+		this.cache.put(user.getUsername(), user);
+	}
+	
+	@Override
+	public void removeUserFromCache(final String username) {
+		this.cache.invalidate(username);
+	}
+	
+	public void removeAllUsersFromCache() {
+		this.cache.invalidateAll();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,44 @@
+package com.selimhorri.app.security.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.security.cache")
+@Data
+public class SecurityCacheProperties {
+	
+	private final Token token = new Token();
+	private final UserDetails userDetails = new UserDetails();
+	
+	@Data
+	public static class Token {
+		
+		private long maximumSize = 50_000;
+		private Duration maximumTimeToLive = Duration.ofMinutes(15);
+		
+	}
+	
+	@Data
+	public static class UserDetails {
+		
+		private long maximumSize = 10_000;
+		private Duration timeToLive = Duration.ofSeconds(30);
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
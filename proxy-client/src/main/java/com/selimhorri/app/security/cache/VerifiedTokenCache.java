@@ -0,0 +1,95 @@
+package com.selimhorri.app.security.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.jwt.model.ParsedToken;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class VerifiedTokenCache {
+	
+	private final Cache<String, ParsedToken> cache;
+	
+	public VerifiedTokenCache(final SecurityCacheProperties securityCacheProperties, final MeterRegistry meterRegistry) {
+		final long maximumTimeToLiveNanos = securityCacheProperties.getToken().getMaximumTimeToLive().toNanos();
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(securityCacheProperties.getToken().getMaximumSize())
+				.expireAfter(new Expiry<String, ParsedToken>() {
+					
+					// an entry never outlives the token it vouches for
+					@Override
+					public long expireAfterCreate(final String key, final ParsedToken value, final long currentTime) {
+						final long untilExpiration = TimeUnit.MILLISECONDS
+								.toNanos(value.getExpiration().getTime() - System.currentTimeMillis());
+						return Math.max(0, Math.min(untilExpiration, maximumTimeToLiveNanos));
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final ParsedToken value, 
+							final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(key, value, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final ParsedToken value, 
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "jwt.verifiedTokens");
+	}
+	
+	public ParsedToken get(final String token) {
+		final ParsedToken parsedToken = this.cache.getIfPresent(hash(token));
+		if (parsedToken == null || !parsedToken.getExpiration().after(new Date())) {
+			return null;
+		}
+		return parsedToken;
+	}
+	
+	public void put(final String token, final ParsedToken parsedToken) {
+		this.cache.put(hash(token), parsedToken);
+	}
+	
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+	
+	// keyed by digest so raw bearer tokens are never held in memory
+	private static String hash(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.app.security.jwt;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.security.jwt")
+@Data
+public class JwtSecurityProperties {
+	
+	// build the Authentication from signed claims, without asking user-service
+	private boolean stateless = false;
+	private final Revocation revocation = new Revocation();
+	
+	@Data
+	public static class Revocation {
+		
+		private Set<String> tokenIds = new HashSet<>();
+		private Set<String> usernames = new HashSet<>();
+		
+		// longest lifetime of an issued token, entries older than this can no longer match
+		private Duration retention = Duration.ofHours(10);
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
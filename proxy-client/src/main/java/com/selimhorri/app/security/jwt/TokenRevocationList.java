@@ -0,0 +1,79 @@
+package com.selimhorri.app.security.jwt;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.jwt.model.ParsedToken;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class TokenRevocationList {
+	
+	private final JwtSecurityProperties jwtSecurityProperties;
+	private final Map<String, Date> revokedTokenIds = new ConcurrentHashMap<>();
+	private final Map<String, Date> revokedUsernames = new ConcurrentHashMap<>();
+	
+	public TokenRevocationList(final JwtSecurityProperties jwtSecurityProperties, final MeterRegistry meterRegistry) {
+		this.jwtSecurityProperties = jwtSecurityProperties;
+		final Date now = new Date();
+		jwtSecurityProperties.getRevocation().getTokenIds()
+				.forEach(tokenId -> this.revokedTokenIds.put(tokenId, new Date(Long.MAX_VALUE)));
+		jwtSecurityProperties.getRevocation().getUsernames()
+				.forEach(username -> this.revokedUsernames.put(username, now));
+		Gauge.builder("jwt.revocations", this, revocationList -> revocationList.size())
+				.register(meterRegistry);
+	}
+	
+	public boolean isRevoked(final ParsedToken parsedToken) {
+		if (parsedToken.getId() != null && this.revokedTokenIds.containsKey(parsedToken.getId())) {
+			return true;
+		}
+		final Date revokedAt = this.revokedUsernames.get(parsedToken.getSubject());
+		// iat only has second precision, so a token issued in the same second is revoked as well
+		return revokedAt != null 
+				&& (parsedToken.getIssuedAt() == null || parsedToken.getIssuedAt().getTime() / 1000 <= revokedAt.getTime() / 1000);
+	}
+	
+	public void revokeToken(final String tokenId) {
+		log.info("*** TokenRevocationList; revoking token id: {} *", tokenId);
+		this.purgeExpired();
+		this.revokedTokenIds.put(tokenId, new Date());
+	}
+	
+	public void revokeUser(final String username) {
+		log.info("*** TokenRevocationList; revoking tokens issued to: {} *", username);
+		this.purgeExpired();
+		this.revokedUsernames.put(username, new Date());
+	}
+	
+	public int size() {
+		return this.revokedTokenIds.size() + this.revokedUsernames.size();
+	}
+	
+	private void purgeExpired() {
+		final Date horizon = new Date(System.currentTimeMillis() 
+				- this.jwtSecurityProperties.getRevocation().getRetention().toMillis());
+		this.revokedTokenIds.values().removeIf(revokedAt -> revokedAt.before(horizon));
+		this.revokedUsernames.values().removeIf(revokedAt -> revokedAt.before(horizon));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
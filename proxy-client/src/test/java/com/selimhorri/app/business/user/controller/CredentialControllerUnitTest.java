@@ -0,0 +1,136 @@
+package com.selimhorri.app.business.user.controller;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.security.cache.CaffeineUserCache;
+import com.selimhorri.app.security.jwt.JwtSecurityProperties;
+import com.selimhorri.app.security.jwt.TokenRevocationList;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas Unitarias para CredentialController
+ * Validación de que la caché de usuarios y la lista de revocación
+ * solo cambian cuando user-service ha aceptado el cambio
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Credential Controller Unit Tests")
+class CredentialControllerUnitTest {
+
+    @Mock
+    private CredentialClientService credentialClientService;
+
+    @Mock
+    private CaffeineUserCache caffeineUserCache;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private JwtSecurityProperties jwtSecurityProperties;
+    private CredentialController credentialController;
+    private CredentialDto credentialDto;
+
+    @BeforeEach
+    void setUp() {
+        jwtSecurityProperties = new JwtSecurityProperties();
+        credentialController = new CredentialController(credentialClientService, caffeineUserCache,
+                tokenRevocationList, jwtSecurityProperties);
+        credentialDto = CredentialDto.builder()
+                .credentialId(1)
+                .username("selimhorri")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should evict the cached user after the update is saved")
+    void testUpdate_ShouldEvictAfterRemoteCall() {
+        // Given
+        when(credentialClientService.update(credentialDto)).thenReturn(ResponseEntity.ok(credentialDto));
+
+        // When
+        credentialController.update(credentialDto);
+
+        // Then
+        final InOrder inOrder = inOrder(credentialClientService, caffeineUserCache);
+        inOrder.verify(credentialClientService).update(credentialDto);
+        inOrder.verify(caffeineUserCache).removeUserFromCache("selimhorri");
+    }
+
+    @Test
+    @DisplayName("Should keep the cached user when the update fails")
+    void testUpdate_WhenRemoteCallFails_ShouldNotEvict() {
+        // Given
+        when(credentialClientService.update(credentialDto)).thenThrow(serviceUnavailable());
+
+        // When / Then
+        assertThatThrownBy(() -> credentialController.update("1", credentialDto))
+                .isInstanceOf(FeignException.class);
+        verifyNoInteractions(caffeineUserCache);
+    }
+
+    @Test
+    @DisplayName("Should revoke the user's tokens after the update is saved in stateless mode")
+    void testUpdate_WhenStateless_ShouldRevokeAfterRemoteCall() {
+        // Given
+        jwtSecurityProperties.setStateless(true);
+        when(credentialClientService.update(credentialDto)).thenReturn(ResponseEntity.ok(credentialDto));
+
+        // When
+        credentialController.update("1", credentialDto);
+
+        // Then
+        final InOrder inOrder = inOrder(credentialClientService, tokenRevocationList);
+        inOrder.verify(credentialClientService).update(credentialDto);
+        inOrder.verify(tokenRevocationList).revokeUser("selimhorri");
+    }
+
+    @Test
+    @DisplayName("Should not revoke the user's tokens when the update fails")
+    void testUpdate_WhenStatelessAndRemoteCallFails_ShouldNotRevoke() {
+        // Given
+        jwtSecurityProperties.setStateless(true);
+        when(credentialClientService.update(credentialDto)).thenThrow(serviceUnavailable());
+
+        // When / Then
+        assertThatThrownBy(() -> credentialController.update(credentialDto))
+                .isInstanceOf(FeignException.class);
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    @Test
+    @DisplayName("Should keep the cached user when the save fails")
+    void testSave_WhenRemoteCallFails_ShouldNotEvict() {
+        // Given
+        when(credentialClientService.save(credentialDto)).thenThrow(serviceUnavailable());
+
+        // When / Then
+        assertThatThrownBy(() -> credentialController.save(credentialDto))
+                .isInstanceOf(FeignException.class);
+        verifyNoInteractions(caffeineUserCache);
+    }
+
+    private static FeignException serviceUnavailable() {
+        final Request request = Request.create(Request.HttpMethod.PUT, "/user-service/api/credentials",
+                Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("CredentialClientService#update",
+                Response.builder().status(503).reason("Service Unavailable").request(request).headers(Map.of()).build());
+    }
+
+}
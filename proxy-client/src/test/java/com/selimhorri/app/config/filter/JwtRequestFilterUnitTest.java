@@ -0,0 +1,205 @@
+package com.selimhorri.app.config.filter;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.jwt.model.ParsedToken;
+import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.impl.JwtServiceImpl;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+import com.selimhorri.app.security.cache.CaffeineUserCache;
+import com.selimhorri.app.security.cache.SecurityCacheProperties;
+import com.selimhorri.app.security.cache.VerifiedTokenCache;
+import com.selimhorri.app.security.jwt.JwtSecurityProperties;
+import com.selimhorri.app.security.jwt.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas Unitarias para JwtRequestFilter
+ * Validación de la caché de tokens verificados y de UserDetails,
+ * del modo sin estado y de la lista de revocación
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Jwt Request Filter Unit Tests")
+class JwtRequestFilterUnitTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Spy
+    private JwtService jwtService = new JwtServiceImpl(new JwtUtilImpl());
+
+    private CaffeineUserCache userCache;
+    private JwtSecurityProperties jwtSecurityProperties;
+    private TokenRevocationList tokenRevocationList;
+    private JwtRequestFilter jwtRequestFilter;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        final SecurityCacheProperties securityCacheProperties = new SecurityCacheProperties();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        userCache = new CaffeineUserCache(securityCacheProperties, meterRegistry);
+        jwtSecurityProperties = new JwtSecurityProperties();
+        tokenRevocationList = new TokenRevocationList(jwtSecurityProperties, meterRegistry);
+        jwtRequestFilter = new JwtRequestFilter(userDetailsService, jwtService,
+                new VerifiedTokenCache(securityCacheProperties, meterRegistry), userCache,
+                tokenRevocationList, jwtSecurityProperties);
+        userDetails = new UserDetailsImpl(CredentialDto.builder()
+                .username("selimhorri")
+                .password("secret")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonLocked(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should verify a token and load the user only once across requests")
+    void testDoFilter_ShouldServeRepeatedTokenFromCache() throws Exception {
+        // Given
+        when(userDetailsService.loadUserByUsername("selimhorri")).thenReturn(userDetails);
+        final String token = jwtService.generateToken(userDetails);
+
+        // When
+        filter(token);
+        filter(token);
+        filter(token);
+
+        // Then
+        verify(userDetailsService, times(1)).loadUserByUsername("selimhorri");
+        verify(jwtService, times(1)).parseToken(anyString());
+        verify(jwtService, times(1)).validateToken(any(ParsedToken.class), any(UserDetails.class));
+    }
+
+    @Test
+    @DisplayName("Should reload the user after its cached details are evicted")
+    void testDoFilter_AfterCredentialUpdate_ShouldReloadUser() throws Exception {
+        // Given
+        when(userDetailsService.loadUserByUsername("selimhorri")).thenReturn(userDetails);
+        final String token = jwtService.generateToken(userDetails);
+        filter(token);
+
+        // When - CredentialController invalida la entrada al actualizar la credencial
+        userCache.removeUserFromCache("selimhorri");
+        filter(token);
+
+        // Then
+        verify(userDetailsService, times(2)).loadUserByUsername("selimhorri");
+        verify(jwtService, times(1)).validateToken(any(ParsedToken.class), any(UserDetails.class));
+    }
+
+    @Test
+    @DisplayName("Should build the authentication from token claims in stateless mode")
+    void testDoFilter_Stateless_ShouldNotLoadUser() throws Exception {
+        // Given
+        jwtSecurityProperties.setStateless(true);
+        final String token = jwtService.generateToken(userDetails);
+
+        // When
+        filter(token);
+
+        // Then
+        verifyNoInteractions(userDetailsService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should reject a locked account in stateless mode")
+    void testDoFilter_Stateless_WithLockedClaim_ShouldNotAuthenticate() throws Exception {
+        // Given
+        jwtSecurityProperties.setStateless(true);
+        final String token = jwtService.generateToken(new UserDetailsImpl(CredentialDto.builder()
+                .username("selimhorri")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonLocked(false)
+                .build()));
+
+        // When
+        final Authentication authentication = doFilter(token);
+
+        // Then
+        assertThat(authentication).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens revoked by user even when already verified")
+    void testDoFilter_AfterUserRevocation_ShouldNotAuthenticate() throws Exception {
+        // Given
+        when(userDetailsService.loadUserByUsername("selimhorri")).thenReturn(userDetails);
+        final String token = jwtService.generateToken(userDetails);
+        filter(token);
+
+        // When
+        tokenRevocationList.revokeUser("selimhorri");
+        final Authentication authentication = doFilter(token);
+
+        // Then
+        assertThat(authentication).isNull();
+        assertThat(tokenRevocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a single revoked token id while other tokens keep working")
+    void testDoFilter_AfterTokenRevocation_ShouldOnlyRejectThatToken() throws Exception {
+        // Given
+        jwtSecurityProperties.setStateless(true);
+        final String revokedToken = jwtService.generateToken(userDetails);
+        final String otherToken = jwtService.generateToken(userDetails);
+
+        // When
+        tokenRevocationList.revokeToken(jwtService.parseToken(revokedToken).getId());
+
+        // Then
+        assertThat(doFilter(revokedToken)).isNull();
+        filter(otherToken);
+    }
+
+    private void filter(final String token) throws Exception {
+        final Authentication authentication = doFilter(token);
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("selimhorri");
+    }
+
+    private Authentication doFilter(final String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+}
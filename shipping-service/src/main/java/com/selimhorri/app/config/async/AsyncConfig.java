@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.async;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(EnrichmentProperties.class)
+public class AsyncConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor enrichmentExecutor(final EnrichmentProperties enrichmentProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(enrichmentProperties.getPoolSize());
+		executor.setMaxPoolSize(enrichmentProperties.getPoolSize());
+		executor.setQueueCapacity(enrichmentProperties.getQueueCapacity());
+		executor.setThreadNamePrefix("enrichment-");
+		// a saturated pool rejects the lookup and the item keeps its ids, request threads never run lookups
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
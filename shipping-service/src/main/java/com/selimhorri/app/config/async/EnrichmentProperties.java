@@ -0,0 +1,25 @@
+package com.selimhorri.app.config.async;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.enrichment")
+@Data
+public class EnrichmentProperties {
+	
+	private int poolSize = 32;
+	private int queueCapacity = 256;
+	private int maxConcurrentItems = 16;
+	
+}
+
+
+
+
+
+
+
+
+
+
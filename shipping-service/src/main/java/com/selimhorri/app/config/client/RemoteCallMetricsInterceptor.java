@@ -0,0 +1,138 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.util.UriTemplateHandler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+// times every call of the load-balanced RestTemplate as http.client.requests with the tags Spring Boot
+// uses for its own client metrics. it runs before the load balancer interceptor, so clientName is the
+// target service id (PRODUCT-SERVICE) and not the instance. percentile histograms and SLO buckets are
+// configured under management.metrics.distribution
+public class RemoteCallMetricsInterceptor implements ClientHttpRequestInterceptor {
+	
+	public static final String METRIC_NAME = "http.client.requests";
+	
+	// ids concatenated into the url would otherwise give one series per id
+	private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+	// the template with the uri it expanded to, only trusted for a request to that same uri: a call that fails
+	// between expand and intercept must not tag the next request of the thread with its template
+	private static final ThreadLocal<Map.Entry<URI, String>> URI_TEMPLATE = new ThreadLocal<>();
+	
+	private final MeterRegistry meterRegistry;
+	
+	public RemoteCallMetricsInterceptor(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+	
+	// RestTemplate expands the template on the calling thread right before it executes the request
+	public UriTemplateHandler uriTemplateHandler(final UriTemplateHandler delegate) {
+		return new UriTemplateHandler() {
+			
+			@Override
+			public URI expand(final String uriTemplate, final Map<String, ?> uriVariables) {
+				final URI uri = delegate.expand(uriTemplate, uriVariables);
+				URI_TEMPLATE.set(Map.entry(uri, uriTemplate));
+				return uri;
+			}
+			
+			@Override
+			public URI expand(final String uriTemplate, final Object... uriVariables) {
+				final URI uri = delegate.expand(uriTemplate, uriVariables);
+				URI_TEMPLATE.set(Map.entry(uri, uriTemplate));
+				return uri;
+			}
+			
+		};
+	}
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		
+		final Map.Entry<URI, String> expanded = URI_TEMPLATE.get();
+		URI_TEMPLATE.remove();
+		final String uriTemplate = expanded != null && expanded.getKey().equals(request.getURI()) ? expanded.getValue() : null;
+		final long start = System.nanoTime();
+		ClientHttpResponse response = null;
+		try {
+			response = execution.execute(request, body);
+			return response;
+		}
+		finally {
+			Timer.builder(METRIC_NAME)
+					.tags(Tags.of(
+							"method", request.getMethodValue(),
+							"uri", uri(uriTemplate != null ? uriTemplate : request.getURI().getRawPath()),
+							"clientName", String.valueOf(request.getURI().getHost()),
+							"status", status(response),
+							"outcome", outcome(response)))
+					.register(this.meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+	
+	// http://PRODUCT-SERVICE/product-service/api/products/5?x=1 -> /product-service/api/products/{id}
+	static String uri(final String uriTemplate) {
+		String path = uriTemplate;
+		final int scheme = path.indexOf("://");
+		if (scheme >= 0) {
+			final int pathStart = path.indexOf('/', scheme + 3);
+			path = pathStart >= 0 ? path.substring(pathStart) : "/";
+		}
+		final int query = path.indexOf('?');
+		if (query >= 0) {
+			path = path.substring(0, query);
+		}
+		return NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+	}
+	
+	private static String status(final ClientHttpResponse response) {
+		if (response == null) {
+			return "IO_ERROR";
+		}
+		try {
+			return Integer.toString(response.getRawStatusCode());
+		}
+		catch (final IOException e) {
+			return "IO_ERROR";
+		}
+	}
+	
+	private static String outcome(final ClientHttpResponse response) {
+		if (response == null) {
+			return Outcome.UNKNOWN.name();
+		}
+		try {
+			return Outcome.forStatus(response.getRawStatusCode()).name();
+		}
+		catch (final IOException e) {
+			return Outcome.UNKNOWN.name();
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,154 @@
+package com.selimhorri.app.config.client;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class SingleFlight {
+	
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	
+	public SingleFlight(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("remote.singleflight.inflight", this.inFlight, Map::size)
+				.description("Remote lookups currently in flight and open for coalescing")
+				.register(meterRegistry);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> execute(final String apiUrl, final Integer id, 
+			final Supplier<CompletableFuture<T>> call) {
+		
+		final String key = apiUrl + "/" + id;
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		final CompletableFuture<Object> existing = this.inFlight.putIfAbsent(key, future);
+		
+		// callers get a copy so a per-caller timeout cannot cancel the shared call
+		if (existing != null) {
+			this.counter(apiUrl, "coalesced").increment();
+			return (CompletableFuture<T>) existing.copy();
+		}
+		
+		this.counter(apiUrl, "executed").increment();
+		try {
+			call.get().whenComplete((result, e) -> this.complete(key, future, result, e));
+		}
+		// an Error included, or followers would wait on a future that never completes
+		catch (final Throwable e) {
+			this.complete(key, future, null, e);
+		}
+		return (CompletableFuture<T>) future.copy();
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> Map<Integer, T> getAll(final String apiUrl, final Set<Integer> ids, 
+			final Function<Set<Integer>, Map<Integer, T>> loader) {
+		
+		final Map<Integer, CompletableFuture<Object>> led = new HashMap<>();
+		final Map<Integer, CompletableFuture<Object>> followed = new HashMap<>();
+		
+		ids.forEach(id -> {
+			final CompletableFuture<Object> future = new CompletableFuture<>();
+			final CompletableFuture<Object> existing = this.inFlight.putIfAbsent(apiUrl + "/" + id, future);
+			if (existing == null) {
+				led.put(id, future);
+			} else {
+				followed.put(id, existing);
+			}
+		});
+		
+		final Map<Integer, T> dtos = new HashMap<>();
+		
+		// ids nobody else is fetching go out in one call; the rest wait on the call already running
+		if (!led.isEmpty()) {
+			this.counter(apiUrl, "executed").increment();
+			try {
+				final Map<Integer, T> loaded = loader.apply(led.keySet());
+				led.forEach((id, future) -> {
+					final T dto = loaded.get(id);
+					this.complete(apiUrl + "/" + id, future, dto, null);
+					if (dto != null) {
+						dtos.put(id, dto);
+					}
+				});
+			}
+			catch (final Throwable e) {
+				led.forEach((id, future) -> this.complete(apiUrl + "/" + id, future, null, e));
+				throw e;
+			}
+		}
+		
+		if (!followed.isEmpty()) {
+			this.counter(apiUrl, "coalesced").increment(followed.size());
+			followed.forEach((id, future) -> {
+				final T dto = (T) this.join(future);
+				if (dto != null) {
+					dtos.put(id, dto);
+				}
+			});
+		}
+		return dtos;
+	}
+	
+	private void complete(final String key, final CompletableFuture<Object> future, 
+			final Object result, final Throwable e) {
+		this.inFlight.remove(key, future);
+		if (e != null) {
+			future.completeExceptionally(e);
+		} else {
+			future.complete(result);
+		}
+	}
+	
+	private Object join(final CompletableFuture<Object> future) {
+		try {
+			return future.join();
+		}
+		catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+	
+	private Counter counter(final String apiUrl, final String outcome) {
+		final URI uri = URI.create(apiUrl);
+		return Counter.builder("remote.singleflight.calls")
+				.description("Remote lookups executed or coalesced onto an identical call in flight")
+				.tag("target", uri.getHost().toLowerCase())
+				.tag("resource", uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1))
+				.tag("outcome", outcome)
+				.register(this.meterRegistry);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,12 +1,22 @@
 package com.selimhorri.app.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
+	Slice<OrderItem> findAllBy(final Pageable pageable);
 	
+	// keyset continuation over the composite key, pageable sorted by orderId, productId
+	@Query("SELECT o FROM OrderItem o WHERE o.orderId > :orderId "
+			+ "OR (o.orderId = :orderId AND o.productId > :productId)")
+	Slice<OrderItem> findAllAfter(@Param("orderId") final Integer orderId, @Param("productId") final Integer productId, 
+			final Pageable pageable);
 	
 }
@@ -3,6 +3,8 @@ package com.selimhorri.app.resource;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.OrderItemService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +34,11 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemResource {
 	
 	private final OrderItemService orderItemService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
-		log.info("*** OrderItemDto List, controller; fetch all orderItems *");
+		log.debug("*** OrderItemDto List, controller; fetch all orderItems *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
 	}
 	
@@ -39,9 +46,9 @@ public class OrderItemResource {
 	public ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		log.info("*** OrderItemDto, resource; fetch orderItem by id *");
+		log.debug("*** OrderItemDto, resource; fetch orderItem by id *");
 		return ResponseEntity.ok(this.orderItemService.findById(
-				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId))));
+				new OrderItemId(Integer.parseInt(productId), Integer.parseInt(orderId))));
 	}
 	
 	@GetMapping("/find")
@@ -49,7 +56,7 @@ public class OrderItemResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemId orderItemId) {
-		log.info("*** OrderItemDto, resource; fetch orderItem by id *");
+		log.debug("*** OrderItemDto, resource; fetch orderItem by id *");
 		return ResponseEntity.ok(this.orderItemService.findById(orderItemId));
 	}
 	
@@ -58,7 +65,7 @@ public class OrderItemResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemDto orderItemDto) {
-		log.info("*** OrderItemDto, resource; save orderItem *");
+		log.debug("*** OrderItemDto, resource; save orderItem *");
 		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
 	}
 	
@@ -67,7 +74,7 @@ public class OrderItemResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemDto orderItemDto) {
-		log.info("*** OrderItemDto, resource; update orderItem *");
+		log.debug("*** OrderItemDto, resource; update orderItem *");
 		return ResponseEntity.ok(this.orderItemService.update(orderItemDto));
 	}
 	
@@ -75,8 +82,8 @@ public class OrderItemResource {
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		log.info("*** Boolean, resource; delete orderItem by id *");
-		this.orderItemService.deleteById(new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId)));
+		log.debug("*** Boolean, resource; delete orderItem by id *");
+		this.orderItemService.deleteById(new OrderItemId(Integer.parseInt(productId), Integer.parseInt(orderId)));
 		return ResponseEntity.ok(true);
 	}
 	
@@ -85,11 +92,24 @@ public class OrderItemResource {
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemId orderItemId) {
-		log.info("*** Boolean, resource; delete orderItem by id *");
+		log.debug("*** Boolean, resource; delete orderItem by id *");
 		this.orderItemService.deleteById(orderItemId);
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<OrderItemDto>> findAll(
+			@PageableDefault(size = 20, sort = "orderId") final Pageable pageable) {
+		log.debug("*** OrderItemDto Page, controller; fetch page of orderItems *");
+		return ResponseEntity.ok(DtoPageResponse.of(this.orderItemService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** OrderItemDto Stream, controller; stream all orderItems *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.orderItemService::streamAll);
+	}
+	
 	
 	
 }
@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.selimhorri.app.dto.OrderItemDto;
+
+public interface OrderItemEnrichmentService {
+	
+	CompletableFuture<OrderItemDto> enrichAsync(final OrderItemDto orderItemDto);
+	OrderItemDto enrich(final OrderItemDto orderItemDto);
+	List<OrderItemDto> enrichAll(final List<OrderItemDto> orderItemDtos);
+	
+}
@@ -1,6 +1,10 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
@@ -12,5 +16,7 @@ public interface OrderItemService {
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
+	Page<OrderItemDto> findAll(final Pageable pageable);
+	void streamAll(final Consumer<OrderItemDto> consumer);
 	
 }
@@ -0,0 +1,118 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.async.EnrichmentProperties;
+import com.selimhorri.app.config.client.RemoteDtoCache;
+import com.selimhorri.app.config.client.SingleFlight;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.service.OrderItemEnrichmentService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class OrderItemEnrichmentServiceImpl implements OrderItemEnrichmentService {
+	
+	private final RemoteDtoCache remoteDtoCache;
+	private final SingleFlight singleFlight;
+	private final Executor enrichmentExecutor;
+	private final EnrichmentProperties enrichmentProperties;
+	
+	public OrderItemEnrichmentServiceImpl(final RemoteDtoCache remoteDtoCache, 
+			final SingleFlight singleFlight, 
+			@Qualifier("enrichmentExecutor") final Executor enrichmentExecutor, 
+			final EnrichmentProperties enrichmentProperties) {
+		this.remoteDtoCache = remoteDtoCache;
+		this.singleFlight = singleFlight;
+		this.enrichmentExecutor = enrichmentExecutor;
+		this.enrichmentProperties = enrichmentProperties;
+	}
+	
+	@Override
+	public CompletableFuture<OrderItemDto> enrichAsync(final OrderItemDto orderItemDto) {
+		final CompletableFuture<ProductDto> productDto = this.fetch(AppConstant.DiscoveredDomainsApi
+				.PRODUCT_SERVICE_API_URL, orderItemDto.getProductDto().getProductId(), 
+				ProductDto.class, orderItemDto.getProductDto());
+		final CompletableFuture<OrderDto> orderDto = this.fetch(AppConstant.DiscoveredDomainsApi
+				.ORDER_SERVICE_API_URL, orderItemDto.getOrderDto().getOrderId(), 
+				OrderDto.class, orderItemDto.getOrderDto());
+		return productDto.thenCombine(orderDto, (p, o) -> {
+			orderItemDto.setProductDto(p);
+			orderItemDto.setOrderDto(o);
+			return orderItemDto;
+		});
+	}
+	
+	@Override
+	public OrderItemDto enrich(final OrderItemDto orderItemDto) {
+		return this.enrichAsync(orderItemDto).join();
+	}
+	
+	@Override
+	public List<OrderItemDto> enrichAll(final List<OrderItemDto> orderItemDtos) {
+		
+		// bounds the number of items in flight so a large listing cannot monopolise the pool
+		final var permits = new Semaphore(this.enrichmentProperties.getMaxConcurrentItems());
+		final List<CompletableFuture<OrderItemDto>> futures = new ArrayList<>(orderItemDtos.size());
+		
+		for (final var orderItemDto : orderItemDtos) {
+			permits.acquireUninterruptibly();
+			futures.add(this.enrichAsync(orderItemDto)
+					.whenComplete((o, e) -> permits.release()));
+		}
+		
+		return futures.stream()
+				.map(CompletableFuture::join)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	// a lookup is bounded by app.http-client.read-timeout: a timeout on the future would return early
+	// but leave the pool thread blocked on the socket
+	private <T> CompletableFuture<T> fetch(final String apiUrl, final Integer id, final Class<T> type, final T fallback) {
+		return this.singleFlight
+				.execute(apiUrl, id, () -> this.lookup(apiUrl, id, type))
+				.handle((result, e) -> {
+					if (e != null || result == null) {
+						log.warn("*** {}, enrichment; lookup to {} failed, keeping partial result: {} *", 
+								type.getSimpleName(), apiUrl + "/" + id, e == null ? "empty body" : e.getMessage());
+						return fallback;
+					}
+					return result;
+				});
+	}
+	
+	private <T> CompletableFuture<T> lookup(final String apiUrl, final Integer id, final Class<T> type) {
+		try {
+			return CompletableFuture.supplyAsync(() -> this.remoteDtoCache.get(apiUrl, id, type), this.enrichmentExecutor);
+		}
+		catch (final RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,21 +1,27 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
-import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
-import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.OrderItemEnrichmentService;
 import com.selimhorri.app.service.OrderItemService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,61 +33,77 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
 	
+	private static final int STREAM_CHUNK_SIZE = 500;
+	
 	private final OrderItemRepository orderItemRepository;
-	private final RestTemplate restTemplate;
+	private final OrderItemEnrichmentService orderItemEnrichmentService;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
-		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		log.debug("*** OrderItemDto List, service; fetch all orderItems *");
+		return this.orderItemEnrichmentService.enrichAll(this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
 					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
 	public OrderItemDto findById(final OrderItemId orderItemId) {
-		log.info("*** OrderItemDto, service; fetch orderItem by id *");
-		return this.orderItemRepository.findById(null)
+		log.debug("*** OrderItemDto, service; fetch orderItem by id *");
+		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
-				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-					return o;
-				})
+				.map(this.orderItemEnrichmentService::enrich)
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
-		log.info("*** OrderItemDto, service; save orderItem *");
+		log.debug("*** OrderItemDto, service; save orderItem *");
 		return OrderItemMappingHelper.map(this.orderItemRepository
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
-		log.info("*** OrderItemDto, service; update orderItem *");
+		log.debug("*** OrderItemDto, service; update orderItem *");
 		return OrderItemMappingHelper.map(this.orderItemRepository
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 	
 	@Override
 	public void deleteById(final OrderItemId orderItemId) {
-		log.info("*** Void, service; delete orderItem by id *");
+		log.debug("*** Void, service; delete orderItem by id *");
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	@Override
+	public Page<OrderItemDto> findAll(final Pageable pageable) {
+		log.debug("*** OrderItemDto Page, service; fetch page of orderItems *");
+		final var page = this.orderItemRepository.findAll(pageable)
+				.map(OrderItemMappingHelper::map);
+		return new PageImpl<>(this.orderItemEnrichmentService.enrichAll(page.getContent()), 
+				page.getPageable(), page.getTotalElements());
+	}
+	
+	// keyset chunks, each read in its own short transaction, so the user and product lookups
+	// and the writes to the client never run while a database connection is held
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public void streamAll(final Consumer<OrderItemDto> consumer) {
+		log.debug("*** OrderItemDto Stream, service; stream all orderItems *");
+		final Pageable chunk = PageRequest.of(0, STREAM_CHUNK_SIZE, Sort.by("orderId", "productId"));
+		Slice<OrderItem> orderItems = this.orderItemRepository.findAllBy(chunk);
+		this.orderItemEnrichmentService.enrichAll(orderItems.map(OrderItemMappingHelper::map).getContent())
+				.forEach(consumer);
+		while (orderItems.hasNext()) {
+			final OrderItem last = orderItems.getContent().get(orderItems.getNumberOfElements() - 1);
+			orderItems = this.orderItemRepository.findAllAfter(last.getOrderId(), last.getProductId(), chunk);
+			this.orderItemEnrichmentService.enrichAll(orderItems.map(OrderItemMappingHelper::map).getContent())
+					.forEach(consumer);
+		}
+	}
+	
 	
 	
 }
@@ -0,0 +1,64 @@
+package com.selimhorri.app.resource;
+
+import com.selimhorri.app.domain.id.OrderItemId;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.service.OrderItemService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas Unitarias para OrderItemResource (Controller)
+ * Validación de la clave compuesta (pedido, producto) de las rutas de envío
+ */
+@WebMvcTest(OrderItemResource.class)
+@DisplayName("Order Item Resource Unit Tests")
+class OrderItemResourceUnitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderItemService orderItemService;
+
+    @Test
+    @DisplayName("GET /api/shippings/{orderId}/{productId} - Should look up the line of that order and product")
+    void testFindById_ShouldMapPathToOrderItemId() throws Exception {
+        // Given
+        final OrderItemId orderItemId = new OrderItemId(161, 88);
+        when(orderItemService.findById(orderItemId)).thenReturn(OrderItemDto.builder()
+                .productId(161)
+                .orderId(88)
+                .orderedQuantity(2)
+                .build());
+
+        // When/Then
+        mockMvc.perform(get("/api/shippings/88/161"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId", is(88)))
+                .andExpect(jsonPath("$.productId", is(161)));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/shippings/{orderId}/{productId} - Should delete the line of that order and product")
+    void testDeleteById_ShouldMapPathToOrderItemId() throws Exception {
+        // When
+        mockMvc.perform(delete("/api/shippings/88/161"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(orderItemService).deleteById(new OrderItemId(161, 88));
+    }
+
+}
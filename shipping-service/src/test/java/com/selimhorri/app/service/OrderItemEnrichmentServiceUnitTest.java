@@ -0,0 +1,227 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.config.async.AsyncConfig;
+import com.selimhorri.app.config.async.EnrichmentProperties;
+import com.selimhorri.app.config.client.RemoteCacheProperties;
+import com.selimhorri.app.config.client.RemoteDtoCache;
+import com.selimhorri.app.config.client.SingleFlight;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.app.service.impl.OrderItemEnrichmentServiceImpl;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas Unitarias para OrderItemEnrichmentService
+ * Validación de las consultas concurrentes a product-service y order-service
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Item Enrichment Service Unit Tests")
+class OrderItemEnrichmentServiceUnitTest {
+
+    private static final long LOOKUP_MILLIS = 300;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private EnrichmentProperties enrichmentProperties;
+    private OrderItemEnrichmentServiceImpl enrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        enrichmentProperties = new EnrichmentProperties();
+        enrichmentProperties.setMaxConcurrentItems(2);
+        meterRegistry = new SimpleMeterRegistry();
+        enrichmentService = new OrderItemEnrichmentServiceImpl(
+                new RemoteDtoCache(restTemplate, new RemoteCacheProperties(), meterRegistry,
+                        circuitBreakerFactory()),
+                new SingleFlight(meterRegistry),
+                executor, enrichmentProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should look up product and order concurrently")
+    void testEnrich_ShouldTakeTheSlowerCallNotTheSum() {
+        // Given - cada consulta remota tarda LOOKUP_MILLIS
+        when(restTemplate.getForObject(contains("/api/products/"), eq(ProductDto.class)))
+                .thenAnswer(i -> sleepAndReturn(ProductDto.builder().productId(1).productTitle("title").build()));
+        when(restTemplate.getForObject(contains("/api/orders/"), eq(OrderDto.class)))
+                .thenAnswer(i -> sleepAndReturn(OrderDto.builder().orderId(1).orderDesc("desc").build()));
+
+        // When
+        final long start = System.nanoTime();
+        final OrderItemDto result = enrichmentService.enrich(orderItem(1, 1));
+        final long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertThat(result.getProductDto().getProductTitle()).isEqualTo("title");
+        assertThat(result.getOrderDto().getOrderDesc()).isEqualTo("desc");
+        assertThat(elapsedMillis).isLessThan(2 * LOOKUP_MILLIS);
+    }
+
+    @Test
+    @DisplayName("Should keep the partial result when one lookup fails")
+    void testEnrich_WhenOrderLookupFails_ShouldKeepProduct() {
+        // Given
+        when(restTemplate.getForObject(contains("/api/products/"), eq(ProductDto.class)))
+                .thenReturn(ProductDto.builder().productId(1).productTitle("title").build());
+        when(restTemplate.getForObject(contains("/api/orders/"), eq(OrderDto.class)))
+                .thenThrow(new ResourceAccessException("order-service down"));
+
+        // When
+        final OrderItemDto result = enrichmentService.enrich(orderItem(1, 7));
+
+        // Then - el pedido conserva solo su id
+        assertThat(result.getProductDto().getProductTitle()).isEqualTo("title");
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(7);
+        assertThat(result.getOrderDto().getOrderDesc()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bound the number of items enriched in parallel")
+    void testEnrichAll_ShouldRespectMaxConcurrentItems() {
+        // Given
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenAnswer(i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                return sleepAndReturn(ProductDto.builder().productId(1).build());
+            }
+            finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
+                .thenReturn(OrderDto.builder().orderId(1).build());
+        final List<OrderItemDto> orderItemDtos = IntStream.rangeClosed(1, 6)
+                .mapToObj(i -> orderItem(i, i))
+                .collect(Collectors.toList());
+
+        // When
+        final List<OrderItemDto> result = enrichmentService.enrichAll(orderItemDtos);
+
+        // Then
+        assertThat(result).hasSize(6);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(enrichmentProperties.getMaxConcurrentItems());
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent lookups of the same product into one remote call")
+    void testEnrichAll_ShouldCoalesceIdenticalLookups() {
+        // Given - todos los items apuntan al mismo producto
+        enrichmentProperties.setMaxConcurrentItems(4);
+        when(restTemplate.getForObject(contains("/api/products/"), eq(ProductDto.class)))
+                .thenAnswer(i -> sleepAndReturn(ProductDto.builder().productId(1).productTitle("title").build()));
+        when(restTemplate.getForObject(contains("/api/orders/"), eq(OrderDto.class)))
+                .thenAnswer(i -> OrderDto.builder().orderId(1).build());
+        final List<OrderItemDto> orderItemDtos = IntStream.rangeClosed(1, 4)
+                .mapToObj(i -> orderItem(1, i))
+                .collect(Collectors.toList());
+
+        // When
+        final List<OrderItemDto> result = enrichmentService.enrichAll(orderItemDtos);
+
+        // Then
+        assertThat(result).allSatisfy(o -> assertThat(o.getProductDto().getProductTitle()).isEqualTo("title"));
+        verify(restTemplate, times(1)).getForObject(contains("/api/products/"), eq(ProductDto.class));
+        assertThat(meterRegistry.get("remote.singleflight.calls")
+                .tag("target", "product-service")
+                .tag("outcome", "coalesced")
+                .counter()
+                .count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should degrade instead of running lookups on the request thread when the pool is saturated")
+    void testEnrich_WhenPoolIsSaturated_ShouldKeepIds() {
+        // Given - un solo hilo y sin cola: la consulta del pedido se rechaza
+        enrichmentProperties.setPoolSize(1);
+        enrichmentProperties.setQueueCapacity(0);
+        final ThreadPoolTaskExecutor saturatedExecutor = new AsyncConfig().enrichmentExecutor(enrichmentProperties);
+        saturatedExecutor.initialize();
+        final OrderItemEnrichmentServiceImpl saturatedService = new OrderItemEnrichmentServiceImpl(
+                new RemoteDtoCache(restTemplate, new RemoteCacheProperties(), meterRegistry,
+                        circuitBreakerFactory()),
+                new SingleFlight(meterRegistry),
+                saturatedExecutor, enrichmentProperties);
+        when(restTemplate.getForObject(contains("/api/products/"), eq(ProductDto.class)))
+                .thenAnswer(i -> sleepAndReturn(ProductDto.builder().productId(1).productTitle("title").build()));
+
+        // When
+        final OrderItemDto result;
+        try {
+            result = saturatedService.enrich(orderItem(1, 7));
+        }
+        finally {
+            saturatedExecutor.shutdown();
+        }
+
+        // Then - el pedido conserva solo su id y nunca se consultó desde el hilo de la petición
+        assertThat(result.getProductDto().getProductTitle()).isEqualTo("title");
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(7);
+        assertThat(result.getOrderDto().getOrderDesc()).isNull();
+        verify(restTemplate, never()).getForObject(contains("/api/orders/"), eq(OrderDto.class));
+    }
+
+    private static Resilience4JCircuitBreakerFactory circuitBreakerFactory() {
+        return new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(),
+                new Resilience4jBulkheadProvider(ThreadPoolBulkheadRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()));
+    }
+
+    private static OrderItemDto orderItem(final int productId, final int orderId) {
+        return OrderItemMappingHelper.map(OrderItem.builder()
+                .productId(productId)
+                .orderId(orderId)
+                .orderedQuantity(1)
+                .build());
+    }
+
+    private static <T> T sleepAndReturn(final T value) throws InterruptedException {
+        Thread.sleep(LOOKUP_MILLIS);
+        return value;
+    }
+}
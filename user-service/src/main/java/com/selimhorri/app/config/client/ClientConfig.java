@@ -1,17 +1,79 @@
 package com.selimhorri.app.config.client;
 
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class ClientConfig {
 	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final CloseableHttpClient httpClient, final MeterRegistry meterRegistry) {
+		final RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+		final RemoteCallMetricsInterceptor remoteCallMetricsInterceptor = new RemoteCallMetricsInterceptor(meterRegistry);
+		restTemplate.setUriTemplateHandler(remoteCallMetricsInterceptor.uriTemplateHandler(restTemplate.getUriTemplateHandler()));
+		// the load balancer interceptor is appended after this one once the context has started
+		restTemplate.getInterceptors().add(remoteCallMetricsInterceptor);
+		return restTemplate;
+	}
+	
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager poolingHttpClientConnectionManager(final HttpClientProperties httpClientProperties) {
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				httpClientProperties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(httpClientProperties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(httpClientProperties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) httpClientProperties.getValidateAfterInactivity().toMillis());
+		httpClientProperties.getRoutes().forEach((hostAndPort, maxConnections) -> connectionManager
+				.setMaxPerRoute(new HttpRoute(HttpHost.create(hostAndPort)), maxConnections));
+		return connectionManager;
+	}
+	
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClient(final PoolingHttpClientConnectionManager poolingHttpClientConnectionManager, 
+			final HttpClientProperties httpClientProperties) {
+		
+		final long keepAliveMillis = httpClientProperties.getKeepAlive().toMillis();
+		final ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+			final long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return serverKeepAliveMillis > 0 ? Math.min(serverKeepAliveMillis, keepAliveMillis) : keepAliveMillis;
+		};
+		
+		return HttpClients.custom()
+				.setConnectionManager(poolingHttpClientConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) httpClientProperties.getConnectTimeout().toMillis())
+						.setConnectionRequestTimeout((int) httpClientProperties.getConnectionRequestTimeout().toMillis())
+						.setSocketTimeout((int) httpClientProperties.getReadTimeout().toMillis())
+						.build())
+				.setKeepAliveStrategy(keepAliveStrategy)
+				.evictExpiredConnections()
+				.evictIdleConnections(httpClientProperties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	@Bean
+	public MeterBinder httpClientPoolMetrics(final PoolingHttpClientConnectionManager poolingHttpClientConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(poolingHttpClientConnectionManager, "restTemplate");
 	}
 	
 	
@@ -1,13 +1,26 @@
 package com.selimhorri.app.repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.Credential;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 	
 	Optional<Credential> findByUsername(final String username);
+	Slice<Credential> findByCredentialIdGreaterThan(final Integer credentialId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	Stream<Credential> streamAllBy();
 	
 }
@@ -1,11 +1,25 @@
 package com.selimhorri.app.repository;
 
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.VerificationToken;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Integer> {
 	
+	Slice<VerificationToken> findByVerificationTokenIdGreaterThan(final Integer verificationTokenId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	Stream<VerificationToken> streamAllBy();
 	
 	
 }
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.AddressService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 public class AddressResource {
 	
 	private final AddressService addressService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<AddressDto>> findAll() {
-		log.info("*** AddressDto List, controller; fetch all addresss *");
+		log.debug("*** AddressDto List, controller; fetch all addresss *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.findAll()));
 	}
 	
@@ -40,7 +48,7 @@ public class AddressResource {
 			@PathVariable("addressId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String addressId) {
-		log.info("*** AddressDto, resource; fetch address by id *");
+		log.debug("*** AddressDto, resource; fetch address by id *");
 		return ResponseEntity.ok(this.addressService.findById(Integer.parseInt(addressId.strip())));
 	}
 	
@@ -49,7 +57,7 @@ public class AddressResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final AddressDto addressDto) {
-		log.info("*** AddressDto, resource; save address *");
+		log.debug("*** AddressDto, resource; save address *");
 		return ResponseEntity.ok(this.addressService.save(addressDto));
 	}
 	
@@ -58,7 +66,7 @@ public class AddressResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final AddressDto addressDto) {
-		log.info("*** AddressDto, resource; update address *");
+		log.debug("*** AddressDto, resource; update address *");
 		return ResponseEntity.ok(this.addressService.update(addressDto));
 	}
 	
@@ -69,17 +77,34 @@ public class AddressResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final AddressDto addressDto) {
-		log.info("*** AddressDto, resource; update address with addressId *");
+		log.debug("*** AddressDto, resource; update address with addressId *");
 		return ResponseEntity.ok(this.addressService.update(Integer.parseInt(addressId.strip()), addressDto));
 	}
 	
 	@DeleteMapping("/{addressId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("addressId") @NotBlank(message = "Input must not blank") @Valid final String addressId) {
-		log.info("*** Boolean, resource; delete address by id *");
+		log.debug("*** Boolean, resource; delete address by id *");
 		this.addressService.deleteById(Integer.parseInt(addressId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<AddressDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer addressId, 
+			@PageableDefault(size = 20, sort = "addressId") final Pageable pageable) {
+		log.debug("*** AddressDto Page, controller; fetch page of addresses *");
+		if (addressId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.addressService.findAllAfter(addressId, pageable), AddressDto::getAddressId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.addressService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** AddressDto Stream, controller; stream all addresses *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.addressService::streamAll);
+	}
+	
 	
 	
 }
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.CredentialService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 public class CredentialResource {
 	
 	private final CredentialService credentialService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CredentialDto>> findAll() {
-		log.info("*** CredentialDto List, controller; fetch all credentials *");
+		log.debug("*** CredentialDto List, controller; fetch all credentials *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.credentialService.findAll()));
 	}
 	
@@ -40,7 +48,7 @@ public class CredentialResource {
 			@PathVariable("credentialId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String credentialId) {
-		log.info("*** CredentialDto, resource; fetch credential by id *");
+		log.debug("*** CredentialDto, resource; fetch credential by id *");
 		return ResponseEntity.ok(this.credentialService.findById(Integer.parseInt(credentialId.strip())));
 	}
 	
@@ -49,7 +57,7 @@ public class CredentialResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final CredentialDto credentialDto) {
-		log.info("*** CredentialDto, resource; save credential *");
+		log.debug("*** CredentialDto, resource; save credential *");
 		return ResponseEntity.ok(this.credentialService.save(credentialDto));
 	}
 	
@@ -58,7 +66,7 @@ public class CredentialResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final CredentialDto credentialDto) {
-		log.info("*** CredentialDto, resource; update credential *");
+		log.debug("*** CredentialDto, resource; update credential *");
 		return ResponseEntity.ok(this.credentialService.update(credentialDto));
 	}
 	
@@ -69,7 +77,7 @@ public class CredentialResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final CredentialDto credentialDto) {
-		log.info("*** CredentialDto, resource; update credential with credentialId *");
+		log.debug("*** CredentialDto, resource; update credential with credentialId *");
 		return ResponseEntity.ok(this.credentialService.update(Integer.parseInt(credentialId.strip()), credentialDto));
 	}
 	
@@ -78,7 +86,7 @@ public class CredentialResource {
 			@PathVariable("credentialId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String credentialId) {
-		log.info("*** Boolean, resource; delete credential by id *");
+		log.debug("*** Boolean, resource; delete credential by id *");
 		this.credentialService.deleteById(Integer.parseInt(credentialId));
 		return ResponseEntity.ok(true);
 	}
@@ -88,10 +96,27 @@ public class CredentialResource {
 			@PathVariable("username") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String username) {
-		log.info("*** CredentialDto, resource; update credential with credentialId *");
+		log.debug("*** CredentialDto, resource; update credential with credentialId *");
 		return ResponseEntity.ok(this.credentialService.findByUsername(username));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<CredentialDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer credentialId, 
+			@PageableDefault(size = 20, sort = "credentialId") final Pageable pageable) {
+		log.debug("*** CredentialDto Page, controller; fetch page of credentials *");
+		if (credentialId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.credentialService.findAllAfter(credentialId, pageable), CredentialDto::getCredentialId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.credentialService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** CredentialDto Stream, controller; stream all credentials *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.credentialService::streamAll);
+	}
+	
 	
 	
 }
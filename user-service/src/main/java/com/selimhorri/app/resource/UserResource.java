@@ -1,9 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +16,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +37,11 @@ import lombok.extern.slf4j.Slf4j;
 public class UserResource {
 	
 	private final UserService userService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll() {
-		log.info("*** UserDto List, controller; fetch all users *");
+		log.debug("*** UserDto List, controller; fetch all users *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
 	}
 	
@@ -40,7 +50,7 @@ public class UserResource {
 			@PathVariable("userId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String userId) {
-		log.info("*** UserDto, resource; fetch user by id *");
+		log.debug("*** UserDto, resource; fetch user by id *");
 		return ResponseEntity.ok(this.userService.findById(Integer.parseInt(userId.strip())));
 	}
 	
@@ -49,7 +59,7 @@ public class UserResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final UserDto userDto) {
-		log.info("*** UserDto, resource; save user *");
+		log.debug("*** UserDto, resource; save user *");
 		return ResponseEntity.ok(this.userService.save(userDto));
 	}
 	
@@ -58,7 +68,7 @@ public class UserResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final UserDto userDto) {
-		log.info("*** UserDto, resource; update user *");
+		log.debug("*** UserDto, resource; update user *");
 		return ResponseEntity.ok(this.userService.update(userDto));
 	}
 	
@@ -69,13 +79,13 @@ public class UserResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final UserDto userDto) {
-		log.info("*** UserDto, resource; update user with userId *");
+		log.debug("*** UserDto, resource; update user with userId *");
 		return ResponseEntity.ok(this.userService.update(Integer.parseInt(userId.strip()), userDto));
 	}
 	
 	@DeleteMapping("/{userId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") @NotBlank(message = "Input must not blank") @Valid final String userId) {
-		log.info("*** Boolean, resource; delete user by id *");
+		log.debug("*** Boolean, resource; delete user by id *");
 		this.userService.deleteById(Integer.parseInt(userId));
 		return ResponseEntity.ok(true);
 	}
@@ -88,6 +98,32 @@ public class UserResource {
 		return ResponseEntity.ok(this.userService.findByUsername(username));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") 
+			@Valid final Set<Integer> userIds) {
+		log.debug("*** UserDto List, resource; fetch users by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAllByIds(userIds)));
+	}
+	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<UserDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer userId, 
+			@PageableDefault(size = 20, sort = "userId") final Pageable pageable) {
+		log.debug("*** UserDto Page, controller; fetch page of users *");
+		if (userId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.userService.findAllAfter(userId, pageable), UserDto::getUserId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.userService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** UserDto Stream, controller; stream all users *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.userService::streamAll);
+	}
+	
 	
 	
 }
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.page.DtoPageResponse;
+import com.selimhorri.app.helper.StreamingResponseHelper;
 import com.selimhorri.app.service.VerificationTokenService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,10 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 public class VerificationTokenResource {
 	
 	private final VerificationTokenService verificationTokenService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<VerificationTokenDto>> findAll() {
-		log.info("*** VerificationTokenDto List, controller; fetch all verificationTokens *");
+		log.debug("*** VerificationTokenDto List, controller; fetch all verificationTokens *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.verificationTokenService.findAll()));
 	}
 	
@@ -40,7 +48,7 @@ public class VerificationTokenResource {
 			@PathVariable("verificationTokenId") 
 			@NotBlank(message = "Input must not blank") 
 			@Valid final String verificationTokenId) {
-		log.info("*** VerificationTokenDto, resource; fetch verificationToken by id *");
+		log.debug("*** VerificationTokenDto, resource; fetch verificationToken by id *");
 		return ResponseEntity.ok(this.verificationTokenService.findById(Integer.parseInt(verificationTokenId.strip())));
 	}
 	
@@ -49,7 +57,7 @@ public class VerificationTokenResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final VerificationTokenDto verificationTokenDto) {
-		log.info("*** VerificationTokenDto, resource; save verificationToken *");
+		log.debug("*** VerificationTokenDto, resource; save verificationToken *");
 		return ResponseEntity.ok(this.verificationTokenService.save(verificationTokenDto));
 	}
 	
@@ -58,7 +66,7 @@ public class VerificationTokenResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final VerificationTokenDto verificationTokenDto) {
-		log.info("*** VerificationTokenDto, resource; update verificationToken *");
+		log.debug("*** VerificationTokenDto, resource; update verificationToken *");
 		return ResponseEntity.ok(this.verificationTokenService.update(verificationTokenDto));
 	}
 	
@@ -69,7 +77,7 @@ public class VerificationTokenResource {
 			@RequestBody 
 			@NotNull(message = "Input must not NULL") 
 			@Valid final VerificationTokenDto verificationTokenDto) {
-		log.info("*** VerificationTokenDto, resource; update verificationToken with verificationTokenId *");
+		log.debug("*** VerificationTokenDto, resource; update verificationToken with verificationTokenId *");
 		return ResponseEntity.ok(this.verificationTokenService.update(Integer.parseInt(verificationTokenId.strip()), verificationTokenDto));
 	}
 	
@@ -77,11 +85,28 @@ public class VerificationTokenResource {
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("verificationTokenId") 
 			@NotBlank(message = "Input must not blank") final String verificationTokenId) {
-		log.info("*** Boolean, resource; delete verificationToken by id *");
+		log.debug("*** Boolean, resource; delete verificationToken by id *");
 		this.verificationTokenService.deleteById(Integer.parseInt(verificationTokenId));
 		return ResponseEntity.ok(true);
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoPageResponse<VerificationTokenDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer verificationTokenId, 
+			@PageableDefault(size = 20, sort = "verificationTokenId") final Pageable pageable) {
+		log.debug("*** VerificationTokenDto Page, controller; fetch page of verificationTokens *");
+		if (verificationTokenId != null) {
+			return ResponseEntity.ok(DtoPageResponse.of(this.verificationTokenService.findAllAfter(verificationTokenId, pageable), VerificationTokenDto::getVerificationTokenId));
+		}
+		return ResponseEntity.ok(DtoPageResponse.of(this.verificationTokenService.findAll(pageable)));
+	}
+	
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.debug("*** VerificationTokenDto Stream, controller; stream all verificationTokens *");
+		return StreamingResponseHelper.ndjson(this.objectMapper, this.verificationTokenService::streamAll);
+	}
+	
 	
 	
 }
@@ -1,6 +1,11 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.AddressDto;
 
@@ -12,5 +17,8 @@ public interface AddressService {
 	AddressDto update(final AddressDto addressDto);
 	AddressDto update(final Integer addressId, final AddressDto addressDto);
 	void deleteById(final Integer addressId);
+	Page<AddressDto> findAll(final Pageable pageable);
+	Slice<AddressDto> findAllAfter(final Integer addressId, final Pageable pageable);
+	void streamAll(final Consumer<AddressDto> consumer);
 	
 }
@@ -1,6 +1,11 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.CredentialDto;
 
@@ -13,6 +18,9 @@ public interface CredentialService {
 	CredentialDto update(final Integer credentialId, final CredentialDto credentialDto);
 	void deleteById(final Integer credentialId);
 	CredentialDto findByUsername(final String username);
+	Page<CredentialDto> findAll(final Pageable pageable);
+	Slice<CredentialDto> findAllAfter(final Integer credentialId, final Pageable pageable);
+	void streamAll(final Consumer<CredentialDto> consumer);
 	
 }
 
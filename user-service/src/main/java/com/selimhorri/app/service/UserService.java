@@ -1,6 +1,12 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.UserDto;
 
@@ -13,6 +19,10 @@ public interface UserService {
 	UserDto update(final Integer userId, final UserDto userDto);
 	void deleteById(final Integer userId);
 	UserDto findByUsername(final String username);
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
+	Page<UserDto> findAll(final Pageable pageable);
+	Slice<UserDto> findAllAfter(final Integer userId, final Pageable pageable);
+	void streamAll(final Consumer<UserDto> consumer);
 	
 }
 
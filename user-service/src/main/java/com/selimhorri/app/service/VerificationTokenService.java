@@ -1,6 +1,11 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.VerificationTokenDto;
 
@@ -12,6 +17,9 @@ public interface VerificationTokenService {
 	VerificationTokenDto update(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto);
 	void deleteById(final Integer verificationTokenId);
+	Page<VerificationTokenDto> findAll(final Pageable pageable);
+	Slice<VerificationTokenDto> findAllAfter(final Integer verificationTokenId, final Pageable pageable);
+	void streamAll(final Consumer<VerificationTokenDto> consumer);
 	
 }
 
@@ -1,12 +1,21 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.Address;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.helper.AddressMappingHelper;
@@ -23,10 +32,11 @@ import lombok.extern.slf4j.Slf4j;
 public class AddressServiceImpl implements AddressService {
 	
 	private final AddressRepository addressRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<AddressDto> findAll() {
-		log.info("*** AddressDto List, service; fetch all addresss *");
+		log.debug("*** AddressDto List, service; fetch all addresss *");
 		return this.addressRepository.findAll()
 				.stream()
 					.map(AddressMappingHelper::map)
@@ -36,7 +46,7 @@ public class AddressServiceImpl implements AddressService {
 	
 	@Override
 	public AddressDto findById(final Integer addressId) {
-		log.info("*** AddressDto, service; fetch address by id *");
+		log.debug("*** AddressDto, service; fetch address by id *");
 		return this.addressRepository.findById(addressId)
 				.map(AddressMappingHelper::map)
 				.orElseThrow(() -> new AddressNotFoundException(String.format("#### Address with id: %d not found! ####", addressId)));
@@ -44,29 +54,55 @@ public class AddressServiceImpl implements AddressService {
 	
 	@Override
 	public AddressDto save(final AddressDto addressDto) {
-		log.info("*** AddressDto, service; save address *");
+		log.debug("*** AddressDto, service; save address *");
 		return AddressMappingHelper.map(this.addressRepository.save(AddressMappingHelper.map(addressDto)));
 	}
 	
 	@Override
 	public AddressDto update(final AddressDto addressDto) {
-		log.info("*** AddressDto, service; update address *");
+		log.debug("*** AddressDto, service; update address *");
 		return AddressMappingHelper.map(this.addressRepository.save(AddressMappingHelper.map(addressDto)));
 	}
 	
 	@Override
 	public AddressDto update(final Integer addressId, final AddressDto addressDto) {
-		log.info("*** AddressDto, service; update address with addressId *");
+		log.debug("*** AddressDto, service; update address with addressId *");
 		return AddressMappingHelper.map(this.addressRepository.save(
 				AddressMappingHelper.map(this.findById(addressId))));
 	}
 	
 	@Override
 	public void deleteById(final Integer addressId) {
-		log.info("*** Void, service; delete address by id *");
+		log.debug("*** Void, service; delete address by id *");
 		this.addressRepository.deleteById(addressId);
 	}
 	
+	@Override
+	public Page<AddressDto> findAll(final Pageable pageable) {
+		log.debug("*** AddressDto Page, service; fetch page of addresses *");
+		return this.addressRepository.findAll(pageable)
+				.map(AddressMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<AddressDto> findAllAfter(final Integer addressId, final Pageable pageable) {
+		log.debug("*** AddressDto Slice, service; fetch addresses after id *");
+		return this.addressRepository.findByAddressIdGreaterThan(addressId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("addressId")))
+				.map(AddressMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<AddressDto> consumer) {
+		log.debug("*** AddressDto Stream, service; stream all addresses *");
+		try (final Stream<Address> addresses = this.addressRepository.streamAllBy()) {
+			addresses.forEach(a -> {
+				consumer.accept(AddressMappingHelper.map(a));
+				this.entityManager.detach(a);
+			});
+		}
+	}
+	
 	
 	
 }
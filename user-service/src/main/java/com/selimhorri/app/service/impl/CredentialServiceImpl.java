@@ -1,12 +1,21 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
@@ -24,10 +33,11 @@ import lombok.extern.slf4j.Slf4j;
 public class CredentialServiceImpl implements CredentialService {
 	
 	private final CredentialRepository credentialRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<CredentialDto> findAll() {
-		log.info("*** CredentialDto List, service; fetch all credentials *");
+		log.debug("*** CredentialDto List, service; fetch all credentials *");
 		return this.credentialRepository.findAll()
 				.stream()
 					.map(CredentialMappingHelper::map)
@@ -37,7 +47,7 @@ public class CredentialServiceImpl implements CredentialService {
 	
 	@Override
 	public CredentialDto findById(final Integer credentialId) {
-		log.info("*** CredentialDto, service; fetch credential by ids *");
+		log.debug("*** CredentialDto, service; fetch credential by ids *");
 		return this.credentialRepository.findById(credentialId)
 				.map(CredentialMappingHelper::map)
 				.orElseThrow(() -> new CredentialNotFoundException(String.format("#### Credential with id: %d not found! ####", credentialId)));
@@ -45,26 +55,26 @@ public class CredentialServiceImpl implements CredentialService {
 	
 	@Override
 	public CredentialDto save(final CredentialDto credentialDto) {
-		log.info("*** CredentialDto, service; save credential *");
+		log.debug("*** CredentialDto, service; save credential *");
 		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
 	}
 	
 	@Override
 	public CredentialDto update(final CredentialDto credentialDto) {
-		log.info("*** CredentialDto, service; update credential *");
+		log.debug("*** CredentialDto, service; update credential *");
 		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
 	}
 	
 	@Override
 	public CredentialDto update(final Integer credentialId, final CredentialDto credentialDto) {
-		log.info("*** CredentialDto, service; update credential with credentialId *");
+		log.debug("*** CredentialDto, service; update credential with credentialId *");
 		return CredentialMappingHelper.map(this.credentialRepository.save(
 				CredentialMappingHelper.map(this.findById(credentialId))));
 	}
 	
 	@Override
 	public void deleteById(final Integer credentialId) {
-		log.info("*** Void, service; delete credential by id *");
+		log.debug("*** Void, service; delete credential by id *");
 		this.credentialRepository.deleteById(credentialId);
 	}
 	
@@ -74,6 +84,32 @@ public class CredentialServiceImpl implements CredentialService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username))));
 	}
 	
+	@Override
+	public Page<CredentialDto> findAll(final Pageable pageable) {
+		log.debug("*** CredentialDto Page, service; fetch page of credentials *");
+		return this.credentialRepository.findAll(pageable)
+				.map(CredentialMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<CredentialDto> findAllAfter(final Integer credentialId, final Pageable pageable) {
+		log.debug("*** CredentialDto Slice, service; fetch credentials after id *");
+		return this.credentialRepository.findByCredentialIdGreaterThan(credentialId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("credentialId")))
+				.map(CredentialMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<CredentialDto> consumer) {
+		log.debug("*** CredentialDto Stream, service; stream all credentials *");
+		try (final Stream<Credential> credentials = this.credentialRepository.streamAllBy()) {
+			credentials.forEach(c -> {
+				consumer.accept(CredentialMappingHelper.map(c));
+				this.entityManager.detach(c);
+			});
+		}
+	}
+	
 	
 	
 }
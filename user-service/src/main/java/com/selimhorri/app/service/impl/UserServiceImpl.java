@@ -1,12 +1,22 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
@@ -23,10 +33,11 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<UserDto> findAll() {
-		log.info("*** UserDto List, service; fetch all users *");
+		log.debug("*** UserDto List, service; fetch all users *");
 		return this.userRepository.findAll()
 				.stream()
 					.map(UserMappingHelper::map)
@@ -36,7 +47,7 @@ public class UserServiceImpl implements UserService {
 	
 	@Override
 	public UserDto findById(final Integer userId) {
-		log.info("*** UserDto, service; fetch user by id *");
+		log.debug("*** UserDto, service; fetch user by id *");
 		return this.userRepository.findById(userId)
 				.map(UserMappingHelper::map)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with id: %d not found", userId)));
@@ -44,36 +55,72 @@ public class UserServiceImpl implements UserService {
 	
 	@Override
 	public UserDto save(final UserDto userDto) {
-		log.info("*** UserDto, service; save user *");
+		log.debug("*** UserDto, service; save user *");
 		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
 	}
 	
 	@Override
 	public UserDto update(final UserDto userDto) {
-		log.info("*** UserDto, service; update user *");
+		log.debug("*** UserDto, service; update user *");
 		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
 	}
 	
 	@Override
 	public UserDto update(final Integer userId, final UserDto userDto) {
-		log.info("*** UserDto, service; update user with userId *");
+		log.debug("*** UserDto, service; update user with userId *");
 		return UserMappingHelper.map(this.userRepository.save(
 				UserMappingHelper.map(this.findById(userId))));
 	}
 	
 	@Override
 	public void deleteById(final Integer userId) {
-		log.info("*** Void, service; delete user by id *");
+		log.debug("*** Void, service; delete user by id *");
 		this.userRepository.deleteById(userId);
 	}
 	
 	@Override
 	public UserDto findByUsername(final String username) {
-		log.info("*** UserDto, service; fetch user with username *");
+		log.debug("*** UserDto, service; fetch user with username *");
 		return UserMappingHelper.map(this.userRepository.findByCredentialUsername(username)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with username: %s not found", username))));
 	}
 	
+	@Override
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.debug("*** UserDto List, service; fetch users by ids *");
+		return this.userRepository.findAllById(userIds)
+				.stream()
+					.map(UserMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Page<UserDto> findAll(final Pageable pageable) {
+		log.debug("*** UserDto Page, service; fetch page of users *");
+		return this.userRepository.findAll(pageable)
+				.map(UserMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<UserDto> findAllAfter(final Integer userId, final Pageable pageable) {
+		log.debug("*** UserDto Slice, service; fetch users after id *");
+		return this.userRepository.findByUserIdGreaterThan(userId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("userId")))
+				.map(UserMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<UserDto> consumer) {
+		log.debug("*** UserDto Stream, service; stream all users *");
+		try (final Stream<User> users = this.userRepository.streamAllBy()) {
+			users.forEach(u -> {
+				consumer.accept(UserMappingHelper.map(u));
+				this.entityManager.detach(u);
+			});
+		}
+	}
+	
 	
 	
 }
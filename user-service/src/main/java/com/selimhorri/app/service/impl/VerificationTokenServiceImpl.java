@@ -1,12 +1,21 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.VerificationToken;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import com.selimhorri.app.helper.VerificationTokenMappingHelper;
@@ -23,10 +32,11 @@ import lombok.extern.slf4j.Slf4j;
 public class VerificationTokenServiceImpl implements VerificationTokenService {
 	
 	private final VerificationTokenRepository verificationTokenRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<VerificationTokenDto> findAll() {
-		log.info("*** VerificationTokenDto List, service; fetch all verificationTokens *");
+		log.debug("*** VerificationTokenDto List, service; fetch all verificationTokens *");
 		return this.verificationTokenRepository.findAll()
 				.stream()
 					.map(VerificationTokenMappingHelper::map)
@@ -36,7 +46,7 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 	
 	@Override
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
-		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");
+		log.debug("*** VerificationTokenDto, service; fetch verificationToken by ids *");
 		return this.verificationTokenRepository.findById(verificationTokenId)
 				.map(VerificationTokenMappingHelper::map)
 				.orElseThrow(() -> new VerificationTokenNotFoundException(String
@@ -45,31 +55,57 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 	
 	@Override
 	public VerificationTokenDto save(final VerificationTokenDto verificationTokenDto) {
-		log.info("*** VerificationTokenDto, service; save verificationToken *");
+		log.debug("*** VerificationTokenDto, service; save verificationToken *");
 		return VerificationTokenMappingHelper.map(this.verificationTokenRepository
 				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
 	}
 	
 	@Override
 	public VerificationTokenDto update(final VerificationTokenDto verificationTokenDto) {
-		log.info("*** VerificationTokenDto, service; update verificationToken *");
+		log.debug("*** VerificationTokenDto, service; update verificationToken *");
 		return VerificationTokenMappingHelper.map(this.verificationTokenRepository
 				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
 	}
 	
 	@Override
 	public VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto) {
-		log.info("*** VerificationTokenDto, service; update verificationToken with verificationTokenId *");
+		log.debug("*** VerificationTokenDto, service; update verificationToken with verificationTokenId *");
 		return VerificationTokenMappingHelper.map(this.verificationTokenRepository.save(
 				VerificationTokenMappingHelper.map(this.findById(verificationTokenId))));
 	}
 	
 	@Override
 	public void deleteById(final Integer verificationTokenId) {
-		log.info("*** Void, service; delete verificationToken by id *");
+		log.debug("*** Void, service; delete verificationToken by id *");
 		this.verificationTokenRepository.deleteById(verificationTokenId);
 	}
 	
+	@Override
+	public Page<VerificationTokenDto> findAll(final Pageable pageable) {
+		log.debug("*** VerificationTokenDto Page, service; fetch page of verificationTokens *");
+		return this.verificationTokenRepository.findAll(pageable)
+				.map(VerificationTokenMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<VerificationTokenDto> findAllAfter(final Integer verificationTokenId, final Pageable pageable) {
+		log.debug("*** VerificationTokenDto Slice, service; fetch verificationTokens after id *");
+		return this.verificationTokenRepository.findByVerificationTokenIdGreaterThan(verificationTokenId, 
+					PageRequest.of(0, pageable.getPageSize(), Sort.by("verificationTokenId")))
+				.map(VerificationTokenMappingHelper::map);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<VerificationTokenDto> consumer) {
+		log.debug("*** VerificationTokenDto Stream, service; stream all verificationTokens *");
+		try (final Stream<VerificationToken> verificationTokens = this.verificationTokenRepository.streamAllBy()) {
+			verificationTokens.forEach(v -> {
+				consumer.accept(VerificationTokenMappingHelper.map(v));
+				this.entityManager.detach(v);
+			});
+		}
+	}
+	
 	
 	
 }
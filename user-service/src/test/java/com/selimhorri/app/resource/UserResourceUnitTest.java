@@ -17,6 +17,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -126,6 +127,21 @@ class UserResourceUnitTest {
                 .andExpect(jsonPath("$.firstName", is("John Updated")));
     }
 
+    @Test
+    @DisplayName("POST /api/users/batch - Should return users for the given ids")
+    void testFindAllByIds_ShouldReturnUserList() throws Exception {
+        // Given
+        when(userService.findAllByIds(anyCollection())).thenReturn(List.of(testUserDto));
+
+        // When/Then - Una sola llamada resuelve todos los ids solicitados
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 3]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection", hasSize(1)))
+                .andExpect(jsonPath("$.collection[0].userId", is(1)));
+    }
+
     @Test
     @DisplayName("DELETE /api/users/{id} - Should delete user")
     void testDeleteUser_ShouldReturnNoContent() throws Exception {